@@ -0,0 +1,258 @@
+package com.trackify.benchmark;
+
+import com.trackify.entity.Category;
+import com.trackify.entity.ExchangeRate;
+import com.trackify.entity.Expense;
+import com.trackify.enums.ExpenseStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generated inputs for the benchmarks. Every corpus is built from a fixed seed so runs
+ * across releases measure the same data.
+ */
+public final class BenchmarkCorpus {
+
+    public static final long SEED = 20240601L;
+
+    private static final DateTimeFormatter SMS_DATE = DateTimeFormatter.ofPattern("dd-MM-yy");
+    private static final DateTimeFormatter SMS_DATE_LONG = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter SMS_TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final String[] BANK_SENDERS = {
+            "VM-SBIINB", "AD-HDFCBK", "JD-ICICIB", "VK-AXISBK", "BZ-KOTAKB", "AX-PNBSMS", "VM-BOBSMS", "TM-SBICAR"
+    };
+
+    private static final String[] UPI_SENDERS = {"VM-PAYTM", "AD-PHONEPE", "JD-GPAY", "BZ-AMAZONP", "VK-BHIMUPI"};
+
+    private static final String[] MERCHANTS = {
+            "Swiggy", "Zomato", "Amazon India", "Flipkart", "BigBasket", "Uber India", "Ola Cabs", "IRCTC",
+            "Reliance Fresh", "DMart", "Indian Oil", "HP Petrol Pump", "Apollo Pharmacy", "BookMyShow",
+            "Airtel Payments", "Jio Recharge", "Myntra", "Croma Retail", "Starbucks Coffee", "Cafe Coffee Day"
+    };
+
+    private static final String[] MERCHANT_SUFFIXES = {"", " pvt ltd", " india", " store", " online", " payments"};
+
+    private static final String[] CITIES = {"mumbai", "bengaluru", "delhi", "pune", "chennai"};
+
+    private static final String[] VPA_HANDLES = {"okaxis", "oksbi", "okhdfcbank", "okicici", "ybl", "paytm", "apl", "ibl"};
+
+    private static final String[] UPI_APPS = {"Google Pay", "PhonePe", "Paytm", "BHIM", "Amazon Pay"};
+
+    private static final String[] CATEGORIES = {
+            "Food & Dining", "Groceries", "Transportation", "Shopping", "Fuel", "Healthcare", "Entertainment",
+            "Utilities", "Travel", "Bills"
+    };
+
+    private static final String[] DESCRIPTIONS = {
+            "lunch order", "dinner with team", "weekly groceries", "cab to airport", "monthly metro pass",
+            "petrol refill", "medicine purchase", "movie tickets", "electricity bill", "mobile recharge",
+            "train ticket to Pune", "office supplies", "coffee", "new headphones", "pharmacy"
+    };
+
+    private BenchmarkCorpus() {
+    }
+
+    public record Sms(String content, String sender) {
+    }
+
+    /**
+     * Bank and card alerts in the formats the major Indian banks send, debit and credit,
+     * plus a share of OTPs and promotions that the parser has to reject
+     */
+    public static List<Sms> bankSms(int count) {
+        Random random = new Random(SEED);
+        List<Sms> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String amount = amount(random);
+            String account = "XX" + (1000 + random.nextInt(9000));
+            String merchant = pick(random, MERCHANTS);
+            LocalDateTime time = dateTime(random);
+            String ref = String.valueOf(100000000000L + (long) (random.nextDouble() * 899999999999L));
+            String balance = amount(random, 500, 250000);
+
+            String content = switch (random.nextInt(9)) {
+                case 0 -> "Dear Customer, Rs." + amount + " debited from A/c " + account + " on "
+                        + time.format(SMS_DATE) + " for UPI txn to " + merchant + ". Ref No " + ref
+                        + ". Avl Bal Rs." + balance + " -SBI";
+                case 1 -> "INR " + amount + " spent on HDFC Bank Card " + account + " at " + merchant + " on "
+                        + time.format(SMS_DATE) + " " + time.format(SMS_TIME) + ". Avl bal: INR " + balance
+                        + ". Not you? Call 18002586161";
+                case 2 -> "ICICI Bank Acct " + account + " debited for Rs " + amount + " on " + time.format(SMS_DATE)
+                        + "; " + merchant + " credited. UPI:" + ref + ". Call 18002662 for dispute.";
+                case 3 -> "Rs." + amount + " credited to A/c " + account + " on " + time.format(SMS_DATE_LONG)
+                        + " by NEFT from " + merchant + " Ref " + ref + ". Bal: Rs." + balance + " -Axis Bank";
+                case 4 -> "Transaction alert: Rs " + amount + " withdrawn at ATM " + merchant + " from A/c "
+                        + account + " on " + time.format(SMS_DATE) + ". Available balance Rs " + balance;
+                case 5 -> "Your a/c " + account + " is credited with INR " + amount + " on " + time.format(SMS_DATE)
+                        + " towards salary. Available Balance: INR " + balance + " - Kotak Bank";
+                case 6 -> "Refund of Rs." + amount + " from " + merchant + " credited to your card " + account
+                        + " on " + time.format(SMS_DATE) + ". Ref " + ref;
+                case 7 -> (100000 + random.nextInt(900000)) + " is your OTP for txn of Rs." + amount + " at "
+                        + merchant + ". Valid for 10 mins. Do not share with anyone.";
+                default -> "Get flat 20% cashback up to Rs." + amount + " on " + merchant
+                        + " orders this weekend. T&C apply.";
+            };
+            messages.add(new Sms(content, pick(random, BANK_SENDERS)));
+        }
+        return messages;
+    }
+
+    /**
+     * UPI notifications and copied payment confirmations from the common UPI apps
+     */
+    public static List<Sms> upiMessages(int count) {
+        Random random = new Random(SEED + 1);
+        List<Sms> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String amount = amount(random);
+            String merchant = pick(random, MERCHANTS);
+            String vpa = merchant.toLowerCase().replaceAll("[^a-z]", "") + "@" + pick(random, VPA_HANDLES);
+            LocalDateTime time = dateTime(random);
+            String txnId = "T" + (2400000000000L + (long) (random.nextDouble() * 99999999999L));
+
+            String content = switch (random.nextInt(5)) {
+                case 0 -> "You paid Rs." + amount + " to " + merchant + " (" + vpa + ") using " + pick(random, UPI_APPS)
+                        + " on " + time.format(SMS_DATE_LONG) + " at " + time.format(SMS_TIME) + ". Transaction ID: " + txnId;
+                case 1 -> "Paid ₹" + amount + " to " + vpa + " on " + time.format(SMS_DATE) + ". UPI Ref No "
+                        + txnId.substring(1) + ". - PhonePe";
+                case 2 -> "Received Rs " + amount + " from " + vpa + " on " + time.format(SMS_DATE_LONG)
+                        + ". Txn ID " + txnId + ". Google Pay";
+                case 3 -> "Money sent! " + amount + " INR to " + merchant + " via BHIM UPI. Ref: " + txnId
+                        + " Note: split bill";
+                default -> "Payment of Rs. " + amount + " to " + merchant + " successful. Paytm UPI transaction id "
+                        + txnId + " " + time.format(SMS_DATE) + " " + time.format(SMS_TIME);
+            };
+            messages.add(new Sms(content, pick(random, UPI_SENDERS)));
+        }
+        return messages;
+    }
+
+    /**
+     * Merchant names as they appear in statements and SMS, with the truncation, suffixes and
+     * typos that make fuzzy matching necessary
+     */
+    public static List<String> merchantNames(int count) {
+        Random random = new Random(SEED + 2);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder name = new StringBuilder(pick(random, MERCHANTS).toLowerCase());
+            name.append(pick(random, MERCHANT_SUFFIXES));
+            if (random.nextInt(3) == 0 && name.length() > 4) {
+                // A dropped or swapped character
+                int at = 1 + random.nextInt(name.length() - 2);
+                if (random.nextBoolean()) {
+                    name.deleteCharAt(at);
+                } else {
+                    char c = name.charAt(at);
+                    name.setCharAt(at, name.charAt(at + 1));
+                    name.setCharAt(at + 1, c);
+                }
+            }
+            if (random.nextInt(4) == 0) {
+                name.append(' ').append(pick(random, CITIES));
+            }
+            names.add(name.toString());
+        }
+        return names;
+    }
+
+    public static List<String> expenseDescriptions(int count) {
+        Random random = new Random(SEED + 3);
+        List<String> descriptions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            descriptions.add(pick(random, DESCRIPTIONS) + (random.nextBoolean() ? " at " + pick(random, MERCHANTS) : ""));
+        }
+        return descriptions;
+    }
+
+    public static List<Category> categories() {
+        List<Category> categories = new ArrayList<>(CATEGORIES.length);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setName(CATEGORIES[i]);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    /**
+     * One user's expense history over the given number of months, ending today. Most
+     * expenses are in INR with a share in USD and EUR, as for a user who travels.
+     */
+    public static List<Expense> expenseHistory(int count, int months) {
+        Random random = new Random(SEED + 4);
+        List<Category> categories = categories();
+        LocalDate end = LocalDate.now();
+        int span = Math.max(1, (int) (end.toEpochDay() - end.minusMonths(months).toEpochDay()));
+
+        List<Expense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Category category = categories.get(random.nextInt(categories.size()));
+            LocalDate date = end.minusDays(random.nextInt(span));
+            int currency = random.nextInt(20);
+
+            Expense expense = new Expense();
+            expense.setId((long) i + 1);
+            expense.setUserId(1L);
+            expense.setTitle(pick(random, DESCRIPTIONS));
+            expense.setMerchantName(pick(random, MERCHANTS));
+            expense.setCategory(category);
+            expense.setCategoryId(category.getId());
+            expense.setCurrencyCode(currency == 0 ? "USD" : currency == 1 ? "EUR" : "INR");
+            expense.setAmount(new BigDecimal(amount(random, currency < 2 ? 5 : 50, currency < 2 ? 400 : 25000)));
+            expense.setExpenseDate(date);
+            expense.setCreatedAt(date.atTime(7 + random.nextInt(16), random.nextInt(60)));
+            expense.setStatus(random.nextInt(10) < 8 ? ExpenseStatus.APPROVED : ExpenseStatus.PENDING);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    /**
+     * Daily INR and EUR rates covering the history, so conversions hit the dated lookup
+     */
+    public static List<ExchangeRate> exchangeRates(int months) {
+        Random random = new Random(SEED + 5);
+        List<ExchangeRate> rates = new ArrayList<>();
+        LocalDate end = LocalDate.now();
+        for (String code : new String[]{"EUR", "INR"}) {
+            double units = "INR".equals(code) ? 83.0 : 0.92;
+            for (LocalDate day = end.minusMonths(months); !day.isAfter(end); day = day.plusDays(1)) {
+                units *= 1 + (random.nextDouble() - 0.5) * 0.004;
+                ExchangeRate rate = new ExchangeRate();
+                rate.setCurrencyCode(code);
+                rate.setEffectiveDate(day);
+                rate.setUnitsPerUsd(BigDecimal.valueOf(units).setScale(6, RoundingMode.HALF_UP));
+                rates.add(rate);
+            }
+        }
+        return rates;
+    }
+
+    private static String amount(Random random) {
+        return amount(random, 10, 50000);
+    }
+
+    private static String amount(Random random, int min, int max) {
+        // Skewed towards small amounts, like real spending
+        double value = min + Math.pow(random.nextDouble(), 3) * (max - min);
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static LocalDateTime dateTime(Random random) {
+        return LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 90)).withNano(0);
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
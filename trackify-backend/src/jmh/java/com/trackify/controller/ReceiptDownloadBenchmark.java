@@ -0,0 +1,152 @@
+package com.trackify.controller;
+
+import com.trackify.dto.response.ReceiptResponse;
+import com.trackify.entity.User;
+import com.trackify.security.UserPrincipal;
+import com.trackify.service.FileService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Concurrent receipt downloads through FileUploadController.downloadReceipt, with the body
+ * written through the same message converters Spring MVC uses into a discarding response.
+ * Compares the old read-into-a-byte[] body with the streamed FileSystemResource and a
+ * single Range request. Reported as downloads per second and time per download across 8
+ * threads (override with -t); the profile's -prof gc gives gc.alloc.rate.norm, the
+ * per-download heap cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(2)
+public class ReceiptDownloadBenchmark {
+
+    private static final long RECEIPT_ID = 1L;
+    private static final long RANGE_LENGTH = 64 * 1024;
+
+    // 5 MB is the default upload limit
+    @Param({"65536", "1048576", "5242880", "16777216"})
+    private int fileSize;
+
+    private final ResourceHttpMessageConverter resourceConverter = new ResourceHttpMessageConverter();
+    private final ResourceRegionHttpMessageConverter regionConverter = new ResourceRegionHttpMessageConverter();
+
+    private Path receipt;
+    private FileUploadController controller;
+    private UserPrincipal currentUser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] content = new byte[fileSize];
+        new Random(20240601L).nextBytes(content);
+        receipt = Files.createTempFile("trackify-receipt-", ".pdf");
+        Files.write(receipt, content);
+
+        ReceiptResponse receiptResponse = new ReceiptResponse();
+        receiptResponse.setOriginalFilename("receipt.pdf");
+        receiptResponse.setMimeType(MediaType.APPLICATION_PDF_VALUE);
+
+        // Stub-only, so eight threads don't contend on a shared invocation history
+        FileService fileService = mock(FileService.class, withSettings().stubOnly());
+        when(fileService.getReceiptById(anyLong(), anyLong())).thenReturn(receiptResponse);
+        when(fileService.downloadReceipt(anyLong(), anyLong())).thenAnswer(invocation -> new FileSystemResource(receipt));
+
+        controller = new FileUploadController();
+        ReflectionTestUtils.setField(controller, "fileService", fileService);
+
+        User user = new User("jane", "jane@example.com", "x", "Jane", "Doe");
+        user.setId(1L);
+        currentUser = UserPrincipal.create(user);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(receipt);
+    }
+
+    /**
+     * Before the change: the whole file read onto the heap, then written out
+     */
+    @Benchmark
+    public long byteArrayBody() throws IOException {
+        Resource body = new ByteArrayResource(Files.readAllBytes(receipt));
+        return write(body);
+    }
+
+    @Benchmark
+    public long streamedBody() throws IOException {
+        return write(controller.downloadReceipt(RECEIPT_ID, currentUser).getBody());
+    }
+
+    /**
+     * What Spring MVC does with the controller's Resource when the request carries a Range header
+     */
+    @Benchmark
+    public long rangeRequest() throws IOException {
+        ResponseEntity<Resource> entity = controller.downloadReceipt(RECEIPT_ID, currentUser);
+        ResourceRegion region = new ResourceRegion(entity.getBody(),
+                fileSize / 2, Math.min(RANGE_LENGTH, fileSize / 2));
+        DiscardingOutputMessage response = new DiscardingOutputMessage();
+        regionConverter.write(region, MediaType.APPLICATION_PDF, response);
+        return response.getHeaders().getContentLength();
+    }
+
+    private long write(Resource body) throws IOException {
+        DiscardingOutputMessage response = new DiscardingOutputMessage();
+        resourceConverter.write(body, MediaType.APPLICATION_PDF, response);
+        return response.getHeaders().getContentLength();
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.trackify.integration.ai;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import com.trackify.entity.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Anomaly score of one new expense against a user's history, which is rescanned on every
+ * call, so cost grows with the history size
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AnomalyDetectionEngineBenchmark {
+
+    @Param({"50", "500", "5000"})
+    private int historySize;
+
+    private AnomalyDetectionEngine anomalyDetectionEngine;
+    private List<Expense> history;
+    private List<Expense> candidates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        anomalyDetectionEngine = new AnomalyDetectionEngine();
+        List<Expense> expenses = BenchmarkCorpus.expenseHistory(historySize + 256, 12);
+        history = expenses.subList(0, historySize);
+        candidates = expenses.subList(historySize, expenses.size());
+    }
+
+    @Benchmark
+    public double calculateAnomalyScore() {
+        return anomalyDetectionEngine.calculateAnomalyScore(candidates.get(next++ & 255), history);
+    }
+}
@@ -0,0 +1,54 @@
+package com.trackify.integration.ai;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import com.trackify.entity.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Category scoring for one expense, through getCategorySuggestionConfidence, which is
+ * calculateCategoryScores behind a try/catch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CategorySuggestionEngineBenchmark {
+
+    private CategorySuggestionEngine categorySuggestionEngine;
+    private List<String> descriptions;
+    private List<String> merchants;
+    private BigDecimal[] amounts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        categorySuggestionEngine = new CategorySuggestionEngine();
+        descriptions = BenchmarkCorpus.expenseDescriptions(1024);
+        merchants = BenchmarkCorpus.merchantNames(1024);
+        amounts = BenchmarkCorpus.expenseHistory(1024, 12).stream()
+                .map(Expense::getAmount)
+                .toArray(BigDecimal[]::new);
+    }
+
+    @Benchmark
+    public Map<String, Double> calculateCategoryScores() {
+        int i = next++ & 1023;
+        return categorySuggestionEngine.getCategorySuggestionConfidence(descriptions.get(i), merchants.get(i), amounts[i]);
+    }
+}
@@ -0,0 +1,44 @@
+package com.trackify.integration.bank;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UpiTransactionProcessor.extractTransactionInfo over UPI app notifications, one per
+ * invocation. Only the text extraction is measured; no repositories are involved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class UpiTransactionProcessorBenchmark {
+
+    private UpiTransactionProcessor upiTransactionProcessor;
+    private List<String> messages;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        upiTransactionProcessor = new UpiTransactionProcessor();
+        messages = BenchmarkCorpus.upiMessages(2048).stream().map(BenchmarkCorpus.Sms::content).toList();
+    }
+
+    @Benchmark
+    public UpiTransactionProcessor.UpiTransactionInfo extractTransactionInfo() {
+        return upiTransactionProcessor.extractTransactionInfo(messages.get(next++ & (messages.size() - 1)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.trackify.integration.sms;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SmsParser.parseSms over bank alerts (with OTPs and promotions mixed in) and over UPI
+ * app notifications, one message per invocation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SmsParserBenchmark {
+
+    @Param({"BANK", "UPI"})
+    private String corpus;
+
+    private SmsParser smsParser;
+    private List<BenchmarkCorpus.Sms> messages;
+    private LocalDateTime receivedTime;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        smsParser = new SmsParser();
+        messages = "BANK".equals(corpus) ? BenchmarkCorpus.bankSms(2048) : BenchmarkCorpus.upiMessages(2048);
+        receivedTime = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public SmsParser.SmsTransactionInfo parseSms() {
+        BenchmarkCorpus.Sms sms = messages.get(next++ & (messages.size() - 1));
+        return smsParser.parseSms(sms.content(), sms.sender(), receivedTime);
+    }
+}
@@ -0,0 +1,47 @@
+package com.trackify.integration.sms;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Levenshtein distance between merchant names as duplicate detection compares them:
+ * lower-cased, similar length, often one or two edits apart
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TransactionExtractorBenchmark {
+
+    private TransactionExtractor transactionExtractor;
+    private List<String> names;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        transactionExtractor = new TransactionExtractor();
+        names = BenchmarkCorpus.merchantNames(1024);
+    }
+
+    @Benchmark
+    public int levenshteinDistance() {
+        int i = next++;
+        String first = names.get(i & (names.size() - 1));
+        String second = names.get((i * 31 + 7) & (names.size() - 1));
+        return transactionExtractor.calculateLevenshteinDistance(first, second);
+    }
+}
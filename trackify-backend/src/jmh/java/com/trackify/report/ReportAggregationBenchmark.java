@@ -0,0 +1,83 @@
+package com.trackify.report;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.currency.ExchangeRateTable;
+import com.trackify.entity.Category;
+import com.trackify.entity.Expense;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The two halves of report aggregation that ReportServiceImpl delegates to: loading
+ * expenses into ExpenseColumns, converting each amount into the report currency, and
+ * computing ReportAggregates from the columns
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// The 1M-expense corpus alone is several hundred MB of entities; pin the heap so runs compare
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ReportAggregationBenchmark {
+
+    private static final int MONTHS = 24;
+
+    @Param({"1000", "100000", "1000000"})
+    private int expenseCount;
+
+    private List<Expense> expenses;
+    private Map<Long, String> categoryNames;
+    private ExchangeRateTable rateTable;
+    private ExpenseColumns columns;
+
+    @Setup
+    public void setUp() {
+        expenses = BenchmarkCorpus.expenseHistory(expenseCount, MONTHS);
+        categoryNames = BenchmarkCorpus.categories().stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+        rateTable = ExchangeRateTable.of(BenchmarkCorpus.exchangeRates(MONTHS), 1L);
+        columns = loadColumns();
+    }
+
+    @Benchmark
+    public ExpenseColumns loadColumns() {
+        // A fresh converter per report, as ExchangeRateService hands out
+        CurrencyConverter converter = rateTable.converterTo("INR");
+        ExpenseColumns.Builder builder = ExpenseColumns.builder("benchmark", converter);
+        for (Expense expense : expenses) {
+            builder.add(expense);
+        }
+        return builder.build(this::findCategoryNames);
+    }
+
+    @Benchmark
+    public ReportAggregates aggregate() {
+        return ReportAggregates.compute(columns, false);
+    }
+
+    @Benchmark
+    public ReportAggregates aggregateWithTrends() {
+        return ReportAggregates.compute(columns, true);
+    }
+
+    private Map<Long, String> findCategoryNames(Collection<Long> categoryIds) {
+        return categoryNames;
+    }
+}
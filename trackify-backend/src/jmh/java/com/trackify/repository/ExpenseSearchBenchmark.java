@@ -0,0 +1,142 @@
+package com.trackify.repository;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import com.trackify.entity.Category;
+import com.trackify.entity.Expense;
+import com.trackify.service.impl.ExpenseServiceImpl;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expense search latency for one user with 10k, 100k and 1M expenses, against MySQL in a
+ * Testcontainers container (needs Docker). Runs the SQL of ExpenseRepository.searchFullText
+ * and its count query, read off the @Query annotation, with the boolean query built by
+ * ExpenseServiceImpl; that is one page of GET /expenses/search. Seeding 1M rows takes a
+ * few minutes, so the trial runs in a single fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ExpenseSearchBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERT_CHUNK = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int expensesPerUser;
+
+    // A word in titles and merchant names, and two words that must both match
+    @Param({"coffee", "train pune"})
+    private String keyword;
+
+    private MySQLContainer<?> mysql;
+    private NamedParameterJdbcTemplate jdbc;
+    private String searchSql;
+    private String countSql;
+    private String booleanQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+                .withUrlParam("rewriteBatchedStatements", "true");
+        mysql.start();
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, email, username, password, first_name, last_name) " +
+                "VALUES (?, 'jane@example.com', 'jane', 'x', 'Jane', 'Doe')", USER_ID);
+        for (Category category : BenchmarkCorpus.categories()) {
+            jdbcTemplate.update("INSERT INTO categories (id, name, created_by, is_system) VALUES (?, ?, ?, TRUE)",
+                    category.getId(), category.getName(), USER_ID);
+        }
+
+        ExpenseJdbcRepository expenseJdbcRepository = new ExpenseJdbcRepository();
+        ReflectionTestUtils.setField(expenseJdbcRepository, "jdbcTemplate", jdbcTemplate);
+        List<Expense> expenses = BenchmarkCorpus.expenseHistory(expensesPerUser, 36);
+        for (int from = 0; from < expenses.size(); from += INSERT_CHUNK) {
+            expenseJdbcRepository.batchInsert(expenses.subList(from, Math.min(from + INSERT_CHUNK, expenses.size())));
+        }
+        jdbcTemplate.execute("ANALYZE TABLE expenses");
+
+        Query query = ExpenseRepository.class.getMethod("searchFullText", Long.class, String.class, Long.class,
+                BigDecimal.class, BigDecimal.class, LocalDate.class, LocalDate.class, Pageable.class)
+                .getAnnotation(Query.class);
+        // Spring Data appends the page window to a native query the same way
+        searchSql = query.value() + " LIMIT " + PAGE_SIZE;
+        countSql = query.countQuery();
+        jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        ExpenseServiceImpl expenseService = new ExpenseServiceImpl();
+        ReflectionTestUtils.setField(expenseService, "searchMinTokenLength", 3);
+        List<String> terms = ReflectionTestUtils.invokeMethod(expenseService, "toSearchTerms", keyword);
+        booleanQuery = ReflectionTestUtils.invokeMethod(expenseService, "requireAllPrefixes", terms);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mysql.stop();
+    }
+
+    @Benchmark
+    public void search(Blackhole blackhole) {
+        page(blackhole, 0L, new BigDecimal("-9999999999.99"), new BigDecimal("9999999999.99"),
+                LocalDate.of(1900, 1, 1), LocalDate.of(9999, 12, 31));
+    }
+
+    /**
+     * One category over the last 90 days, as the expense list filters send it
+     */
+    @Benchmark
+    public void filteredSearch(Blackhole blackhole) {
+        page(blackhole, 1L, new BigDecimal("-9999999999.99"), new BigDecimal("9999999999.99"),
+                LocalDate.now().minusDays(90), LocalDate.now());
+    }
+
+    private void page(Blackhole blackhole, Long categoryId, BigDecimal minAmount, BigDecimal maxAmount,
+                      LocalDate startDate, LocalDate endDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", USER_ID)
+                .addValue("query", booleanQuery)
+                .addValue("categoryId", categoryId)
+                .addValue("minAmount", minAmount)
+                .addValue("maxAmount", maxAmount)
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate);
+        blackhole.consume(jdbc.queryForList(searchSql, params));
+        blackhole.consume(jdbc.queryForObject(countSql, params, Long.class));
+    }
+}
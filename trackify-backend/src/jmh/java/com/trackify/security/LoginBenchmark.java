@@ -0,0 +1,100 @@
+package com.trackify.security;
+
+import com.trackify.config.JwtConfig;
+import com.trackify.config.SecurityConfig;
+import com.trackify.entity.User;
+import com.trackify.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Logins per second on the AuthServiceImpl.login path: the password encoder built by
+ * SecurityConfig at the configured cost, the DaoAuthenticationProvider with
+ * CustomUserDetailsService over a stubbed user lookup, and the access and refresh tokens.
+ * passwordCheck isolates the hash so the share of login it accounts for is visible. Run
+ * with -t set to the core count to see what a node sustains under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class LoginBenchmark {
+
+    private static final String EMAIL = "jane@example.com";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    // app.security.password.bcrypt-strength; 10 is the default
+    @Param({"10", "12"})
+    private int bcryptStrength;
+
+    private PasswordEncoder passwordEncoder;
+    private DaoAuthenticationProvider authenticationProvider;
+    private JwtTokenProvider jwtTokenProvider;
+    private String storedHash;
+
+    @Setup
+    public void setUp() {
+        SecurityConfig securityConfig = new SecurityConfig();
+        ReflectionTestUtils.setField(securityConfig, "passwordAlgorithm", "bcrypt");
+        ReflectionTestUtils.setField(securityConfig, "bcryptStrength", bcryptStrength);
+        passwordEncoder = securityConfig.passwordEncoder();
+        storedHash = passwordEncoder.encode(PASSWORD);
+
+        User user = new User("jane", EMAIL, storedHash, "Jane", "Doe");
+        user.setId(1L);
+        // Stub-only, so the mock keeps no invocation history across iterations
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService();
+        ReflectionTestUtils.setField(userDetailsService, "userRepository", userRepository);
+
+        authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
+
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret");
+        jwtTokenProvider = new JwtTokenProvider(jwtConfig);
+    }
+
+    @Benchmark
+    public void login(Blackhole blackhole) {
+        Authentication authentication = authenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+        String sessionId = jwtTokenProvider.newSessionId();
+        blackhole.consume(jwtTokenProvider.generateToken(authentication, sessionId));
+        blackhole.consume(jwtTokenProvider.generateRefreshToken(authentication, sessionId));
+    }
+
+    @Benchmark
+    public boolean passwordCheck() {
+        return passwordEncoder.matches(PASSWORD, storedHash);
+    }
+}
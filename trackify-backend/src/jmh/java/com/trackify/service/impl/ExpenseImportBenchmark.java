@@ -0,0 +1,159 @@
+package com.trackify.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.trackify.benchmark.BenchmarkCorpus;
+import com.trackify.dto.response.ExpenseImportResponse;
+import com.trackify.entity.Category;
+import com.trackify.entity.Expense;
+import com.trackify.enums.ImportFormat;
+import com.trackify.repository.CategoryRepository;
+import com.trackify.repository.ExpenseJdbcRepository;
+import com.trackify.repository.UserRepository;
+import com.trackify.service.DataVersionService;
+import com.trackify.service.SpendRollupService;
+import com.trackify.validator.ExpenseValidator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The expense import path from raw CSV or NDJSON bytes through parsing, validation and
+ * chunking, with the JDBC batch insert, rollups and cache version stubbed out. The rows
+ * counter reports rows per second; a real import adds one database round trip per chunk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ExpenseImportBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"10000", "100000"})
+    private int rowCount;
+
+    @Param({"CSV", "NDJSON"})
+    private ImportFormat format;
+
+    private ExpenseImportServiceImpl importService;
+    private byte[] input;
+
+    /**
+     * Rows handled per second, alongside the imports per second JMH reports itself
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Category> categories = BenchmarkCorpus.categories();
+        categories.forEach(category -> category.setIsSystem(true));
+        List<Expense> expenses = BenchmarkCorpus.expenseHistory(rowCount, 12);
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        input = format == ImportFormat.CSV ? csv(expenses, categories) : ndjson(expenses, categories, objectMapper);
+
+        // Stub-only mocks keep no invocation history, which would otherwise grow every iteration
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        CategoryRepository categoryRepository = mock(CategoryRepository.class, withSettings().stubOnly());
+        when(categoryRepository.findUserAccessibleCategories(anyLong())).thenReturn(categories);
+
+        ExpenseValidator expenseValidator = new ExpenseValidator();
+        ReflectionTestUtils.setField(expenseValidator, "userRepository", userRepository);
+        ReflectionTestUtils.setField(expenseValidator, "categoryRepository", categoryRepository);
+
+        importService = new ExpenseImportServiceImpl();
+        ReflectionTestUtils.setField(importService, "expenseJdbcRepository",
+                mock(ExpenseJdbcRepository.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(importService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class, withSettings().stubOnly())));
+        ReflectionTestUtils.setField(importService, "expenseValidator", expenseValidator);
+        ReflectionTestUtils.setField(importService, "spendRollupService",
+                mock(SpendRollupService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(importService, "dataVersionService",
+                mock(DataVersionService.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(importService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(importService, "chunkSize", 1000);
+        ReflectionTestUtils.setField(importService, "maxRows", 500_000L);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 1000);
+        ReflectionTestUtils.setField(importService, "maxAgeYears", 10);
+    }
+
+    @Benchmark
+    public ExpenseImportResponse importExpenses(Rows counter) {
+        ExpenseImportResponse response = importService.importExpenses(new ByteArrayInputStream(input), format, USER_ID);
+        counter.rows += response.getTotalRows();
+        return response;
+    }
+
+    private static byte[] csv(List<Expense> expenses, List<Category> categories) {
+        StringBuilder csv = new StringBuilder("title,amount,expenseDate,category,currencyCode,merchantName\n");
+        for (Expense expense : expenses) {
+            csv.append(expense.getTitle()).append(',')
+                    .append(expense.getAmount().toPlainString()).append(',')
+                    .append(expense.getExpenseDate()).append(',')
+                    .append(categoryName(expense, categories)).append(',')
+                    .append(expense.getCurrencyCode()).append(',')
+                    .append('"').append(expense.getMerchantName()).append("\"\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ndjson(List<Expense> expenses, List<Category> categories, ObjectMapper objectMapper)
+            throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (Expense expense : expenses) {
+            ObjectNode row = objectMapper.createObjectNode()
+                    .put("title", expense.getTitle())
+                    .put("amount", expense.getAmount())
+                    .put("expenseDate", expense.getExpenseDate().toString())
+                    .put("category", categoryName(expense, categories))
+                    .put("currencyCode", expense.getCurrencyCode())
+                    .put("merchantName", expense.getMerchantName());
+            ndjson.append(objectMapper.writeValueAsString(row)).append('\n');
+        }
+        return ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String categoryName(Expense expense, List<Category> categories) {
+        return categories.get((int) (expense.getCategoryId() - 1)).getName();
+    }
+}
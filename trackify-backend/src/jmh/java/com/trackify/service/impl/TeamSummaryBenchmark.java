@@ -0,0 +1,148 @@
+package com.trackify.service.impl;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import com.trackify.entity.Budget;
+import com.trackify.entity.Team;
+import com.trackify.entity.TeamMember;
+import com.trackify.entity.User;
+import com.trackify.enums.ExpenseStatus;
+import com.trackify.enums.TeamRole;
+import com.trackify.service.TeamSpendService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Per-team summaries of the team performance report, computed in memory from data shaped
+ * like the batched queries return it. serial maps one team after another on the calling
+ * thread; parallel goes through mapInParallel on an executor sized like reportExecutor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TeamSummaryBenchmark {
+
+    private static final TeamRole[] ROLES = {TeamRole.OWNER, TeamRole.ADMIN, TeamRole.MANAGER, TeamRole.MEMBER};
+    private static final ExpenseStatus[] STATUSES = {ExpenseStatus.APPROVED, ExpenseStatus.PENDING, ExpenseStatus.REJECTED};
+
+    @Param({"500"})
+    private int teamCount;
+
+    @Param({"12"})
+    private int membersPerTeam;
+
+    private ReportServiceImpl reportService;
+    private ThreadPoolTaskExecutor reportExecutor;
+    private List<Team> teams;
+    private Map<Long, List<Budget>> budgetsByTeam;
+    private Map<Long, List<TeamMember>> rostersByTeam;
+    private Map<Long, TeamSpendService.SpendTotal> spendByTeam;
+    private Map<Long, Map<Long, Map<ExpenseStatus, TeamSpendService.SpendTotal>>> totalsByTeam;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkCorpus.SEED + 35);
+        teams = new ArrayList<>(teamCount);
+        budgetsByTeam = new HashMap<>();
+        rostersByTeam = new HashMap<>();
+        spendByTeam = new HashMap<>();
+        totalsByTeam = new HashMap<>();
+
+        long userId = 1;
+        for (long teamId = 1; teamId <= teamCount; teamId++) {
+            Team team = new Team();
+            team.setId(teamId);
+            team.setName("Team " + teamId);
+            teams.add(team);
+
+            List<Budget> budgets = new ArrayList<>();
+            for (int b = 0; b < 3; b++) {
+                Budget budget = new Budget("Budget " + b, BigDecimal.valueOf(50_000 + random.nextInt(200_000)),
+                        LocalDate.now().withDayOfMonth(1), LocalDate.now().plusMonths(1), null);
+                budget.setTeamId(teamId);
+                budgets.add(budget);
+            }
+            budgetsByTeam.put(teamId, budgets);
+
+            List<TeamMember> roster = new ArrayList<>(membersPerTeam);
+            Map<Long, Map<ExpenseStatus, TeamSpendService.SpendTotal>> totalsByUser = new HashMap<>();
+            TeamSpendService.SpendTotal teamSpend = TeamSpendService.SpendTotal.EMPTY;
+            for (int m = 0; m < membersPerTeam; m++, userId++) {
+                User user = new User("user" + userId, "user" + userId + "@example.com", "x", "First" + userId, "Last");
+                user.setId(userId);
+                roster.add(new TeamMember(team, user, ROLES[Math.min(m, ROLES.length - 1)]));
+
+                Map<ExpenseStatus, TeamSpendService.SpendTotal> byStatus = new EnumMap<>(ExpenseStatus.class);
+                for (ExpenseStatus status : STATUSES) {
+                    byStatus.put(status, new TeamSpendService.SpendTotal(
+                            BigDecimal.valueOf(random.nextInt(2_000_000), 2), 1 + random.nextInt(40)));
+                }
+                totalsByUser.put(userId, byStatus);
+                teamSpend = teamSpend.plus(byStatus.get(ExpenseStatus.APPROVED));
+            }
+            rostersByTeam.put(teamId, roster);
+            spendByTeam.put(teamId, teamSpend);
+            totalsByTeam.put(teamId, totalsByUser);
+        }
+
+        // Same pool shape as AsyncConfig.reportExecutor
+        reportExecutor = new ThreadPoolTaskExecutor();
+        reportExecutor.setCorePoolSize(2);
+        reportExecutor.setMaxPoolSize(4);
+        reportExecutor.setQueueCapacity(25);
+        reportExecutor.setThreadNamePrefix("Benchmark-Report-");
+        reportExecutor.initialize();
+
+        reportService = new ReportServiceImpl();
+        ReflectionTestUtils.setField(reportService, "reportExecutor", reportExecutor);
+        ReflectionTestUtils.setField(reportService, "reportParallelism", 4);
+    }
+
+    @TearDown
+    public void tearDown() {
+        reportExecutor.shutdown();
+    }
+
+    @Benchmark
+    public List<ReportServiceImpl.TeamPerformance> serial() {
+        return teams.stream().map(this::summarize).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ReportServiceImpl.TeamPerformance> parallel() {
+        return reportService.mapInParallel(teams, this::summarize);
+    }
+
+    private ReportServiceImpl.TeamPerformance summarize(Team team) {
+        return reportService.calculateTeamPerformance(team,
+                budgetsByTeam.getOrDefault(team.getId(), List.of()),
+                rostersByTeam.getOrDefault(team.getId(), List.of()),
+                spendByTeam.getOrDefault(team.getId(), TeamSpendService.SpendTotal.EMPTY),
+                totalsByTeam.getOrDefault(team.getId(), Map.of()));
+    }
+}
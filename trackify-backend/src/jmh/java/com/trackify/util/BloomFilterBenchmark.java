@@ -0,0 +1,124 @@
+package com.trackify.util;
+
+import com.trackify.benchmark.BenchmarkCorpus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The revocation filter as TokenRevocationServiceImpl sizes it by default: 1M revoked
+ * token ids at a 1% target rate. absentLookup is the per-request cost for a token that
+ * was never revoked, the common case; its falsePositives / lookups counters give the
+ * measured false positive rate, which setUp also prints over a separate 1M probes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class BloomFilterBenchmark {
+
+    private static final int PROBES = 1 << 20;
+
+    @Param({"1000000"})
+    private int entries;
+
+    @Param({"0.01"})
+    private double falsePositiveRate;
+
+    private BloomFilter filter;
+    private String[] present;
+    private String[] absent;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next() {
+            next = (next + 1) & (PROBES - 1);
+            return next;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Hits {
+
+        public long lookups;
+        public long falsePositives;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lookups = 0;
+            falsePositives = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkCorpus.SEED + 43);
+        filter = new BloomFilter(entries, falsePositiveRate);
+        present = new String[PROBES];
+        for (int i = 0; i < entries; i++) {
+            String jti = tokenId(random);
+            filter.add(jti);
+            if (i < PROBES) {
+                present[i] = jti;
+            }
+        }
+        for (int i = entries; i < PROBES; i++) {
+            present[i] = present[i % entries];
+        }
+
+        absent = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            absent[i] = tokenId(random);
+        }
+
+        // Fresh ids, so the rate is not measured on the probes the benchmark reuses
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(tokenId(random))) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("%nBloom filter: %d entries in %d KB, false positive rate %.4f%% (target %.4f%%)%n",
+                entries, filter.getSizeInBytes() / 1024, 100.0 * falsePositives / PROBES, 100 * falsePositiveRate);
+    }
+
+    @Benchmark
+    public boolean absentLookup(Cursor cursor, Hits hits) {
+        boolean positive = filter.mightContain(absent[cursor.next()]);
+        hits.lookups++;
+        if (positive) {
+            hits.falsePositives++;
+        }
+        return positive;
+    }
+
+    @Benchmark
+    public boolean presentLookup(Cursor cursor) {
+        return filter.mightContain(present[cursor.next()]);
+    }
+
+    // Same shape as the jti JwtTokenProvider issues
+    private static String tokenId(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
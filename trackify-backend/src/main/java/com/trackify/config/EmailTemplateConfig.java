@@ -0,0 +1,31 @@
+package com.trackify.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+@Configuration
+public class EmailTemplateConfig {
+
+    /**
+     * Resolves email/* templates ahead of the default resolver with caching always on,
+     * so outgoing mail does not re-parse templates when devtools turns the page cache off.
+     */
+    @Bean
+    public ClassLoaderTemplateResolver emailTemplateResolver() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setResolvablePatterns(Set.of("email/*"));
+        resolver.setCacheable(true);
+        resolver.setCheckExistence(true);
+        resolver.setOrder(0);
+        return resolver;
+    }
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Scope;
 
 import java.io.File;
 
@@ -20,7 +21,9 @@ public class OcrConfig {
     @Value("${app.ocr.tesseract.language:eng}")
     private String tesseractLanguage;
 
+    // Tesseract instances are not thread-safe, so each OCR worker thread gets its own
     @Bean
+    @Scope("prototype")
     public Tesseract tesseract() {
         Tesseract tesseract = new Tesseract();
         
@@ -2,12 +2,15 @@ package com.trackify.controller;
 
 import com.trackify.dto.response.ApiResponse;
 import com.trackify.entity.Expense;
+import com.trackify.exception.ForbiddenException;
+import com.trackify.security.UserPrincipal;
 import com.trackify.service.BankIntegrationService;
 import com.trackify.service.OcrService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -187,12 +190,14 @@ public class BankIntegrationController {
     @PostMapping("/bulk-upload/{userId}")
     public ResponseEntity<ApiResponse<Map<String, Object>>> processBulkUpload(
             @PathVariable Long userId,
-            @RequestParam("zipFile") MultipartFile zipFile) {
+            @RequestParam("zipFile") MultipartFile zipFile,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
         
+        requireCurrentUser(currentUser, userId);
         try {
             Map<String, Object> result = bankIntegrationService.processBulkUpload(zipFile, userId);
             
-            return ResponseEntity.ok(ApiResponse.success("Bulk upload processed", result));
+            return ResponseEntity.accepted().body(ApiResponse.success("Bulk upload queued", result));
             
         } catch (Exception e) {
             logger.error("Error processing bulk upload", e);
@@ -201,6 +206,25 @@ public class BankIntegrationController {
         }
     }
 
+    @GetMapping("/bulk-upload/{userId}/{jobId}")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getBulkUploadStatus(
+            @PathVariable Long userId,
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        requireCurrentUser(currentUser, userId);
+        try {
+            Map<String, Object> status = bankIntegrationService.getBulkUploadStatus(jobId, userId);
+            
+            return ResponseEntity.ok(ApiResponse.success("Bulk upload status retrieved", status));
+            
+        } catch (Exception e) {
+            logger.error("Error getting bulk upload status", e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.<Map<String, Object>>error("Failed to get bulk upload status: " + e.getMessage(), null));
+        }
+    }
+
     @PostMapping("/extract-text")
     public ResponseEntity<ApiResponse<String>> extractTextOnly(
             @RequestParam("file") MultipartFile file) {
@@ -323,4 +347,11 @@ public class BankIntegrationController {
                     .body(ApiResponse.<Boolean>error("Failed to get auto-processing status: " + e.getMessage(), null));
         }
     }
-}
\ No newline at end of file
+
+    private void requireCurrentUser(UserPrincipal currentUser, Long userId) {
+        // Thrown outside the endpoint's try so it reaches the exception handler as a 403
+        if (currentUser == null || !currentUser.getId().equals(userId)) {
+            throw new ForbiddenException("You can only access your own bulk uploads");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.trackify.controller;
+
+import com.trackify.dto.request.ExchangeRateRequest;
+import com.trackify.dto.response.ApiResponse;
+import com.trackify.dto.response.ExchangeRateResponse;
+import com.trackify.security.UserPrincipal;
+import com.trackify.service.ExchangeRateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/exchange-rates")
+@Tag(name = "Exchange Rates", description = "APIs for currency exchange rates")
+public class ExchangeRateController {
+    
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+    
+    @GetMapping
+    @Operation(summary = "Get exchange rates", description = "Rates in effect on a date, with each currency's value in the user's base currency")
+    public ResponseEntity<ApiResponse<List<ExchangeRateResponse>>> getRates(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        LocalDate asOf = date != null ? date : LocalDate.now();
+        String baseCurrency = exchangeRateService.getBaseCurrency(currentUser.getId());
+        List<ExchangeRateResponse> rates = exchangeRateService.getRates(asOf, baseCurrency);
+        return ResponseEntity.ok(ApiResponse.success("Exchange rates retrieved successfully", rates));
+    }
+    
+    // Admin-only endpoints
+    
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Save exchange rates", description = "Add or replace rates per currency and effective date (Admin only)")
+    public ResponseEntity<ApiResponse<Integer>> saveRates(
+            @Valid @RequestBody List<@Valid ExchangeRateRequest> rates) {
+        
+        int saved = exchangeRateService.saveRates(rates);
+        return ResponseEntity.ok(ApiResponse.success("Exchange rates saved successfully", saved));
+    }
+    
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import exchange rates", description = "Import rates from the configured local rates file (Admin only)")
+    public ResponseEntity<ApiResponse<Integer>> importRates() {
+        
+        int imported = exchangeRateService.importFromFile();
+        return ResponseEntity.ok(ApiResponse.success("Exchange rates imported successfully", imported));
+    }
+}
@@ -1,14 +1,21 @@
 package com.trackify.controller;
 
 import com.trackify.dto.request.ExpenseRequest;
+import com.trackify.dto.request.ExpenseSearchRequest;
 import com.trackify.dto.response.ApiResponse;
+import com.trackify.dto.response.BulkOperationResponse;
+import com.trackify.dto.response.ExpenseImportResponse;
 import com.trackify.dto.response.ExpenseResponse;
+import com.trackify.dto.response.RecurringExpenseRuleResponse;
 import com.trackify.enums.ExpenseStatus;
+import com.trackify.enums.ImportFormat;
 import com.trackify.security.UserPrincipal;
+import com.trackify.service.ExpenseImportService;
 import com.trackify.service.ExpenseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +33,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -41,6 +49,9 @@ public class ExpenseController {
     @Autowired
     private ExpenseService expenseService;
     
+    @Autowired
+    private ExpenseImportService expenseImportService;
+    
     @PostMapping
     @Operation(summary = "Create expense", description = "Create a new expense")
     public ResponseEntity<ApiResponse<ExpenseResponse>> createExpense(
@@ -156,15 +167,22 @@ public class ExpenseController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Search expenses", description = "Search expenses by keyword")
+    @Operation(summary = "Search expenses", description = "Search expenses by keyword, ranked by relevance, with optional filters")
     public ResponseEntity<ApiResponse<Page<ExpenseResponse>>> searchExpenses(
             @RequestParam String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
+        ExpenseSearchRequest request = new ExpenseSearchRequest(keyword, categoryId, minAmount, maxAmount, startDate, endDate, fuzzy);
         Pageable pageable = PageRequest.of(page, size, Sort.by("expenseDate").descending());
-        Page<ExpenseResponse> expenses = expenseService.searchExpenses(currentUser.getId(), keyword, pageable);
+        Page<ExpenseResponse> expenses = expenseService.searchExpenses(currentUser.getId(), request, pageable);
         return ResponseEntity.ok(ApiResponse.success("Search results retrieved successfully", expenses));
     }
     
@@ -256,6 +274,36 @@ public class ExpenseController {
         return ResponseEntity.ok(ApiResponse.success("Recurring expenses retrieved successfully", expenses));
     }
     
+    @PostMapping("/recurring")
+    @Operation(summary = "Create recurring expense", description = "Create a recurring expense rule; occurrences already due are generated immediately")
+    public ResponseEntity<ApiResponse<RecurringExpenseRuleResponse>> createRecurringExpense(
+            @Valid @RequestBody ExpenseRequest expenseRequest,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        RecurringExpenseRuleResponse rule = expenseService.createRecurringExpense(expenseRequest, currentUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(ApiResponse.success("Recurring expense created successfully", rule));
+    }
+    
+    @GetMapping("/recurring/rules")
+    @Operation(summary = "Get recurring expense rules", description = "Retrieve the user's recurring expense rules")
+    public ResponseEntity<ApiResponse<List<RecurringExpenseRuleResponse>>> getRecurringExpenseRules(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        List<RecurringExpenseRuleResponse> rules = expenseService.getRecurringExpenseRules(currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Recurring expense rules retrieved successfully", rules));
+    }
+    
+    @DeleteMapping("/recurring/rules/{id}")
+    @Operation(summary = "Stop recurring expense", description = "Deactivate a recurring expense rule; generated expenses are kept")
+    public ResponseEntity<ApiResponse<Void>> deactivateRecurringExpenseRule(
+            @Parameter(description = "Rule ID") @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        expenseService.deactivateRecurringExpenseRule(id, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success("Recurring expense stopped successfully", null));
+    }
+    
     @GetMapping("/statistics/total")
     @Operation(summary = "Get total expense amount", description = "Get total expense amount for user")
     public ResponseEntity<ApiResponse<BigDecimal>> getTotalExpenseAmount(
@@ -305,23 +353,37 @@ public class ExpenseController {
     
     @DeleteMapping("/bulk")
     @Operation(summary = "Delete multiple expenses", description = "Delete multiple expenses")
-    public ResponseEntity<ApiResponse<Void>> deleteMultipleExpenses(
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteMultipleExpenses(
             @RequestBody List<Long> expenseIds,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
-        expenseService.deleteMultipleExpenses(expenseIds, currentUser.getId());
-        return ResponseEntity.ok(ApiResponse.success("Expenses deleted successfully", null));
+        BulkOperationResponse result = expenseService.deleteMultipleExpenses(expenseIds, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("%d of %d expenses deleted", result.getSucceeded(), result.getRequested()), result));
     }
     
     @PutMapping("/bulk/status")
     @Operation(summary = "Update multiple expense status", description = "Update status for multiple expenses")
-    public ResponseEntity<ApiResponse<Void>> updateMultipleExpenseStatus(
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> updateMultipleExpenseStatus(
             @RequestBody List<Long> expenseIds,
             @RequestParam ExpenseStatus status,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
-        expenseService.updateMultipleExpenseStatus(expenseIds, status, currentUser.getId());
-        return ResponseEntity.ok(ApiResponse.success("Expense statuses updated successfully", null));
+        BulkOperationResponse result = expenseService.updateMultipleExpenseStatus(expenseIds, status, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("%d of %d expense statuses updated", result.getSucceeded(), result.getRequested()), result));
+    }
+    
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import expenses", description = "Bulk import expenses from a streamed CSV or NDJSON body")
+    public ResponseEntity<ApiResponse<ExpenseImportResponse>> importExpenses(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserPrincipal currentUser) throws IOException {
+        
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        ExpenseImportResponse result = expenseImportService.importExpenses(request.getInputStream(), format, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success(
+                String.format("%d of %d rows imported", result.getImportedRows(), result.getTotalRows()), result));
     }
     
     @GetMapping("/export/csv")
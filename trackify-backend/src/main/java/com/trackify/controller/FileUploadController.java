@@ -13,8 +13,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -24,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -36,6 +37,12 @@ public class FileUploadController {
     @Autowired
     private FileService fileService;
     
+    private static final Duration RECEIPT_CACHE_MAX_AGE = Duration.ofDays(365);
+    
+    // Id-keyed URLs always name the same bytes; a filename URL follows the user's latest upload of that name
+    private static final CacheControl IMMUTABLE_CACHE = CacheControl.maxAge(RECEIPT_CACHE_MAX_AGE).cachePrivate().immutable();
+    private static final CacheControl REVALIDATE_CACHE = CacheControl.noCache().cachePrivate();
+    
     @PostMapping("/receipts/upload")
     @Operation(summary = "Upload receipt", description = "Upload a receipt file for an expense")
     public ResponseEntity<ApiResponse<ReceiptResponse>> uploadReceipt(
@@ -100,26 +107,17 @@ public class FileUploadController {
     }
     
     @GetMapping("/receipts/download/{id}")
-    @Operation(summary = "Download receipt", description = "Download a receipt file")
+    @Operation(summary = "Download receipt", description = "Download a receipt file; supports Range and If-None-Match")
     public ResponseEntity<Resource> downloadReceipt(
             @Parameter(description = "Receipt ID") @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         try {
-            byte[] fileData = fileService.downloadReceipt(id, currentUser.getId());
             ReceiptResponse receipt = fileService.getReceiptById(id, currentUser.getId());
+            Resource resource = fileService.downloadReceipt(id, currentUser.getId());
             
-            ByteArrayResource resource = new ByteArrayResource(fileData);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, 
-                "attachment; filename=\"" + receipt.getOriginalFilename() + "\"");
-            headers.add(HttpHeaders.CONTENT_TYPE, receipt.getMimeType());
-            
-            return ResponseEntity.ok()
-                .headers(headers)
-                .contentLength(fileData.length)
-                .body(resource);
+            return buildFileResponse(resource, "attachment", receipt.getOriginalFilename(), receipt.getMimeType(),
+                    IMMUTABLE_CACHE);
                 
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -133,20 +131,10 @@ public class FileUploadController {
             @AuthenticationPrincipal UserPrincipal currentUser) {
 
         try {
-            byte[] fileData = fileService.downloadReceiptByOriginalFilename(filename, currentUser.getId());
+            Resource resource = fileService.downloadReceiptByOriginalFilename(filename, currentUser.getId());
 
-            ByteArrayResource resource = new ByteArrayResource(fileData);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
-            
-            // Add content type header
-            headers.add(HttpHeaders.CONTENT_TYPE, "application/octet-stream");
-
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .contentLength(fileData.length)
-                    .body(resource);
+            return buildFileResponse(resource, "attachment", filename, MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                    REVALIDATE_CACHE);
 
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -157,6 +145,36 @@ public class FileUploadController {
         }
     }
     
+    @GetMapping("/thumbnails/{id}")
+    @Operation(summary = "Get receipt thumbnail", description = "Get a fixed-size JPEG thumbnail of an image or PDF receipt")
+    public ResponseEntity<Resource> getReceiptThumbnail(
+            @Parameter(description = "Receipt ID") @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        try {
+            Resource resource = fileService.downloadThumbnail(id, currentUser.getId());
+            return buildFileResponse(resource, "inline", "thumbnail-" + id + ".jpg", MediaType.IMAGE_JPEG_VALUE,
+                    IMMUTABLE_CACHE);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/previews/{id}")
+    @Operation(summary = "Get receipt preview", description = "Get a PNG render of the first page of a PDF receipt")
+    public ResponseEntity<Resource> getReceiptPreview(
+            @Parameter(description = "Receipt ID") @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        try {
+            Resource resource = fileService.downloadPreview(id, currentUser.getId());
+            return buildFileResponse(resource, "inline", "preview-" + id + ".png", MediaType.IMAGE_PNG_VALUE,
+                    IMMUTABLE_CACHE);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @DeleteMapping("/receipts/{id}")
     @Operation(summary = "Delete receipt", description = "Delete a receipt file")
     public ResponseEntity<ApiResponse<Void>> deleteReceipt(
@@ -223,9 +241,10 @@ public class FileUploadController {
     @GetMapping("/storage/large-files")
     @Operation(summary = "Get large files", description = "Get list of large files above threshold")
     public ResponseEntity<ApiResponse<List<ReceiptResponse>>> getLargeFiles(
-            @RequestParam(defaultValue = "5242880") long sizeThreshold) { // 5MB default
+            @RequestParam(defaultValue = "5242880") long sizeThreshold, // 5MB default
+            @RequestParam(defaultValue = "100") int limit) {
         
-        List<ReceiptResponse> largeFiles = fileService.getLargeFiles(sizeThreshold);
+        List<ReceiptResponse> largeFiles = fileService.getLargeFiles(sizeThreshold, limit);
         return ResponseEntity.ok(ApiResponse.success("Large files retrieved successfully", largeFiles));
     }
     
@@ -237,6 +256,14 @@ public class FileUploadController {
         return ResponseEntity.ok(ApiResponse.success("Orphaned files cleanup completed", null));
     }
     
+    @PostMapping("/maintenance/reconcile-storage")
+    @Operation(summary = "Reconcile storage usage", description = "Recompute storage usage counters from stored receipts")
+    public ResponseEntity<ApiResponse<Void>> reconcileStorageUsage() {
+        
+        fileService.reconcileStorageUsage();
+        return ResponseEntity.ok(ApiResponse.success("Storage usage reconciled", null));
+    }
+    
     @PostMapping("/maintenance/cleanup-old")
     @Operation(summary = "Cleanup old files", description = "Remove files older than specified days")
     public ResponseEntity<ApiResponse<Void>> cleanupOldFiles(
@@ -245,4 +272,21 @@ public class FileUploadController {
         fileService.cleanupOldFiles(daysOld);
         return ResponseEntity.ok(ApiResponse.success("Old files cleanup completed", null));
     }
+    
+    /**
+     * Stored receipts are never rewritten, so id-keyed routes pass a long private cache lifetime; the ETag lets
+     * the filename route revalidate cheaply. Spring MVC answers If-None-Match with 304 and Range with 206 for
+     * Resource bodies, streaming from disk.
+     */
+    private ResponseEntity<Resource> buildFileResponse(Resource resource, String disposition, String filename, 
+                                                       String mimeType, CacheControl cacheControl) throws IOException {
+        String etag = "\"" + Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength()) + "\"";
+        
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, disposition + "; filename=\"" + filename + "\"")
+            .header(HttpHeaders.CONTENT_TYPE, mimeType != null ? mimeType : MediaType.APPLICATION_OCTET_STREAM_VALUE)
+            .eTag(etag)
+            .cacheControl(cacheControl)
+            .body(resource);
+    }
 }
\ No newline at end of file
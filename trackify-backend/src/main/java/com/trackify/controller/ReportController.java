@@ -2,6 +2,8 @@ package com.trackify.controller;
 
 import com.trackify.dto.request.ReportRequest;
 import com.trackify.dto.response.ReportResponse;
+import com.trackify.enums.ReportJobType;
+import com.trackify.service.ReportJobService;
 import com.trackify.service.ReportService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,6 +46,9 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ReportJobService reportJobService;
+
     // Generate expense report
     @PostMapping("/expense")
     @Operation(summary = "Generate expense report", description = "Generate a detailed expense report")
@@ -51,10 +56,10 @@ public class ReportController {
             @Valid @RequestBody ReportRequest.ExpenseReportRequest request,
             Authentication authentication) {
         
-        logger.info("Generating expense report for user: {}", authentication.getName());
+        logger.info("Queueing expense report for user: {}", authentication.getName());
         
-        ReportResponse report = reportService.generateExpenseReport(request, authentication.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(report);
+        ReportResponse report = reportJobService.submit(ReportJobType.EXPENSE, request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
     }
 
     // Generate budget report
@@ -64,10 +69,10 @@ public class ReportController {
             @Valid @RequestBody ReportRequest.BudgetReportRequest request,
             Authentication authentication) {
         
-        logger.info("Generating budget report for user: {}", authentication.getName());
+        logger.info("Queueing budget report for user: {}", authentication.getName());
         
-        ReportResponse report = reportService.generateBudgetReport(request, authentication.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(report);
+        ReportResponse report = reportJobService.submit(ReportJobType.BUDGET, request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
     }
 
     // Generate approval report
@@ -77,10 +82,10 @@ public class ReportController {
             @Valid @RequestBody ReportRequest.ApprovalReportRequest request,
             Authentication authentication) {
         
-        logger.info("Generating approval report for user: {}", authentication.getName());
+        logger.info("Queueing approval report for user: {}", authentication.getName());
         
-        ReportResponse report = reportService.generateApprovalReport(request, authentication.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(report);
+        ReportResponse report = reportJobService.submit(ReportJobType.APPROVAL, request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
     }
 
     // Generate team report
@@ -90,11 +95,11 @@ public class ReportController {
             @Valid @RequestBody ReportRequest.TeamReportRequest request,
             Authentication authentication) {
         
-        logger.info("Generating team report for team: {} by user: {}", 
+        logger.info("Queueing team report for team: {} by user: {}", 
                 request.getTeamId(), authentication.getName());
         
-        ReportResponse report = reportService.generateTeamReport(request, authentication.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(report);
+        ReportResponse report = reportJobService.submit(ReportJobType.TEAM, request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
     }
 
     // Generate custom report
@@ -104,11 +109,11 @@ public class ReportController {
             @Valid @RequestBody ReportRequest request,
             Authentication authentication) {
         
-        logger.info("Generating custom report type: {} for user: {}", 
+        logger.info("Queueing custom report type: {} for user: {}", 
                 request.getReportType(), authentication.getName());
         
-        ReportResponse report = reportService.generateCustomReport(request, authentication.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(report);
+        ReportResponse report = reportJobService.submit(ReportJobType.CUSTOM, request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
     }
 
     // Get report by ID
@@ -120,10 +125,44 @@ public class ReportController {
         
         logger.info("Retrieving report: {} for user: {}", reportId, authentication.getName());
         
-        ReportResponse report = reportService.getReportById(reportId, authentication.getName());
+        // Reports still queued or running (or that failed) are answered with their job status
+        ReportResponse report = reportJobService.findIncompleteJob(reportId, authentication.getName())
+                .orElseGet(() -> reportService.getReportById(reportId, authentication.getName()));
         return ResponseEntity.ok(report);
     }
 
+    // Get report job status
+    @GetMapping("/jobs/{reportId}")
+    @Operation(summary = "Get report job status", description = "Get the status and progress of a queued report")
+    public ResponseEntity<ReportResponse> getReportJobStatus(
+            @PathVariable String reportId,
+            Authentication authentication) {
+        
+        ReportResponse status = reportJobService.getJobStatus(reportId, authentication.getName());
+        return ResponseEntity.ok(status);
+    }
+
+    // Get recent report jobs
+    @GetMapping("/jobs")
+    @Operation(summary = "Get report jobs", description = "Get the most recent report jobs for the authenticated user")
+    public ResponseEntity<List<ReportResponse>> getReportJobs(Authentication authentication) {
+        List<ReportResponse> jobs = reportJobService.getRecentJobs(authentication.getName());
+        return ResponseEntity.ok(jobs);
+    }
+
+    // Cancel report job
+    @PostMapping("/jobs/{reportId}/cancel")
+    @Operation(summary = "Cancel report job", description = "Cancel a queued or running report")
+    public ResponseEntity<ReportResponse> cancelReportJob(
+            @PathVariable String reportId,
+            Authentication authentication) {
+        
+        logger.info("Cancelling report job: {} for user: {}", reportId, authentication.getName());
+        
+        ReportResponse status = reportJobService.cancelJob(reportId, authentication.getName());
+        return ResponseEntity.ok(status);
+    }
+
     // Get user reports
     @GetMapping
     @Operation(summary = "Get user reports", description = "Get all reports for the authenticated user")
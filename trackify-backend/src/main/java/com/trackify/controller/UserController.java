@@ -80,6 +80,16 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Avatar updated successfully", updatedUser));
     }
     
+    @PutMapping("/me/base-currency")
+    @Operation(summary = "Update base currency", description = "Set the currency dashboards and reports are converted into")
+    public ResponseEntity<ApiResponse<UserResponse>> updateBaseCurrency(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam String currency) {
+        
+        UserResponse updatedUser = userService.updateBaseCurrency(currentUser.getId(), currency);
+        return ResponseEntity.ok(ApiResponse.success("Base currency updated successfully", updatedUser));
+    }
+    
     @PostMapping("/me/change-password")
     @Operation(summary = "Change password", description = "Change the password for the current user")
     public ResponseEntity<ApiResponse<Void>> changePassword(
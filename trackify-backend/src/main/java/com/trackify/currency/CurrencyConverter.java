@@ -0,0 +1,111 @@
+package com.trackify.currency;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts amounts in any currency into one target currency, in long minor units.
+ * For each source currency the cross rate to the target is precomputed once per rate
+ * change as a scaled long, so converting a row inside an aggregation loop is a binary
+ * search over the change days and one long multiplication. Amounts in currencies
+ * without rates are taken over at face value.
+ */
+public final class CurrencyConverter {
+
+    // Cross rates are fixed-point with 12 decimal places
+    private static final int FACTOR_DIGITS = 12;
+    private static final long FACTOR_SCALE = 1_000_000_000_000L;
+
+    private final ExchangeRateTable table;
+    private final String targetCurrency;
+    private final int targetDigits;
+    private final Map<String, CrossRates> crossRates = new ConcurrentHashMap<>();
+
+    CurrencyConverter(ExchangeRateTable table, String targetCurrency) {
+        this.table = table;
+        this.targetCurrency = targetCurrency;
+        this.targetDigits = CurrencyUnits.fractionDigits(targetCurrency);
+    }
+
+    public String getTargetCurrency() {
+        return targetCurrency;
+    }
+
+    public long toTargetMinor(BigDecimal amount, String sourceCurrency, LocalDate date) {
+        String source = sourceCurrency != null ? sourceCurrency : ExchangeRateTable.PIVOT_CURRENCY;
+        return toTargetMinor(CurrencyUnits.toMinor(amount, source), source, date);
+    }
+
+    public long toTargetMinor(long minorUnits, String sourceCurrency, LocalDate date) {
+        String source = sourceCurrency != null ? sourceCurrency : ExchangeRateTable.PIVOT_CURRENCY;
+        if (minorUnits == 0 || source.equals(targetCurrency)) {
+            return minorUnits;
+        }
+        long factor = crossRates.computeIfAbsent(source, this::buildCrossRates).factorOn((int) date.toEpochDay());
+        return multiplyScaled(minorUnits, factor);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String sourceCurrency, LocalDate date) {
+        return toAmount(toTargetMinor(amount, sourceCurrency, date));
+    }
+
+    public BigDecimal toAmount(long targetMinor) {
+        return BigDecimal.valueOf(targetMinor, targetDigits);
+    }
+
+    private CrossRates buildCrossRates(String source) {
+        int[] sourceDays = table.effectiveDays(source);
+        int[] targetDays = table.effectiveDays(targetCurrency);
+
+        // The cross rate can change whenever either side's rate does
+        int[] days = new int[sourceDays.length + targetDays.length];
+        System.arraycopy(sourceDays, 0, days, 0, sourceDays.length);
+        System.arraycopy(targetDays, 0, days, sourceDays.length, targetDays.length);
+        Arrays.sort(days);
+        days = Arrays.stream(days).distinct().toArray();
+        if (days.length == 0) {
+            days = new int[] {0};
+        }
+
+        long[] factors = new long[days.length];
+        int digitShift = targetDigits - CurrencyUnits.fractionDigits(source);
+        for (int i = 0; i < days.length; i++) {
+            BigDecimal sourceUnits = table.unitsPerUsd(source, days[i]);
+            BigDecimal targetUnits = table.unitsPerUsd(targetCurrency, days[i]);
+            BigDecimal rate = sourceUnits != null && targetUnits != null
+                    ? targetUnits.divide(sourceUnits, MathContext.DECIMAL128)
+                    : BigDecimal.ONE;
+            factors[i] = rate.movePointRight(digitShift + FACTOR_DIGITS).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        }
+        return new CrossRates(days, factors);
+    }
+
+    // minorUnits * factor / FACTOR_SCALE, rounded half up, in 128-bit precision when the product overflows
+    static long multiplyScaled(long minorUnits, long factor) {
+        long high = Math.multiplyHigh(minorUnits, factor);
+        long low = minorUnits * factor;
+        if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+            long quotient = low / FACTOR_SCALE;
+            long remainder = low % FACTOR_SCALE;
+            if (Math.abs(remainder) * 2 >= FACTOR_SCALE) {
+                quotient += Long.signum(low);
+            }
+            return quotient;
+        }
+        return BigDecimal.valueOf(minorUnits).multiply(BigDecimal.valueOf(factor))
+                .movePointLeft(FACTOR_DIGITS).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private record CrossRates(int[] days, long[] factors) {
+
+        long factorOn(int epochDay) {
+            int index = Arrays.binarySearch(days, epochDay);
+            return factors[index >= 0 ? index : Math.max(0, -index - 2)];
+        }
+    }
+}
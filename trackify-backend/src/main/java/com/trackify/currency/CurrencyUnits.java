@@ -0,0 +1,47 @@
+package com.trackify.currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion between decimal amounts and long minor units (cents, pence, whole yen),
+ * using each currency's ISO 4217 number of fraction digits.
+ */
+public final class CurrencyUnits {
+
+    // Codes the JDK does not know are treated as two-decimal currencies
+    private static final int DEFAULT_FRACTION_DIGITS = 2;
+
+    private static final Map<String, Integer> FRACTION_DIGITS = new ConcurrentHashMap<>();
+
+    private CurrencyUnits() {
+    }
+
+    public static int fractionDigits(String currencyCode) {
+        if (currencyCode == null) {
+            return DEFAULT_FRACTION_DIGITS;
+        }
+        return FRACTION_DIGITS.computeIfAbsent(currencyCode, code -> {
+            try {
+                int digits = Currency.getInstance(code).getDefaultFractionDigits();
+                return digits >= 0 ? digits : DEFAULT_FRACTION_DIGITS;
+            } catch (IllegalArgumentException e) {
+                return DEFAULT_FRACTION_DIGITS;
+            }
+        });
+    }
+
+    public static long toMinor(BigDecimal amount, String currencyCode) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.movePointRight(fractionDigits(currencyCode)).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal fromMinor(long minorUnits, String currencyCode) {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currencyCode));
+    }
+}
@@ -0,0 +1,114 @@
+package com.trackify.currency;
+
+import com.trackify.entity.ExchangeRate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable in-memory copy of the exchange_rates table. Every rate is quoted as units of
+ * a currency per USD, so any pair converts through USD. A rate applies from its effective
+ * date until the currency's next rate; dates before a currency's first rate use that first
+ * rate. A new table is built and swapped in whenever the rates change.
+ */
+public final class ExchangeRateTable {
+
+    public static final String PIVOT_CURRENCY = "USD";
+
+    private static final ExchangeRateTable EMPTY = new ExchangeRateTable(Map.of(), 0L);
+
+    private final Map<String, Series> series;
+    private final long version;
+
+    private ExchangeRateTable(Map<String, Series> series, long version) {
+        this.series = series;
+        this.version = version;
+    }
+
+    public static ExchangeRateTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param rates   rates ordered by currency and effective date
+     * @param version increases with every table built, so converters can tell tables apart
+     */
+    public static ExchangeRateTable of(List<ExchangeRate> rates, long version) {
+        Map<String, List<ExchangeRate>> byCurrency = new HashMap<>();
+        for (ExchangeRate rate : rates) {
+            if (!PIVOT_CURRENCY.equals(rate.getCurrencyCode()) && rate.getUnitsPerUsd().signum() > 0) {
+                byCurrency.computeIfAbsent(rate.getCurrencyCode(), code -> new ArrayList<>()).add(rate);
+            }
+        }
+
+        Map<String, Series> series = new HashMap<>();
+        byCurrency.forEach((code, currencyRates) -> {
+            int[] days = new int[currencyRates.size()];
+            BigDecimal[] units = new BigDecimal[currencyRates.size()];
+            for (int i = 0; i < days.length; i++) {
+                days[i] = (int) currencyRates.get(i).getEffectiveDate().toEpochDay();
+                units[i] = currencyRates.get(i).getUnitsPerUsd();
+            }
+            series.put(code, new Series(days, units));
+        });
+        return new ExchangeRateTable(Collections.unmodifiableMap(series), version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean supports(String currencyCode) {
+        return PIVOT_CURRENCY.equals(currencyCode) || series.containsKey(currencyCode);
+    }
+
+    public Set<String> getCurrencies() {
+        return series.keySet();
+    }
+
+    /**
+     * Units of the currency per USD on the given date, or null for a currency without rates
+     */
+    public BigDecimal unitsPerUsd(String currencyCode, LocalDate date) {
+        return unitsPerUsd(currencyCode, (int) date.toEpochDay());
+    }
+
+    BigDecimal unitsPerUsd(String currencyCode, int epochDay) {
+        if (PIVOT_CURRENCY.equals(currencyCode)) {
+            return BigDecimal.ONE;
+        }
+        Series rates = series.get(currencyCode);
+        return rates != null ? rates.units[rates.indexOn(epochDay)] : null;
+    }
+
+    /**
+     * Days on which the currency's rate changes; empty for USD and unknown currencies
+     */
+    int[] effectiveDays(String currencyCode) {
+        Series rates = series.get(currencyCode);
+        return rates != null ? rates.days : new int[0];
+    }
+
+    public CurrencyConverter converterTo(String targetCurrency) {
+        return new CurrencyConverter(this, targetCurrency);
+    }
+
+    private record Series(int[] days, BigDecimal[] units) {
+
+        int indexOn(int epochDay) {
+            int index = Arrays.binarySearch(days, epochDay);
+            if (index >= 0) {
+                return index;
+            }
+            // Last rate effective before the day, or the first rate for earlier days
+            return Math.max(0, -index - 2);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.trackify.currency;
+
+import com.trackify.service.ExchangeRateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Formats amounts for display. NumberFormat is expensive to create and not thread-safe,
+ * so a small pool of configured instances is kept per locale and currency: a format call
+ * borrows an idle instance, or clones the pool's prototype when all are in use, and hands
+ * it back afterwards. Pools are only kept for currencies the exchange rate table knows;
+ * any other code, which comes from stored expense data, gets a one-off instance.
+ */
+@Component
+public class MoneyFormatter {
+
+    private final Map<FormatKey, Pool> pools = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    @Value("${app.currency.display-locale:en-US}")
+    private Locale defaultLocale;
+
+    // Idle instances kept per locale and currency
+    @Value("${app.currency.formatter-pool-size:16}")
+    private int poolSize;
+
+    public String format(BigDecimal amount, String currencyCode) {
+        return format(amount, currencyCode, defaultLocale);
+    }
+
+    public String format(BigDecimal amount, String currencyCode, Locale locale) {
+        FormatKey key = new FormatKey(locale, currencyCode);
+        if (currencyCode != null && !exchangeRateService.getTable().supports(currencyCode)) {
+            // Not pooled, so arbitrary codes cannot grow the map without bound
+            return createPool(key).prototype.format(amount != null ? amount : BigDecimal.ZERO);
+        }
+
+        Pool pool = pools.computeIfAbsent(key, this::createPool);
+        NumberFormat formatter = pool.idle.poll();
+        if (formatter == null) {
+            formatter = (NumberFormat) pool.prototype.clone();
+        }
+        try {
+            return formatter.format(amount != null ? amount : BigDecimal.ZERO);
+        } finally {
+            // Dropped when the pool is already full
+            pool.idle.offer(formatter);
+        }
+    }
+
+    private Pool createPool(FormatKey key) {
+        NumberFormat prototype = NumberFormat.getCurrencyInstance(key.locale());
+        if (key.currencyCode() != null) {
+            try {
+                prototype.setCurrency(Currency.getInstance(key.currencyCode()));
+            } catch (IllegalArgumentException e) {
+                // Unknown code, keep the locale's currency symbol
+            }
+        }
+        int digits = CurrencyUnits.fractionDigits(key.currencyCode());
+        prototype.setMinimumFractionDigits(digits);
+        prototype.setMaximumFractionDigits(digits);
+        return new Pool(prototype, new ArrayBlockingQueue<>(poolSize));
+    }
+
+    private record FormatKey(Locale locale, String currencyCode) {
+    }
+
+    private record Pool(NumberFormat prototype, ArrayBlockingQueue<NumberFormat> idle) {
+    }
+}
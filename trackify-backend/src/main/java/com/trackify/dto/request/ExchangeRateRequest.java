@@ -0,0 +1,29 @@
+package com.trackify.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateRequest {
+
+    @NotNull(message = "Currency code is required")
+    @Pattern(regexp = "^[A-Z]{3}$", message = "Currency code must be a valid 3-letter code (e.g., EUR)")
+    private String currencyCode;
+
+    @NotNull(message = "Effective date is required")
+    private LocalDate effectiveDate;
+
+    // How many units of the currency one USD buys
+    @NotNull(message = "Rate is required")
+    @DecimalMin(value = "0.0000000001", message = "Rate must be positive")
+    private BigDecimal unitsPerUsd;
+}
@@ -2,6 +2,7 @@ package com.trackify.dto.request;
 
 import com.trackify.enums.ExpenseStatus;
 import com.trackify.enums.PaymentMethod;
+import com.trackify.enums.RecurrenceFrequency;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 
@@ -76,6 +77,14 @@ public class ExpenseRequest {
     
     // Status should typically be set by the system, but can be included for drafts
     private ExpenseStatus status = ExpenseStatus.PENDING;
+    
+    // Only read when creating a recurring expense; expenseDate is the first occurrence
+    private RecurrenceFrequency recurrenceFrequency;
+    
+    private LocalDate recurrenceEndDate;
+    
+    @Min(value = 1, message = "Recurrence must allow at least one occurrence")
+    private Integer recurrenceMaxOccurrences;
 
     // Getters and Setters
     public String getTitle() {
@@ -253,4 +262,28 @@ public class ExpenseRequest {
     public void setStatus(ExpenseStatus status) {
         this.status = status;
     }
-}
\ No newline at end of file
+
+    public RecurrenceFrequency getRecurrenceFrequency() {
+        return recurrenceFrequency;
+    }
+
+    public void setRecurrenceFrequency(RecurrenceFrequency recurrenceFrequency) {
+        this.recurrenceFrequency = recurrenceFrequency;
+    }
+
+    public LocalDate getRecurrenceEndDate() {
+        return recurrenceEndDate;
+    }
+
+    public void setRecurrenceEndDate(LocalDate recurrenceEndDate) {
+        this.recurrenceEndDate = recurrenceEndDate;
+    }
+
+    public Integer getRecurrenceMaxOccurrences() {
+        return recurrenceMaxOccurrences;
+    }
+
+    public void setRecurrenceMaxOccurrences(Integer recurrenceMaxOccurrences) {
+        this.recurrenceMaxOccurrences = recurrenceMaxOccurrences;
+    }
+}
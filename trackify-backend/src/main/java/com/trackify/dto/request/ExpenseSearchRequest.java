@@ -0,0 +1,28 @@
+package com.trackify.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSearchRequest {
+
+    private String keyword;
+    private Long categoryId;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // Retry with shortened prefixes, matching any term, when the exact search finds nothing
+    private boolean fuzzy = true;
+
+    public ExpenseSearchRequest(String keyword) {
+        this.keyword = keyword;
+    }
+}
@@ -0,0 +1,61 @@
+package com.trackify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results = new ArrayList<>();
+
+    public void addResult(Long id, Outcome outcome, String message) {
+        results.add(new ItemResult(id, outcome, message));
+        requested++;
+        if (outcome.isSuccessful()) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private Long id;
+        private Outcome outcome;
+        private String message;
+    }
+
+    public enum Outcome {
+        DELETED("Deleted"),
+        UPDATED("Updated"),
+        UNCHANGED("Unchanged"),
+        NOT_FOUND("Not Found"),
+        FORBIDDEN("Forbidden"),
+        NOT_ALLOWED("Not Allowed");
+
+        private final String displayName;
+
+        Outcome(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public boolean isSuccessful() {
+            return this == DELETED || this == UPDATED || this == UNCHANGED;
+        }
+    }
+}
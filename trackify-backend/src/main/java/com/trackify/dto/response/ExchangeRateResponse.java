@@ -0,0 +1,20 @@
+package com.trackify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateResponse {
+
+    private String currencyCode;
+    private LocalDate asOf;
+    private BigDecimal unitsPerUsd;
+    // Value of one unit of the currency in the requested base currency
+    private BigDecimal inBaseCurrency;
+}
@@ -0,0 +1,32 @@
+package com.trackify.dto.response;
+
+import com.trackify.enums.ImportFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportResponse {
+
+    private ImportFormat format;
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long durationMs;
+    private double rowsPerSecond;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,36 @@
+package com.trackify.dto.response;
+
+import com.trackify.enums.PaymentMethod;
+import com.trackify.enums.RecurrenceFrequency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpenseRuleResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private BigDecimal amount;
+    private String currencyCode;
+    private Long categoryId;
+    private Long teamId;
+    private PaymentMethod paymentMethod;
+    private String merchantName;
+    private RecurrenceFrequency frequency;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer maxOccurrences;
+    private LocalDate nextOccurrenceDate;
+    private Integer occurrencesGenerated;
+    private Boolean isActive;
+    private LocalDateTime lastGeneratedAt;
+    private LocalDateTime createdAt;
+}
@@ -21,7 +21,9 @@ public class ReportResponse {
     private String reportName;
     private String description;
     private String format;
-    private String status; // GENERATING, COMPLETED, FAILED
+    private String status; // PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
+    private Integer progress;
+    private String errorMessage;
     
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate startDate;
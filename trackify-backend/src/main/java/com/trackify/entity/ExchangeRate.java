@@ -0,0 +1,43 @@
+package com.trackify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units of a currency per USD from effectiveDate until the currency's next rate.
+ * Written through the native upsert in ExchangeRateRepository.
+ */
+@Entity
+@Table(name = "exchange_rates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_exchange_rates_currency_date", columnNames = {"currency_code", "effective_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+    
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate;
+    
+    @Column(name = "units_per_usd", nullable = false, precision = 20, scale = 10)
+    private BigDecimal unitsPerUsd;
+    
+    @Column(name = "source", nullable = false, length = 20)
+    private String source;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
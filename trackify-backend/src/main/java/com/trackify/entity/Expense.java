@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,7 +21,11 @@ import java.util.List;
     @Index(name = "idx_expense_user", columnList = "user_id"),
     @Index(name = "idx_expense_category", columnList = "category_id"),
     @Index(name = "idx_expense_date", columnList = "expense_date"),
-    @Index(name = "idx_expense_status", columnList = "status")
+    @Index(name = "idx_expense_status", columnList = "status"),
+    @Index(name = "idx_expense_team_date", columnList = "team_id, expense_date"),
+    @Index(name = "idx_expense_user_recurring", columnList = "user_id, is_recurring, expense_date")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_expense_recurring_occurrence", columnNames = {"recurring_rule_id", "recurring_occurrence_date"})
 })
 @Data
 @NoArgsConstructor
@@ -121,6 +126,13 @@ public class Expense {
     @Column(name = "rejection_reason", length = 500)
     private String rejectionReason;
     
+    // Set on expenses generated from a RecurringExpenseRule
+    @Column(name = "recurring_rule_id")
+    private Long recurringRuleId;
+    
+    @Column(name = "recurring_occurrence_date")
+    private LocalDate recurringOccurrenceDate;
+    
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", insertable = false, updatable = false)
@@ -134,7 +146,9 @@ public class Expense {
     @JoinColumn(name = "team_id", insertable = false, updatable = false)
     private Team team;
     
+    // ModelMapper reads this for every expense it maps, so load a page's worth at once
     @OneToMany(mappedBy = "expenseId", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<Receipt> receipts;
     
     @CreatedDate
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "receipts", indexes = {
     @Index(name = "idx_receipt_expense", columnList = "expense_id"),
-    @Index(name = "idx_receipt_user", columnList = "uploaded_by")
+    @Index(name = "idx_receipt_user", columnList = "uploaded_by"),
+    @Index(name = "idx_receipt_file_size", columnList = "file_size")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,123 @@
+package com.trackify.entity;
+
+import com.trackify.enums.PaymentMethod;
+import com.trackify.enums.RecurrenceFrequency;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Template for an expense that repeats. Occurrence n falls on frequency.occurrence(startDate, n);
+ * nextOccurrenceDate is the date of occurrence occurrencesGenerated, kept as a column so due
+ * rules can be found through an index.
+ */
+@Entity
+@Table(name = "recurring_expense_rules", indexes = {
+    @Index(name = "idx_recurring_rules_due", columnList = "is_active, next_occurrence_date, id"),
+    @Index(name = "idx_recurring_rules_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringExpenseRule {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Column(name = "team_id")
+    private Long teamId;
+    
+    @Column(nullable = false, length = 200)
+    private String title;
+    
+    @Column(length = 1000)
+    private String description;
+    
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "currency_code", length = 3)
+    private String currencyCode = "USD";
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", length = 20)
+    private PaymentMethod paymentMethod;
+    
+    @Column(name = "merchant_name", length = 200)
+    private String merchantName;
+    
+    @Column(name = "notes", length = 1000)
+    private String notes;
+    
+    @Column(name = "tags", length = 500)
+    private String tags;
+    
+    @Column(name = "is_business_expense")
+    private Boolean isBusinessExpense = false;
+    
+    @Column(name = "is_reimbursable")
+    private Boolean isReimbursable = false;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date")
+    private LocalDate endDate;
+    
+    @Column(name = "max_occurrences")
+    private Integer maxOccurrences;
+    
+    @Column(name = "next_occurrence_date", nullable = false)
+    private LocalDate nextOccurrenceDate;
+    
+    @Column(name = "occurrences_generated", nullable = false)
+    private Integer occurrencesGenerated = 0;
+    
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+    
+    @Column(name = "last_generated_at")
+    private LocalDateTime lastGeneratedAt;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (nextOccurrenceDate == null) {
+            nextOccurrenceDate = startDate;
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Whether occurrence n is still within the rule's end date and occurrence limit
+    public boolean allowsOccurrence(long n, LocalDate date) {
+        return (endDate == null || !date.isAfter(endDate))
+                && (maxOccurrences == null || n < maxOccurrences);
+    }
+}
@@ -0,0 +1,90 @@
+package com.trackify.entity;
+
+import com.trackify.enums.ReportJobStatus;
+import com.trackify.enums.ReportJobType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "report_jobs", indexes = {
+    @Index(name = "idx_report_jobs_dispatch", columnList = "status, id"),
+    @Index(name = "idx_report_jobs_user_status", columnList = "user_id, status"),
+    @Index(name = "idx_report_jobs_finished_at", columnList = "finished_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "report_id", nullable = false, unique = true, length = 64)
+    private String reportId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "username", nullable = false, length = 255)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "report_type", nullable = false, length = 20)
+    private ReportJobType reportType;
+
+    @Column(name = "request_payload", nullable = false, columnDefinition = "TEXT")
+    private String requestPayload;
+
+    // Set when the job is a run of a scheduled report
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ReportJobStatus status = ReportJobStatus.PENDING;
+
+    @Column(name = "progress", nullable = false)
+    private Integer progress = 0;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private Boolean cancelRequested = false;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Where ReportOutputStore wrote the finished report
+    @Column(name = "output_path", length = 512)
+    private String outputPath;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
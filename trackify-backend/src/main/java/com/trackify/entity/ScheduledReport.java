@@ -0,0 +1,94 @@
+package com.trackify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Entity
+@Table(name = "scheduled_reports", indexes = {
+    @Index(name = "idx_scheduled_reports_next_run", columnList = "next_run_at"),
+    @Index(name = "idx_scheduled_reports_user", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class ScheduledReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_by", nullable = false, length = 255)
+    private String createdBy;
+
+    @Column(name = "report_name", nullable = false, length = 255)
+    private String reportName;
+
+    @Column(name = "description", length = 1000)
+    private String description;
+
+    // Serialized ReportRequest the schedule runs with
+    @Column(name = "report_config", nullable = false, columnDefinition = "TEXT")
+    private String reportConfig;
+
+    @Column(name = "frequency", nullable = false, length = 20)
+    private String frequency;
+
+    // Comma separated recipient addresses
+    @Column(name = "email_recipients", columnDefinition = "TEXT")
+    private String emailRecipients;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    @Column(name = "status", nullable = false, length = 40)
+    private String status = "ACTIVE";
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "execution_count", nullable = false)
+    private Integer executionCount = 0;
+
+    @Column(name = "failure_count", nullable = false)
+    private Integer failureCount = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Utility methods
+    public List<String> getRecipientList() {
+        if (emailRecipients == null || emailRecipients.isBlank()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(emailRecipients.split(",")));
+    }
+
+    public void setRecipientList(List<String> recipients) {
+        this.emailRecipients = recipients != null ? String.join(",", recipients) : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.trackify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "storage_usage")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageUsage {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "bytes_used", nullable = false)
+    private Long bytesUsed = 0L;
+    
+    @Column(name = "file_count", nullable = false)
+    private Integer fileCount = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
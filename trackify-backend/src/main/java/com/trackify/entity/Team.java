@@ -44,6 +44,13 @@ public class Team {
     @Column(name = "currency", length = 3)
     private String currency = "USD";
 
+    // Written only by the counter UPDATEs in TeamRepository, never by flushing the entity
+    @Column(name = "member_count", nullable = false, updatable = false)
+    private Integer memberCount = 0;
+
+    @Column(name = "active_member_count", nullable = false, updatable = false)
+    private Integer activeMemberCount = 0;
+
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<TeamMember> members = new ArrayList<>();
 
@@ -178,6 +185,18 @@ public class Team {
         this.currency = currency;
     }
 
+    public void setMemberCount(Integer memberCount) {
+        this.memberCount = memberCount;
+    }
+
+    public Integer getActiveMemberCount() {
+        return activeMemberCount != null ? activeMemberCount : 0;
+    }
+
+    public void setActiveMemberCount(Integer activeMemberCount) {
+        this.activeMemberCount = activeMemberCount;
+    }
+
     public List<TeamMember> getMembers() {
         return members;
     }
@@ -220,7 +239,7 @@ public class Team {
 
     // Helper methods
     public int getMemberCount() {
-        return members != null ? members.size() : 0;
+        return memberCount != null ? memberCount : 0;
     }
 
     public boolean isOwner(User user) {
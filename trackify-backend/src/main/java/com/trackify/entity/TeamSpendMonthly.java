@@ -0,0 +1,48 @@
+package com.trackify.entity;
+
+import com.trackify.enums.ExpenseStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "team_spend_monthly", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_team_spend_bucket", columnNames = {"team_id", "period_month", "category_id", "status"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamSpendMonthly {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+    
+    // First day of the month the expenses fall in
+    @Column(name = "period_month", nullable = false)
+    private LocalDate periodMonth;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ExpenseStatus status;
+    
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "expense_count", nullable = false)
+    private Integer expenseCount = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -72,6 +72,10 @@ public class User {
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
     
+    // Currency that dashboards and reports convert this user's expenses into
+    @Column(name = "base_currency", nullable = false, length = 3)
+    private String baseCurrency = "USD";
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -257,6 +261,14 @@ public class User {
         this.lastLoginAt = lastLoginAt;
     }
 
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
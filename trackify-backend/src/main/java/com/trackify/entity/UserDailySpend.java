@@ -0,0 +1,55 @@
+package com.trackify.entity;
+
+import com.trackify.enums.ExpenseStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily spend bucket. user_monthly_spend and user_yearly_spend share this layout
+ * and are written through the native queries in UserSpendRollupRepository.
+ */
+@Entity
+@Table(name = "user_daily_spend", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_daily_spend_bucket",
+            columnNames = {"user_id", "period_start", "category_id", "status", "currency_code"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDailySpend {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ExpenseStatus status;
+    
+    @Column(name = "currency_code", nullable = false, length = 3)
+    private String currencyCode;
+    
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "expense_count", nullable = false)
+    private Integer expenseCount = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.trackify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version counter of a user's report-relevant data, written through the native
+ * upserts in UserDataVersionRepository.
+ */
+@Entity
+@Table(name = "user_data_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDataVersion {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
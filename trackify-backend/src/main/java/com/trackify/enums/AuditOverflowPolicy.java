@@ -0,0 +1,25 @@
+package com.trackify.enums;
+
+/**
+ * What an audit producer does when the in-memory audit buffer is full
+ */
+public enum AuditOverflowPolicy {
+    BLOCK("Block"),
+    DROP("Drop"),
+    SPILL("Spill to file");
+
+    private final String displayName;
+
+    AuditOverflowPolicy(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,22 @@
+package com.trackify.enums;
+
+public enum EmailStatus {
+    PENDING("Pending"),
+    SENDING("Sending"),
+    SENT("Sent"),
+    FAILED("Failed");
+
+    private final String displayName;
+
+    EmailStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isFinal() {
+        return this == SENT || this == FAILED;
+    }
+}
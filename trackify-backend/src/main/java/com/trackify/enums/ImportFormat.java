@@ -0,0 +1,36 @@
+package com.trackify.enums;
+
+import com.trackify.exception.BadRequestException;
+
+public enum ImportFormat {
+    CSV("CSV", "text/csv"),
+    NDJSON("NDJSON", "application/x-ndjson");
+
+    private final String displayName;
+    private final String contentType;
+
+    ImportFormat(String displayName, String contentType) {
+        this.displayName = displayName;
+        this.contentType = contentType;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";")[0].trim();
+            for (ImportFormat format : values()) {
+                if (format.contentType.equalsIgnoreCase(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType);
+    }
+}
@@ -0,0 +1,42 @@
+package com.trackify.enums;
+
+import java.time.LocalDate;
+
+public enum RecurrenceFrequency {
+    DAILY("Daily"),
+    WEEKLY("Weekly"),
+    BIWEEKLY("Bi-weekly"),
+    MONTHLY("Monthly"),
+    QUARTERLY("Quarterly"),
+    YEARLY("Yearly");
+    
+    private final String displayName;
+    
+    RecurrenceFrequency(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() {
+        return displayName;
+    }
+    
+    /**
+     * Date of the n-th occurrence, counting the start date as occurrence 0. Always derived
+     * from the start date so a rule starting on the 31st does not drift to the 28th.
+     */
+    public LocalDate occurrence(LocalDate startDate, long n) {
+        return switch (this) {
+            case DAILY -> startDate.plusDays(n);
+            case WEEKLY -> startDate.plusWeeks(n);
+            case BIWEEKLY -> startDate.plusWeeks(2 * n);
+            case MONTHLY -> startDate.plusMonths(n);
+            case QUARTERLY -> startDate.plusMonths(3 * n);
+            case YEARLY -> startDate.plusYears(n);
+        };
+    }
+    
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,25 @@
+package com.trackify.enums;
+
+public enum ReportJobStatus {
+    PENDING("Pending"),
+    RUNNING("Running"),
+    COMPLETED("Completed"),
+    FAILED("Failed"),
+    CANCELLED("Cancelled"),
+    // Completed, but the output has since been removed by retention or is missing from storage
+    EXPIRED("Expired");
+
+    private final String displayName;
+
+    ReportJobStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isFinal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED || this == EXPIRED;
+    }
+}
@@ -0,0 +1,28 @@
+package com.trackify.enums;
+
+import com.trackify.dto.request.ReportRequest;
+
+public enum ReportJobType {
+    EXPENSE("Expense Report", ReportRequest.ExpenseReportRequest.class),
+    BUDGET("Budget Report", ReportRequest.BudgetReportRequest.class),
+    APPROVAL("Approval Report", ReportRequest.ApprovalReportRequest.class),
+    TEAM("Team Report", ReportRequest.TeamReportRequest.class),
+    CUSTOM("Custom Report", ReportRequest.class);
+
+    private final String displayName;
+    private final Class<?> requestType;
+
+    ReportJobType(String displayName, Class<?> requestType) {
+        this.displayName = displayName;
+        this.requestType = requestType;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    // Request DTO the job payload is serialized from
+    public Class<?> getRequestType() {
+        return requestType;
+    }
+}
@@ -1,12 +1,16 @@
 package com.trackify.integration.ai;
 
 import org.slf4j.Logger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.*;
 
 @Component
@@ -29,6 +33,9 @@ public class OpenAiClient {
     @Value("${openai.temperature:0.7}")
     private Double temperature;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     private final RestTemplate restTemplate;
     
     public OpenAiClient() {
@@ -45,21 +52,9 @@ public class OpenAiClient {
                 throw new IllegalStateException("OpenAI API key not configured");
             }
             
-            Map<String, Object> requestBody = buildChatCompletionRequest(prompt, context);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    OPENAI_API_URL + CHAT_COMPLETIONS_ENDPOINT,
-                    request,
-                    Map.class
-            );
+            Map<String, Object> response = postChatCompletion(buildChatCompletionRequest(prompt, context));
             
-            return extractTextFromResponse(response.getBody());
+            return extractTextFromResponse(response);
             
         } catch (Exception e) {
             logger.error("Error calling OpenAI API", e);
@@ -77,21 +72,9 @@ public class OpenAiClient {
                 throw new IllegalStateException("OpenAI API key not configured");
             }
             
-            Map<String, Object> requestBody = buildChatCompletionRequest(prompt, context);
+            Map<String, Object> response = postChatCompletion(buildChatCompletionRequest(prompt, context));
             
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    OPENAI_API_URL + CHAT_COMPLETIONS_ENDPOINT,
-                    request,
-                    Map.class
-            );
-            
-            return processQueryResponse(response.getBody(), context);
+            return processQueryResponse(response, context);
             
         } catch (Exception e) {
             logger.error("Error querying OpenAI API", e);
@@ -193,6 +176,56 @@ public class OpenAiClient {
     
     // Private helper methods
     
+    /**
+     * Post a chat completion, recording its latency as trackify.ai.openai.requests and the
+     * tokens it used as trackify.ai.openai.tokens
+     */
+    private Map<String, Object> postChatCompletion(Map<String, Object> requestBody) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+        
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+        String model = String.valueOf(requestBody.get("model"));
+        
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ResponseEntity<Map> response = restTemplate.postForEntity(
+                    OPENAI_API_URL + CHAT_COMPLETIONS_ENDPOINT,
+                    request,
+                    Map.class
+            );
+            outcome = "success";
+            
+            Map<String, Object> body = response.getBody();
+            recordTokenUsage(model, body);
+            return body;
+        } finally {
+            sample.stop(Timer.builder("trackify.ai.openai.requests")
+                    .description("OpenAI chat completion latency")
+                    .tag("model", model)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(meterRegistry));
+        }
+    }
+    
+    private void recordTokenUsage(String model, Map<String, Object> response) {
+        if (response == null || !(response.get("usage") instanceof Map<?, ?> usage)) {
+            return;
+        }
+        if (usage.get("prompt_tokens") instanceof Number promptTokens) {
+            meterRegistry.counter("trackify.ai.openai.tokens", "model", model, "type", "prompt")
+                    .increment(promptTokens.doubleValue());
+        }
+        if (usage.get("completion_tokens") instanceof Number completionTokens) {
+            meterRegistry.counter("trackify.ai.openai.tokens", "model", model, "type", "completion")
+                    .increment(completionTokens.doubleValue());
+        }
+    }
+    
     private Map<String, Object> buildChatCompletionRequest(String prompt, Map<String, Object> context) {
         Map<String, Object> request = new HashMap<>();
         request.put("model", defaultModel);
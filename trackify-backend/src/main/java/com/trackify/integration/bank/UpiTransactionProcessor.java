@@ -10,7 +10,9 @@ import com.trackify.integration.ai.CategorySuggestionEngine;
 import com.trackify.repository.CategoryRepository;
 import com.trackify.repository.ExpenseRepository;
 import com.trackify.repository.UserRepository;
+import com.trackify.service.DataVersionService;
 import com.trackify.service.NotificationService;
+import com.trackify.service.SpendRollupService;
 import com.trackify.util.DateUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +51,12 @@ public class UpiTransactionProcessor {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     // UPI ID patterns
     private static final Pattern UPI_ID_PATTERN = Pattern.compile("([\\w.-]+@[\\w-]+)", Pattern.CASE_INSENSITIVE);
     
@@ -89,21 +97,20 @@ public class UpiTransactionProcessor {
         try {
             logger.info("Processing UPI transaction for user: {}", userId);
             
-            UpiTransactionInfo transactionInfo = extractTransactionInfo(transactionData);
-            
-            if (transactionInfo.getAmount() == null || transactionInfo.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                logger.warn("Invalid or missing amount in transaction data");
-                return null;
-            }
-
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new RuntimeException("User not found: " + userId));
 
             // Create expense from transaction info
-            Expense expense = createExpenseFromTransaction(transactionInfo, user);
+            Expense expense = buildExpense(transactionData, user);
+            
+            if (expense == null) {
+                return null;
+            }
             
             // Save expense
             expense = expenseRepository.save(expense);
+            spendRollupService.recordAdded(expense);
+            dataVersionService.bump(expense.getUserId());
             
             logger.info("Successfully created expense from UPI transaction: {}", expense.getId());
             
@@ -118,6 +125,21 @@ public class UpiTransactionProcessor {
         }
     }
 
+    /**
+     * Build an unsaved expense from UPI transaction data, so callers importing
+     * many transactions can persist them in batches
+     */
+    public Expense buildExpense(String transactionData, User user) {
+        UpiTransactionInfo transactionInfo = extractTransactionInfo(transactionData);
+        
+        if (transactionInfo.getAmount() == null || transactionInfo.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            logger.warn("Invalid or missing amount in transaction data");
+            return null;
+        }
+        
+        return createExpenseFromTransaction(transactionInfo, user);
+    }
+
     /**
      * Extract transaction information from text data
      */
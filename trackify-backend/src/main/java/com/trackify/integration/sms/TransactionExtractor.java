@@ -10,7 +10,9 @@ import com.trackify.integration.sms.SmsParser.SmsTransactionInfo;
 import com.trackify.repository.CategoryRepository;
 import com.trackify.repository.ExpenseRepository;
 import com.trackify.repository.UserRepository;
+import com.trackify.service.DataVersionService;
 import com.trackify.service.NotificationService;
+import com.trackify.service.SpendRollupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +48,12 @@ public class TransactionExtractor {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     // Merchant to category mapping for smart categorization
     private static final Map<String, String> MERCHANT_CATEGORY_MAPPING = new HashMap<>();
     static {
@@ -162,6 +170,8 @@ public class TransactionExtractor {
 
             // Save expense
             expense = expenseRepository.save(expense);
+            spendRollupService.recordAdded(expense);
+            dataVersionService.bump(expense.getUserId());
 
             logger.info("Successfully created expense from SMS transaction: {}", expense.getId());
 
@@ -259,9 +269,9 @@ public class TransactionExtractor {
     }
 
     /**
-     * Calculate Levenshtein distance between two strings
+     * Calculate Levenshtein distance between two strings. Package-private for the JMH benchmarks.
      */
-    private int calculateLevenshteinDistance(String str1, String str2) {
+    int calculateLevenshteinDistance(String str1, String str2) {
         int[][] dp = new int[str1.length() + 1][str2.length() + 1];
 
         for (int i = 0; i <= str1.length(); i++) {
@@ -563,6 +573,8 @@ public class TransactionExtractor {
         // Save all expenses
         if (!expenses.isEmpty()) {
             expenses = expenseRepository.saveAll(expenses);
+            spendRollupService.recordAdded(expenses);
+            dataVersionService.bump(expenses.stream().map(Expense::getUserId).toList());
             logger.info("Created {} expenses from bank statement", expenses.size());
         }
         
@@ -0,0 +1,115 @@
+package com.trackify.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller endpoint, service method and repository query as
+ * trackify.controller, trackify.service and trackify.repository, tagged with class,
+ * method and the exception thrown, if any. Repository calls are also counted against the
+ * current request, see RequestMetrics.
+ */
+@Aspect
+@Component
+public class LayerTimingAspect {
+
+    private static final String REPOSITORY_PACKAGE = "com.trackify.repository";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.layer-histograms:true}")
+    private boolean publishHistograms;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(com.trackify.controller..*)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("trackify.controller", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("within(com.trackify.service.impl..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("trackify.service", joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    // Spring Data methods are declared on CrudRepository and friends, hence the second clause
+    @Around("within(com.trackify.repository..*) || execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            return time("trackify.repository", repositoryName(joinPoint), joinPoint);
+        }
+
+        boolean outermost = metrics.enterRepository();
+        long start = System.nanoTime();
+        try {
+            return time("trackify.repository", repositoryName(joinPoint), joinPoint);
+        } finally {
+            metrics.exitRepository(outermost, System.nanoTime() - start);
+        }
+    }
+
+    private Object time(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            timer(new TimerKey(name, className, joinPoint.getSignature().getName(), exception))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        Timer timer = timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(key, k -> Timer.builder(k.name())
+                .tag("class", k.className())
+                .tag("method", k.method())
+                .tag("exception", k.exception())
+                .publishPercentileHistogram(publishHistograms)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+
+    /**
+     * Spring Data repositories are JDK proxies, so the declaring type is often CrudRepository;
+     * name them after the application interface the proxy implements instead.
+     */
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        if (target == null) {
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        }
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> iface : type.getInterfaces()) {
+                if (iface.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return iface.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+
+    private record TimerKey(String name, String className, String method, String exception) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.trackify.metrics;
+
+/**
+ * Per-request counters, bound to the request thread by RequestMetricsFilter. Repository
+ * calls made on other threads (async executors, schedulers) have no context and are not
+ * attributed to any request.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long startStatements = SqlStatementCounter.current();
+    private int repositoryCalls;
+    private long repositoryNanos;
+    private int repositoryDepth;
+
+    private RequestMetrics() {
+    }
+
+    static RequestMetrics begin() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The context of the request running on this thread, or null outside a request
+     */
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Called on entry to a repository method. Returns true for the outermost call only, so
+     * a repository delegating to another one is counted once.
+     */
+    boolean enterRepository() {
+        return repositoryDepth++ == 0;
+    }
+
+    void exitRepository(boolean outermost, long nanos) {
+        repositoryDepth--;
+        if (outermost) {
+            repositoryCalls++;
+            repositoryNanos += nanos;
+        }
+    }
+
+    public int getRepositoryCalls() {
+        return repositoryCalls;
+    }
+
+    public long getRepositoryNanos() {
+        return repositoryNanos;
+    }
+
+    /**
+     * SQL statements Hibernate has prepared for this request so far
+     */
+    public long getSqlStatements() {
+        return SqlStatementCounter.current() - startStatements;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,122 @@
+package com.trackify.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a RequestMetrics context for every request and, once the response is written,
+ * records how many repository calls and SQL statements the request made against its
+ * endpoint pattern. Requests slower than app.metrics.slow-request-ms are logged with their
+ * query counts, which is usually enough to tell an N+1 from a single slow query.
+ *
+ * With app.metrics.expose-statement-count on (meant for development) the statement count
+ * is also returned in the X-SQL-Statement-Count header, which costs buffering every
+ * response body so the header can still be set after the handler has run.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.slow-request-ms:1000}")
+    private long slowRequestMs;
+
+    @Value("${app.metrics.expose-statement-count:false}")
+    private boolean exposeStatementCount;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Scrapes and health probes would only add noise
+        return request.getRequestURI().contains("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestMetrics metrics = RequestMetrics.begin();
+        if (!exposeStatementCount) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                RequestMetrics.end();
+                record(request, response, metrics);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            RequestMetrics.end();
+            responseWrapper.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(metrics.getSqlStatements()));
+            record(request, responseWrapper, metrics);
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestMetrics metrics) {
+        try {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(metrics.getElapsedNanos());
+            String uri = uriPattern(request);
+
+            DistributionSummary.builder("trackify.request.queries")
+                    .description("Repository calls made while serving one request")
+                    .baseUnit("queries")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1000.0)
+                    .register(meterRegistry)
+                    .record(metrics.getRepositoryCalls());
+
+            DistributionSummary.builder("trackify.request.statements")
+                    .description("SQL statements issued while serving one request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1000.0)
+                    .register(meterRegistry)
+                    .record(metrics.getSqlStatements());
+
+            if (elapsedMs >= slowRequestMs) {
+                logger.warn("Slow request: {} {} ({}) took {}ms with status {}, {} SQL statements, {} repository calls taking {}ms",
+                        request.getMethod(), request.getRequestURI(), uri, elapsedMs, response.getStatus(),
+                        metrics.getSqlStatements(), metrics.getRepositoryCalls(),
+                        TimeUnit.NANOSECONDS.toMillis(metrics.getRepositoryNanos()));
+            }
+        } catch (Exception e) {
+            logger.debug("Failed to record request metrics", e);
+        }
+    }
+
+    private String uriPattern(HttpServletRequest request) {
+        // Templated pattern rather than the raw path, so ids don't explode tag cardinality
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,33 @@
+package com.trackify.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares, per thread. The count only ever grows, so
+ * any scope (a request, a transaction, a test) measures itself as the difference between
+ * two readings of current() and scopes can nest freely. Registered as Hibernate's
+ * statement inspector in MetricsConfig.
+ *
+ * SQL sent through JdbcTemplate bypasses Hibernate and is not counted: the expense import
+ * and recurring expense inserts (ExpenseJdbcRepository), the audit log batches
+ * (AuditLogJdbcRepository), partition maintenance (PartitionJdbcRepository) and the
+ * last-login updates (LastLoginWriter). Request and transaction counts, and @QueryBudget
+ * tests, cover Hibernate statements only.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
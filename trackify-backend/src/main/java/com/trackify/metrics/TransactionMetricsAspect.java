@@ -0,0 +1,66 @@
+package com.trackify.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts the SQL statements issued inside each outermost @Transactional boundary into
+ * trackify.transaction.statements, and warns when one boundary goes over
+ * app.metrics.transaction-statement-warn, which is almost always an N+1 in a mapping loop.
+ * Ordered ahead of the transaction interceptor so a boundary is any call made while no
+ * transaction is active yet.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionMetricsAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionMetricsAspect.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.transaction-statement-warn:100}")
+    private long statementWarnThreshold;
+
+    @Around("within(com.trackify..*) && (@within(org.springframework.transaction.annotation.Transactional) " +
+            "|| @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Joins the caller's boundary, which is already being counted
+            return joinPoint.proceed();
+        }
+
+        long before = SqlStatementCounter.current();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long statements = SqlStatementCounter.current() - before;
+            String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+            String method = joinPoint.getSignature().getName();
+
+            DistributionSummary.builder("trackify.transaction.statements")
+                    .description("SQL statements issued within one transactional boundary")
+                    .baseUnit("statements")
+                    .tag("class", className)
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(statements);
+
+            if (statements > statementWarnThreshold) {
+                logger.warn("{}.{} issued {} SQL statements in one transaction", className, method, statements);
+            }
+        }
+    }
+}
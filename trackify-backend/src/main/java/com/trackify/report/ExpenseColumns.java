@@ -0,0 +1,213 @@
+package com.trackify.report;
+
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.dto.response.ReportResponse;
+import com.trackify.entity.Expense;
+import com.trackify.enums.ExpenseStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Column-oriented copy of the expenses behind a report. Amounts are converted
+ * into the report currency as they are added and held as its minor units
+ * ("cents"), dates as epoch days and categories as ordinals into
+ * {@link #getCategoryName(int)}, so analyses run over primitive arrays instead
+ * of entities and lazy category proxies.
+ */
+public final class ExpenseColumns {
+
+    public static final String UNKNOWN_CATEGORY = "Unknown";
+
+    private final int size;
+    private final long[] amountCents;
+    private final int[] categoryOrdinals;
+    private final int[] epochDays;
+    private final int[] monthIndexes;
+    private final byte[] statusOrdinals;
+    private final int firstMonthIndex;
+    private final int lastMonthIndex;
+    private final String[] categoryNames;
+    private final List<ReportResponse.ExpenseItem> items;
+    private final CurrencyConverter converter;
+
+    private ExpenseColumns(Builder builder, String[] categoryNames) {
+        this.size = builder.size;
+        this.amountCents = builder.amountCents;
+        this.categoryOrdinals = builder.categoryOrdinals;
+        this.epochDays = builder.epochDays;
+        this.monthIndexes = builder.monthIndexes;
+        this.statusOrdinals = builder.statusOrdinals;
+        this.firstMonthIndex = builder.firstMonthIndex;
+        this.lastMonthIndex = builder.lastMonthIndex;
+        this.categoryNames = categoryNames;
+        this.items = builder.items;
+        this.converter = builder.converter;
+    }
+
+    /**
+     * @param converter converts each expense into the report currency
+     */
+    public static Builder builder(String username, CurrencyConverter converter) {
+        return new Builder(username, converter);
+    }
+
+    public String getCurrencyCode() {
+        return converter.getTargetCurrency();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long amountCents(int row) {
+        return amountCents[row];
+    }
+
+    public int categoryOrdinal(int row) {
+        return categoryOrdinals[row];
+    }
+
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    /**
+     * Months counted from year 0, i.e. {@code year * 12 + month - 1}
+     */
+    public int monthIndex(int row) {
+        return monthIndexes[row];
+    }
+
+    public int firstMonthIndex() {
+        return firstMonthIndex;
+    }
+
+    public int lastMonthIndex() {
+        return lastMonthIndex;
+    }
+
+    public boolean hasStatus(int row, ExpenseStatus status) {
+        return statusOrdinals[row] == status.ordinal();
+    }
+
+    public int categoryCount() {
+        return categoryNames.length;
+    }
+
+    public String getCategoryName(int ordinal) {
+        return categoryNames[ordinal];
+    }
+
+    /**
+     * Report line items in query order, built during the same pass
+     */
+    public List<ReportResponse.ExpenseItem> getItems() {
+        return items;
+    }
+
+    public BigDecimal toAmount(long cents) {
+        return converter.toAmount(cents);
+    }
+
+    /**
+     * Accumulates one expense at a time, so callers can feed it from a
+     * streamed query without keeping the entities around.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final String username;
+        private final CurrencyConverter converter;
+        private final Map<Long, Integer> categoryIdOrdinals = new HashMap<>();
+        private final List<Long> categoryIds = new ArrayList<>();
+        private final List<ReportResponse.ExpenseItem> items = new ArrayList<>();
+
+        private int size;
+        private long[] amountCents = new long[INITIAL_CAPACITY];
+        private int[] categoryOrdinals = new int[INITIAL_CAPACITY];
+        private int[] epochDays = new int[INITIAL_CAPACITY];
+        private int[] monthIndexes = new int[INITIAL_CAPACITY];
+        private byte[] statusOrdinals = new byte[INITIAL_CAPACITY];
+        private int firstMonthIndex = Integer.MAX_VALUE;
+        private int lastMonthIndex = Integer.MIN_VALUE;
+
+        private Builder(String username, CurrencyConverter converter) {
+            this.username = username;
+            this.converter = converter;
+        }
+
+        public Builder add(Expense expense) {
+            if (size == amountCents.length) {
+                int capacity = size * 2;
+                amountCents = Arrays.copyOf(amountCents, capacity);
+                categoryOrdinals = Arrays.copyOf(categoryOrdinals, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                monthIndexes = Arrays.copyOf(monthIndexes, capacity);
+                statusOrdinals = Arrays.copyOf(statusOrdinals, capacity);
+            }
+
+            LocalDate expenseDate = expense.getExpenseDate() != null ? expense.getExpenseDate() : LocalDate.now();
+            BigDecimal amount = expense.getAmount() != null ? expense.getAmount() : BigDecimal.ZERO;
+
+            amountCents[size] = converter.toTargetMinor(amount, expense.getCurrencyCode(), expenseDate);
+            categoryOrdinals[size] = categoryIdOrdinals.computeIfAbsent(expense.getCategoryId(), id -> {
+                categoryIds.add(id);
+                return categoryIds.size() - 1;
+            });
+            epochDays[size] = (int) expenseDate.toEpochDay();
+            int monthIndex = expenseDate.getYear() * 12 + expenseDate.getMonthValue() - 1;
+            monthIndexes[size] = monthIndex;
+            firstMonthIndex = Math.min(firstMonthIndex, monthIndex);
+            lastMonthIndex = Math.max(lastMonthIndex, monthIndex);
+            statusOrdinals[size] = (byte) (expense.getStatus() != null ? expense.getStatus().ordinal() : -1);
+            size++;
+
+            // Category names are filled in by build() once all ids are known
+            items.add(new ReportResponse.ExpenseItem(
+                    expense.getId(),
+                    expense.getTitle() != null ? expense.getTitle() : "Unknown",
+                    amount,
+                    expenseDate,
+                    null,
+                    username,
+                    expense.getStatus() != null ? expense.getStatus().name() : "UNKNOWN"));
+            return this;
+        }
+
+        /**
+         * @param nameResolver looks up names for the category ids seen, in one call
+         */
+        public ExpenseColumns build(Function<Collection<Long>, Map<Long, String>> nameResolver) {
+            List<Long> knownIds = categoryIds.stream().filter(id -> id != null).toList();
+            Map<Long, String> namesById = knownIds.isEmpty() ? Map.of() : nameResolver.apply(knownIds);
+
+            // Reports group by category name, so ids sharing a name collapse to one ordinal
+            Map<String, Integer> nameOrdinals = new LinkedHashMap<>();
+            int[] remap = new int[categoryIds.size()];
+            for (int i = 0; i < remap.length; i++) {
+                Long id = categoryIds.get(i);
+                String name = id != null ? namesById.getOrDefault(id, UNKNOWN_CATEGORY) : UNKNOWN_CATEGORY;
+                remap[i] = nameOrdinals.computeIfAbsent(name, n -> nameOrdinals.size());
+            }
+            String[] names = nameOrdinals.keySet().toArray(new String[0]);
+
+            for (int row = 0; row < size; row++) {
+                int ordinal = remap[categoryOrdinals[row]];
+                categoryOrdinals[row] = ordinal;
+                items.get(row).setCategory(names[ordinal]);
+            }
+
+            return new ExpenseColumns(this, names);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.trackify.report;
+
+import com.trackify.dto.response.ReportResponse;
+import com.trackify.enums.ExpenseStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Everything the expense-based report sections need, computed in one pass over
+ * an {@link ExpenseColumns} batch. Large batches are split into chunks that are
+ * aggregated in parallel on the common fork/join pool and then merged.
+ */
+public final class ReportAggregates {
+
+    // Rows per fork/join leaf; smaller batches are aggregated on the calling thread
+    static final int CHUNK_SIZE = 32_768;
+
+    private final ExpenseColumns columns;
+
+    private long count;
+    private long totalCents;
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+    private int minEpochDay = Integer.MAX_VALUE;
+    private int maxEpochDay = Integer.MIN_VALUE;
+
+    private final long[] categoryCents;
+    private final long[] categoryCounts;
+    private final long[] categoryFirstHalfCents;
+    private final long[] categorySecondHalfCents;
+
+    // Months are indexed from the first month of the batch
+    private final int firstMonth;
+    private final long[] monthCents;
+    private final long[] monthCounts;
+    private final long[] monthApprovedCounts;
+
+    private ReportAggregates(ExpenseColumns columns, int firstMonth, int monthSpan) {
+        this.columns = columns;
+        this.categoryCents = new long[columns.categoryCount()];
+        this.categoryCounts = new long[columns.categoryCount()];
+        this.categoryFirstHalfCents = new long[columns.categoryCount()];
+        this.categorySecondHalfCents = new long[columns.categoryCount()];
+        this.firstMonth = firstMonth;
+        this.monthCents = new long[monthSpan];
+        this.monthCounts = new long[monthSpan];
+        this.monthApprovedCounts = new long[monthSpan];
+    }
+
+    /**
+     * @param withTrends whether to split each category into its earlier and
+     *                   later half by date, which costs a sort of the batch
+     */
+    public static ReportAggregates compute(ExpenseColumns columns, boolean withTrends) {
+        int size = columns.size();
+        int firstMonth = columns.firstMonthIndex();
+        int monthSpan = size == 0 ? 0 : columns.lastMonthIndex() - firstMonth + 1;
+
+        boolean[] laterHalf = withTrends ? laterHalfByCategory(columns) : null;
+
+        if (size < 2 * CHUNK_SIZE) {
+            ReportAggregates aggregates = new ReportAggregates(columns, firstMonth, monthSpan);
+            aggregates.accumulate(0, size, laterHalf);
+            return aggregates;
+        }
+        return new ChunkTask(columns, laterHalf, firstMonth, monthSpan, 0, size).invoke();
+    }
+
+    private void accumulate(int from, int to, boolean[] laterHalf) {
+        for (int row = from; row < to; row++) {
+            long cents = columns.amountCents(row);
+            int category = columns.categoryOrdinal(row);
+            int epochDay = columns.epochDay(row);
+            int month = columns.monthIndex(row) - firstMonth;
+
+            count++;
+            totalCents += cents;
+            minCents = Math.min(minCents, cents);
+            maxCents = Math.max(maxCents, cents);
+            minEpochDay = Math.min(minEpochDay, epochDay);
+            maxEpochDay = Math.max(maxEpochDay, epochDay);
+
+            categoryCents[category] += cents;
+            categoryCounts[category]++;
+            if (laterHalf != null) {
+                if (laterHalf[row]) {
+                    categorySecondHalfCents[category] += cents;
+                } else {
+                    categoryFirstHalfCents[category] += cents;
+                }
+            }
+
+            monthCents[month] += cents;
+            monthCounts[month]++;
+            if (columns.hasStatus(row, ExpenseStatus.APPROVED)) {
+                monthApprovedCounts[month]++;
+            }
+        }
+    }
+
+    private void merge(ReportAggregates other) {
+        count += other.count;
+        totalCents += other.totalCents;
+        minCents = Math.min(minCents, other.minCents);
+        maxCents = Math.max(maxCents, other.maxCents);
+        minEpochDay = Math.min(minEpochDay, other.minEpochDay);
+        maxEpochDay = Math.max(maxEpochDay, other.maxEpochDay);
+        for (int i = 0; i < categoryCents.length; i++) {
+            categoryCents[i] += other.categoryCents[i];
+            categoryCounts[i] += other.categoryCounts[i];
+            categoryFirstHalfCents[i] += other.categoryFirstHalfCents[i];
+            categorySecondHalfCents[i] += other.categorySecondHalfCents[i];
+        }
+        for (int i = 0; i < monthCents.length; i++) {
+            monthCents[i] += other.monthCents[i];
+            monthCounts[i] += other.monthCounts[i];
+            monthApprovedCounts[i] += other.monthApprovedCounts[i];
+        }
+    }
+
+    /**
+     * Marks the rows in the later half of their category by date. Ties keep
+     * query order, matching a stable sort of the rows by date.
+     */
+    private static boolean[] laterHalfByCategory(ExpenseColumns columns) {
+        int size = columns.size();
+        long[] order = new long[size];
+        int[] perCategory = new int[columns.categoryCount()];
+        for (int row = 0; row < size; row++) {
+            order[row] = ((long) columns.epochDay(row) << 32) | row;
+            perCategory[columns.categoryOrdinal(row)]++;
+        }
+        Arrays.sort(order);
+
+        boolean[] laterHalf = new boolean[size];
+        int[] seen = new int[perCategory.length];
+        for (long key : order) {
+            int row = (int) key;
+            int category = columns.categoryOrdinal(row);
+            laterHalf[row] = seen[category]++ >= perCategory[category] / 2;
+        }
+        return laterHalf;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return columns.toAmount(totalCents);
+    }
+
+    public BigDecimal getAverageAmount() {
+        return count > 0 ? getTotalAmount().divide(BigDecimal.valueOf(count), getTotalAmount().scale(), RoundingMode.HALF_UP) : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getMinAmount() {
+        return count > 0 ? columns.toAmount(minCents) : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return count > 0 ? columns.toAmount(maxCents) : BigDecimal.ZERO;
+    }
+
+    public LocalDate getFirstDate() {
+        return count > 0 ? LocalDate.ofEpochDay(minEpochDay) : null;
+    }
+
+    public LocalDate getLastDate() {
+        return count > 0 ? LocalDate.ofEpochDay(maxEpochDay) : null;
+    }
+
+    public int getCategoriesUsed() {
+        int used = 0;
+        for (long categoryCount : categoryCounts) {
+            if (categoryCount > 0) {
+                used++;
+            }
+        }
+        return used;
+    }
+
+    public Map<String, BigDecimal> getTotalsByCategory() {
+        Map<String, BigDecimal> totals = new LinkedHashMap<>();
+        for (int i = 0; i < categoryCents.length; i++) {
+            if (categoryCounts[i] > 0) {
+                totals.put(columns.getCategoryName(i), columns.toAmount(categoryCents[i]));
+            }
+        }
+        return totals;
+    }
+
+    public List<ReportResponse.CategorySummary> getCategorySummaries() {
+        List<ReportResponse.CategorySummary> summaries = new ArrayList<>();
+        for (int i = 0; i < categoryCents.length; i++) {
+            if (categoryCounts[i] > 0) {
+                summaries.add(new ReportResponse.CategorySummary(
+                        columns.getCategoryName(i), columns.toAmount(categoryCents[i]), categoryCounts[i]));
+            }
+        }
+        summaries.sort(Comparator.comparing(ReportResponse.CategorySummary::getTotalAmount).reversed());
+        return summaries;
+    }
+
+    /**
+     * Per-category totals, labelled INCREASING or DECREASING when the later
+     * half of a category's expenses is more than 10% above or below the
+     * earlier half. Requires {@code withTrends}.
+     */
+    public List<ReportResponse.TrendAnalysis> getCategoryTrends() {
+        List<ReportResponse.TrendAnalysis> trends = new ArrayList<>();
+        for (int i = 0; i < categoryCents.length; i++) {
+            if (categoryCounts[i] == 0) {
+                continue;
+            }
+            String trend = "STABLE";
+            if (categoryCounts[i] > 3) {
+                long first = categoryFirstHalfCents[i];
+                long second = categorySecondHalfCents[i];
+                if (second * 10 > first * 11) {
+                    trend = "INCREASING";
+                } else if (second * 10 < first * 9) {
+                    trend = "DECREASING";
+                }
+            }
+            trends.add(new ReportResponse.TrendAnalysis(columns.getCategoryName(i),
+                    columns.toAmount(categoryCents[i]), categoryCounts[i], BigDecimal.ZERO, trend));
+        }
+        return trends;
+    }
+
+    /**
+     * One summary per month that has expenses, in calendar order
+     */
+    public List<ReportResponse.MonthlySummary> getMonthlySummaries() {
+        List<ReportResponse.MonthlySummary> summaries = new ArrayList<>();
+        for (int i = 0; i < monthCents.length; i++) {
+            if (monthCounts[i] == 0) {
+                continue;
+            }
+            int month = firstMonth + i;
+            ReportResponse.MonthlySummary summary = new ReportResponse.MonthlySummary(
+                    Month.of(month % 12 + 1).name(), month / 12, columns.toAmount(monthCents[i]), monthCounts[i]);
+            summary.setApprovalCount((int) monthApprovedCounts[i]);
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    private static final class ChunkTask extends RecursiveTask<ReportAggregates> {
+
+        private final ExpenseColumns columns;
+        private final boolean[] laterHalf;
+        private final int firstMonth;
+        private final int monthSpan;
+        private final int from;
+        private final int to;
+
+        ChunkTask(ExpenseColumns columns, boolean[] laterHalf, int firstMonth, int monthSpan, int from, int to) {
+            this.columns = columns;
+            this.laterHalf = laterHalf;
+            this.firstMonth = firstMonth;
+            this.monthSpan = monthSpan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ReportAggregates compute() {
+            if (to - from <= CHUNK_SIZE) {
+                ReportAggregates partial = new ReportAggregates(columns, firstMonth, monthSpan);
+                partial.accumulate(from, to, laterHalf);
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(columns, laterHalf, firstMonth, monthSpan, from, mid);
+            ChunkTask right = new ChunkTask(columns, laterHalf, firstMonth, monthSpan, mid, to);
+            left.fork();
+            ReportAggregates result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.trackify.report;
+
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.entity.Category;
+import com.trackify.entity.Expense;
+import com.trackify.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Turns a streamed expense query into an {@link ExpenseColumns} batch and the
+ * {@link ReportAggregates} computed from it. Each expense entity is visited
+ * exactly once; every report section is then derived from the aggregates.
+ */
+@Component
+public class ReportComputationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportComputationEngine.class);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    /**
+     * Reads the stream once, keeping the rows that match the filter and converting
+     * them into the converter's currency. Category names are resolved with a single
+     * query at the end.
+     */
+    public ExpenseColumns load(Stream<Expense> expenses, Predicate<Expense> filter, String username,
+                               CurrencyConverter converter) {
+        ExpenseColumns.Builder builder = ExpenseColumns.builder(username, converter);
+        expenses.filter(filter).forEach(builder::add);
+
+        ExpenseColumns columns = builder.build(this::findCategoryNames);
+        logger.debug("Loaded {} expenses in {} categories for report", columns.size(), columns.categoryCount());
+        return columns;
+    }
+
+    public ReportAggregates aggregate(ExpenseColumns columns, boolean withTrends) {
+        return ReportAggregates.compute(columns, withTrends);
+    }
+
+    private Map<Long, String> findCategoryNames(Collection<Long> categoryIds) {
+        return categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+    }
+}
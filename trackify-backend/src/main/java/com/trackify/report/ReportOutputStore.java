@@ -0,0 +1,184 @@
+package com.trackify.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackify.dto.response.ReportResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Durable home of generated reports. The rendered file and the report metadata are written
+ * under app.reports.output-dir, so a finished report can still be downloaded after a
+ * restart. With more than one node the directory must be shared storage (NFS, EFS and the
+ * like): any node may serve a report that another node generated.
+ */
+@Component
+public class ReportOutputStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportOutputStore.class);
+
+    private static final String FILE_SUFFIX = ".report";
+    private static final String METADATA_SUFFIX = ".json";
+
+    // Report ids come from request paths, so never let one resolve outside the directory
+    private static final Pattern REPORT_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.reports.output-dir:reports/}")
+    private String outputDirectory;
+
+    /**
+     * Write the report file and its metadata, and return where the file is stored
+     */
+    public Path save(ReportResponse report, byte[] file) throws IOException {
+        Path target = filePath(report.getReportId())
+                .orElseThrow(() -> new IOException("Invalid report id: " + report.getReportId()));
+        Files.createDirectories(target.getParent());
+
+        // File first: metadata without a file is treated as missing, the reverse would be served
+        writeAtomically(target, file);
+        writeAtomically(metadataPath(report.getReportId()).orElseThrow(), objectMapper.writeValueAsBytes(report));
+        return target;
+    }
+
+    public Optional<ReportResponse> findReport(String reportId) {
+        Optional<Path> metadata = metadataPath(reportId).filter(Files::exists);
+        if (metadata.isEmpty() || !exists(reportId)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(metadata.get().toFile(), ReportResponse.class));
+        } catch (IOException e) {
+            logger.warn("Unreadable metadata for report {}", reportId, e);
+            return Optional.empty();
+        }
+    }
+
+    public Optional<byte[]> readFile(String reportId) {
+        Optional<Path> file = filePath(reportId).filter(Files::exists);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.readAllBytes(file.get()));
+        } catch (IOException e) {
+            logger.warn("Unreadable file for report {}", reportId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Path of a report's file as recorded on its job, or null for an invalid id
+     */
+    public String pathOf(String reportId) {
+        return filePath(reportId).map(Path::toString).orElse(null);
+    }
+
+    public boolean exists(String reportId) {
+        return filePath(reportId).map(Files::exists).orElse(false);
+    }
+
+    /**
+     * Whether a file path previously returned by save is still on disk
+     */
+    public boolean existsAt(String outputPath) {
+        return outputPath != null && Files.exists(Paths.get(outputPath));
+    }
+
+    public long fileSize(String reportId) {
+        try {
+            Optional<Path> file = filePath(reportId).filter(Files::exists);
+            return file.isPresent() ? Files.size(file.get()) : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    public void delete(String reportId) {
+        for (Optional<Path> path : List.of(metadataPath(reportId), filePath(reportId))) {
+            if (path.isEmpty()) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(path.get());
+            } catch (IOException e) {
+                logger.warn("Failed to delete report output: {}", path.get(), e);
+            }
+        }
+    }
+
+    /**
+     * Remove reports written longer ago than the retention period, and return how many went
+     */
+    public int deleteOlderThan(Duration retention) {
+        Path directory = Paths.get(outputDirectory);
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        Instant cutoff = Instant.now().minus(retention);
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                        String name = file.getFileName().toString();
+                        delete(name.substring(0, name.length() - FILE_SUFFIX.length()));
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Failed to check report output: {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to list report outputs in {}", directory, e);
+        }
+        return deleted;
+    }
+
+    private Optional<Path> filePath(String reportId) {
+        return resolve(reportId, FILE_SUFFIX);
+    }
+
+    private Optional<Path> metadataPath(String reportId) {
+        return resolve(reportId, METADATA_SUFFIX);
+    }
+
+    private Optional<Path> resolve(String reportId, String suffix) {
+        if (reportId == null || !REPORT_ID.matcher(reportId).matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(Paths.get(outputDirectory).resolve(reportId + suffix));
+    }
+
+    /**
+     * Write to a temp file and move it into place, so a reader never sees a partial report
+     */
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), ".report-", ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
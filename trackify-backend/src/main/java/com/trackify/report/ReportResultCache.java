@@ -0,0 +1,84 @@
+package com.trackify.report;
+
+import com.trackify.service.DataVersionService;
+import com.trackify.service.ExchangeRateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caches report summaries, charts and data extracts per user and normalized request.
+ * Each entry remembers the user's data version and the exchange rate table version it was
+ * computed at and is served only while both are current, so no expiry is needed to keep
+ * results fresh, converted amounts included; the least recently used entries are evicted
+ * once the cache is full.
+ *
+ * Lookups must run in the same transaction that computes the result: the version is
+ * read first, so data committed after that read always carries a newer version.
+ */
+@Component
+public class ReportResultCache {
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    @Value("${app.reports.cache.max-entries:2000}")
+    private int maxEntries;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Returns the cached result for the request or computes and caches it.
+     * Request parameters must already be normalized, e.g. upper-cased enums.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCompute(Long userId, String operation, List<Object> params, Supplier<T> compute) {
+        long version = dataVersionService.getVersion(userId);
+        // Reloaded on every rate change, on this node or picked up from another one
+        long rateVersion = exchangeRateService.getTable().getVersion();
+        Key key = new Key(userId, operation, params);
+
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.version() == version && cached.rateVersion() == rateVersion) {
+            return (T) cached.value();
+        }
+
+        T value = compute.get();
+        synchronized (entries) {
+            // Don't let a slow computation at an older version replace a newer result
+            Entry current = entries.get(key);
+            if (current == null || (current.version() <= version && current.rateVersion() <= rateVersion)) {
+                entries.put(key, new Entry(version, rateVersion, value));
+            }
+        }
+        return value;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private record Key(Long userId, String operation, List<Object> params) {
+    }
+
+    private record Entry(long version, long rateVersion, Object value) {
+    }
+}
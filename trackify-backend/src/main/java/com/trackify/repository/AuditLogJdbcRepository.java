@@ -0,0 +1,78 @@
+package com.trackify.repository;
+
+import com.trackify.entity.AuditLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch inserts for the background audit writer. audit_logs carries many secondary
+ * indexes, so rows are only ever written in batches, off the request path.
+ */
+@Repository
+public class AuditLogJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (user_id, username, action, entity_type, " +
+            "entity_id, description, ip_address, user_agent, old_values, new_values, session_id, request_id, " +
+            "success, error_message, execution_time_ms, timestamp, team_id, additional_data) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public int[] batchInsert(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, auditLogs.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return auditLogs.size();
+            }
+        });
+    }
+
+    private void bind(PreparedStatement ps, AuditLog auditLog) throws SQLException {
+        setLong(ps, 1, auditLog.getUserId());
+        ps.setString(2, auditLog.getUsername());
+        ps.setString(3, auditLog.getAction());
+        ps.setString(4, auditLog.getEntityType());
+        setLong(ps, 5, auditLog.getEntityId());
+        ps.setString(6, auditLog.getDescription());
+        ps.setString(7, auditLog.getIpAddress());
+        ps.setString(8, auditLog.getUserAgent());
+        ps.setString(9, auditLog.getOldValues());
+        ps.setString(10, auditLog.getNewValues());
+        ps.setString(11, auditLog.getSessionId());
+        ps.setString(12, auditLog.getRequestId());
+        ps.setBoolean(13, !Boolean.FALSE.equals(auditLog.getSuccess()));
+        ps.setString(14, auditLog.getErrorMessage());
+        setLong(ps, 15, auditLog.getExecutionTimeMs());
+        // The event time, not the time the writer got round to it
+        LocalDateTime timestamp = auditLog.getTimestamp() != null ? auditLog.getTimestamp() : LocalDateTime.now();
+        ps.setTimestamp(16, Timestamp.valueOf(timestamp));
+        setLong(ps, 17, auditLog.getTeamId());
+        ps.setString(18, auditLog.getAdditionalData());
+    }
+
+    private void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
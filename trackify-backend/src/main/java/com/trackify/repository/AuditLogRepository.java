@@ -4,7 +4,6 @@ import com.trackify.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -133,15 +132,7 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
                                  @Param("startDate") LocalDateTime startDate,
                                  @Param("endDate") LocalDateTime endDate);
 
-    // Data cleanup methods
-    @Modifying
-    @Query("DELETE FROM AuditLog al WHERE al.timestamp < :cutoffDate")
-    int deleteOldAuditLogs(@Param("cutoffDate") LocalDateTime cutoffDate);
-
-    @Modifying
-    @Query("DELETE FROM AuditLog al WHERE al.success = true AND al.action = 'VIEW' " +
-           "AND al.timestamp < :cutoffDate")
-    int deleteOldViewLogs(@Param("cutoffDate") LocalDateTime cutoffDate);
+    // Retention drops whole monthly partitions, see PartitionMaintenanceService
 
     // Count methods
     Long countByUserIdAndTimestampBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate);
@@ -152,14 +143,18 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     Long countBySuccessAndTimestampBetween(Boolean success, LocalDateTime startDate, LocalDateTime endDate);
 
-    // Recent activity
-    @Query("SELECT al FROM AuditLog al WHERE al.userId = :userId " +
+    // Recent activity, bounded by since so only the recent partitions are read
+    @Query("SELECT al FROM AuditLog al WHERE al.userId = :userId AND al.timestamp >= :since " +
            "AND al.action NOT IN ('VIEW', 'LOGIN') ORDER BY al.timestamp DESC")
-    Page<AuditLog> findRecentUserActivity(@Param("userId") Long userId, Pageable pageable);
+    Page<AuditLog> findRecentUserActivity(@Param("userId") Long userId,
+                                          @Param("since") LocalDateTime since,
+                                          Pageable pageable);
 
-    @Query("SELECT al FROM AuditLog al WHERE al.teamId = :teamId " +
+    @Query("SELECT al FROM AuditLog al WHERE al.teamId = :teamId AND al.timestamp >= :since " +
            "AND al.action NOT IN ('VIEW') ORDER BY al.timestamp DESC")
-    Page<AuditLog> findRecentTeamActivity(@Param("teamId") Long teamId, Pageable pageable);
+    Page<AuditLog> findRecentTeamActivity(@Param("teamId") Long teamId,
+                                          @Param("since") LocalDateTime since,
+                                          Pageable pageable);
 
     // Most active users
     @Query("SELECT al.userId, al.username, COUNT(al) as activityCount FROM AuditLog al " +
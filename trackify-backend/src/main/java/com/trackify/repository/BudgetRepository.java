@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +31,7 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     // Find by team
     List<Budget> findByTeamId(Long teamId);
     List<Budget> findByTeamIdAndIsActiveTrue(Long teamId);
+    List<Budget> findByTeamIdInAndIsActiveTrue(Collection<Long> teamIds);
 
     // Find by date range
     List<Budget> findByUserIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
@@ -0,0 +1,43 @@
+package com.trackify.repository;
+
+import com.trackify.entity.EmailOutbox;
+import com.trackify.enums.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    // Due messages, including ones whose sender lease expired mid-send
+    @Query("SELECT e.id FROM EmailOutbox e WHERE " +
+           "(e.status = com.trackify.enums.EmailStatus.PENDING AND e.nextAttemptAt <= :now) OR " +
+           "(e.status = com.trackify.enums.EmailStatus.SENDING AND e.lockedUntil < :now) " +
+           "ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Claim due messages for this dispatcher; rows claimed concurrently by another node are skipped
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.trackify.enums.EmailStatus.SENDING, " +
+           "e.claimToken = :claimToken, e.lockedUntil = :lockedUntil " +
+           "WHERE e.id IN :ids AND ((e.status = com.trackify.enums.EmailStatus.PENDING AND e.nextAttemptAt <= :now) OR " +
+           "(e.status = com.trackify.enums.EmailStatus.SENDING AND e.lockedUntil < :now))")
+    int claim(@Param("ids") List<Long> ids, @Param("claimToken") String claimToken,
+              @Param("lockedUntil") LocalDateTime lockedUntil, @Param("now") LocalDateTime now);
+    
+    List<EmailOutbox> findByClaimTokenOrderByIdAsc(String claimToken);
+    
+    // Outbox monitoring
+    long countByStatus(EmailStatus status);
+    
+    // Data cleanup
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = com.trackify.enums.EmailStatus.SENT AND e.sentAt < :cutoffDate")
+    int deleteSentBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+}
@@ -0,0 +1,35 @@
+package com.trackify.repository;
+
+import com.trackify.entity.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+    
+    List<ExchangeRate> findAllByOrderByCurrencyCodeAscEffectiveDateAsc();
+    
+    // Nodes reload their in-memory table when this moves
+    @Query("SELECT MAX(r.updatedAt) FROM ExchangeRate r")
+    Optional<LocalDateTime> findLatestUpdatedAt();
+    
+    @Modifying
+    @Query(value = "INSERT INTO exchange_rates (currency_code, effective_date, units_per_usd, source, updated_at) " +
+                   "VALUES (:currencyCode, :effectiveDate, :unitsPerUsd, :source, CURRENT_TIMESTAMP(3)) " +
+                   "ON DUPLICATE KEY UPDATE units_per_usd = VALUES(units_per_usd), source = VALUES(source), " +
+                   "updated_at = CURRENT_TIMESTAMP(3)",
+           nativeQuery = true)
+    int upsert(@Param("currencyCode") String currencyCode,
+               @Param("effectiveDate") LocalDate effectiveDate,
+               @Param("unitsPerUsd") BigDecimal unitsPerUsd,
+               @Param("source") String source);
+}
@@ -0,0 +1,177 @@
+package com.trackify.repository;
+
+import com.trackify.entity.Expense;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC batch inserts for bulk expense writers (import, recurring materialization), which
+ * skip the persistence context because they never read the rows back. Callers run inside
+ * their own transaction and report the rows to SpendRollupService and DataVersionService.
+ */
+@Repository
+public class ExpenseJdbcRepository {
+
+    private static final String COLUMNS = "(title, description, amount, expense_date, status, " +
+            "payment_method, merchant_name, location, tags, is_recurring, currency_code, exchange_rate, original_amount, " +
+            "original_currency, notes, reference_number, is_business_expense, is_reimbursable, reimbursed, user_id, " +
+            "category_id, team_id, project_id, recurring_rule_id, recurring_occurrence_date, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SQL = "INSERT INTO expenses " + COLUMNS;
+
+    // No-op update rather than INSERT IGNORE, which would also turn data errors (truncation,
+    // bad foreign keys) into warnings; only the duplicate key is skipped
+    private static final String INSERT_SKIPPING_DUPLICATES_SQL = "INSERT INTO expenses " + COLUMNS +
+            " ON DUPLICATE KEY UPDATE id = id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public int[] batchInsert(List<Expense> expenses) {
+        return insert(INSERT_SQL, expenses);
+    }
+
+    /**
+     * Rows that hit a unique key (an already generated recurring occurrence) are skipped;
+     * their entry in the returned counts is 0.
+     */
+    public int[] batchInsertIgnoringDuplicates(List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return new int[0];
+        }
+        // The driver counts found rows by default, so a duplicate's no-op update reports 1
+        // just like an insert. Occurrences that already exist are left out of the batch
+        // instead; the ON DUPLICATE KEY clause only covers a row committed in between.
+        Set<String> existing = findExistingOccurrences(expenses);
+        int[] counts = new int[expenses.size()];
+        List<Expense> fresh = new ArrayList<>(expenses.size());
+        List<Integer> positions = new ArrayList<>(expenses.size());
+        for (int i = 0; i < expenses.size(); i++) {
+            Expense expense = expenses.get(i);
+            if (!existing.contains(occurrenceKey(expense.getRecurringRuleId(), expense.getRecurringOccurrenceDate()))) {
+                fresh.add(expense);
+                positions.add(i);
+            }
+        }
+
+        int[] inserted = insert(INSERT_SKIPPING_DUPLICATES_SQL, fresh);
+        for (int i = 0; i < inserted.length; i++) {
+            counts[positions.get(i)] = inserted[i];
+        }
+        return counts;
+    }
+
+    private Set<String> findExistingOccurrences(List<Expense> expenses) {
+        Set<Long> ruleIds = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Expense expense : expenses) {
+            LocalDate date = expense.getRecurringOccurrenceDate();
+            if (expense.getRecurringRuleId() == null || date == null) {
+                continue;
+            }
+            ruleIds.add(expense.getRecurringRuleId());
+            from = from == null || date.isBefore(from) ? date : from;
+            to = to == null || date.isAfter(to) ? date : to;
+        }
+        Set<String> existing = new HashSet<>();
+        if (ruleIds.isEmpty()) {
+            return existing;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(ruleIds.size(), "?"));
+        List<Object> args = new ArrayList<>(ruleIds);
+        args.add(from);
+        args.add(to);
+        RowCallbackHandler collect = rs -> existing.add(
+                occurrenceKey(rs.getLong(1), rs.getObject(2, LocalDate.class)));
+        jdbcTemplate.query("SELECT recurring_rule_id, recurring_occurrence_date FROM expenses " +
+                "WHERE recurring_rule_id IN (" + placeholders + ") AND recurring_occurrence_date BETWEEN ? AND ?",
+                collect, args.toArray());
+        return existing;
+    }
+
+    private String occurrenceKey(Long ruleId, LocalDate occurrenceDate) {
+        return ruleId + ":" + occurrenceDate;
+    }
+
+    private int[] insert(String sql, List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                bind(ps, expenses.get(i), now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return expenses.size();
+            }
+        });
+    }
+
+    private void bind(PreparedStatement ps, Expense expense, Timestamp now) throws SQLException {
+        ps.setString(1, expense.getTitle());
+        ps.setString(2, expense.getDescription());
+        ps.setBigDecimal(3, expense.getAmount());
+        ps.setObject(4, expense.getExpenseDate());
+        ps.setString(5, expense.getStatus().name());
+        ps.setString(6, expense.getPaymentMethod() != null ? expense.getPaymentMethod().name() : null);
+        ps.setString(7, expense.getMerchantName());
+        ps.setString(8, expense.getLocation());
+        ps.setString(9, expense.getTags());
+        ps.setBoolean(10, Boolean.TRUE.equals(expense.getIsRecurring()));
+        ps.setString(11, expense.getCurrencyCode());
+        ps.setBigDecimal(12, expense.getExchangeRate());
+        ps.setBigDecimal(13, expense.getOriginalAmount());
+        ps.setString(14, expense.getOriginalCurrency());
+        ps.setString(15, expense.getNotes());
+        ps.setString(16, expense.getReferenceNumber());
+        ps.setBoolean(17, Boolean.TRUE.equals(expense.getIsBusinessExpense()));
+        ps.setBoolean(18, Boolean.TRUE.equals(expense.getIsReimbursable()));
+        ps.setBoolean(19, Boolean.TRUE.equals(expense.getReimbursed()));
+        ps.setLong(20, expense.getUserId());
+        ps.setLong(21, expense.getCategoryId());
+        setNullableLong(ps, 22, expense.getTeamId());
+        setNullableLong(ps, 23, expense.getProjectId());
+        setNullableLong(ps, 24, expense.getRecurringRuleId());
+        setNullableDate(ps, 25, expense.getRecurringOccurrenceDate());
+        ps.setTimestamp(26, now);
+        ps.setTimestamp(27, now);
+    }
+
+    private void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private void setNullableDate(PreparedStatement ps, int index, LocalDate value) throws SQLException {
+        if (value != null) {
+            ps.setObject(index, value);
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
+    }
+}
@@ -2,19 +2,25 @@ package com.trackify.repository;
 
 import com.trackify.entity.Expense;
 import com.trackify.enums.ExpenseStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
@@ -23,6 +29,9 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByUserIdOrderByExpenseDateDesc(Long userId);
     Page<Expense> findByUserId(Long userId, Pageable pageable);
     
+    // Served by idx_expense_user_recurring
+    List<Expense> findByUserIdAndIsRecurringTrueOrderByExpenseDateDesc(Long userId);
+    
     
     
     // Find by category
@@ -65,6 +74,16 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
                                                  @Param("startTime") LocalDateTime startTime, 
                                                  @Param("endTime") LocalDateTime endTime);
     
+    // Streamed for report computation, rows are fetched in batches rather than materialised as a list
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.expenseDate BETWEEN :startDate AND :endDate ORDER BY e.expenseDate DESC")
+    Stream<Expense> streamByUserIdAndExpenseDateBetween(@Param("userId") Long userId,
+                                                        @Param("startDate") LocalDate startDate,
+                                                        @Param("endDate") LocalDate endDate);
+    
     // Find by date range with LocalDateTime
     @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.expenseDate BETWEEN DATE(:startDate) AND DATE(:endDate) ORDER BY e.expenseDate DESC")
     List<Expense> findByUserIdAndExpenseDateBetween(@Param("userId") Long userId, 
@@ -124,15 +143,50 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
                                             @Param("minAmount") BigDecimal minAmount, 
                                             @Param("maxAmount") BigDecimal maxAmount);
     
-    // Search expenses
+    // Search expenses by substring, for keywords too short for the full-text index. Filters use
+    // the same sentinel bounds as searchFullText.
     @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND " +
            "(LOWER(e.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(e.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(e.merchantName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(e.notes) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "AND (:categoryId = 0 OR e.categoryId = :categoryId) " +
+           "AND e.amount BETWEEN :minAmount AND :maxAmount " +
+           "AND e.expenseDate BETWEEN :startDate AND :endDate " +
            "ORDER BY e.expenseDate DESC")
-    Page<Expense> searchByKeyword(@Param("userId") Long userId, @Param("keyword") String keyword, Pageable pageable);
-    
+    Page<Expense> searchByKeyword(@Param("userId") Long userId,
+                                  @Param("keyword") String keyword,
+                                  @Param("categoryId") Long categoryId,
+                                  @Param("minAmount") BigDecimal minAmount,
+                                  @Param("maxAmount") BigDecimal maxAmount,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate,
+                                  Pageable pageable);
+
+    // Full-text search over ft_expense_search, ranked by relevance. Filters use sentinel bounds
+    // rather than nulls; a categoryId of 0 matches every category.
+    @Query(value = "SELECT e.* FROM expenses e WHERE e.user_id = :userId " +
+                   "AND MATCH(e.title, e.description, e.merchant_name, e.notes) AGAINST (:query IN BOOLEAN MODE) " +
+                   "AND (:categoryId = 0 OR e.category_id = :categoryId) " +
+                   "AND e.amount BETWEEN :minAmount AND :maxAmount " +
+                   "AND e.expense_date BETWEEN :startDate AND :endDate " +
+                   "ORDER BY MATCH(e.title, e.description, e.merchant_name, e.notes) AGAINST (:query IN BOOLEAN MODE) DESC, " +
+                   "e.expense_date DESC, e.id DESC",
+           countQuery = "SELECT COUNT(*) FROM expenses e WHERE e.user_id = :userId " +
+                   "AND MATCH(e.title, e.description, e.merchant_name, e.notes) AGAINST (:query IN BOOLEAN MODE) " +
+                   "AND (:categoryId = 0 OR e.category_id = :categoryId) " +
+                   "AND e.amount BETWEEN :minAmount AND :maxAmount " +
+                   "AND e.expense_date BETWEEN :startDate AND :endDate",
+           nativeQuery = true)
+    Page<Expense> searchFullText(@Param("userId") Long userId,
+                                 @Param("query") String query,
+                                 @Param("categoryId") Long categoryId,
+                                 @Param("minAmount") BigDecimal minAmount,
+                                 @Param("maxAmount") BigDecimal maxAmount,
+                                 @Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate,
+                                 Pageable pageable);
+
     // Find pending expenses for approval
     @Query("SELECT e FROM Expense e WHERE e.status = 'PENDING' AND e.teamId IS NOT NULL ORDER BY e.createdAt ASC")
     List<Expense> findPendingExpensesForApproval();
@@ -141,6 +195,31 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     List<Expense> findByTeamId(Long teamId);
     Page<Expense> findByTeamId(Long teamId, Pageable pageable);
     
+    // Team spend within a date range in the given statuses, returns [SUM(amount), COUNT]
+    @Query("SELECT COALESCE(SUM(e.amount), 0), COUNT(e) FROM Expense e " +
+           "WHERE e.teamId = :teamId AND e.expenseDate BETWEEN :startDate AND :endDate AND e.status IN :statuses")
+    List<Object[]> sumByTeamIdAndDateRange(@Param("teamId") Long teamId,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate,
+                                           @Param("statuses") Collection<ExpenseStatus> statuses);
+    
+    // Per team spend within a date range in the given statuses, returns [teamId, SUM(amount), COUNT]
+    @Query("SELECT e.teamId, COALESCE(SUM(e.amount), 0), COUNT(e) FROM Expense e " +
+           "WHERE e.teamId IN :teamIds AND e.expenseDate BETWEEN :startDate AND :endDate AND e.status IN :statuses " +
+           "GROUP BY e.teamId")
+    List<Object[]> sumByTeamIdsAndDateRangeGroupByTeam(@Param("teamIds") Collection<Long> teamIds,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate,
+                                                       @Param("statuses") Collection<ExpenseStatus> statuses);
+    
+    // Per team, member and status totals for team reports, returns [teamId, userId, status, COUNT, SUM(amount)]
+    @Query("SELECT e.teamId, e.userId, e.status, COUNT(e), COALESCE(SUM(e.amount), 0) FROM Expense e " +
+           "WHERE e.teamId IN :teamIds AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.teamId, e.userId, e.status")
+    List<Object[]> getTeamMemberStatusTotalsByTeamIds(@Param("teamIds") Collection<Long> teamIds,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+    
     // Find reimbursable expenses
     List<Expense> findByUserIdAndIsReimbursableTrue(Long userId);
     List<Expense> findByUserIdAndIsReimbursableTrueAndReimbursedFalse(Long userId);
@@ -200,6 +279,19 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     @Query("UPDATE Expense e SET e.status = :status WHERE e.id = :expenseId")
     void updateStatus(@Param("expenseId") Long expenseId, @Param("status") ExpenseStatus status);
     
+    // Bulk operations; rows are locked first so the spend rollups see exactly what is written
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Expense e WHERE e.id IN :expenseIds")
+    List<Expense> findAllByIdForUpdate(@Param("expenseIds") Collection<Long> expenseIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Expense e SET e.status = :status, e.updatedAt = CURRENT_TIMESTAMP WHERE e.id IN :expenseIds")
+    int updateStatusByIds(@Param("expenseIds") Collection<Long> expenseIds, @Param("status") ExpenseStatus status);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Expense e WHERE e.id IN :expenseIds")
+    int deleteByIds(@Param("expenseIds") Collection<Long> expenseIds);
+    
     // Approve expense
     @Modifying
     @Query("UPDATE Expense e SET e.status = 'APPROVED', e.approvedBy = :approvedBy, e.approvedAt = :approvedAt WHERE e.id = :expenseId")
@@ -51,9 +51,6 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     long countByUserIdAndCategoryAndIsReadFalse(Long userId, String category);
     long countByUserIdAndPriorityAndIsReadFalse(Long userId, String priority);
     
-    // Count old read notifications
-    long countByCreatedAtBeforeAndIsReadTrue(LocalDateTime cutoffTime);
-    
     // Find high priority unread notifications
     @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.isRead = false AND " +
            "n.priority IN ('HIGH', 'URGENT') ORDER BY n.createdAt DESC")
@@ -69,15 +66,17 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.expiresAt IS NOT NULL AND n.expiresAt < :currentTime")
     List<Notification> findExpiredNotifications(@Param("currentTime") LocalDateTime currentTime);
 
-    // Find notifications needing email
-    @Query("SELECT n FROM Notification n WHERE n.isEmailSent = false AND " +
+    // Find notifications needing email; createdAfter limits the scan to the recent partitions
+    @Query("SELECT n FROM Notification n WHERE n.isEmailSent = false AND n.createdAt >= :createdAfter AND " +
            "(n.expiresAt IS NULL OR n.expiresAt > :currentTime) AND n.retryCount < 3")
-    List<Notification> findNotificationsNeedingEmail(@Param("currentTime") LocalDateTime currentTime);
+    List<Notification> findNotificationsNeedingEmail(@Param("createdAfter") LocalDateTime createdAfter,
+                                                     @Param("currentTime") LocalDateTime currentTime);
 
     // Find notifications needing push
-    @Query("SELECT n FROM Notification n WHERE n.isPushSent = false AND " +
+    @Query("SELECT n FROM Notification n WHERE n.isPushSent = false AND n.createdAt >= :createdAfter AND " +
            "(n.expiresAt IS NULL OR n.expiresAt > :currentTime) AND n.retryCount < 3")
-    List<Notification> findNotificationsNeedingPush(@Param("currentTime") LocalDateTime currentTime);
+    List<Notification> findNotificationsNeedingPush(@Param("createdAfter") LocalDateTime createdAfter,
+                                                    @Param("currentTime") LocalDateTime currentTime);
 
     // Find by group key
     List<Notification> findByGroupKeyOrderByCreatedAtDesc(String groupKey);
@@ -115,9 +114,14 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("DELETE FROM Notification n WHERE n.isRead = true AND n.readAt < :cutoffDate")
     int deleteOldReadNotifications(@Param("cutoffDate") LocalDateTime cutoffDate);
 
+    // notifications is partitioned and has no foreign keys (V25), so user deletes clean up here
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoffTime")
-    int deleteByCreatedAtBeforeAndIsReadTrue(@Param("cutoffTime") LocalDateTime cutoffTime);
+    @Query("UPDATE Notification n SET n.senderId = NULL WHERE n.senderId = :senderId")
+    int clearSender(@Param("senderId") Long senderId);
     
     // Statistics queries
     @Query("SELECT n.type, COUNT(n) FROM Notification n WHERE n.userId = :userId AND " +
@@ -174,10 +178,11 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     // Find notifications for retry
     @Query("SELECT n FROM Notification n WHERE " +
            "(n.isEmailSent = false OR n.isPushSent = false) AND " +
-           "n.retryCount < 3 AND " +
+           "n.createdAt >= :createdAfter AND n.retryCount < 3 AND " +
            "(n.lastRetryAt IS NULL OR n.lastRetryAt < :retryBefore) AND " +
            "(n.expiresAt IS NULL OR n.expiresAt > :currentTime)")
-    List<Notification> findNotificationsForRetry(@Param("retryBefore") LocalDateTime retryBefore,
+    List<Notification> findNotificationsForRetry(@Param("createdAfter") LocalDateTime createdAfter,
+                                                 @Param("retryBefore") LocalDateTime retryBefore,
                                                  @Param("currentTime") LocalDateTime currentTime);
 
     // Update retry information
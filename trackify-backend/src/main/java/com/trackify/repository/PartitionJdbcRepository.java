@@ -0,0 +1,68 @@
+package com.trackify.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DDL for the tables V25 range-partitions by month on UNIX_TIMESTAMP of a TIMESTAMP
+ * column. Monthly partitions are named p<yyyyMM>; p_future is the MAXVALUE catch-all
+ * that new months are split off from. Table names come from the callers' constants,
+ * never from user input.
+ */
+@Repository
+public class PartitionJdbcRepository {
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    // Bounds are converted back with the same session time zone UNIX_TIMESTAMP used in the DDL
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME, " +
+            "CASE WHEN PARTITION_DESCRIPTION = 'MAXVALUE' THEN NULL ELSE FROM_UNIXTIME(PARTITION_DESCRIPTION) END " +
+            "FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param lessThan exclusive upper bound, null for the MAXVALUE partition
+     */
+    public record Partition(String name, LocalDateTime lessThan) {
+    }
+
+    /**
+     * Empty if the table is not partitioned
+     */
+    public List<Partition> findPartitions(String table) {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            Timestamp lessThan = rs.getTimestamp(2);
+            return new Partition(rs.getString(1), lessThan != null ? lessThan.toLocalDateTime() : null);
+        }, table);
+    }
+
+    /**
+     * Splits one monthly partition per given month off the (empty) p_future partition.
+     */
+    public void addMonthlyPartitions(String table, List<LocalDate> monthStarts) {
+        String partitions = monthStarts.stream()
+                .map(month -> "PARTITION " + month.format(PARTITION_NAME) +
+                        " VALUES LESS THAN (UNIX_TIMESTAMP('" + month.plusMonths(1) + " 00:00:00'))")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                partitions + ", PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+    }
+
+    public void dropPartitions(String table, List<String> partitionNames) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", partitionNames));
+    }
+}
@@ -2,6 +2,7 @@ package com.trackify.repository;
 
 import com.trackify.entity.Receipt;
 import com.trackify.enums.FileType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,7 @@ public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
     // Find by expense
     List<Receipt> findByExpenseId(Long expenseId);
     List<Receipt> findByExpenseIdOrderByCreatedAtAsc(Long expenseId);
+    List<Receipt> findByExpenseIdInOrderByCreatedAtAsc(Collection<Long> expenseIds);
     
     // Find by user
     List<Receipt> findByUploadedBy(Long userId);
@@ -54,6 +57,11 @@ public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
     @Query("UPDATE Receipt r SET r.ocrText = :ocrText, r.isProcessed = true WHERE r.id = :receiptId")
     void updateOcrText(@Param("receiptId") Long receiptId, @Param("ocrText") String ocrText);
     
+    // Record a generated thumbnail without loading the receipt
+    @Modifying
+    @Query("UPDATE Receipt r SET r.thumbnailUrl = :thumbnailUrl WHERE r.id = :receiptId")
+    int updateThumbnailUrl(@Param("receiptId") Long receiptId, @Param("thumbnailUrl") String thumbnailUrl);
+    
     // Update extracted data
     @Modifying
     @Query("UPDATE Receipt r SET r.extractedData = :extractedData, r.isProcessed = true WHERE r.id = :receiptId")
@@ -63,9 +71,8 @@ public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
     @Query("SELECT r FROM Receipt r WHERE r.fileSize BETWEEN :minSize AND :maxSize")
     List<Receipt> findByFileSizeRange(@Param("minSize") Long minSize, @Param("maxSize") Long maxSize);
     
-    // Find large receipts
-    @Query("SELECT r FROM Receipt r WHERE r.fileSize > :sizeThreshold ORDER BY r.fileSize DESC")
-    List<Receipt> findLargeReceipts(@Param("sizeThreshold") Long sizeThreshold);
+    // Find the largest receipts above a threshold, served from idx_receipt_file_size
+    List<Receipt> findByFileSizeGreaterThanOrderByFileSizeDesc(Long sizeThreshold, Pageable pageable);
     
     // Get total storage used by user
     @Query("SELECT SUM(r.fileSize) FROM Receipt r WHERE r.uploadedBy = :userId")
@@ -0,0 +1,55 @@
+package com.trackify.repository;
+
+import com.trackify.entity.RecurringExpenseRule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringExpenseRuleRepository extends JpaRepository<RecurringExpenseRule, Long> {
+    
+    List<RecurringExpenseRule> findByUserIdOrderByCreatedAtDesc(Long userId);
+    
+    Optional<RecurringExpenseRule> findByIdAndUserId(Long id, Long userId);
+    
+    // Keyset page over idx_recurring_rules_due, resuming after (afterDate, afterId). Rules
+    // generated since runStartedAt are left out, so one run advances a rule only once.
+    @Query("SELECT r FROM RecurringExpenseRule r WHERE r.isActive = true AND r.nextOccurrenceDate <= :today " +
+           "AND (r.nextOccurrenceDate > :afterDate OR (r.nextOccurrenceDate = :afterDate AND r.id > :afterId)) " +
+           "AND (r.lastGeneratedAt IS NULL OR r.lastGeneratedAt < :runStartedAt) " +
+           "ORDER BY r.nextOccurrenceDate ASC, r.id ASC")
+    List<RecurringExpenseRule> findDue(@Param("today") LocalDate today,
+                                       @Param("afterDate") LocalDate afterDate,
+                                       @Param("afterId") Long afterId,
+                                       @Param("runStartedAt") LocalDateTime runStartedAt,
+                                       Pageable pageable);
+    
+    /**
+     * Advances a rule past the occurrences being generated. Matches only while the rule is
+     * still at the expected position, so two nodes cannot generate the same occurrences.
+     */
+    @Modifying
+    @Query("UPDATE RecurringExpenseRule r SET r.nextOccurrenceDate = :nextDate, " +
+           "r.occurrencesGenerated = :generated, r.isActive = :active, " +
+           "r.lastGeneratedAt = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.isActive = true AND r.occurrencesGenerated = :expectedGenerated")
+    int advance(@Param("id") Long id,
+                @Param("expectedGenerated") Integer expectedGenerated,
+                @Param("generated") Integer generated,
+                @Param("nextDate") LocalDate nextDate,
+                @Param("active") Boolean active,
+                @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE RecurringExpenseRule r SET r.isActive = false, r.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE r.id = :id AND r.userId = :userId")
+    int deactivate(@Param("id") Long id, @Param("userId") Long userId);
+}
@@ -0,0 +1,121 @@
+package com.trackify.repository;
+
+import com.trackify.entity.ReportJob;
+import com.trackify.enums.ReportJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+    
+    Optional<ReportJob> findByReportId(String reportId);
+    
+    List<ReportJob> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+    
+    long countByUserIdAndStatus(Long userId, ReportJobStatus status);
+    
+    // Queued jobs, including ones whose worker lease expired because the node running them went away
+    @Query("SELECT j FROM ReportJob j WHERE " +
+           "j.status = com.trackify.enums.ReportJobStatus.PENDING OR " +
+           "(j.status = com.trackify.enums.ReportJobStatus.RUNNING AND j.lockedUntil < :now) " +
+           "ORDER BY j.id")
+    List<ReportJob> findDispatchable(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Returns [userId, count] for jobs currently held by a live worker on any node
+    @Query("SELECT j.userId, COUNT(j) FROM ReportJob j WHERE " +
+           "j.status = com.trackify.enums.ReportJobStatus.RUNNING AND j.lockedUntil >= :now " +
+           "GROUP BY j.userId")
+    List<Object[]> countRunningByUser(@Param("now") LocalDateTime now);
+    
+    // Claim a job for this dispatcher; a job claimed concurrently by another node is skipped.
+    // The user's running-job cap is checked in the same statement: counting the user's live
+    // jobs takes locking reads on their (user_id, status) index range, so two nodes claiming
+    // for one user serialize there instead of both seeing a free slot. The count sits in a
+    // derived table because MySQL won't let an UPDATE select from its own table directly.
+    @Modifying
+    @Query(value = "UPDATE report_jobs j CROSS JOIN (" +
+                   "SELECT COUNT(*) AS running FROM report_jobs r " +
+                   "WHERE r.user_id = :userId AND r.status = 'RUNNING' AND r.locked_until >= :now) c " +
+                   "SET j.status = 'RUNNING', j.claim_token = :claimToken, j.locked_until = :lockedUntil, " +
+                   "j.started_at = :now, j.attempts = j.attempts + 1 " +
+                   "WHERE j.id = :id AND j.user_id = :userId AND c.running < :maxRunning " +
+                   "AND (j.status = 'PENDING' OR (j.status = 'RUNNING' AND j.locked_until < :now))",
+           nativeQuery = true)
+    int claim(@Param("id") Long id, @Param("userId") Long userId, @Param("maxRunning") int maxRunning,
+              @Param("claimToken") String claimToken, @Param("lockedUntil") LocalDateTime lockedUntil,
+              @Param("now") LocalDateTime now);
+    
+    // Progress updates also renew the worker lease
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.progress = :progress, j.lockedUntil = :lockedUntil " +
+           "WHERE j.id = :id AND j.claimToken = :claimToken")
+    int updateProgress(@Param("id") Long id, @Param("claimToken") String claimToken,
+                       @Param("progress") int progress, @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    // Heartbeat from the worker while generation runs
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.lockedUntil = :lockedUntil " +
+           "WHERE j.id = :id AND j.claimToken = :claimToken AND j.status = com.trackify.enums.ReportJobStatus.RUNNING")
+    int renewLease(@Param("id") Long id, @Param("claimToken") String claimToken,
+                   @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = :status, j.progress = :progress, j.errorMessage = :errorMessage, " +
+           "j.outputPath = :outputPath, j.finishedAt = :finishedAt, j.claimToken = NULL, j.lockedUntil = NULL " +
+           "WHERE j.id = :id AND j.claimToken = :claimToken")
+    int finish(@Param("id") Long id, @Param("claimToken") String claimToken,
+               @Param("status") ReportJobStatus status, @Param("progress") int progress,
+               @Param("errorMessage") String errorMessage, @Param("outputPath") String outputPath,
+               @Param("finishedAt") LocalDateTime finishedAt);
+    
+    // A completed job whose output is no longer in the report store
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.trackify.enums.ReportJobStatus.EXPIRED " +
+           "WHERE j.id = :id AND j.status = com.trackify.enums.ReportJobStatus.COMPLETED")
+    int markExpired(@Param("id") Long id);
+    
+    // Put a claimed job back in the queue without counting the attempt, e.g. when the executor is saturated
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.trackify.enums.ReportJobStatus.PENDING, " +
+           "j.claimToken = NULL, j.lockedUntil = NULL, j.attempts = j.attempts - 1 " +
+           "WHERE j.id = :id AND j.claimToken = :claimToken")
+    int release(@Param("id") Long id, @Param("claimToken") String claimToken);
+    
+    // Abandon a job that has been picked up too many times without finishing
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.trackify.enums.ReportJobStatus.FAILED, " +
+           "j.errorMessage = :errorMessage, j.finishedAt = :now, j.claimToken = NULL, j.lockedUntil = NULL " +
+           "WHERE j.id = :id AND (j.status = com.trackify.enums.ReportJobStatus.PENDING OR " +
+           "(j.status = com.trackify.enums.ReportJobStatus.RUNNING AND j.lockedUntil < :now))")
+    int abandon(@Param("id") Long id, @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+    
+    // Cancellation: queued jobs are cancelled outright, running ones are flagged for the worker to stop
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.status = com.trackify.enums.ReportJobStatus.CANCELLED, " +
+           "j.cancelRequested = true, j.finishedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.trackify.enums.ReportJobStatus.PENDING")
+    int cancelPending(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ReportJob j SET j.cancelRequested = true " +
+           "WHERE j.id = :id AND j.status = com.trackify.enums.ReportJobStatus.RUNNING")
+    int requestCancel(@Param("id") Long id);
+    
+    @Query("SELECT j.cancelRequested FROM ReportJob j WHERE j.id = :id")
+    Boolean isCancelRequested(@Param("id") Long id);
+    
+    // Data cleanup
+    @Modifying
+    @Query("DELETE FROM ReportJob j WHERE j.finishedAt < :cutoffDate AND j.status IN " +
+           "(com.trackify.enums.ReportJobStatus.COMPLETED, com.trackify.enums.ReportJobStatus.FAILED, " +
+           "com.trackify.enums.ReportJobStatus.CANCELLED, com.trackify.enums.ReportJobStatus.EXPIRED)")
+    int deleteFinishedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+}
@@ -0,0 +1,47 @@
+package com.trackify.repository;
+
+import com.trackify.entity.RevokedToken;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    // Revoking the same token twice (double logout) is not an error
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_tokens (jti, user_id, expires_at, revoked_at) " +
+                   "VALUES (:jti, :userId, :expiresAt, CURRENT_TIMESTAMP(3))",
+           nativeQuery = true)
+    int revoke(@Param("jti") String jti, @Param("userId") Long userId, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Query("SELECT COUNT(r) > 0 FROM RevokedToken r WHERE r.jti = :jti AND r.expiresAt > :now")
+    boolean isRevoked(@Param("jti") String jti, @Param("now") LocalDateTime now);
+    
+    // Streamed to build the filter, only ids are loaded
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now")
+    Stream<String> streamActiveIds(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT COUNT(r) FROM RevokedToken r WHERE r.expiresAt > :now")
+    long countActive(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT MAX(r.revokedAt) FROM RevokedToken r")
+    Optional<LocalDateTime> findLatestRevokedAt();
+    
+    @Query("SELECT r FROM RevokedToken r WHERE r.revokedAt > :since ORDER BY r.revokedAt ASC")
+    List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,36 @@
+package com.trackify.repository;
+
+import com.trackify.entity.ScheduledReport;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScheduledReportRepository extends JpaRepository<ScheduledReport, Long> {
+    
+    List<ScheduledReport> findByUserIdOrderByIdAsc(Long userId);
+    
+    // Due schedules in run order; served by the next_run_at index
+    @Query("SELECT s FROM ScheduledReport s WHERE s.nextRunAt <= :now AND s.isActive = true ORDER BY s.nextRunAt, s.id")
+    List<ScheduledReport> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Claim one run of a schedule by moving next_run_at on; another node that read the same
+    // next_run_at matches no row and skips the schedule
+    @Modifying
+    @Query("UPDATE ScheduledReport s SET s.nextRunAt = :nextRunAt " +
+           "WHERE s.id = :id AND s.nextRunAt = :expectedRunAt AND s.isActive = true")
+    int claimRun(@Param("id") Long id, @Param("expectedRunAt") LocalDateTime expectedRunAt,
+                 @Param("nextRunAt") LocalDateTime nextRunAt);
+    
+    // Data cleanup
+    @Modifying
+    @Query("DELETE FROM ScheduledReport s WHERE s.isActive = false AND " +
+           "COALESCE(s.lastRunAt, s.createdAt) < :cutoffDate")
+    int deleteInactiveBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+}
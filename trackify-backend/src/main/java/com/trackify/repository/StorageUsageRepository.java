@@ -0,0 +1,44 @@
+package com.trackify.repository;
+
+import com.trackify.entity.StorageUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StorageUsageRepository extends JpaRepository<StorageUsage, Long> {
+    
+    // Atomically apply a delta, creating the counter row on first use
+    @Modifying
+    @Query(value = "INSERT INTO storage_usage (user_id, bytes_used, file_count, updated_at) " +
+                   "VALUES (:userId, :bytes, :files, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE bytes_used = bytes_used + VALUES(bytes_used), " +
+                   "file_count = file_count + VALUES(file_count), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int addUsage(@Param("userId") Long userId, @Param("bytes") long bytes, @Param("files") int files);
+    
+    // Reconciliation: overwrite per-user counters from the receipts table
+    @Modifying
+    @Query(value = "INSERT INTO storage_usage (user_id, bytes_used, file_count, updated_at) " +
+                   "SELECT r.uploaded_by, COALESCE(SUM(r.file_size), 0), COUNT(*), CURRENT_TIMESTAMP " +
+                   "FROM receipts r GROUP BY r.uploaded_by " +
+                   "ON DUPLICATE KEY UPDATE bytes_used = VALUES(bytes_used), " +
+                   "file_count = VALUES(file_count), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int reconcileUserUsage();
+    
+    // Reconciliation: zero counters of users with no receipts left. NOT EXISTS rather than
+    // NOT IN, which matches no rows at all once any receipt has a NULL uploaded_by
+    @Modifying
+    @Query(value = "UPDATE storage_usage SET bytes_used = 0, file_count = 0 " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM receipts r WHERE r.uploaded_by = storage_usage.user_id)",
+           nativeQuery = true)
+    int resetEmptyUserUsage();
+    
+    // Global total as the sum of the per-user counters; one row per user, so no single
+    // counter row is shared by every upload
+    @Query(value = "SELECT COALESCE(SUM(bytes_used), 0) FROM storage_usage", nativeQuery = true)
+    long sumBytesUsed();
+}
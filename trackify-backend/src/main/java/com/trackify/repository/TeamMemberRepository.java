@@ -1,5 +1,6 @@
 package com.trackify.repository;
 
+import com.trackify.dto.response.TeamResponse;
 import com.trackify.entity.TeamMember;
 import com.trackify.enums.TeamRole;
 import org.springframework.data.domain.Page;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,10 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     List<TeamMember> findByTeamId(Long teamId);
     List<TeamMember> findByTeamIdAndIsActiveTrue(Long teamId);
     
+    // Member usernames for fanning out messages, without loading each user
+    @Query("SELECT tm.user.username FROM TeamMember tm WHERE tm.team.id = :teamId")
+    List<String> findUsernamesByTeamId(@Param("teamId") Long teamId);
+    
     // Find by user
     List<TeamMember> findByUserId(Long userId);
     List<TeamMember> findByUserIdAndIsActiveTrue(Long userId);
@@ -162,6 +168,30 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     @Query("SELECT COUNT(tm) FROM TeamMember tm WHERE tm.user.id = :userId AND tm.isActive = true")
     long countActiveByUserId(@Param("userId") Long userId);
     
+    // Batched lookups for team listings, one query per page instead of per team
+    @Query("SELECT tm FROM TeamMember tm WHERE tm.user.id = :userId AND tm.team.id IN :teamIds")
+    List<TeamMember> findByUserIdAndTeamIdIn(@Param("userId") Long userId, @Param("teamIds") Collection<Long> teamIds);
+    
+    @Query("SELECT tm FROM TeamMember tm JOIN FETCH tm.user u " +
+           "WHERE tm.team.id IN :teamIds AND tm.isActive = true ORDER BY tm.team.id, tm.id")
+    List<TeamMember> findActiveRostersByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+    
+    @Query("SELECT tm.team.id, tm.role, COUNT(tm) FROM TeamMember tm " +
+           "WHERE tm.team.id IN :teamIds AND tm.isActive = true GROUP BY tm.team.id, tm.role")
+    List<Object[]> getTeamMemberRoleStatisticsByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+    
+    @Query("SELECT tm.team.id, COUNT(tm) FROM TeamMember tm WHERE tm.team.id IN :teamIds AND " +
+           "tm.isActive = false AND tm.invitationExpiresAt > :currentTime GROUP BY tm.team.id")
+    List<Object[]> countPendingInvitationsByTeamIds(@Param("teamIds") Collection<Long> teamIds,
+                                                    @Param("currentTime") LocalDateTime currentTime);
+    
+    // Team card projection, reads the denormalized member count instead of the members collection
+    @Query("SELECT new com.trackify.dto.response.TeamResponse$TeamSummary(" +
+           "t.id, t.name, t.description, t.memberCount, tm.role, t.isActive, tm.joinedAt) " +
+           "FROM TeamMember tm JOIN tm.team t " +
+           "WHERE tm.user.id = :userId AND tm.isActive = true AND t.isActive = true ORDER BY t.name")
+    List<TeamResponse.TeamSummary> findTeamSummariesByUserId(@Param("userId") Long userId);
+    
     // Find team members by multiple criteria
     @Query("SELECT tm FROM TeamMember tm WHERE " +
            "tm.team.id = :teamId AND " +
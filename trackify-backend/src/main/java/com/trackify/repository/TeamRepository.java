@@ -5,6 +5,7 @@ import com.trackify.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -111,6 +112,27 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     @Query("SELECT DISTINCT t FROM Team t JOIN t.members tm WHERE tm.isActive = false AND tm.invitationExpiresAt > :currentTime AND t.isActive = true")
     List<Team> findTeamsWithPendingInvitations(@Param("currentTime") LocalDateTime currentTime);
     
+    // Recompute one team's roster counters inside the UPDATE, so concurrent membership
+    // changes serialize on the team row instead of overwriting each other's counts
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE teams t SET " +
+           "t.member_count = (SELECT COUNT(*) FROM team_members tm WHERE tm.team_id = t.id), " +
+           "t.active_member_count = (SELECT COUNT(*) FROM team_members tm WHERE tm.team_id = t.id AND tm.is_active = TRUE) " +
+           "WHERE t.id = :teamId",
+           nativeQuery = true)
+    int refreshMemberCounts(@Param("teamId") Long teamId);
+    
+    @Query("SELECT t.memberCount, t.activeMemberCount FROM Team t WHERE t.id = :teamId")
+    List<Object[]> findMemberCounts(@Param("teamId") Long teamId);
+    
+    // Recompute the denormalized roster counters after bulk membership changes
+    @Modifying
+    @Query(value = "UPDATE teams t SET " +
+           "t.member_count = (SELECT COUNT(*) FROM team_members tm WHERE tm.team_id = t.id), " +
+           "t.active_member_count = (SELECT COUNT(*) FROM team_members tm WHERE tm.team_id = t.id AND tm.is_active = TRUE)",
+           nativeQuery = true)
+    int refreshAllMemberCounts();
+    
     // Delete teams with no active members (cleanup)
     @Query("SELECT t FROM Team t WHERE t.isActive = true AND " +
            "(SELECT COUNT(tm) FROM TeamMember tm WHERE tm.team = t AND tm.isActive = true) = 0")
@@ -0,0 +1,80 @@
+package com.trackify.repository;
+
+import com.trackify.entity.TeamSpendMonthly;
+import com.trackify.enums.ExpenseStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TeamSpendMonthlyRepository extends JpaRepository<TeamSpendMonthly, Long> {
+    
+    // Atomically apply a delta to a bucket, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO team_spend_monthly (team_id, period_month, category_id, status, total_amount, expense_count, updated_at) " +
+                   "VALUES (:teamId, :periodMonth, :categoryId, :status, :amount, :count, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                   "expense_count = expense_count + VALUES(expense_count), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int addSpend(@Param("teamId") Long teamId,
+                 @Param("periodMonth") LocalDate periodMonth,
+                 @Param("categoryId") Long categoryId,
+                 @Param("status") String status,
+                 @Param("amount") BigDecimal amount,
+                 @Param("count") int count);
+    
+    // Totals over whole months in the given statuses, returns [SUM(totalAmount), SUM(expenseCount)]
+    @Query("SELECT COALESCE(SUM(s.totalAmount), 0), COALESCE(SUM(s.expenseCount), 0) FROM TeamSpendMonthly s " +
+           "WHERE s.teamId = :teamId AND s.periodMonth BETWEEN :fromMonth AND :toMonth AND s.status IN :statuses")
+    List<Object[]> sumByTeamIdAndPeriod(@Param("teamId") Long teamId,
+                                        @Param("fromMonth") LocalDate fromMonth,
+                                        @Param("toMonth") LocalDate toMonth,
+                                        @Param("statuses") Collection<ExpenseStatus> statuses);
+    
+    @Query("SELECT COALESCE(SUM(s.totalAmount), 0), COALESCE(SUM(s.expenseCount), 0) FROM TeamSpendMonthly s " +
+           "WHERE s.teamId = :teamId AND s.status IN :statuses")
+    List<Object[]> sumByTeamId(@Param("teamId") Long teamId,
+                               @Param("statuses") Collection<ExpenseStatus> statuses);
+    
+    @Query("SELECT s.teamId, SUM(s.totalAmount), SUM(s.expenseCount) FROM TeamSpendMonthly s " +
+           "WHERE s.teamId IN :teamIds AND s.status IN :statuses GROUP BY s.teamId")
+    List<Object[]> sumByTeamIdsGroupByTeam(@Param("teamIds") Collection<Long> teamIds,
+                                           @Param("statuses") Collection<ExpenseStatus> statuses);
+    
+    @Query("SELECT s.teamId, SUM(s.totalAmount), SUM(s.expenseCount) FROM TeamSpendMonthly s " +
+           "WHERE s.teamId IN :teamIds AND s.periodMonth BETWEEN :fromMonth AND :toMonth AND s.status IN :statuses " +
+           "GROUP BY s.teamId")
+    List<Object[]> sumByTeamIdsAndPeriodGroupByTeam(@Param("teamIds") Collection<Long> teamIds,
+                                                    @Param("fromMonth") LocalDate fromMonth,
+                                                    @Param("toMonth") LocalDate toMonth,
+                                                    @Param("statuses") Collection<ExpenseStatus> statuses);
+    
+    @Query("SELECT s.categoryId, SUM(s.totalAmount), SUM(s.expenseCount) FROM TeamSpendMonthly s " +
+           "WHERE s.teamId = :teamId AND s.periodMonth BETWEEN :fromMonth AND :toMonth AND s.status IN :statuses " +
+           "GROUP BY s.categoryId")
+    List<Object[]> sumByTeamIdAndPeriodGroupByCategory(@Param("teamId") Long teamId,
+                                                       @Param("fromMonth") LocalDate fromMonth,
+                                                       @Param("toMonth") LocalDate toMonth,
+                                                       @Param("statuses") Collection<ExpenseStatus> statuses);
+    
+    // Reconciliation: rebuild every bucket from the expenses table
+    @Modifying
+    @Query(value = "DELETE FROM team_spend_monthly", nativeQuery = true)
+    int deleteAllBuckets();
+    
+    @Modifying
+    @Query(value = "INSERT INTO team_spend_monthly (team_id, period_month, category_id, status, total_amount, expense_count, updated_at) " +
+                   "SELECT e.team_id, DATE_FORMAT(e.expense_date, '%Y-%m-01'), e.category_id, e.status, " +
+                   "SUM(e.amount), COUNT(*), CURRENT_TIMESTAMP " +
+                   "FROM expenses e WHERE e.team_id IS NOT NULL " +
+                   "GROUP BY e.team_id, DATE_FORMAT(e.expense_date, '%Y-%m-01'), e.category_id, e.status",
+           nativeQuery = true)
+    int rebuildBuckets();
+}
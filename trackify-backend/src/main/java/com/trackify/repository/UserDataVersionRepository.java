@@ -0,0 +1,32 @@
+package com.trackify.repository;
+
+import com.trackify.entity.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+    
+    // Atomically increment a user's version, creating the row on first write
+    @Modifying
+    @Query(value = "INSERT INTO user_data_versions (user_id, version, updated_at) VALUES (:userId, 1, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE version = version + 1, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int increment(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_data_versions (user_id, version, updated_at) " +
+                   "SELECT u.id, 1, CURRENT_TIMESTAMP FROM users u WHERE u.id IN (:userIds) " +
+                   "ON DUPLICATE KEY UPDATE version = user_data_versions.version + 1, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int incrementAll(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT v.version FROM UserDataVersion v WHERE v.userId = :userId")
+    Optional<Long> findVersion(@Param("userId") Long userId);
+}
@@ -66,6 +66,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.lastLoginAt = :loginTime WHERE u.id = :userId")
     void updateLastLoginTime(@Param("userId") Long userId, @Param("loginTime") LocalDateTime loginTime);
     
+    @Query("SELECT u.baseCurrency FROM User u WHERE u.id = :userId")
+    Optional<String> findBaseCurrencyById(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    void updatePassword(@Param("userId") Long userId, @Param("password") String password);
+    
     @Modifying
     @Query("UPDATE User u SET u.emailVerified = true, u.emailVerificationToken = null WHERE u.id = :userId")
     void verifyEmail(@Param("userId") Long userId);
@@ -82,4 +89,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     @Query("SELECT u FROM User u WHERE u.passwordResetToken = :token AND u.passwordResetExpiresAt > :currentTime")
     Optional<User> findByValidPasswordResetToken(@Param("token") String token, @Param("currentTime") LocalDateTime currentTime);
-}
\ No newline at end of file
+    
+    // Keyset paging over user ids for batch jobs
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -0,0 +1,144 @@
+package com.trackify.repository;
+
+import com.trackify.entity.UserDailySpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Day, month and year spend rollups. Only the daily table is mapped as an entity,
+ * the monthly and yearly tables have the same columns and are accessed natively.
+ */
+@Repository
+public interface UserSpendRollupRepository extends JpaRepository<UserDailySpend, Long> {
+    
+    // Atomically apply a delta to a bucket, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count, updated_at) " +
+                   "VALUES (:userId, :periodStart, :categoryId, :status, :currencyCode, :amount, :count, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                   "expense_count = expense_count + VALUES(expense_count), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int addDailySpend(@Param("userId") Long userId,
+                 @Param("periodStart") LocalDate periodStart,
+                 @Param("categoryId") Long categoryId,
+                 @Param("status") String status,
+                 @Param("currencyCode") String currencyCode,
+                 @Param("amount") BigDecimal amount,
+                 @Param("count") int count);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count, updated_at) " +
+                   "VALUES (:userId, :periodStart, :categoryId, :status, :currencyCode, :amount, :count, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                   "expense_count = expense_count + VALUES(expense_count), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int addMonthlySpend(@Param("userId") Long userId,
+                 @Param("periodStart") LocalDate periodStart,
+                 @Param("categoryId") Long categoryId,
+                 @Param("status") String status,
+                 @Param("currencyCode") String currencyCode,
+                 @Param("amount") BigDecimal amount,
+                 @Param("count") int count);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_yearly_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count, updated_at) " +
+                   "VALUES (:userId, :periodStart, :categoryId, :status, :currencyCode, :amount, :count, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + VALUES(total_amount), " +
+                   "expense_count = expense_count + VALUES(expense_count), updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int addYearlySpend(@Param("userId") Long userId,
+                 @Param("periodStart") LocalDate periodStart,
+                 @Param("categoryId") Long categoryId,
+                 @Param("status") String status,
+                 @Param("currencyCode") String currencyCode,
+                 @Param("amount") BigDecimal amount,
+                 @Param("count") int count);
+    
+    // Totals per category, status and currency over a range split into day, month and year buckets.
+    // Empty segments are passed as a from date after the to date.
+    @Query(value = "SELECT s.category_id, s.status, s.currency_code, SUM(s.total_amount), SUM(s.expense_count) FROM (" +
+                   "SELECT category_id, status, currency_code, total_amount, expense_count FROM user_daily_spend " +
+                   "WHERE user_id = :userId AND (period_start BETWEEN :headDaysFrom AND :headDaysTo " +
+                   "OR period_start BETWEEN :tailDaysFrom AND :tailDaysTo) " +
+                   "UNION ALL " +
+                   "SELECT category_id, status, currency_code, total_amount, expense_count FROM user_monthly_spend " +
+                   "WHERE user_id = :userId AND (period_start BETWEEN :headMonthsFrom AND :headMonthsTo " +
+                   "OR period_start BETWEEN :tailMonthsFrom AND :tailMonthsTo) " +
+                   "UNION ALL " +
+                   "SELECT category_id, status, currency_code, total_amount, expense_count FROM user_yearly_spend " +
+                   "WHERE user_id = :userId AND period_start BETWEEN :yearsFrom AND :yearsTo" +
+                   ") s GROUP BY s.category_id, s.status, s.currency_code",
+           nativeQuery = true)
+    List<Object[]> sumByCategoryStatusAndCurrency(@Param("userId") Long userId,
+                                                  @Param("headDaysFrom") LocalDate headDaysFrom,
+                                                  @Param("headDaysTo") LocalDate headDaysTo,
+                                                  @Param("tailDaysFrom") LocalDate tailDaysFrom,
+                                                  @Param("tailDaysTo") LocalDate tailDaysTo,
+                                                  @Param("headMonthsFrom") LocalDate headMonthsFrom,
+                                                  @Param("headMonthsTo") LocalDate headMonthsTo,
+                                                  @Param("tailMonthsFrom") LocalDate tailMonthsFrom,
+                                                  @Param("tailMonthsTo") LocalDate tailMonthsTo,
+                                                  @Param("yearsFrom") LocalDate yearsFrom,
+                                                  @Param("yearsTo") LocalDate yearsTo);
+    
+    // Day series, returns [periodStart, status, currencyCode, SUM(totalAmount), SUM(expenseCount)]
+    @Query("SELECT s.periodStart, s.status, s.currencyCode, SUM(s.totalAmount), SUM(s.expenseCount) FROM UserDailySpend s " +
+           "WHERE s.userId = :userId AND s.periodStart BETWEEN :startDate AND :endDate " +
+           "GROUP BY s.periodStart, s.status, s.currencyCode")
+    List<Object[]> sumDailyByStatus(@Param("userId") Long userId,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+    
+    // Month series, returns [period_start, status, currency_code, SUM(total_amount), SUM(expense_count)]
+    @Query(value = "SELECT period_start, status, currency_code, SUM(total_amount), SUM(expense_count) FROM user_monthly_spend " +
+                   "WHERE user_id = :userId AND period_start BETWEEN :fromMonth AND :toMonth " +
+                   "GROUP BY period_start, status, currency_code",
+           nativeQuery = true)
+    List<Object[]> sumMonthlyByStatus(@Param("userId") Long userId,
+                                      @Param("fromMonth") LocalDate fromMonth,
+                                      @Param("toMonth") LocalDate toMonth);
+    
+    // Backfill: rebuild one user's rollups from the expenses table
+    @Modifying
+    @Query(value = "DELETE FROM user_daily_spend WHERE user_id = :userId", nativeQuery = true)
+    int deleteDailySpendByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM user_monthly_spend WHERE user_id = :userId", nativeQuery = true)
+    int deleteMonthlySpendByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "DELETE FROM user_yearly_spend WHERE user_id = :userId", nativeQuery = true)
+    int deleteYearlySpendByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_daily_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count, updated_at) " +
+                   "SELECT e.user_id, e.expense_date, e.category_id, e.status, COALESCE(e.currency_code, 'USD'), " +
+                   "SUM(e.amount), COUNT(*), CURRENT_TIMESTAMP FROM expenses e WHERE e.user_id = :userId " +
+                   "GROUP BY e.user_id, e.expense_date, e.category_id, e.status, COALESCE(e.currency_code, 'USD')",
+           nativeQuery = true)
+    int rebuildDailySpend(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count, updated_at) " +
+                   "SELECT d.user_id, DATE_FORMAT(d.period_start, '%Y-%m-01'), d.category_id, d.status, d.currency_code, " +
+                   "SUM(d.total_amount), SUM(d.expense_count), CURRENT_TIMESTAMP FROM user_daily_spend d WHERE d.user_id = :userId " +
+                   "GROUP BY d.user_id, DATE_FORMAT(d.period_start, '%Y-%m-01'), d.category_id, d.status, d.currency_code",
+           nativeQuery = true)
+    int rebuildMonthlySpend(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO user_yearly_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count, updated_at) " +
+                   "SELECT m.user_id, DATE_FORMAT(m.period_start, '%Y-01-01'), m.category_id, m.status, m.currency_code, " +
+                   "SUM(m.total_amount), SUM(m.expense_count), CURRENT_TIMESTAMP FROM user_monthly_spend m WHERE m.user_id = :userId " +
+                   "GROUP BY m.user_id, DATE_FORMAT(m.period_start, '%Y-01-01'), m.category_id, m.status, m.currency_code",
+           nativeQuery = true)
+    int rebuildYearlySpend(@Param("userId") Long userId);
+}
@@ -0,0 +1,508 @@
+package com.trackify.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackify.entity.AuditLog;
+import com.trackify.enums.AuditOverflowPolicy;
+import com.trackify.repository.AuditLogJdbcRepository;
+import com.trackify.util.RingBuffer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit records off the request path. Producers only offer the record to a bounded
+ * lock-free ring buffer; a single background thread drains it and inserts the records in
+ * JDBC batches, one transaction per batch. When the buffer is full the configured overflow
+ * policy applies: BLOCK waits a bounded time for space and then drops, DROP counts and
+ * discards, SPILL hands the record to a second bounded ring buffer that a spill thread
+ * appends to a local NDJSON file, which the writer replays into the database once the
+ * buffer has drained. Only the spill thread does file I/O; when both buffers are full
+ * the record is dropped rather than making the caller wait.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final long BLOCK_RETRY_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long DROP_REPORT_INTERVAL_MS = 10_000;
+
+    private final RingBuffer<AuditLog> buffer;
+    private final RingBuffer<AuditLog> overflow;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final Object spillLock = new Object();
+
+    @Autowired
+    private AuditLogJdbcRepository auditLogJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.audit.overflow-policy:SPILL}")
+    private AuditOverflowPolicy overflowPolicy;
+
+    @Value("${app.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.idle-wait-ms:50}")
+    private long idleWaitMs;
+
+    @Value("${app.audit.block-timeout-ms:20}")
+    private long blockTimeoutMs;
+
+    @Value("${app.audit.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${app.audit.spill-file:audit-spill.ndjson}")
+    private String spillFile;
+
+    private volatile boolean running;
+    private volatile boolean spillPending;
+    private volatile Thread writerThread;
+    private volatile Thread spillThread;
+    private BufferedWriter spillWriter;
+    private long lastReportedDrops;
+    private long lastDropReportAt;
+
+    public AuditLogWriter(@Value("${app.audit.buffer-capacity:65536}") int bufferCapacity,
+                          @Value("${app.audit.spill-buffer-capacity:16384}") int spillBufferCapacity) {
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.overflow = new RingBuffer<>(spillBufferCapacity);
+    }
+
+    /**
+     * Never touches the database or the disk. Under the BLOCK policy a caller waits at most
+     * app.audit.block-timeout-ms for space; under SPILL it only offers to the spill buffer.
+     */
+    public void submit(AuditLog auditLog) {
+        if (buffer.offer(auditLog)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                if (!offerWithin(auditLog, blockTimeoutMs)) {
+                    dropped.increment();
+                }
+            }
+            case SPILL -> {
+                if (!overflow.offer(auditLog)) {
+                    dropped.increment();
+                }
+            }
+            default -> dropped.increment();
+        }
+    }
+
+    private boolean offerWithin(AuditLog auditLog, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Thread writer = writerThread;
+        do {
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+            LockSupport.parkNanos(BLOCK_RETRY_NANOS);
+            if (buffer.offer(auditLog)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+        return false;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        spillPending = Files.exists(spillPath()) || Files.exists(replayPath());
+        running = true;
+        Thread thread = new Thread(this::runWriter, "Trackify-AuditWriter");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        if (overflowPolicy == AuditOverflowPolicy.SPILL) {
+            Thread spiller = new Thread(this::runSpiller, "Trackify-AuditSpill");
+            spiller.setDaemon(true);
+            spillThread = spiller;
+            spiller.start();
+        }
+        logger.info("Audit writer started with buffer capacity {} and overflow policy {}",
+                buffer.capacity(), overflowPolicy.name());
+    }
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                buffer.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    if (spillPending) {
+                        replaySpillFile();
+                    }
+                    reportDrops();
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleWaitMs));
+                    continue;
+                }
+                if (!write(batch)) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryBackoffMs));
+                }
+            } catch (Exception e) {
+                logger.error("Audit writer failed, {} records lost", batch.size(), e);
+                dropped.add(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Sole consumer of the spill buffer while running
+    private void runSpiller() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (overflow.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleWaitMs));
+                continue;
+            }
+            spill(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return false if the database looked unavailable, so the caller should back off
+     */
+    private boolean write(List<AuditLog> batch) {
+        try {
+            insert(batch);
+            return true;
+        } catch (TransientDataAccessException | DataAccessResourceFailureException
+                 | CannotCreateTransactionException e) {
+            logger.warn("Could not write {} audit records: {}", batch.size(), e.getMessage());
+            unwritten(batch);
+            return false;
+        } catch (DataAccessException e) {
+            // A bad record fails the whole batch, so isolate it instead of losing the rest
+            logger.warn("Audit batch of {} records rejected, writing them one at a time: {}",
+                    batch.size(), e.getMessage());
+            List<AuditLog> failed = new ArrayList<>();
+            for (AuditLog auditLog : batch) {
+                try {
+                    insert(List.of(auditLog));
+                } catch (DataAccessException rowFailure) {
+                    failed.add(auditLog);
+                }
+            }
+            if (!failed.isEmpty()) {
+                logger.error("Discarded {} audit records the database rejected", failed.size());
+                dropped.add(failed.size());
+            }
+            return true;
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        transactionTemplate.executeWithoutResult(status -> auditLogJdbcRepository.batchInsert(batch));
+        written.add(batch.size());
+    }
+
+    private void unwritten(List<AuditLog> batch) {
+        if (overflowPolicy == AuditOverflowPolicy.SPILL) {
+            spill(batch);
+        } else {
+            dropped.add(batch.size());
+        }
+    }
+
+    private void spill(List<AuditLog> auditLogs) {
+        synchronized (spillLock) {
+            try {
+                if (spillWriter == null) {
+                    Path path = spillPath();
+                    if (path.getParent() != null) {
+                        Files.createDirectories(path.getParent());
+                    }
+                    spillWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                for (AuditLog auditLog : auditLogs) {
+                    spillWriter.write(objectMapper.writeValueAsString(auditLog));
+                    spillWriter.newLine();
+                }
+                spillWriter.flush();
+                spilled.add(auditLogs.size());
+                spillPending = true;
+            } catch (IOException e) {
+                logger.error("Could not spill {} audit records to {}: {}", auditLogs.size(), spillFile, e.getMessage());
+                dropped.add(auditLogs.size());
+                closeSpillWriter();
+            }
+        }
+    }
+
+    /**
+     * Moves the spill file aside and inserts its records. Records that cannot be written
+     * while the database is unavailable stay in the replay file, which is retried before any
+     * newer spill file; records that can never be written go to the rejected file.
+     */
+    private void replaySpillFile() {
+        Path replay = replayPath();
+        try {
+            if (!Files.exists(replay)) {
+                synchronized (spillLock) {
+                    closeSpillWriter();
+                    spillPending = false;
+                    if (!Files.exists(spillPath())) {
+                        return;
+                    }
+                    Files.move(spillPath(), replay, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+
+            long replayed = 0;
+            List<String> lines = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        lines.add(line);
+                    }
+                    if (lines.size() == batchSize) {
+                        List<String> unwritten = replayBatch(lines);
+                        if (!unwritten.isEmpty()) {
+                            keepRemaining(replay, unwritten, reader);
+                            return;
+                        }
+                        replayed += lines.size();
+                        lines.clear();
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    List<String> unwritten = replayBatch(lines);
+                    if (!unwritten.isEmpty()) {
+                        keepRemaining(replay, unwritten, reader);
+                        return;
+                    }
+                    replayed += lines.size();
+                }
+            }
+            Files.delete(replay);
+            logger.info("Replayed {} spilled audit records", replayed);
+            synchronized (spillLock) {
+                spillPending = spillWriter != null || Files.exists(spillPath());
+            }
+        } catch (IOException e) {
+            logger.error("Could not replay spilled audit records from {}: {}", replay, e.getMessage());
+            spillPending = true;
+        }
+    }
+
+    /**
+     * @return the lines still to be written, empty once the batch is done. Lines that can
+     * never be written (unreadable, or rejected by the database on their own) are moved to
+     * the rejected file, so they cannot hold back the rest of the replay.
+     */
+    private List<String> replayBatch(List<String> lines) {
+        List<String> parsedLines = new ArrayList<>(lines.size());
+        List<AuditLog> batch = new ArrayList<>(lines.size());
+        List<String> unreadable = new ArrayList<>();
+        for (String line : lines) {
+            try {
+                batch.add(objectMapper.readValue(line, AuditLog.class));
+                parsedLines.add(line);
+            } catch (IOException e) {
+                unreadable.add(line);
+            }
+        }
+        if (!unreadable.isEmpty()) {
+            reject(unreadable, "unreadable");
+        }
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            insert(batch);
+            return List.of();
+        } catch (TransientDataAccessException | DataAccessResourceFailureException
+                 | CannotCreateTransactionException e) {
+            logger.warn("Could not replay {} spilled audit records, retrying later: {}", batch.size(), e.getMessage());
+            spillPending = true;
+            return parsedLines;
+        } catch (DataAccessException e) {
+            // Same isolation as write(), otherwise one bad record fails this batch on every retry
+            logger.warn("Spilled audit batch of {} records rejected, replaying them one at a time: {}",
+                    batch.size(), e.getMessage());
+        }
+
+        List<String> rejected = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                insert(List.of(batch.get(i)));
+            } catch (TransientDataAccessException | DataAccessResourceFailureException
+                     | CannotCreateTransactionException e) {
+                logger.warn("Could not replay spilled audit records, retrying later: {}", e.getMessage());
+                spillPending = true;
+                if (!rejected.isEmpty()) {
+                    reject(rejected, "rejected by the database");
+                }
+                // Records before this one are written, only the rest is retried
+                return parsedLines.subList(i, parsedLines.size());
+            } catch (DataAccessException e) {
+                rejected.add(parsedLines.get(i));
+            }
+        }
+        if (!rejected.isEmpty()) {
+            reject(rejected, "rejected by the database");
+        }
+        return List.of();
+    }
+
+    /**
+     * Appends spilled lines that can never be written to the rejected file for inspection
+     */
+    private void reject(List<String> lines, String reason) {
+        Path rejectedPath = Paths.get(spillFile + ".rejected");
+        try (BufferedWriter writer = Files.newBufferedWriter(rejectedPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+            logger.error("Moved {} spilled audit records to {}, {}", lines.size(), rejectedPath, reason);
+        } catch (IOException e) {
+            logger.error("Discarded {} spilled audit records, {}; could not write {}: {}",
+                    lines.size(), reason, rejectedPath, e.getMessage());
+        }
+        dropped.add(lines.size());
+    }
+
+    private void keepRemaining(Path replay, List<String> unwritten, BufferedReader rest) throws IOException {
+        Path remaining = replay.resolveSibling(replay.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(remaining, StandardCharsets.UTF_8)) {
+            for (String line : unwritten) {
+                writer.write(line);
+                writer.newLine();
+            }
+            String line;
+            while ((line = rest.readLine()) != null) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        Files.move(remaining, replay, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void closeSpillWriter() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                logger.warn("Could not close audit spill file: {}", e.getMessage());
+            }
+            spillWriter = null;
+        }
+    }
+
+    private void reportDrops() {
+        long total = dropped.sum();
+        long now = System.currentTimeMillis();
+        if (total != lastReportedDrops && now - lastDropReportAt >= DROP_REPORT_INTERVAL_MS) {
+            logger.warn("{} audit records dropped since the last report ({} in total)", total - lastReportedDrops, total);
+            lastReportedDrops = total;
+            lastDropReportAt = now;
+        }
+    }
+
+    private Path spillPath() {
+        return Paths.get(spillFile);
+    }
+
+    private Path replayPath() {
+        return Paths.get(spillFile + ".replay");
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilled.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (!join(spillThread) || !join(writerThread)) {
+            logger.warn("Audit writer did not stop in time, {} buffered records not flushed",
+                    buffer.size() + overflow.size());
+            return;
+        }
+
+        // Both threads have exited, so this thread is now the only consumer
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (overflow.drainTo(batch, batchSize) > 0) {
+            spill(batch);
+            batch.clear();
+        }
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        synchronized (spillLock) {
+            closeSpillWriter();
+        }
+    }
+
+    /**
+     * @return false if the thread is still running after the wait
+     */
+    private boolean join(Thread thread) {
+        if (thread == null) {
+            return true;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+}
@@ -7,6 +7,7 @@ import com.trackify.enums.NotificationType;
 import com.trackify.repository.BudgetRepository;
 import com.trackify.repository.UserRepository;
 import com.trackify.service.BudgetService;
+import com.trackify.service.DataVersionService;
 import com.trackify.service.EmailService;
 import com.trackify.service.NotificationService;
 import com.trackify.service.WebSocketService;
@@ -34,6 +35,9 @@ public class BudgetAlertScheduler {
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -170,6 +174,7 @@ public class BudgetAlertScheduler {
                 if (budget.getIsActive()) {
                     budget.setIsActive(false);
                     budgetRepository.save(budget);
+                    dataVersionService.bump(budget.getUserId());
                     logger.debug("Deactivated expired budget: {} for user: {}", budget.getId(), budget.getUserId());
                 }
             }
@@ -3,7 +3,13 @@ package com.trackify.scheduler;
 import com.trackify.entity.*;
 import com.trackify.enums.ExpenseStatus;
 import com.trackify.repository.*;
+import com.trackify.service.DataVersionService;
 import com.trackify.service.EmailService;
+import com.trackify.service.FileService;
+import com.trackify.service.PartitionMaintenanceService;
+import com.trackify.service.ReceiptDerivativeService;
+import com.trackify.service.SpendRollupService;
+import com.trackify.service.TeamSpendService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +18,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -29,6 +36,9 @@ public class DataCleanupScheduler {
     @Autowired
     private TeamMemberRepository teamMemberRepository;
 
+    @Autowired
+    private TeamRepository teamRepository;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -44,15 +54,33 @@ public class DataCleanupScheduler {
     @Autowired
     private ReceiptRepository receiptRepository;
 
+    @Autowired
+    private StorageUsageRepository storageUsageRepository;
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private ReceiptDerivativeService receiptDerivativeService;
+
+    @Autowired
+    private TeamSpendService teamSpendService;
+
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
     @Value("${app.cleanup.expense-retention-days:365}")
     private int expenseRetentionDays;
 
-    @Value("${app.cleanup.notification-retention-days:90}")
-    private int notificationRetentionDays;
-
     @Value("${app.cleanup.invitation-expiry-days:7}")
     private int invitationExpiryDays;
 
@@ -87,8 +115,9 @@ public class DataCleanupScheduler {
             // Clean expired invitations
             totalCleaned.addAndGet(cleanupExpiredInvitations());
 
-            // Clean old notifications
+            // Drop expired notification and audit log partitions
             totalCleaned.addAndGet(cleanupOldNotifications());
+            totalCleaned.addAndGet(cleanupOldAuditLogs());
 
             // Clean orphaned receipts
             totalCleaned.addAndGet(cleanupOrphanedReceipts());
@@ -176,6 +205,45 @@ public class DataCleanupScheduler {
         }
     }
 
+    /**
+     * Storage usage reconciliation - runs every day at 3:30 AM, after receipt cleanup.
+     * Catches counter drift from receipts removed by cascading expense deletes.
+     */
+    @Scheduled(cron = "0 30 3 * * ?") // Daily at 3:30 AM
+    public void reconcileStorageUsage() {
+        try {
+            fileService.reconcileStorageUsage();
+        } catch (Exception e) {
+            logger.error("Error reconciling storage usage", e);
+        }
+    }
+
+    /**
+     * Rebuild team spend aggregates - runs every Sunday at 3:45 AM.
+     * Catches drift from expenses removed by cascading user deletes.
+     */
+    @Scheduled(cron = "0 45 3 * * SUN") // Every Sunday at 3:45 AM
+    public void rebuildTeamSpendAggregates() {
+        try {
+            teamSpendService.rebuildAggregates();
+        } catch (Exception e) {
+            logger.error("Error rebuilding team spend aggregates", e);
+        }
+    }
+
+    /**
+     * Rebuild user spend rollups - runs every Sunday at 4:15 AM.
+     * Catches drift from cascading deletes and writes that bypass the expense service.
+     */
+    @Scheduled(cron = "0 15 4 * * SUN") // Every Sunday at 4:15 AM
+    public void rebuildSpendRollups() {
+        try {
+            spendRollupService.rebuildAll();
+        } catch (Exception e) {
+            logger.error("Error rebuilding spend rollups", e);
+        }
+    }
+
     /**
      * Database optimization - runs every Saturday at 4 AM
      */
@@ -222,6 +290,7 @@ public class DataCleanupScheduler {
 
             // Delete expired invitations
             teamMemberRepository.deleteByIsActiveFalseAndInvitationExpiresAtBefore(cutoffTime);
+            teamRepository.refreshAllMemberCounts();
 
             logger.info("Cleaned up {} expired team invitations", expiredInvitations.size());
             return expiredInvitations.size();
@@ -232,29 +301,31 @@ public class DataCleanupScheduler {
         }
     }
 
-    @Transactional
+    /**
+     * notifications is partitioned by month, so retention drops whole months once they are
+     * entirely past the retention period instead of deleting rows.
+     *
+     * @return the number of partitions dropped
+     */
     public int cleanupOldNotifications() {
         try {
-            logger.info("Cleaning up old notifications");
-
-            LocalDateTime cutoffTime = LocalDateTime.now().minusDays(notificationRetentionDays);
-            
-            // Count notifications to be deleted
-            long countToDelete = notificationRepository.countByCreatedAtBeforeAndIsReadTrue(cutoffTime);
-
-            if (countToDelete == 0) {
-                logger.debug("No old notifications found for cleanup");
-                return 0;
-            }
-
-            // Delete old read notifications
-            int deletedCount = notificationRepository.deleteByCreatedAtBeforeAndIsReadTrue(cutoffTime);
-
-            logger.info("Cleaned up {} old notifications", deletedCount);
-            return deletedCount;
+            logger.info("Dropping expired notification partitions");
+            return partitionMaintenanceService.dropExpiredNotificationPartitions();
+        } catch (Exception e) {
+            logger.error("Error dropping expired notification partitions", e);
+            return 0;
+        }
+    }
 
+    /**
+     * @return the number of audit_logs partitions dropped
+     */
+    public int cleanupOldAuditLogs() {
+        try {
+            logger.info("Dropping expired audit log partitions");
+            return partitionMaintenanceService.dropExpiredAuditPartitions();
         } catch (Exception e) {
-            logger.error("Error cleaning up old notifications", e);
+            logger.error("Error dropping expired audit log partitions", e);
             return 0;
         }
     }
@@ -279,6 +350,9 @@ public class DataCleanupScheduler {
                 // Delete physical file if exists
                 deleteReceiptFile(receipt);
                 receiptRepository.delete(receipt);
+                
+                long size = receipt.getFileSize() != null ? receipt.getFileSize() : 0L;
+                storageUsageRepository.addUsage(receipt.getUploadedBy(), -size, -1);
             }
 
             logger.info("Cleaned up {} orphaned receipts", orphanedReceipts.size());
@@ -312,6 +386,7 @@ public class DataCleanupScheduler {
                 long relatedExpenses = expenseRepository.countByCategoryId(budget.getCategoryId());
                 if (relatedExpenses == 0) {
                     budgetRepository.delete(budget);
+                    dataVersionService.bump(budget.getUserId());
                     deletedCount++;
                 }
             }
@@ -345,6 +420,8 @@ public class DataCleanupScheduler {
             for (ApprovalWorkflow workflow : oldWorkflows) {
                 // Archive to separate table or delete
                 approvalWorkflowRepository.delete(workflow);
+                dataVersionService.bump(Arrays.asList(
+                        workflow.getSubmittedBy(), workflow.getCurrentApproverId(), workflow.getFinalApproverId()));
             }
 
             logger.info("Cleaned up {} old approval workflows", oldWorkflows.size());
@@ -377,8 +454,10 @@ public class DataCleanupScheduler {
 
             // Delete old draft expenses
             for (Expense draft : oldDrafts) {
+                spendRollupService.recordRemoved(draft);
                 expenseRepository.delete(draft);
             }
+            dataVersionService.bump(oldDrafts.stream().map(Expense::getUserId).toList());
 
             logger.info("Cleaned up {} old draft expenses", oldDrafts.size());
             return oldDrafts.size();
@@ -510,13 +589,14 @@ public class DataCleanupScheduler {
 
     private void deleteReceiptFile(Receipt receipt) {
         try {
-            // Implementation to delete physical receipt file
-            if (receipt.getFileUrl() != null) {
-                // Delete file from storage system
-                logger.debug("Deleted receipt file: {}", receipt.getFileUrl());
+            if (receipt.getFilePath() != null) {
+                // The original goes together with its thumbnail and preview
+                fileService.deleteFile(receipt.getFilePath());
+                receiptDerivativeService.deleteDerivatives(Paths.get(receipt.getFilePath()));
+                logger.debug("Deleted receipt file: {}", receipt.getFilePath());
             }
         } catch (Exception e) {
-            logger.error("Error deleting receipt file: {}", receipt.getFileUrl(), e);
+            logger.error("Error deleting receipt file: {}", receipt.getFilePath(), e);
         }
     }
 
@@ -0,0 +1,287 @@
+package com.trackify.scheduler;
+
+import com.trackify.entity.EmailOutbox;
+import com.trackify.enums.EmailStatus;
+import com.trackify.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers messages from the email outbox. Each poll claims a batch of due messages
+ * and hands them to JavaMailSender in one call, which sends them all over a single
+ * SMTP connection. Failed messages are retried with exponential backoff, and each
+ * recipient domain is rate limited so large digests don't trip provider throttling.
+ *
+ * The domain limit is counted in memory, per node: with N dispatchers polling the outbox a
+ * domain can receive up to N times app.email.outbox.per-domain-per-minute. Size the limit
+ * for the number of nodes sending mail.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.email.from-address:noreply@trackify.com}")
+    private String fromAddress;
+
+    @Value("${app.email.from-name:Trackify Support}")
+    private String fromName;
+
+    @Value("${app.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    // Per node, see the class comment
+    @Value("${app.email.outbox.per-domain-per-minute:120}")
+    private int perDomainPerMinute;
+
+    @Value("${app.email.outbox.sent-retention-days:30}")
+    private int sentRetentionDays;
+
+    // Sliding one-minute send counters per recipient domain
+    private final Map<String, DomainWindow> domainWindows = new ConcurrentHashMap<>();
+
+    /**
+     * Poll the outbox - runs every few seconds after the previous poll completes
+     */
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval-ms:5000}")
+    public void dispatchPendingEmails() {
+        try {
+            List<EmailOutbox> batch;
+            // Keep draining full batches so a burst of digests doesn't wait a poll interval per batch
+            do {
+                batch = claimBatch();
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } while (batch.size() == batchSize);
+
+        } catch (Exception e) {
+            logger.error("Error dispatching email outbox", e);
+        }
+    }
+
+    /**
+     * Remove delivered messages past retention - runs every day at 4:30 AM
+     */
+    @Scheduled(cron = "0 30 4 * * ?")
+    public void cleanupSentEmails() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(sentRetentionDays);
+            Integer deleted = transactionTemplate.execute(status -> emailOutboxRepository.deleteSentBefore(cutoff));
+            logger.info("Removed {} delivered emails from outbox", deleted);
+        } catch (Exception e) {
+            logger.error("Error cleaning up email outbox", e);
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> dueIds = emailOutboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+            if (dueIds.isEmpty()) {
+                return new ArrayList<EmailOutbox>();
+            }
+
+            String claimToken = UUID.randomUUID().toString();
+            emailOutboxRepository.claim(dueIds, claimToken, now.plusSeconds(leaseSeconds), now);
+            return emailOutboxRepository.findByClaimTokenOrderByIdAsc(claimToken);
+        });
+        return claimed != null ? claimed : new ArrayList<>();
+    }
+
+    private void deliver(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new IdentityHashMap<>();
+        List<EmailOutbox> deferred = new ArrayList<>();
+        List<EmailOutbox> failed = new ArrayList<>();
+
+        for (EmailOutbox email : batch) {
+            if (!tryAcquireDomainSlot(email.getRecipientDomain())) {
+                deferred.add(email);
+                continue;
+            }
+
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (Exception e) {
+                // A message that can't be built will never succeed; fail it without retrying
+                email.setAttempts(maxAttempts);
+                markFailed(email, e);
+                failed.add(email);
+            }
+        }
+
+        Map<Object, Exception> sendFailures = Map.of();
+        if (!messages.isEmpty()) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                sendFailures = e.getFailedMessages();
+                if (sendFailures.isEmpty()) {
+                    // Connection-level failure: nothing was sent
+                    sendFailures = new IdentityHashMap<>();
+                    for (MimeMessage message : messages.keySet()) {
+                        sendFailures.put(message, e);
+                    }
+                }
+            } catch (Exception e) {
+                sendFailures = new IdentityHashMap<>();
+                for (MimeMessage message : messages.keySet()) {
+                    sendFailures.put(message, e);
+                }
+            } finally {
+                // One SMTP session per batch, so this is the time to send the whole batch
+                sample.stop(Timer.builder("trackify.email.send")
+                        .description("Time to send one outbox batch over SMTP")
+                        .tag("outcome", sendFailures.isEmpty() ? "success" : "error")
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(Duration.ofSeconds(120))
+                        .register(meterRegistry));
+                meterRegistry.summary("trackify.email.batch.size").record(messages.size());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> completed = new ArrayList<>(failed);
+
+        for (Map.Entry<MimeMessage, EmailOutbox> entry : messages.entrySet()) {
+            EmailOutbox email = entry.getValue();
+            Exception error = sendFailures.get(entry.getKey());
+
+            if (error == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else {
+                email.setAttempts(email.getAttempts() + 1);
+                markFailed(email, error);
+            }
+            completed.add(email);
+        }
+
+        // SENT and FAILED are final; anything else went back to PENDING for another attempt
+        long retrying = completed.stream().filter(email -> !email.getStatus().isFinal()).count();
+        long gaveUp = completed.stream().filter(email -> email.getStatus() == EmailStatus.FAILED).count();
+
+        // Deferred for rate limiting: back in the queue without counting as an attempt
+        for (EmailOutbox email : deferred) {
+            email.setStatus(EmailStatus.PENDING);
+            email.setNextAttemptAt(now.plusSeconds(60));
+            completed.add(email);
+        }
+
+        for (EmailOutbox email : completed) {
+            email.setClaimToken(null);
+            email.setLockedUntil(null);
+        }
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(completed));
+
+        logger.info("Email outbox batch: {} sent, {} retrying, {} failed, {} deferred",
+                    completed.size() - deferred.size() - retrying - gaveUp, retrying, gaveUp, deferred.size());
+    }
+
+    private void markFailed(EmailOutbox email, Exception error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        email.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(EmailStatus.FAILED);
+            logger.error("Giving up on email {} to {} after {} attempts: {}",
+                         email.getId(), email.getRecipient(), email.getAttempts(), message);
+            return;
+        }
+
+        long backoff = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(email.getAttempts() - 1, 20));
+        email.setStatus(EmailStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+        logger.warn("Email {} to {} failed (attempt {}), retrying in {}s: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), backoff, message);
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.hasAttachment(), "UTF-8");
+
+        helper.setFrom(fromAddress, fromName);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), Boolean.TRUE.equals(email.getIsHtml()));
+
+        if (email.hasAttachment()) {
+            String contentType = email.getAttachmentContentType() != null
+                    ? email.getAttachmentContentType() : "application/octet-stream";
+            helper.addAttachment(email.getAttachmentName(), new ByteArrayResource(email.getAttachment()), contentType);
+        }
+
+        return message;
+    }
+
+    private boolean tryAcquireDomainSlot(String domain) {
+        DomainWindow window = domainWindows.computeIfAbsent(domain, d -> new DomainWindow());
+        return window.tryAcquire(perDomainPerMinute);
+    }
+
+    private static class DomainWindow {
+        private long windowStart = System.nanoTime();
+        private int sent;
+
+        private synchronized boolean tryAcquire(int limit) {
+            long now = System.nanoTime();
+            if (now - windowStart >= Duration.ofMinutes(1).toNanos()) {
+                windowStart = now;
+                sent = 0;
+            }
+            if (sent >= limit) {
+                return false;
+            }
+            sent++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.trackify.scheduler;
+
+import com.trackify.service.ExchangeRateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads exchange rates into memory at startup, seeding the table from the local rates
+ * file when it is still empty, and reloads them when another node or an admin changed
+ * the table.
+ */
+@Component
+public class ExchangeRateScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateScheduler.class);
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            exchangeRateService.loadFromDatabase();
+            if (exchangeRateService.getTable().getCurrencies().isEmpty()) {
+                exchangeRateService.importFromFile();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load exchange rates, amounts are not converted until the next refresh", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.currency.refresh-interval-ms:60000}")
+    public void refreshRates() {
+        try {
+            exchangeRateService.refreshIfChanged();
+        } catch (Exception e) {
+            logger.warn("Failed to refresh exchange rates: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.trackify.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records last-login times off the login request path. Logins only update an in-memory
+ * map keyed by user, so repeated logins collapse into one pending write, and the map is
+ * flushed periodically as a single JDBC batch. A crash loses at most one flush interval
+ * of last-login times, which only feed activity reports.
+ */
+@Component
+public class LastLoginWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginWriter.class);
+
+    // Never moves the column backwards if an older flush is retried after a newer one
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.auth.last-login.batch-size:500}")
+    private int batchSize;
+
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                drained.add(Map.entry(userId, loginTime));
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, drained, batchSize, (ps, entry) -> {
+                        Timestamp loginTime = Timestamp.valueOf(entry.getValue());
+                        ps.setTimestamp(1, loginTime);
+                        ps.setLong(2, entry.getKey());
+                        ps.setTimestamp(3, loginTime);
+                    }));
+            logger.debug("Flushed last-login times for {} users", drained.size());
+        } catch (DataAccessException e) {
+            logger.warn("Could not flush last-login times for {} users, retrying next interval: {}",
+                    drained.size(), e.getMessage());
+            drained.forEach(entry -> record(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
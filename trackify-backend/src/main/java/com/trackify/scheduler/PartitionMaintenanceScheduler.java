@@ -0,0 +1,38 @@
+package com.trackify.scheduler;
+
+import com.trackify.service.PartitionMaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps future monthly partitions of audit_logs and notifications in place: once at
+ * startup, in case the application was down over a month boundary, and then daily.
+ * Expired partitions are dropped by DataCleanupScheduler with the rest of retention.
+ */
+@Component
+public class PartitionMaintenanceScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceScheduler.class);
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPartitionsOnStartup() {
+        createFuturePartitions();
+    }
+
+    @Scheduled(cron = "${app.partitions.cron:0 40 2 * * ?}")
+    public void createFuturePartitions() {
+        try {
+            partitionMaintenanceService.createFuturePartitions();
+        } catch (Exception e) {
+            logger.error("Failed to create future partitions", e);
+        }
+    }
+}
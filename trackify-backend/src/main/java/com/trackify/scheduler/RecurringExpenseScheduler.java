@@ -0,0 +1,30 @@
+package com.trackify.scheduler;
+
+import com.trackify.service.RecurringExpenseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materializes due recurring expenses. Runs hourly rather than once a day so a failed or
+ * capped run is picked up again soon; runs with nothing due cost one indexed query.
+ */
+@Component
+public class RecurringExpenseScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseScheduler.class);
+
+    @Autowired
+    private RecurringExpenseService recurringExpenseService;
+
+    @Scheduled(cron = "${app.expenses.recurring.cron:0 5 * * * ?}")
+    public void materializeRecurringExpenses() {
+        try {
+            recurringExpenseService.materializeDueOccurrences();
+        } catch (Exception e) {
+            logger.error("Failed to materialize recurring expenses", e);
+        }
+    }
+}
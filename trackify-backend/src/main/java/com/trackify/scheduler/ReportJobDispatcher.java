@@ -0,0 +1,290 @@
+package com.trackify.scheduler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackify.dto.response.ReportResponse;
+import com.trackify.entity.ReportJob;
+import com.trackify.enums.ReportJobStatus;
+import com.trackify.report.ReportOutputStore;
+import com.trackify.repository.ReportJobRepository;
+import com.trackify.service.ReportJobService;
+import com.trackify.service.ReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs queued report jobs. Each poll claims as many queued jobs as this node has free
+ * workers for, skipping users who already have their limit of jobs running on any node.
+ * Running jobs hold a lease that a heartbeat renews while they run; a job whose node dies
+ * is picked up again once its lease runs out, so queued and interrupted jobs survive a
+ * restart. Finished output goes to ReportOutputStore and its path is kept on the job.
+ */
+@Component
+public class ReportJobDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobDispatcher.class);
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReportOutputStore reportOutputStore;
+
+    @Autowired
+    @Qualifier("reportJobExecutor")
+    private Executor reportJobExecutor;
+
+    @Value("${app.reports.jobs.max-concurrent:4}")
+    private int maxConcurrent;
+
+    @Value("${app.reports.jobs.max-concurrent-per-user:2}")
+    private int maxConcurrentPerUser;
+
+    @Value("${app.reports.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.reports.jobs.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Value("${app.reports.jobs.retention-days:7}")
+    private int retentionDays;
+
+    // Jobs handed to the executor by this node and not yet finished
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Jobs currently generating on this node, whose leases the heartbeat renews
+    private final Map<Long, ReportJob> running = new ConcurrentHashMap<>();
+
+    /**
+     * Poll the job queue - runs every second after the previous poll completes
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.poll-interval-ms:1000}")
+    public void dispatchPendingJobs() {
+        try {
+            int capacity = maxConcurrent - inFlight.get();
+            if (capacity <= 0) {
+                return;
+            }
+
+            for (ReportJob job : claimJobs(capacity)) {
+                inFlight.incrementAndGet();
+                try {
+                    reportJobExecutor.execute(() -> runJob(job));
+                } catch (RejectedExecutionException e) {
+                    inFlight.decrementAndGet();
+                    transactionTemplate.executeWithoutResult(status ->
+                            reportJobRepository.release(job.getId(), job.getClaimToken()));
+                    logger.warn("Report job executor saturated, re-queued job {}", job.getReportId());
+                }
+            }
+
+        } catch (Exception e) {
+            logger.error("Error dispatching report jobs", e);
+        }
+    }
+
+    /**
+     * Renew the lease of every job running on this node - a report that takes longer than
+     * the lease must not be handed to a second node while this one is still generating it
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.heartbeat-interval-ms:60000}")
+    public void renewLeases() {
+        for (ReportJob job : running.values()) {
+            if (job.getClaimToken() == null) {
+                // Finished since the snapshot was taken
+                continue;
+            }
+            try {
+                LocalDateTime lockedUntil = LocalDateTime.now().plusSeconds(leaseSeconds);
+                Integer renewed = transactionTemplate.execute(status ->
+                        reportJobRepository.renewLease(job.getId(), job.getClaimToken(), lockedUntil));
+                if (renewed != null && renewed == 1) {
+                    job.setLockedUntil(lockedUntil);
+                } else {
+                    logger.warn("Lost the lease on report job {}, another worker may have taken it over", job.getReportId());
+                }
+            } catch (Exception e) {
+                logger.error("Failed to renew lease on report job {}", job.getReportId(), e);
+            }
+        }
+    }
+
+    /**
+     * Remove finished jobs past retention - runs every day at 4:45 AM
+     */
+    @Scheduled(cron = "0 45 4 * * ?")
+    public void cleanupFinishedJobs() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            Integer deleted = transactionTemplate.execute(status -> reportJobRepository.deleteFinishedBefore(cutoff));
+            logger.info("Removed {} finished report jobs", deleted);
+        } catch (Exception e) {
+            logger.error("Error cleaning up report jobs", e);
+        }
+    }
+
+    private List<ReportJob> claimJobs(int capacity) {
+        List<ReportJob> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ReportJob> result = new ArrayList<>();
+
+            // Look past the first few candidates so one user's backlog doesn't block everyone else
+            List<ReportJob> candidates = reportJobRepository.findDispatchable(now, PageRequest.of(0, capacity * 10));
+            if (candidates.isEmpty()) {
+                return result;
+            }
+
+            Map<Long, Integer> runningByUser = new HashMap<>();
+            for (Object[] row : reportJobRepository.countRunningByUser(now)) {
+                runningByUser.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+
+            for (ReportJob job : candidates) {
+                if (result.size() >= capacity) {
+                    break;
+                }
+
+                if (job.getAttempts() >= maxAttempts) {
+                    // Picked up repeatedly without finishing: likely the job itself takes the node down
+                    String error = "Report generation did not finish after " + job.getAttempts() + " attempts";
+                    if (reportJobRepository.abandon(job.getId(), error, now) == 1) {
+                        job.setStatus(ReportJobStatus.FAILED);
+                        job.setErrorMessage(error);
+                        job.setFinishedAt(now);
+                        reportJobService.publishJobUpdate(job);
+                        logger.error("Giving up on report job {}: {}", job.getReportId(), error);
+                    }
+                    continue;
+                }
+
+                // Saves a claim attempt for users already at their cap; the claim itself enforces it
+                int userRunning = runningByUser.getOrDefault(job.getUserId(), 0);
+                if (userRunning >= maxConcurrentPerUser) {
+                    continue;
+                }
+
+                String claimToken = UUID.randomUUID().toString();
+                if (reportJobRepository.claim(job.getId(), job.getUserId(), maxConcurrentPerUser,
+                        claimToken, now.plusSeconds(leaseSeconds), now) == 1) {
+                    job.setStatus(ReportJobStatus.RUNNING);
+                    job.setClaimToken(claimToken);
+                    job.setStartedAt(now);
+                    job.setAttempts(job.getAttempts() + 1);
+                    runningByUser.put(job.getUserId(), userRunning + 1);
+                    result.add(job);
+                }
+            }
+            return result;
+        });
+        return claimed != null ? claimed : new ArrayList<>();
+    }
+
+    private void runJob(ReportJob job) {
+        running.put(job.getId(), job);
+        try {
+            if (isCancelRequested(job)) {
+                finish(job, ReportJobStatus.CANCELLED, null, null);
+                return;
+            }
+
+            updateProgress(job, 10);
+            Object request = objectMapper.readValue(job.getRequestPayload(), job.getReportType().getRequestType());
+
+            ReportResponse report = reportService.generateReport(
+                    job.getReportId(), job.getReportType(), request, job.getUsername());
+
+            // Generation can't be interrupted midway; a cancellation that arrived meanwhile discards the result
+            if (isCancelRequested(job)) {
+                reportService.deleteReport(report.getReportId(), job.getUsername());
+                finish(job, ReportJobStatus.CANCELLED, null, null);
+                return;
+            }
+
+            if (!reportOutputStore.exists(report.getReportId())) {
+                throw new IllegalStateException("Report output was not stored");
+            }
+            finish(job, ReportJobStatus.COMPLETED, null, reportOutputStore.pathOf(report.getReportId()));
+            logger.info("Completed report job {} for user: {}", job.getReportId(), job.getUsername());
+
+        } catch (Exception e) {
+            logger.error("Report job {} failed for user: {}", job.getReportId(), job.getUsername(), e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(job, ReportJobStatus.FAILED, message.length() > 1000 ? message.substring(0, 1000) : message, null);
+        } finally {
+            running.remove(job.getId());
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private boolean isCancelRequested(ReportJob job) {
+        return Boolean.TRUE.equals(reportJobRepository.isCancelRequested(job.getId()));
+    }
+
+    private void updateProgress(ReportJob job, int progress) {
+        LocalDateTime lockedUntil = LocalDateTime.now().plusSeconds(leaseSeconds);
+        transactionTemplate.executeWithoutResult(status ->
+                reportJobRepository.updateProgress(job.getId(), job.getClaimToken(), progress, lockedUntil));
+        job.setProgress(progress);
+        job.setLockedUntil(lockedUntil);
+        reportJobService.publishJobUpdate(job);
+    }
+
+    private void finish(ReportJob job, ReportJobStatus status, String errorMessage, String outputPath) {
+        LocalDateTime now = LocalDateTime.now();
+        int progress = status == ReportJobStatus.COMPLETED ? 100 : job.getProgress();
+
+        Integer updated = transactionTemplate.execute(tx -> reportJobRepository.finish(
+                job.getId(), job.getClaimToken(), status, progress, errorMessage, outputPath, now));
+        if (updated == null || updated == 0) {
+            // Lease expired and another node took the job over; its outcome wins
+            logger.warn("Report job {} was reclaimed by another worker, dropping result", job.getReportId());
+            return;
+        }
+
+        job.setStatus(status);
+        job.setProgress(progress);
+        job.setErrorMessage(errorMessage);
+        job.setOutputPath(outputPath);
+        job.setFinishedAt(now);
+        job.setClaimToken(null);
+        job.setLockedUntil(null);
+        reportJobService.publishJobUpdate(job);
+
+        if (job.getScheduleId() != null) {
+            try {
+                reportService.recordScheduledReportRun(job.getScheduleId(), job.getReportId(), status, errorMessage);
+            } catch (Exception e) {
+                logger.error("Failed to record run of scheduled report {}", job.getScheduleId(), e);
+            }
+        }
+    }
+}
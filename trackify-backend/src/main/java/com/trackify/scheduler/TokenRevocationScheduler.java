@@ -0,0 +1,53 @@
+package com.trackify.scheduler;
+
+import com.trackify.service.TokenRevocationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the in-memory token revocation filter in step with revoked_tokens: a full load
+ * at startup, a short poll for revocations made on other nodes, and an hourly prune of
+ * expired rows followed by a rebuild that drops their bits from the filter.
+ */
+@Component
+public class TokenRevocationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationScheduler.class);
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            tokenRevocationService.loadFromDatabase();
+        } catch (Exception e) {
+            logger.error("Failed to load revoked tokens, revocation checks use the database until the next sync", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.sync-interval-ms:5000}")
+    public void syncRevocations() {
+        try {
+            tokenRevocationService.syncFromDatabase();
+        } catch (Exception e) {
+            logger.warn("Failed to sync revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 15 * * * ?")
+    public void pruneExpiredRevocations() {
+        try {
+            if (tokenRevocationService.pruneExpired() > 0) {
+                tokenRevocationService.loadFromDatabase();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to prune revoked tokens", e);
+        }
+    }
+}
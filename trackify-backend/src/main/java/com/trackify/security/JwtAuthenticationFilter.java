@@ -1,5 +1,7 @@
 package com.trackify.security;
 
+import com.trackify.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +32,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
     
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
@@ -44,8 +49,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (StringUtils.hasText(jwt)) {
                 logger.debug("JWT token found, validating...");
                 
-                if (jwtTokenProvider.validateToken(jwt)) {
-                    Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+                Claims claims = jwtTokenProvider.getValidClaims(jwt);
+                if (claims != null && tokenRevocationService.isRevoked(JwtTokenProvider.getRevocationId(claims))) {
+                    logger.warn("Revoked JWT token for request: {} {}", method, requestURI);
+                } else if (claims != null) {
+                    Long userId = Long.parseLong(claims.getSubject());
                     logger.debug("Valid JWT token for user ID: {}", userId);
                     
                     // Load user details which includes authorities
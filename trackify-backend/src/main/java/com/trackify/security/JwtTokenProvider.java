@@ -16,6 +16,7 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,6 +25,9 @@ public class JwtTokenProvider {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    // Shared by the access and refresh tokens of one login, so logout can revoke both
+    public static final String SESSION_ID_CLAIM = "sid";
+
     private final JwtConfig jwtConfig;
     private final SecretKey key;
 
@@ -33,7 +37,7 @@ public class JwtTokenProvider {
         this.key = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
     }
 
-    public String generateToken(Authentication authentication) {
+    public String generateToken(Authentication authentication, String sessionId) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         Date expiryDate = new Date(System.currentTimeMillis() + jwtConfig.getExpiration());
         
@@ -49,6 +53,8 @@ public class JwtTokenProvider {
                 .claim("authorities", authorities) // Add this line
                 .claim("firstName", userPrincipal.getFirstName())
                 .claim("lastName", userPrincipal.getLastName())
+                .claim(SESSION_ID_CLAIM, sessionId)
+                .setId(newTokenId())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -77,20 +83,22 @@ public class JwtTokenProvider {
         return claims.get("authorities", List.class);
     }
     
-    public String generateRefreshToken(Authentication authentication) {
+    public String generateRefreshToken(Authentication authentication, String sessionId) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         Date expiryDate = new Date(System.currentTimeMillis() + jwtConfig.getRefreshExpiration());
         
         return Jwts.builder()
                 .setSubject(userPrincipal.getId().toString())
                 .claim("type", "refresh")
+                .claim(SESSION_ID_CLAIM, sessionId)
+                .setId(newTokenId())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
     
-    public String generateTokenFromOAuth2User(OAuth2UserPrincipal oauth2UserPrincipal) {
+    public String generateTokenFromOAuth2User(OAuth2UserPrincipal oauth2UserPrincipal, String sessionId) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtConfig.getExpiration());
         
         return Jwts.builder()
@@ -99,29 +107,35 @@ public class JwtTokenProvider {
                 .claim("role", oauth2UserPrincipal.getRole().name())
                 .claim("firstName", oauth2UserPrincipal.getFirstName())
                 .claim("lastName", oauth2UserPrincipal.getLastName())
+                .claim(SESSION_ID_CLAIM, sessionId)
+                .setId(newTokenId())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String generateRefreshTokenFromOAuth2User(OAuth2UserPrincipal oauth2UserPrincipal) {
+    public String generateRefreshTokenFromOAuth2User(OAuth2UserPrincipal oauth2UserPrincipal, String sessionId) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtConfig.getRefreshExpiration());
         
         return Jwts.builder()
                 .setSubject(oauth2UserPrincipal.getId().toString())
                 .claim("type", "refresh")
+                .claim(SESSION_ID_CLAIM, sessionId)
+                .setId(newTokenId())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
     
-    public String generateTokenFromUserId(Long userId) {
+    public String generateTokenFromUserId(Long userId, String sessionId) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtConfig.getExpiration());
         
         return Jwts.builder()
                 .setSubject(userId.toString())
+                .claim(SESSION_ID_CLAIM, sessionId)
+                .setId(newTokenId())
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -158,6 +172,30 @@ public class JwtTokenProvider {
         return claims.getExpiration();
     }
     
+    /**
+     * Parses and verifies the token once, returning null when it is not valid
+     */
+    public Claims getValidClaims(String authToken) {
+        try {
+            return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(authToken)
+                .getBody();
+        } catch (MalformedJwtException e) {
+            logger.error("Invalid JWT token: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            logger.error("JWT token is expired: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            logger.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.error("JWT token validation error: {}", e.getMessage());
+        }
+        return null;
+    }
+    
     public boolean validateToken(String authToken) {
         try {
             Jwts.parserBuilder()
@@ -188,6 +226,27 @@ public class JwtTokenProvider {
         }
     }
     
+    // Token id (jti) used for revocation
+    private String newTokenId() {
+        return UUID.randomUUID().toString();
+    }
+    
+    /**
+     * Id of a new login session, to pass to every token issued for it
+     */
+    public String newSessionId() {
+        return UUID.randomUUID().toString();
+    }
+    
+    /**
+     * The id logout revokes: the session, which covers the refresh token and every access
+     * token issued from it, or the token's own id for tokens issued before sessions
+     */
+    public static String getRevocationId(Claims claims) {
+        String sessionId = claims.get(SESSION_ID_CLAIM, String.class);
+        return sessionId != null ? sessionId : claims.getId();
+    }
+    
     public long getExpirationTime() {
         return jwtConfig.getExpiration();
     }
@@ -71,8 +71,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 		OAuth2UserPrincipal oauth2UserPrincipal = (OAuth2UserPrincipal) authentication.getPrincipal();
 
 		// Generate JWT tokens using the OAuth2 user methods
-		String accessToken = jwtTokenProvider.generateTokenFromOAuth2User(oauth2UserPrincipal);
-		String refreshToken = jwtTokenProvider.generateRefreshTokenFromOAuth2User(oauth2UserPrincipal);
+		String sessionId = jwtTokenProvider.newSessionId();
+		String accessToken = jwtTokenProvider.generateTokenFromOAuth2User(oauth2UserPrincipal, sessionId);
+		String refreshToken = jwtTokenProvider.generateRefreshTokenFromOAuth2User(oauth2UserPrincipal, sessionId);
 
 		logger.info("OAuth2 authentication successful for user: {}", oauth2UserPrincipal.getEmail());
 
@@ -39,6 +39,13 @@ public class UserPrincipal implements UserDetails {
     private LocalDateTime lastLoginAt;
     private Map<String, Object> attributes;
     
+    // Profile fields carried from the loaded user so login can answer without re-reading it
+    private String phoneNumber;
+    private String avatarUrl;
+    private String baseCurrency;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
     
     private static final Logger logger = LoggerFactory.getLogger(UserPrincipal.class);
 
@@ -81,7 +88,7 @@ public class UserPrincipal implements UserDetails {
     }
 
     public static UserPrincipal create(User user) {
-        return new UserPrincipal(
+        UserPrincipal principal = new UserPrincipal(
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
@@ -95,6 +102,12 @@ public class UserPrincipal implements UserDetails {
                 user.getEmailVerified(),
                 user.getLastLoginAt()
         );
+        principal.setPhoneNumber(user.getPhoneNumber());
+        principal.setAvatarUrl(user.getAvatarUrl());
+        principal.setBaseCurrency(user.getBaseCurrency());
+        principal.setCreatedAt(user.getCreatedAt());
+        principal.setUpdatedAt(user.getUpdatedAt());
+        return principal;
     }
 
     @Override
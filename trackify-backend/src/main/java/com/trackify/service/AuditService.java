@@ -0,0 +1,18 @@
+package com.trackify.service;
+
+import com.trackify.entity.AuditLog;
+
+public interface AuditService {
+
+    /**
+     * Queues an audit record for the background writer and returns immediately. Inside a
+     * transaction the record is queued after commit, so a rolled back change leaves no
+     * trail. Missing user and request details are filled in from the current security
+     * context and HTTP request, so this must be called on the request thread.
+     */
+    void record(AuditLog auditLog);
+
+    void record(String action, String entityType, Long entityId, String description);
+
+    void recordFailure(String action, String entityType, String username, String errorMessage);
+}
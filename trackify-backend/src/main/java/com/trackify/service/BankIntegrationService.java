@@ -174,14 +174,26 @@ public interface BankIntegrationService {
     Expense processQrPaymentData(String qrData, Long userId);
 
     /**
-     * Bulk upload and process files from ZIP
+     * Queue a bulk upload of files from ZIP; entries are processed in the background
+     * and progress is published to the user's /queue/bulk-upload destination
      * 
      * @param zipFile ZIP file containing transaction documents
      * @param userId User ID
-     * @return Processing results
+     * @return Job id and initial status
      */
     Map<String, Object> processBulkUpload(MultipartFile zipFile, Long userId);
 
+    /**
+     * Get status of a queued bulk upload. Job state is held in memory on the node that
+     * accepted the upload and is not persisted: after a restart, or when another node
+     * answers, the job is reported as not found. Expenses already saved are kept.
+     * 
+     * @param jobId Job id returned by processBulkUpload
+     * @param userId User ID
+     * @return Job progress and results
+     */
+    Map<String, Object> getBulkUploadStatus(String jobId, Long userId);
+
     /**
      * Get file processing history for user
      * 
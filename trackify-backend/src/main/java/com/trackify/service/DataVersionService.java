@@ -0,0 +1,20 @@
+package com.trackify.service;
+
+import java.util.Collection;
+
+/**
+ * Interface for the per-user data version. Every write to a user's expenses, budgets
+ * or approval workflows bumps it in the writing transaction, so a result computed at
+ * an older version is known to be stale.
+ */
+public interface DataVersionService {
+    
+    void bump(Long userId);
+    
+    void bump(Collection<Long> userIds);
+    
+    /**
+     * Current version of the user's data, 0 if it has never been written
+     */
+    long getVersion(Long userId);
+}
@@ -0,0 +1,41 @@
+package com.trackify.service;
+
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.currency.ExchangeRateTable;
+import com.trackify.dto.request.ExchangeRateRequest;
+import com.trackify.dto.response.ExchangeRateResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ExchangeRateService {
+
+    /**
+     * Current in-memory rates; empty until the first load
+     */
+    ExchangeRateTable getTable();
+
+    /**
+     * Converter into the given currency, shared until the rates next change
+     */
+    CurrencyConverter converterTo(String currencyCode);
+
+    String getBaseCurrency(Long userId);
+
+    CurrencyConverter converterForUser(Long userId);
+
+    List<ExchangeRateResponse> getRates(LocalDate asOf, String baseCurrency);
+
+    // Admin maintenance
+    int saveRates(List<ExchangeRateRequest> rates);
+
+    /**
+     * Upserts the rates in the configured local rates file, returns the number of rows read
+     */
+    int importFromFile();
+
+    // Driven by ExchangeRateScheduler
+    void loadFromDatabase();
+
+    void refreshIfChanged();
+}
@@ -0,0 +1,15 @@
+package com.trackify.service;
+
+import com.trackify.dto.response.ExpenseImportResponse;
+import com.trackify.enums.ImportFormat;
+
+import java.io.InputStream;
+
+public interface ExpenseImportService {
+
+    /**
+     * Imports expenses from a streamed CSV or NDJSON body. Valid rows are inserted in
+     * chunked transactions; invalid rows are reported by line and do not stop the import.
+     */
+    ExpenseImportResponse importExpenses(InputStream input, ImportFormat format, Long userId);
+}
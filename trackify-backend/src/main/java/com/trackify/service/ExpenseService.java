@@ -1,7 +1,10 @@
 package com.trackify.service;
 
 import com.trackify.dto.request.ExpenseRequest;
+import com.trackify.dto.request.ExpenseSearchRequest;
+import com.trackify.dto.response.BulkOperationResponse;
 import com.trackify.dto.response.ExpenseResponse;
+import com.trackify.dto.response.RecurringExpenseRuleResponse;
 import com.trackify.enums.ExpenseStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +43,7 @@ public interface ExpenseService {
     
     // Search functionality
     Page<ExpenseResponse> searchExpenses(Long userId, String keyword, Pageable pageable);
+    Page<ExpenseResponse> searchExpenses(Long userId, ExpenseSearchRequest request, Pageable pageable);
     
     // Team expenses
     List<ExpenseResponse> getTeamExpenses(Long teamId);
@@ -71,7 +75,9 @@ public interface ExpenseService {
     
     // Recurring expenses
     List<ExpenseResponse> getRecurringExpenses(Long userId);
-    void createRecurringExpense(ExpenseRequest expenseRequest, Long userId);
+    RecurringExpenseRuleResponse createRecurringExpense(ExpenseRequest expenseRequest, Long userId);
+    List<RecurringExpenseRuleResponse> getRecurringExpenseRules(Long userId);
+    void deactivateRecurringExpenseRule(Long ruleId, Long userId);
     
     // Validation and utility
     void validateExpenseAccess(Long expenseId, Long userId);
@@ -79,8 +85,8 @@ public interface ExpenseService {
     boolean canUserDeleteExpense(Long expenseId, Long userId);
     
     // Bulk operations
-    void deleteMultipleExpenses(List<Long> expenseIds, Long userId);
-    void updateMultipleExpenseStatus(List<Long> expenseIds, ExpenseStatus status, Long userId);
+    BulkOperationResponse deleteMultipleExpenses(List<Long> expenseIds, Long userId);
+    BulkOperationResponse updateMultipleExpenseStatus(List<Long> expenseIds, ExpenseStatus status, Long userId);
     
     // Export functionality
     byte[] exportExpensesToCsv(Long userId, LocalDate startDate, LocalDate endDate);
@@ -2,6 +2,7 @@ package com.trackify.service;
 
 import com.trackify.dto.response.ReceiptResponse;
 import com.trackify.enums.FileType;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -13,10 +14,12 @@ public interface FileService {
     ReceiptResponse uploadReceipt(MultipartFile file, Long expenseId, Long userId) throws IOException;
     List<ReceiptResponse> uploadMultipleReceipts(List<MultipartFile> files, Long expenseId, Long userId) throws IOException;
     
-    // File download operations
-    byte[] downloadReceipt(Long receiptId, Long userId) throws IOException;
-    byte[] downloadReceiptByFilename(String filename, Long userId) throws IOException;
-    byte[] downloadReceiptByOriginalFilename(String originalFilename, Long userId) throws IOException;
+    // File download operations (streamed from disk, never buffered on the heap)
+    Resource downloadReceipt(Long receiptId, Long userId) throws IOException;
+    Resource downloadReceiptByFilename(String filename, Long userId) throws IOException;
+    Resource downloadReceiptByOriginalFilename(String originalFilename, Long userId) throws IOException;
+    Resource downloadThumbnail(Long receiptId, Long userId) throws IOException;
+    Resource downloadPreview(Long receiptId, Long userId) throws IOException;
     
     // File management
     void deleteReceipt(Long receiptId, Long userId) throws IOException;
@@ -52,7 +55,8 @@ public interface FileService {
     // Storage statistics
     long getTotalStorageUsed();
     long getUserStorageUsed(Long userId);
-    List<ReceiptResponse> getLargeFiles(long sizeThreshold);
+    List<ReceiptResponse> getLargeFiles(long sizeThreshold, int limit);
+    void reconcileStorageUsage();
     
     // File URL generation
     String generateFileUrl(String filename);
@@ -0,0 +1,32 @@
+package com.trackify.service;
+
+/**
+ * Keeps the month-partitioned audit_logs and notifications tables (V25) supplied with
+ * future partitions and applies their retention by dropping whole partitions. DDL runs
+ * outside any surrounding transaction, since MySQL commits implicitly around it.
+ */
+public interface PartitionMaintenanceService {
+
+    /**
+     * Makes sure both tables have partitions for the configured number of months ahead,
+     * so inserts never land in the catch-all partition.
+     *
+     * @return the number of partitions created
+     */
+    int createFuturePartitions();
+
+    /**
+     * Drops audit_logs partitions whose whole month is older than the audit retention.
+     *
+     * @return the number of partitions dropped
+     */
+    int dropExpiredAuditPartitions();
+
+    /**
+     * Drops notifications partitions whose whole month is older than the notification
+     * retention, read or not.
+     *
+     * @return the number of partitions dropped
+     */
+    int dropExpiredNotificationPartitions();
+}
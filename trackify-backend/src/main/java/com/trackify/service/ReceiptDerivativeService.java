@@ -0,0 +1,55 @@
+package com.trackify.service;
+
+import com.trackify.enums.FileType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Interface for generating receipt derivatives (thumbnails and PDF previews)
+ * that are stored next to the original upload
+ */
+public interface ReceiptDerivativeService {
+    
+    /**
+     * Generate all derivatives for a saved receipt off the request thread,
+     * then point the receipt at the thumbnail URL
+     */
+    void generateDerivativesAsync(Long receiptId, String thumbnailUrl);
+    
+    /**
+     * Create a fixed-size JPEG thumbnail for an image or the first page of a PDF
+     */
+    Path createThumbnail(Path original, FileType fileType) throws IOException;
+    
+    /**
+     * Render the first page of a PDF to a PNG preview
+     */
+    Path createPdfPreview(Path original) throws IOException;
+    
+    /**
+     * Thumbnail of an original file, rendered on the task executor if it is not on disk yet.
+     * Concurrent callers for the same file wait on a single render.
+     */
+    Path getOrCreateThumbnail(Path original, FileType fileType) throws IOException;
+    
+    /**
+     * PDF preview of an original file, rendered on the task executor if it is not on disk yet
+     */
+    Path getOrCreatePdfPreview(Path original) throws IOException;
+    
+    /**
+     * Location of the thumbnail derived from an original file
+     */
+    Path getThumbnailPath(Path original);
+    
+    /**
+     * Location of the PDF preview derived from an original file
+     */
+    Path getPreviewPath(Path original);
+    
+    /**
+     * Delete any derivatives of an original file
+     */
+    void deleteDerivatives(Path original);
+}
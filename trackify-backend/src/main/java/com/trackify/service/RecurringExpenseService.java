@@ -0,0 +1,29 @@
+package com.trackify.service;
+
+import com.trackify.dto.request.ExpenseRequest;
+import com.trackify.dto.response.RecurringExpenseRuleResponse;
+
+import java.util.List;
+
+public interface RecurringExpenseService {
+
+    /**
+     * Creates a rule from the request and generates its occurrences that are already due,
+     * including the first one on the request's expense date. Category access is checked by
+     * the caller.
+     */
+    RecurringExpenseRuleResponse createRule(ExpenseRequest request, Long userId);
+
+    List<RecurringExpenseRuleResponse> getRules(Long userId);
+
+    /**
+     * Stops future occurrences; expenses already generated are kept
+     */
+    void deactivateRule(Long ruleId, Long userId);
+
+    /**
+     * Generates every due occurrence across all users, scanning rules in keyset pages.
+     * Safe to re-run and to run on several nodes at once. Returns the number of expenses created.
+     */
+    int materializeDueOccurrences();
+}
@@ -0,0 +1,32 @@
+package com.trackify.service;
+
+import com.trackify.dto.request.ReportRequest;
+import com.trackify.dto.response.ReportResponse;
+import com.trackify.entity.ReportJob;
+import com.trackify.entity.ScheduledReport;
+import com.trackify.enums.ReportJobType;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface for the report job queue. Report requests are persisted as jobs and
+ * answered with a PENDING report id; the report job dispatcher generates them later.
+ */
+public interface ReportJobService {
+    
+    // Job submission
+    ReportResponse submit(ReportJobType reportType, Object request, String username);
+    ReportResponse submitScheduledRun(ScheduledReport schedule, ReportRequest request);
+    
+    // Job status
+    ReportResponse getJobStatus(String reportId, String username);
+    Optional<ReportResponse> findIncompleteJob(String reportId, String username);
+    List<ReportResponse> getRecentJobs(String username);
+    
+    // Cancellation
+    ReportResponse cancelJob(String reportId, String username);
+    
+    // Progress notifications
+    void publishJobUpdate(ReportJob job);
+}
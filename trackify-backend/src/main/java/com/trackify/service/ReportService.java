@@ -2,6 +2,8 @@ package com.trackify.service;
 
 import com.trackify.dto.request.ReportRequest;
 import com.trackify.dto.response.ReportResponse;
+import com.trackify.enums.ReportJobStatus;
+import com.trackify.enums.ReportJobType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -16,6 +18,7 @@ public interface ReportService {
     ReportResponse generateApprovalReport(ReportRequest.ApprovalReportRequest request, String username);
     ReportResponse generateTeamReport(ReportRequest.TeamReportRequest request, String username);
     ReportResponse generateCustomReport(ReportRequest request, String username);
+    ReportResponse generateReport(String reportId, ReportJobType reportType, Object request, String username);
     
     // Report management
     ReportResponse getReportById(String reportId, String username);
@@ -33,6 +36,7 @@ public interface ReportService {
     ReportResponse.ScheduledReportInfo updateScheduledReport(Long scheduleId, ReportRequest.ScheduledReportRequest request, String username);
     void deleteScheduledReport(Long scheduleId, String username);
     void executeScheduledReports();
+    void recordScheduledReportRun(Long scheduleId, String reportId, ReportJobStatus status, String errorMessage);
     
     // Report templates
     List<ReportRequest> getReportTemplates();
@@ -0,0 +1,116 @@
+package com.trackify.service;
+
+import com.trackify.entity.Expense;
+import com.trackify.enums.ExpenseStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Interface for the per-user day, month and year spend rollups. Expense write
+ * paths report their changes here; team spend aggregates are kept in step too.
+ */
+public interface SpendRollupService {
+    
+    /**
+     * Rollup-relevant fields of an expense captured before it is modified
+     */
+    record Snapshot(Long userId, Long teamId, LocalDate expenseDate, Long categoryId,
+                    ExpenseStatus status, String currencyCode, BigDecimal amount) {
+        
+        public static Snapshot of(Expense expense) {
+            return new Snapshot(expense.getUserId(), expense.getTeamId(), expense.getExpenseDate(),
+                    expense.getCategoryId(), expense.getStatus(), expense.getCurrencyCode(), expense.getAmount());
+        }
+        
+        public Snapshot withStatus(ExpenseStatus newStatus) {
+            return new Snapshot(userId, teamId, expenseDate, categoryId, newStatus, currencyCode, amount);
+        }
+        
+        /**
+         * Same rollup dimensions and amount. Amounts are compared by value, so a
+         * rescaled 10.0 vs 10.00 does not count as a change.
+         */
+        public boolean isUnchanged(Snapshot other) {
+            return Objects.equals(userId, other.userId)
+                    && Objects.equals(teamId, other.teamId)
+                    && Objects.equals(expenseDate, other.expenseDate)
+                    && Objects.equals(categoryId, other.categoryId)
+                    && status == other.status
+                    && Objects.equals(currencyCode, other.currencyCode)
+                    && (amount == null ? other.amount == null
+                            : other.amount != null && amount.compareTo(other.amount) == 0);
+        }
+        
+        public TeamSpendService.Snapshot toTeamSnapshot() {
+            return new TeamSpendService.Snapshot(teamId, expenseDate, categoryId, status, amount);
+        }
+    }
+    
+    /**
+     * One aggregated bucket. Dimensions a query does not group by are null.
+     */
+    record SpendBucket(LocalDate periodStart, Long categoryId, ExpenseStatus status, String currencyCode,
+                       BigDecimal amount, long count) {
+        
+        public static BigDecimal totalAmount(Collection<SpendBucket> buckets, Predicate<SpendBucket> filter) {
+            return buckets.stream().filter(filter).map(SpendBucket::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+        
+        public static long totalCount(Collection<SpendBucket> buckets, Predicate<SpendBucket> filter) {
+            return buckets.stream().filter(filter).mapToLong(SpendBucket::count).sum();
+        }
+        
+        public boolean hasStatus(ExpenseStatus expected) {
+            return status == expected;
+        }
+    }
+    
+    // Maintenance, called in the same transaction as the expense write
+    void recordAdded(Expense expense);
+    
+    void recordAdded(Collection<Expense> expenses);
+    
+    void recordRemoved(Expense expense);
+    
+    void recordRemoved(Collection<Expense> expenses);
+    
+    void recordChanged(Snapshot before, Snapshot after);
+    
+    void recordStatusChange(Expense expense, ExpenseStatus newStatus);
+    
+    void recordStatusChange(Collection<Expense> expenses, ExpenseStatus newStatus);
+    
+    /**
+     * Totals per category and status for an inclusive date range, converted into
+     * the user's base currency at the rates in effect on the end date.
+     * The range is split into whole years, whole months and edge days, so the
+     * cost depends on the number of buckets rather than the number of expenses.
+     */
+    List<SpendBucket> getUserSpend(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Totals per day and status, in the user's base currency
+     */
+    List<SpendBucket> getUserDailySpend(Long userId, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Totals per month and status in the user's base currency, months are
+     * identified by their first day
+     */
+    List<SpendBucket> getUserMonthlySpend(Long userId, LocalDate fromMonth, LocalDate toMonth);
+    
+    /**
+     * Rebuild one user's rollups from the expenses table
+     */
+    void rebuildUser(Long userId);
+    
+    /**
+     * Backfill every user's rollups, one transaction per user
+     */
+    int rebuildAll();
+}
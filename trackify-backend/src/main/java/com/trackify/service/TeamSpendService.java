@@ -0,0 +1,93 @@
+package com.trackify.service;
+
+import com.trackify.entity.Expense;
+import com.trackify.enums.ExpenseStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Interface for the incrementally maintained per-team spend aggregates
+ * (team, month, category, status)
+ */
+public interface TeamSpendService {
+    
+    /**
+     * Statuses counted as team spend by the queries below; drafts, pending, rejected and
+     * cancelled expenses stay in their own buckets and are left out
+     */
+    Set<ExpenseStatus> SPEND_STATUSES = EnumSet.of(ExpenseStatus.APPROVED, ExpenseStatus.PAID);
+    
+    /**
+     * Spend fields of an expense captured before it is modified
+     */
+    record Snapshot(Long teamId, LocalDate expenseDate, Long categoryId, ExpenseStatus status, BigDecimal amount) {
+        
+        public static Snapshot of(Expense expense) {
+            return new Snapshot(expense.getTeamId(), expense.getExpenseDate(), expense.getCategoryId(),
+                    expense.getStatus(), expense.getAmount());
+        }
+        
+        public Snapshot withStatus(ExpenseStatus newStatus) {
+            return new Snapshot(teamId, expenseDate, categoryId, newStatus, amount);
+        }
+        
+        public boolean isSameBucketAndAmount(Snapshot other) {
+            return Objects.equals(teamId, other.teamId)
+                    && Objects.equals(expenseDate == null ? null : expenseDate.withDayOfMonth(1),
+                            other.expenseDate == null ? null : other.expenseDate.withDayOfMonth(1))
+                    && Objects.equals(categoryId, other.categoryId)
+                    && status == other.status
+                    && (amount == null ? other.amount == null
+                            : other.amount != null && amount.compareTo(other.amount) == 0);
+        }
+    }
+    
+    /**
+     * Total amount and number of expenses
+     */
+    record SpendTotal(BigDecimal amount, long count) {
+        
+        public static final SpendTotal EMPTY = new SpendTotal(BigDecimal.ZERO, 0);
+        
+        public SpendTotal plus(SpendTotal other) {
+            return new SpendTotal(amount.add(other.amount), count + other.count);
+        }
+    }
+    
+    // Maintenance, called from the expense write paths
+    void recordAdded(Expense expense);
+    
+    void recordRemoved(Expense expense);
+    
+    void recordChanged(Snapshot before, Snapshot after);
+    
+    void recordStatusChange(Expense expense, ExpenseStatus newStatus);
+    
+    // Queries, over SPEND_STATUSES
+    SpendTotal getTeamSpend(Long teamId);
+    
+    Map<Long, SpendTotal> getTeamSpend(Collection<Long> teamIds);
+    
+    /**
+     * Spend within an inclusive date range: whole months come from the aggregates,
+     * partial months at either edge are summed from the expenses table
+     */
+    SpendTotal getTeamSpend(Long teamId, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * getTeamSpend(teamId, startDate, endDate) for many teams, in at most three queries;
+     * teams without spend in the range are absent from the map
+     */
+    Map<Long, SpendTotal> getTeamSpend(Collection<Long> teamIds, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Drop and rebuild every aggregate row from the expenses table
+     */
+    void rebuildAggregates();
+}
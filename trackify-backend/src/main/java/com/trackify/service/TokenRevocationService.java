@@ -0,0 +1,29 @@
+package com.trackify.service;
+
+import java.time.LocalDateTime;
+
+public interface TokenRevocationService {
+
+    /**
+     * Revokes a token id, or a session id (sid) covering every token of one login, until
+     * the last token it covers would have expired
+     */
+    void revoke(String jti, Long userId, LocalDateTime expiresAt);
+
+    /**
+     * Checked on every authenticated request. Answers from memory for tokens that were
+     * never revoked; only Bloom filter positives are confirmed against the database.
+     */
+    boolean isRevoked(String jti);
+
+    // Maintenance, driven by TokenRevocationScheduler
+    void loadFromDatabase();
+
+    void syncFromDatabase();
+
+    /**
+     * Deletes rows of tokens that have expired anyway. The filter keeps their bits
+     * until the next loadFromDatabase.
+     */
+    int pruneExpired();
+}
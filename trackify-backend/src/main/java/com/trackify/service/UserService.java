@@ -45,6 +45,7 @@ public interface UserService {
     // User profile management
     UserResponse updateProfile(Long userId, String firstName, String lastName, String phoneNumber);
     UserResponse updateAvatar(Long userId, String avatarUrl);
+    UserResponse updateBaseCurrency(Long userId, String currencyCode);
     
     // Authentication support
     void updateLastLoginTime(Long userId);
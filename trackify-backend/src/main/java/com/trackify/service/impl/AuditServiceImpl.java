@@ -0,0 +1,107 @@
+package com.trackify.service.impl;
+
+import com.trackify.entity.AuditLog;
+import com.trackify.scheduler.AuditLogWriter;
+import com.trackify.security.UserPrincipal;
+import com.trackify.service.AuditService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+
+@Service
+public class AuditServiceImpl implements AuditService {
+
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Override
+    public void record(AuditLog auditLog) {
+        if (auditLog.getTimestamp() == null) {
+            auditLog.setTimestamp(LocalDateTime.now());
+        }
+        if (auditLog.getUserId() == null && auditLog.getUsername() == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                auditLog.setUserId(principal.getId());
+                auditLog.setUsername(principal.getUsername());
+            }
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            if (auditLog.getIpAddress() == null) {
+                auditLog.setIpAddress(clientIp(request));
+            }
+            if (auditLog.getUserAgent() == null) {
+                auditLog.setUserAgent(truncate(request.getHeader("User-Agent"), 500));
+            }
+            if (auditLog.getSessionId() == null) {
+                auditLog.setSessionId(truncate(request.getRequestedSessionId(), 100));
+            }
+            if (auditLog.getRequestId() == null) {
+                auditLog.setRequestId(truncate(request.getHeader(REQUEST_ID_HEADER), 100));
+            }
+        }
+        auditLog.setUsername(truncate(auditLog.getUsername(), 100));
+        auditLog.setDescription(truncate(auditLog.getDescription(), 500));
+        auditLog.setErrorMessage(truncate(auditLog.getErrorMessage(), 1000));
+
+        // A change is only audited once it is committed; failures are recorded either way
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !Boolean.FALSE.equals(auditLog.getSuccess())) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditLogWriter.submit(auditLog);
+                }
+            });
+        } else {
+            auditLogWriter.submit(auditLog);
+        }
+    }
+
+    @Override
+    public void record(String action, String entityType, Long entityId, String description) {
+        record(AuditLog.builder()
+                .action(action)
+                .entityType(entityType)
+                .entityId(entityId)
+                .description(description)
+                .build());
+    }
+
+    @Override
+    public void recordFailure(String action, String entityType, String username, String errorMessage) {
+        record(AuditLog.builder()
+                .username(username)
+                .action(action)
+                .entityType(entityType)
+                .success(false)
+                .errorMessage(errorMessage)
+                .build());
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (StringUtils.hasText(forwarded)) {
+            return truncate(forwarded.split(",")[0].trim(), 45);
+        }
+        return truncate(request.getRemoteAddr(), 45);
+    }
+
+    private String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
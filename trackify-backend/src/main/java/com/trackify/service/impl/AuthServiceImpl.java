@@ -4,13 +4,18 @@ import com.trackify.dto.request.LoginRequest;
 import com.trackify.dto.request.RegisterRequest;
 import com.trackify.dto.response.AuthResponse;
 import com.trackify.dto.response.UserResponse;
+import com.trackify.entity.AuditLog;
 import com.trackify.entity.User;
 import com.trackify.enums.UserRole;
 import com.trackify.exception.UnauthorizedException;
+import com.trackify.scheduler.LastLoginWriter;
 import com.trackify.security.JwtTokenProvider;
 import com.trackify.security.UserPrincipal;
+import com.trackify.service.AuditService;
 import com.trackify.service.AuthService;
+import com.trackify.service.TokenRevocationService;
 import com.trackify.service.UserService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -22,9 +27,12 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Optional;
 
 @Service
@@ -44,6 +52,15 @@ public class AuthServiceImpl implements AuthService {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private LastLoginWriter lastLoginWriter;
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private AuditService auditService;
+
 	@Override
 	public AuthResponse register(RegisterRequest registerRequest) {
 		logger.info("Attempting registration for email: {}", registerRequest.getEmail());
@@ -67,7 +84,10 @@ public class AuthServiceImpl implements AuthService {
 		}
 	}
 
+	// No transaction: the only read is the user lookup inside authenticate, and a connection
+	// should not be held while the password hash is checked
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public AuthResponse login(LoginRequest loginRequest) {
 		logger.info("Attempting login for email: {}", loginRequest.getEmail());
 
@@ -88,14 +108,21 @@ public class AuthServiceImpl implements AuthService {
 			}
 
 			// Generate tokens
-			String accessToken = jwtTokenProvider.generateToken(authentication);
-			String refreshToken = jwtTokenProvider.generateRefreshToken(authentication);
-
-			// Update last login time
-			userService.updateLastLoginTime(userPrincipal.getId());
-
-			// Get user details
-			UserResponse userResponse = userService.getUserById(userPrincipal.getId());
+			String sessionId = jwtTokenProvider.newSessionId();
+			String accessToken = jwtTokenProvider.generateToken(authentication, sessionId);
+			String refreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
+
+			// Last login is written asynchronously, the response is built from the loaded principal
+			LocalDateTime loginTime = LocalDateTime.now();
+			lastLoginWriter.record(userPrincipal.getId(), loginTime);
+			UserResponse userResponse = toUserResponse(userPrincipal, loginTime);
+			auditService.record(AuditLog.builder()
+					.userId(userPrincipal.getId())
+					.username(userPrincipal.getUsername())
+					.action(AuditLog.ACTION_LOGIN)
+					.entityType(AuditLog.ENTITY_USER)
+					.entityId(userPrincipal.getId())
+					.build());
 
 			logger.info("Login successful for email: {}", loginRequest.getEmail());
 
@@ -108,6 +135,8 @@ public class AuthServiceImpl implements AuthService {
 
 		} catch (AuthenticationException e) {
 			logger.error("Login failed for email: {}", loginRequest.getEmail(), e);
+			auditService.recordFailure(AuditLog.ACTION_LOGIN_FAILED, AuditLog.ENTITY_USER,
+					loginRequest.getEmail(), e.getMessage());
 			throw new UnauthorizedException("Invalid email or password");
 		}
 	}
@@ -116,15 +145,17 @@ public class AuthServiceImpl implements AuthService {
 	public AuthResponse refreshToken(String refreshToken) {
 		logger.info("Attempting to refresh token");
 
-		if (!jwtTokenProvider.validateToken(refreshToken)) {
+		Claims claims = jwtTokenProvider.getValidClaims(refreshToken);
+		if (claims == null || tokenRevocationService.isRevoked(JwtTokenProvider.getRevocationId(claims))) {
 			throw new UnauthorizedException("Invalid refresh token");
 		}
 
-		Long userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
+		Long userId = Long.parseLong(claims.getSubject());
 		UserResponse userResponse = userService.getUserById(userId);
 
-		// Generate new access token
-		String newAccessToken = jwtTokenProvider.generateTokenFromUserId(userId);
+		// Generate new access token, in the refresh token's session so logout revokes it too
+		String newAccessToken = jwtTokenProvider.generateTokenFromUserId(userId,
+				claims.get(JwtTokenProvider.SESSION_ID_CLAIM, String.class));
 
 		logger.info("Token refreshed successfully for user: {}", userId);
 
@@ -140,25 +171,41 @@ public class AuthServiceImpl implements AuthService {
 
 	@Override
 	public void logout(String token) {
-		try {
-			// 1. Validate token first
-			if (!jwtTokenProvider.validateToken(token)) {
-				logger.warn("Invalid token provided for logout");
-				return;
-			}
-
-			// 2. Extract user information from token
-			Long userId = jwtTokenProvider.getUserIdFromToken(token);
-			String email = jwtTokenProvider.getEmailFromToken(token);
-
-			// 3. Log the logout event
-			logger.info("User {} (ID: {}) logged out successfully at {}", 
-					email, userId, LocalDateTime.now());
+		// 1. Validate token first; an invalid or expired token has nothing left to revoke
+		Claims claims = jwtTokenProvider.getValidClaims(token);
+		if (claims == null) {
+			logger.warn("Invalid token provided for logout");
+			return;
+		}
 
-		} catch (Exception e) {
-			logger.error("Error during logout process: {}", e.getMessage());
-			// Don't throw exception to prevent logout failures
+		// 2. Extract user information from token
+		Long userId;
+		try {
+			userId = Long.parseLong(claims.getSubject());
+		} catch (NumberFormatException e) {
+			logger.warn("Token without a user id provided for logout");
+			return;
 		}
+		String email = claims.get("email", String.class);
+
+		// 3. Revoke the session, refresh token included, until its last token would have expired.
+		// A failure here propagates: reporting success would leave the tokens usable.
+		Instant revokedUntil = claims.get(JwtTokenProvider.SESSION_ID_CLAIM) != null
+				? claims.getIssuedAt().toInstant().plusMillis(jwtTokenProvider.getRefreshExpirationTime())
+				: claims.getExpiration().toInstant();
+		tokenRevocationService.revoke(JwtTokenProvider.getRevocationId(claims), userId,
+				LocalDateTime.ofInstant(revokedUntil, ZoneId.systemDefault()));
+
+		// 4. Log the logout event
+		logger.info("User {} (ID: {}) logged out successfully at {}", 
+				email, userId, LocalDateTime.now());
+		auditService.record(AuditLog.builder()
+				.userId(userId)
+				.username(email)
+				.action(AuditLog.ACTION_LOGOUT)
+				.entityType(AuditLog.ENTITY_USER)
+				.entityId(userId)
+				.build());
 	}
 
 	@Override
@@ -175,6 +222,7 @@ public class AuthServiceImpl implements AuthService {
 	@Override
 	public void changeCurrentUserPassword(Long userId, String currentPassword, String newPassword) {
 		userService.changePassword(userId, currentPassword, newPassword);
+		auditService.record(AuditLog.ACTION_PASSWORD_CHANGE, AuditLog.ENTITY_USER, userId, "Password changed");
 	}
 
 	@Override
@@ -227,10 +275,11 @@ public class AuthServiceImpl implements AuthService {
 			Authentication authentication = new UsernamePasswordAuthenticationToken(
 					userPrincipal, null, userPrincipal.getAuthorities());
 
-			String accessToken = jwtTokenProvider.generateToken(authentication);
-			String refreshToken = jwtTokenProvider.generateRefreshToken(authentication);
+			String sessionId = jwtTokenProvider.newSessionId();
+			String accessToken = jwtTokenProvider.generateToken(authentication, sessionId);
+			String refreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
 
-			userService.updateLastLoginTime(user.getId());
+			lastLoginWriter.record(user.getId(), LocalDateTime.now());
 			UserResponse userResponse = userService.getUserById(user.getId());
 
 			return new AuthResponse(accessToken, refreshToken, jwtTokenProvider.getExpirationTime(), userResponse);
@@ -263,14 +312,34 @@ public class AuthServiceImpl implements AuthService {
 			Authentication authentication = new UsernamePasswordAuthenticationToken(
 					userPrincipal, null, userPrincipal.getAuthorities());
 
-			String accessToken = jwtTokenProvider.generateToken(authentication);
-			String refreshToken = jwtTokenProvider.generateRefreshToken(authentication);
+			String sessionId = jwtTokenProvider.newSessionId();
+			String accessToken = jwtTokenProvider.generateToken(authentication, sessionId);
+			String refreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
 
-			userService.updateLastLoginTime(user.getId());
+			lastLoginWriter.record(user.getId(), LocalDateTime.now());
 			UserResponse userResponse = userService.getUserById(user.getId());
 
 			logger.info("OAuth2 registration and login successful for email: {}", email);
 			return new AuthResponse(accessToken, refreshToken, jwtTokenProvider.getExpirationTime(), userResponse);
 		}
 	}
-}
\ No newline at end of file
+
+	private UserResponse toUserResponse(UserPrincipal userPrincipal, LocalDateTime loginTime) {
+		return UserResponse.builder()
+				.id(userPrincipal.getId())
+				.email(userPrincipal.getEmail())
+				.firstName(userPrincipal.getFirstName())
+				.lastName(userPrincipal.getLastName())
+				.fullName(userPrincipal.getFullName())
+				.phoneNumber(userPrincipal.getPhoneNumber())
+				.avatarUrl(userPrincipal.getAvatarUrl())
+				.baseCurrency(userPrincipal.getBaseCurrency())
+				.role(userPrincipal.getRole())
+				.isEnabled(userPrincipal.getIsEnabled())
+				.emailVerified(userPrincipal.getEmailVerified())
+				.lastLoginAt(loginTime)
+				.createdAt(userPrincipal.getCreatedAt())
+				.updatedAt(userPrincipal.getUpdatedAt())
+				.build();
+	}
+}
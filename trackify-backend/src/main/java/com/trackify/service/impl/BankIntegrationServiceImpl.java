@@ -1,12 +1,18 @@
 package com.trackify.service.impl;
 
 import com.trackify.entity.Expense;
+import com.trackify.entity.User;
 import com.trackify.integration.bank.UpiTransactionProcessor;
 import com.trackify.integration.sms.SmsParser;
 import com.trackify.integration.sms.TransactionExtractor;
 import com.trackify.integration.sms.TransactionExtractor.SmsMessage;
+import com.trackify.repository.ExpenseRepository;
+import com.trackify.repository.UserRepository;
 import com.trackify.service.BankIntegrationService;
+import com.trackify.service.DataVersionService;
 import com.trackify.service.OcrService;
+import com.trackify.service.SpendRollupService;
+import com.trackify.service.WebSocketService;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
@@ -14,15 +20,27 @@ import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
@@ -45,6 +63,38 @@ public class BankIntegrationServiceImpl implements BankIntegrationService {
     @Autowired
     private OcrService ocrService;
 
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    @Autowired
+    @Qualifier("ocrExecutor")
+    private Executor ocrExecutor;
+
+    @Value("${app.bulk-upload.max-concurrency:4}")
+    private int bulkUploadMaxConcurrency;
+
+    @Value("${app.bulk-upload.batch-size:50}")
+    private int bulkUploadBatchSize;
+
     // Supported file types
     private static final List<String> SUPPORTED_IMAGE_TYPES = Arrays.asList(
             "image/png", "image/jpg", "image/jpeg", "image/gif", "image/bmp", "image/tiff"
@@ -64,6 +114,13 @@ public class BankIntegrationServiceImpl implements BankIntegrationService {
     // Processing history
     private final Map<Long, List<Map<String, Object>>> processingHistory = new ConcurrentHashMap<>();
 
+    // Bulk ZIP upload jobs by job id. In memory only: the spooled archive is a local temp
+    // file, so a job can't outlive this node anyway
+    private final Map<String, BulkUploadJob> bulkUploadJobs = new ConcurrentHashMap<>();
+
+    private static final int SPOOL_BUFFER_SIZE = 64 * 1024;
+    private static final long BULK_UPLOAD_JOB_RETENTION_MS = 60 * 60 * 1000L;
+
     @Override
     public Expense processUploadedFile(MultipartFile file, Long userId) {
         long startTime = System.currentTimeMillis();
@@ -448,67 +505,35 @@ public class BankIntegrationServiceImpl implements BankIntegrationService {
         Map<String, Object> results = new HashMap<>();
         
         try {
-            logger.info("Processing bulk upload from ZIP file for user: {}", userId);
+            logger.info("Queueing bulk upload from ZIP file for user: {}", userId);
             
             if (!SUPPORTED_ARCHIVE_TYPES.contains(zipFile.getContentType())) {
                 throw new RuntimeException("Unsupported archive type: " + zipFile.getContentType());
             }
             
-            List<Expense> createdExpenses = new ArrayList<>();
-            List<String> failedFiles = new ArrayList<>();
-            int totalFiles = 0;
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found: " + userId));
             
-            try (ZipInputStream zipInputStream = new ZipInputStream(zipFile.getInputStream())) {
-                ZipEntry entry;
-                
-                while ((entry = zipInputStream.getNextEntry()) != null) {
-                    if (!entry.isDirectory()) {
-                        totalFiles++;
-                        
-                        try {
-                            // Read file content from ZIP
-                            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                            byte[] buffer = new byte[1024];
-                            int len;
-                            while ((len = zipInputStream.read(buffer)) > 0) {
-                                baos.write(buffer, 0, len);
-                            }
-                            
-                            // Create MultipartFile from ZIP entry
-                            MultipartFile entryFile = createMultipartFileFromBytes(
-                                entry.getName(), baos.toByteArray());
-                            
-                            if (isSupportedFileType(entryFile)) {
-                                Expense expense = processUploadedFile(entryFile, userId);
-                                if (expense != null) {
-                                    createdExpenses.add(expense);
-                                } else {
-                                    failedFiles.add(entry.getName());
-                                }
-                            } else {
-                                failedFiles.add(entry.getName() + " (unsupported type)");
-                            }
-                            
-                        } catch (Exception e) {
-                            logger.warn("Failed to process file {} from ZIP: {}", entry.getName(), e.getMessage());
-                            failedFiles.add(entry.getName() + " (error: " + e.getMessage() + ")");
-                        }
-                    }
-                }
+            // The multipart temp file is removed when the request ends, so keep our own copy
+            Path spooledZip = Files.createTempFile("trackify-bulk-", ".zip");
+            try (InputStream in = zipFile.getInputStream()) {
+                Files.copy(in, spooledZip, StandardCopyOption.REPLACE_EXISTING);
             }
             
-            results.put("success", true);
-            results.put("totalFiles", totalFiles);
-            results.put("successfulExtractions", createdExpenses.size());
-            results.put("failedFiles", failedFiles.size());
-            results.put("createdExpenses", createdExpenses);
-            results.put("failedFilesList", failedFiles);
+            pruneFinishedBulkUploadJobs();
+            
+            BulkUploadJob job = new BulkUploadJob(UUID.randomUUID().toString(), userId, 
+                                                  zipFile.getOriginalFilename());
+            bulkUploadJobs.put(job.jobId, job);
             
-            logger.info("Bulk upload completed: {}/{} files processed successfully", 
-                       createdExpenses.size(), totalFiles);
+            taskExecutor.execute(() -> runBulkUploadJob(job, spooledZip, user));
+            
+            results.put("success", true);
+            results.put("jobId", job.jobId);
+            results.put("status", job.status);
             
         } catch (Exception e) {
-            logger.error("Error processing bulk upload", e);
+            logger.error("Error queueing bulk upload", e);
             results.put("success", false);
             results.put("error", e.getMessage());
         }
@@ -516,6 +541,21 @@ public class BankIntegrationServiceImpl implements BankIntegrationService {
         return results;
     }
 
+    @Override
+    public Map<String, Object> getBulkUploadStatus(String jobId, Long userId) {
+        BulkUploadJob job = bulkUploadJobs.get(jobId);
+        
+        if (job == null || !job.userId.equals(userId)) {
+            Map<String, Object> results = new HashMap<>();
+            results.put("success", false);
+            results.put("error", "Bulk upload job not found: " + jobId
+                    + ". Job status is lost when the server restarts; check your expenses for imported entries.");
+            return results;
+        }
+        
+        return job.toMap();
+    }
+
     @Override
     public List<Map<String, Object>> getProcessingHistory(Long userId) {
         return processingHistory.getOrDefault(userId, new ArrayList<>());
@@ -851,11 +891,14 @@ public class BankIntegrationServiceImpl implements BankIntegrationService {
                 entry.put("amount", expense.getAmount());
             }
             
-            history.add(entry);
-            
-            // Keep only last 100 entries per user
-            if (history.size() > 100) {
-                history.remove(0);
+            // Bulk uploads record history from several OCR worker threads
+            synchronized (history) {
+                history.add(entry);
+                
+                // Keep only last 100 entries per user
+                if (history.size() > 100) {
+                    history.remove(0);
+                }
             }
             
         } catch (Exception e) {
@@ -867,63 +910,298 @@ public class BankIntegrationServiceImpl implements BankIntegrationService {
         try {
             Map<String, Object> stats = userStatistics.computeIfAbsent(userId, k -> new HashMap<>());
             
-            stats.put("totalProcessed", (Integer) stats.getOrDefault("totalProcessed", 0) + 1);
-            
-            if (success) {
-                stats.put("successfulExtractions", (Integer) stats.getOrDefault("successfulExtractions", 0) + 1);
-            } else {
-                stats.put("failedExtractions", (Integer) stats.getOrDefault("failedExtractions", 0) + 1);
+            synchronized (stats) {
+                stats.put("totalProcessed", (Integer) stats.getOrDefault("totalProcessed", 0) + 1);
+                
+                if (success) {
+                    stats.put("successfulExtractions", (Integer) stats.getOrDefault("successfulExtractions", 0) + 1);
+                } else {
+                    stats.put("failedExtractions", (Integer) stats.getOrDefault("failedExtractions", 0) + 1);
+                }
+                
+                // Track by file type
+                @SuppressWarnings("unchecked")
+                Map<String, Integer> typeStats = (Map<String, Integer>) stats.computeIfAbsent("byFileType", k -> new HashMap<>());
+                typeStats.put(fileType, typeStats.getOrDefault(fileType, 0) + 1);
+                
+                stats.put("lastProcessed", new Date());
             }
             
-            // Track by file type
-            @SuppressWarnings("unchecked")
-            Map<String, Integer> typeStats = (Map<String, Integer>) stats.computeIfAbsent("byFileType", k -> new HashMap<>());
-            typeStats.put(fileType, typeStats.getOrDefault(fileType, 0) + 1);
-            
-            stats.put("lastProcessed", new Date());
-            
         } catch (Exception e) {
             logger.error("Error updating processing statistics", e);
         }
     }
 
-    private MultipartFile createMultipartFileFromBytes(String filename, byte[] content) {
-        return new MultipartFile() {
-            @Override
-            public String getName() { return "file"; }
-            
-            @Override
-            public String getOriginalFilename() { return filename; }
+    private void runBulkUploadJob(BulkUploadJob job, Path spooledZip, User user) {
+        job.status = "RUNNING";
+        publishBulkUploadProgress(job, user);
+        
+        Semaphore permits = new Semaphore(bulkUploadMaxConcurrency);
+        Queue<Expense> pendingExpenses = new ConcurrentLinkedQueue<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        
+        try (ZipInputStream zipInputStream = new ZipInputStream(
+                new BufferedInputStream(Files.newInputStream(spooledZip), SPOOL_BUFFER_SIZE))) {
+            ZipEntry entry;
             
-            @Override
-            public String getContentType() {
-                // Determine content type based on file extension
-                String lower = filename.toLowerCase();
-                if (lower.endsWith(".pdf")) return "application/pdf";
-                if (lower.endsWith(".png")) return "image/png";
-                if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
-                if (lower.endsWith(".txt")) return "text/plain";
-                return "application/octet-stream";
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                
+                String entryName = entry.getName();
+                String contentType = guessContentType(entryName);
+                job.totalFiles.incrementAndGet();
+                
+                if (!SUPPORTED_IMAGE_TYPES.contains(contentType) && !SUPPORTED_DOCUMENT_TYPES.contains(contentType)) {
+                    job.recordFailure(entryName + " (unsupported type)");
+                    continue;
+                }
+                
+                Path entryFile = Files.createTempFile("trackify-entry-", null);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(entryFile), SPOOL_BUFFER_SIZE)) {
+                    zipInputStream.transferTo(out);
+                }
+                
+                // Bound the number of spooled entries waiting on OCR at any time
+                permits.acquire();
+                tasks.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        Expense expense = extractExpenseFromEntry(
+                                new SpooledMultipartFile(entryName, contentType, entryFile), user);
+                        if (expense != null) {
+                            pendingExpenses.add(expense);
+                        } else {
+                            job.recordFailure(entryName);
+                        }
+                    } catch (Exception e) {
+                        logger.warn("Failed to process file {} from ZIP: {}", entryName, e.getMessage());
+                        job.recordFailure(entryName + " (error: " + e.getMessage() + ")");
+                    } finally {
+                        deleteQuietly(entryFile);
+                        job.processedFiles.incrementAndGet();
+                        permits.release();
+                    }
+                }, ocrExecutor));
+                
+                if (pendingExpenses.size() >= bulkUploadBatchSize) {
+                    flushBulkUploadExpenses(job, pendingExpenses, user);
+                }
             }
             
-            @Override
-            public boolean isEmpty() { return content.length == 0; }
-            
-            @Override
-            public long getSize() { return content.length; }
+            job.status = "PROCESSING";
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+            flushBulkUploadExpenses(job, pendingExpenses, user);
             
-            @Override
-            public byte[] getBytes() { return content; }
+            job.status = "COMPLETED";
+            logger.info("Bulk upload {} completed: {}/{} files processed successfully", 
+                       job.jobId, job.createdExpenseIds.size(), job.totalFiles.get());
             
-            @Override
-            public InputStream getInputStream() { return new ByteArrayInputStream(content); }
+        } catch (Exception e) {
+            logger.error("Error processing bulk upload {}", job.jobId, e);
+            job.status = "FAILED";
+            job.error = e.getMessage();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            job.completedAt = new Date();
+            deleteQuietly(spooledZip);
+            publishBulkUploadProgress(job, user);
+        }
+    }
+
+    private Expense extractExpenseFromEntry(MultipartFile entryFile, User user) throws IOException {
+        String contentType = entryFile.getContentType();
+        String extractedText;
+        
+        if (SUPPORTED_IMAGE_TYPES.contains(contentType)) {
+            extractedText = (String) ocrService.extractTextWithConfidence(entryFile).get("text");
+        } else if ("application/pdf".equals(contentType)) {
+            extractedText = extractTextFromPdf(entryFile);
+        } else {
+            extractedText = new String(entryFile.getBytes(), StandardCharsets.UTF_8);
+        }
+        
+        if (extractedText == null || extractedText.trim().isEmpty()) {
+            recordProcessingHistory(user.getId(), entryFile, false, "No text extracted", null);
+            updateProcessingStatistics(user.getId(), false, contentType);
+            return null;
+        }
+        
+        Expense expense = upiTransactionProcessor.buildExpense(extractedText, user);
+        
+        if (expense != null) {
+            recordProcessingHistory(user.getId(), entryFile, true, "Success", expense);
+            updateProcessingStatistics(user.getId(), true, contentType);
+        } else {
+            recordProcessingHistory(user.getId(), entryFile, false, "Failed to parse transaction", null);
+            updateProcessingStatistics(user.getId(), false, contentType);
+        }
+        
+        return expense;
+    }
+
+    private void flushBulkUploadExpenses(BulkUploadJob job, Queue<Expense> pendingExpenses, User user) {
+        List<Expense> batch = new ArrayList<>(bulkUploadBatchSize);
+        Expense expense;
+        
+        while ((expense = pendingExpenses.poll()) != null) {
+            batch.add(expense);
             
-            @Override
-            public void transferTo(java.io.File dest) throws IOException {
-                try (FileOutputStream fos = new FileOutputStream(dest)) {
-                    fos.write(content);
-                }
+            if (batch.size() >= bulkUploadBatchSize) {
+                saveBulkUploadBatch(job, batch, user);
+                batch = new ArrayList<>(bulkUploadBatchSize);
             }
-        };
+        }
+        
+        if (!batch.isEmpty()) {
+            saveBulkUploadBatch(job, batch, user);
+        }
+    }
+
+    private void saveBulkUploadBatch(BulkUploadJob job, List<Expense> batch, User user) {
+        // One transaction per batch, so the expenses and their spend rollups commit together
+        List<Expense> saved = transactionTemplate.execute(status -> {
+            List<Expense> savedBatch = expenseRepository.saveAll(batch);
+            spendRollupService.recordAdded(savedBatch);
+            dataVersionService.bump(savedBatch.stream().map(Expense::getUserId).toList());
+            return savedBatch;
+        });
+        
+        for (Expense expense : saved) {
+            job.createdExpenseIds.add(expense.getId());
+        }
+        
+        logger.debug("Bulk upload {} saved batch of {} expenses", job.jobId, saved.size());
+        publishBulkUploadProgress(job, user);
+    }
+
+    private void publishBulkUploadProgress(BulkUploadJob job, User user) {
+        try {
+            webSocketService.sendMessageToUser(user.getUsername(), "/queue/bulk-upload", job.toMap());
+        } catch (Exception e) {
+            logger.warn("Failed to publish bulk upload progress for job {}", job.jobId, e);
+        }
+    }
+
+    private void pruneFinishedBulkUploadJobs() {
+        long cutoff = System.currentTimeMillis() - BULK_UPLOAD_JOB_RETENTION_MS;
+        bulkUploadJobs.values().removeIf(job -> 
+                job.completedAt != null && job.completedAt.getTime() < cutoff);
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete temp file {}", path, e);
+        }
+    }
+
+    private static String guessContentType(String filename) {
+        // Determine content type based on file extension
+        String lower = filename.toLowerCase();
+        if (lower.endsWith(".pdf")) return "application/pdf";
+        if (lower.endsWith(".png")) return "image/png";
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) return "image/jpeg";
+        if (lower.endsWith(".txt")) return "text/plain";
+        return "application/octet-stream";
+    }
+
+    /**
+     * State of an asynchronous ZIP import, reported over WebSocket and via the status endpoint
+     */
+    private static class BulkUploadJob {
+        private final String jobId;
+        private final Long userId;
+        private final String fileName;
+        private final Date startedAt = new Date();
+        private final AtomicInteger totalFiles = new AtomicInteger();
+        private final AtomicInteger processedFiles = new AtomicInteger();
+        private final Queue<Long> createdExpenseIds = new ConcurrentLinkedQueue<>();
+        private final Queue<String> failedFiles = new ConcurrentLinkedQueue<>();
+        private volatile String status = "PENDING";
+        private volatile String error;
+        private volatile Date completedAt;
+
+        private BulkUploadJob(String jobId, Long userId, String fileName) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.fileName = fileName;
+        }
+
+        private void recordFailure(String entry) {
+            failedFiles.add(entry);
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("success", !"FAILED".equals(status));
+            map.put("jobId", jobId);
+            map.put("fileName", fileName);
+            map.put("status", status);
+            map.put("totalFiles", totalFiles.get());
+            map.put("processedFiles", processedFiles.get());
+            map.put("successfulExtractions", createdExpenseIds.size());
+            map.put("failedFiles", failedFiles.size());
+            map.put("createdExpenseIds", new ArrayList<>(createdExpenseIds));
+            map.put("failedFilesList", new ArrayList<>(failedFiles));
+            map.put("startedAt", startedAt);
+            map.put("completedAt", completedAt);
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * MultipartFile view over a ZIP entry spooled to a temp file, so large entries never sit on the heap
+     */
+    private static class SpooledMultipartFile implements MultipartFile {
+        private final String filename;
+        private final String contentType;
+        private final Path path;
+
+        private SpooledMultipartFile(String filename, String contentType, Path path) {
+            this.filename = filename;
+            this.contentType = contentType;
+            this.path = path;
+        }
+
+        @Override
+        public String getName() { return "file"; }
+
+        @Override
+        public String getOriginalFilename() { return filename; }
+
+        @Override
+        public String getContentType() { return contentType; }
+
+        @Override
+        public boolean isEmpty() { return getSize() == 0; }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException { return Files.readAllBytes(path); }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new BufferedInputStream(Files.newInputStream(path), SPOOL_BUFFER_SIZE);
+        }
+
+        @Override
+        public void transferTo(java.io.File dest) throws IOException {
+            Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
     }
-}
\ No newline at end of file
+}
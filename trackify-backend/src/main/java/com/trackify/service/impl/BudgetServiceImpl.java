@@ -15,6 +15,7 @@ import com.trackify.repository.CategoryRepository;
 import com.trackify.repository.ExpenseRepository;
 import com.trackify.repository.UserRepository;
 import com.trackify.service.BudgetService;
+import com.trackify.service.DataVersionService;
 import com.trackify.service.WebSocketService;
 
 import org.slf4j.Logger;
@@ -53,6 +54,9 @@ public class BudgetServiceImpl implements BudgetService {
     @Autowired
     private WebSocketService webSocketService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Override
     public BudgetResponse createBudget(BudgetRequest budgetRequest, String username) {
         try {
@@ -95,7 +99,7 @@ public class BudgetServiceImpl implements BudgetService {
             budget.setSpentAmount(BigDecimal.ZERO);
             budget.setRemainingAmount(budgetRequest.getTotalAmount());
 
-            budget = budgetRepository.save(budget);
+            budget = saveBudget(budget);
 
             // Calculate initial spending if category is specified
             if (budget.getCategoryId() != null) {
@@ -174,7 +178,7 @@ public class BudgetServiceImpl implements BudgetService {
                 throw new BadRequestException("End date cannot be before start date");
             }
 
-            budget = budgetRepository.save(budget);
+            budget = saveBudget(budget);
 
             // Recalculate spending
             recalculateBudgetSpending(budget.getId());
@@ -247,6 +251,7 @@ public class BudgetServiceImpl implements BudgetService {
             Budget budget = getBudgetEntity(budgetId);
 
             budgetRepository.delete(budget);
+            dataVersionService.bump(budget.getUserId());
 
             logger.info("Successfully deleted budget: {}", budgetId);
 
@@ -273,7 +278,7 @@ public class BudgetServiceImpl implements BudgetService {
             Budget budget = getBudgetEntity(budgetId);
             
             budget.setIsActive(true);
-            budget = budgetRepository.save(budget);
+            budget = saveBudget(budget);
             
             logger.info("Activated budget: {}", budgetId);
             return convertToBudgetResponse(budget);
@@ -291,7 +296,7 @@ public class BudgetServiceImpl implements BudgetService {
             Budget budget = getBudgetEntity(budgetId);
             
             budget.setIsActive(false);
-            budget = budgetRepository.save(budget);
+            budget = saveBudget(budget);
             
             logger.info("Deactivated budget: {}", budgetId);
             return convertToBudgetResponse(budget);
@@ -592,7 +597,7 @@ public class BudgetServiceImpl implements BudgetService {
                     break;
             }
 
-            newBudget = budgetRepository.save(newBudget);
+            newBudget = saveBudget(newBudget);
 
             logger.info("Successfully created recurring budget: {}", newBudget.getId());
             return convertToBudgetResponse(newBudget);
@@ -666,8 +671,8 @@ public class BudgetServiceImpl implements BudgetService {
             targetBudget.setTotalAmount(targetBudget.getTotalAmount().add(request.getAmount()));
             targetBudget.setRemainingAmount(targetBudget.getRemainingAmount().add(request.getAmount()));
 
-            budgetRepository.save(sourceBudget);
-            budgetRepository.save(targetBudget);
+            saveBudget(sourceBudget);
+            saveBudget(targetBudget);
 
             logger.info("Successfully transferred {} from budget {} to budget {}", 
                     request.getAmount(), request.getSourceBudgetId(), request.getTargetBudgetId());
@@ -687,7 +692,7 @@ public class BudgetServiceImpl implements BudgetService {
             budget.setTotalAmount(newAmount);
             budget.setRemainingAmount(newAmount.subtract(budget.getSpentAmount()));
 
-            budget = budgetRepository.save(budget);
+            budget = saveBudget(budget);
 
             logger.info("Adjusted budget {} amount to {}", budgetId, newAmount);
             return convertToBudgetResponse(budget);
@@ -703,7 +708,7 @@ public class BudgetServiceImpl implements BudgetService {
         try {
             Budget budget = getBudgetEntity(budgetId);
             budget.addExpense(expenseAmount);
-            budgetRepository.save(budget);
+            saveBudget(budget);
 
             logger.debug("Updated budget {} spending with amount {}", budgetId, expenseAmount);
 
@@ -717,7 +722,7 @@ public class BudgetServiceImpl implements BudgetService {
         try {
             Budget budget = getBudgetEntity(budgetId);
             budget.removeExpense(expenseAmount);
-            budgetRepository.save(budget);
+            saveBudget(budget);
 
             logger.debug("Removed budget {} spending with amount {}", budgetId, expenseAmount);
 
@@ -743,7 +748,7 @@ public class BudgetServiceImpl implements BudgetService {
                         .reduce(BigDecimal.ZERO, BigDecimal::add);
 
                 budget.updateSpentAmount(totalSpent);
-                budgetRepository.save(budget);
+                saveBudget(budget);
 
                 logger.debug("Recalculated budget {} spending: {}", budgetId, totalSpent);
             }
@@ -881,6 +886,13 @@ public class BudgetServiceImpl implements BudgetService {
     }
 
     // Helper methods
+    // Every budget write goes through here so cached report results for the owner are invalidated
+    private Budget saveBudget(Budget budget) {
+        Budget saved = budgetRepository.save(budget);
+        dataVersionService.bump(saved.getUserId());
+        return saved;
+    }
+
     private void createNextRecurringBudget(Budget originalBudget) {
         try {
             Budget newBudget = new Budget();
@@ -914,7 +926,7 @@ public class BudgetServiceImpl implements BudgetService {
                     break;
             }
 
-            budgetRepository.save(newBudget);
+            saveBudget(newBudget);
             logger.info("Created next recurring budget for budget: {}", originalBudget.getId());
 
         } catch (Exception e) {
@@ -1,16 +1,24 @@
 package com.trackify.service.impl;
 
 import com.trackify.dto.response.DashboardResponse;
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.currency.ExchangeRateTable;
 import com.trackify.entity.Budget;
+import com.trackify.entity.Category;
 import com.trackify.entity.Expense;
+import com.trackify.entity.Team;
 import com.trackify.entity.TeamMember;
 import com.trackify.entity.User;
 import com.trackify.enums.ExpenseStatus;
 import com.trackify.repository.BudgetRepository;
+import com.trackify.repository.CategoryRepository;
 import com.trackify.repository.ExpenseRepository;
 import com.trackify.repository.TeamMemberRepository;
+import com.trackify.repository.TeamRepository;
 import com.trackify.repository.UserRepository;
 import com.trackify.service.DashboardService;
+import com.trackify.service.ExchangeRateService;
+import com.trackify.service.SpendRollupService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,9 +34,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,6 +59,18 @@ public class DashboardServiceImpl implements DashboardService {
     @Autowired
     private TeamMemberRepository teamMemberRepository;
 
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
     @Override
     @Cacheable(value = "dashboardData", key = "#username")
     public DashboardResponse getDashboardData(String username) {
@@ -144,30 +166,14 @@ public class DashboardServiceImpl implements DashboardService {
             User user = userRepository.findByUsernameOrEmail(username)
                     .orElseThrow(() -> new RuntimeException("User not found: " + username));
             
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
-            
             // Get expense statistics
-            List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                    user.getId(), startDateTime, endDateTime);
-            
-            BigDecimal totalAmount = expenses.stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            long totalCount = expenses.size();
-            
-            long approvedCount = expenses.stream()
-                    .mapToLong(e -> ExpenseStatus.APPROVED.equals(e.getStatus()) ? 1 : 0)
-                    .sum();
+            List<SpendRollupService.SpendBucket> buckets = spendRollupService.getUserSpend(user.getId(), startDate, endDate);
             
-            long pendingCount = expenses.stream()
-                    .mapToLong(e -> ExpenseStatus.PENDING.equals(e.getStatus()) ? 1 : 0)
-                    .sum();
-            
-            long rejectedCount = expenses.stream()
-                    .mapToLong(e -> ExpenseStatus.REJECTED.equals(e.getStatus()) ? 1 : 0)
-                    .sum();
+            BigDecimal totalAmount = SpendRollupService.SpendBucket.totalAmount(buckets, b -> true);
+            long totalCount = SpendRollupService.SpendBucket.totalCount(buckets, b -> true);
+            long approvedCount = SpendRollupService.SpendBucket.totalCount(buckets, b -> b.hasStatus(ExpenseStatus.APPROVED));
+            long pendingCount = SpendRollupService.SpendBucket.totalCount(buckets, b -> b.hasStatus(ExpenseStatus.PENDING));
+            long rejectedCount = SpendRollupService.SpendBucket.totalCount(buckets, b -> b.hasStatus(ExpenseStatus.REJECTED));
             
             BigDecimal averageAmount = totalCount > 0 ? 
                     totalAmount.divide(BigDecimal.valueOf(totalCount), 2, RoundingMode.HALF_UP) : 
@@ -176,15 +182,9 @@ public class DashboardServiceImpl implements DashboardService {
             // Calculate previous period for comparison
             LocalDate prevStartDate = startDate.minusMonths(1);
             LocalDate prevEndDate = endDate.minusMonths(1);
-            LocalDateTime prevStartDateTime = prevStartDate.atStartOfDay();
-            LocalDateTime prevEndDateTime = prevEndDate.plusDays(1).atStartOfDay();
             
-            List<Expense> prevExpenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                    user.getId(), prevStartDateTime, prevEndDateTime);
-            
-            BigDecimal prevTotalAmount = prevExpenses.stream()
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal prevTotalAmount = SpendRollupService.SpendBucket.totalAmount(
+                    spendRollupService.getUserSpend(user.getId(), prevStartDate, prevEndDate), b -> true);
             
             BigDecimal changePercentage = BigDecimal.ZERO;
             if (prevTotalAmount.compareTo(BigDecimal.ZERO) > 0) {
@@ -222,16 +222,10 @@ public class DashboardServiceImpl implements DashboardService {
                     .map(Budget::getTotalAmount)
                     .reduce(BigDecimal.ZERO, BigDecimal::add);
             
-            // Calculate spent amount from expenses
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+            // Calculate spent amount from the rollups
+            Map<Long, BigDecimal> approvedByCategory = getApprovedSpendByCategory(user.getId(), startDate, endDate);
             
-            List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                    user.getId(), startDateTime, endDateTime);
-            
-            BigDecimal totalSpent = expenses.stream()
-                    .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                    .map(Expense::getAmount)
+            BigDecimal totalSpent = approvedByCategory.values().stream()
                     .reduce(BigDecimal.ZERO, BigDecimal::add);
             
             BigDecimal remainingBudget = totalBudget.subtract(totalSpent);
@@ -246,11 +240,7 @@ public class DashboardServiceImpl implements DashboardService {
             
             long exceededBudgets = budgets.stream()
                     .mapToLong(b -> {
-                        BigDecimal budgetSpent = expenses.stream()
-                                .filter(e -> e.getCategory().getId().equals(b.getCategory().getId()))
-                                .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                                .map(Expense::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                        BigDecimal budgetSpent = approvedByCategory.getOrDefault(b.getCategoryId(), BigDecimal.ZERO);
                         return budgetSpent.compareTo(b.getTotalAmount()) > 0 ? 1 : 0;
                     })
                     .sum();
@@ -276,17 +266,14 @@ public class DashboardServiceImpl implements DashboardService {
             User user = userRepository.findByUsernameOrEmail(username)
                     .orElseThrow(() -> new RuntimeException("User not found: " + username));
             
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
-            
-            List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                    user.getId(), startDateTime, endDateTime);
+            Map<Long, BigDecimal> approvedByCategory = getApprovedSpendByCategory(user.getId(), startDate, endDate);
+            Map<Long, String> categoryNames = getCategoryNames(approvedByCategory.keySet());
             
-            Map<String, BigDecimal> categoryTotals = expenses.stream()
-                    .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                    .collect(Collectors.groupingBy(
-                            e -> e.getCategory().getName(),
-                            Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
+            Map<String, BigDecimal> categoryTotals = approvedByCategory.entrySet().stream()
+                    .collect(Collectors.toMap(
+                            entry -> categoryNames.getOrDefault(entry.getKey(), "Unknown"),
+                            Map.Entry::getValue,
+                            BigDecimal::add
                     ));
             
             long totalCategories = categoryTotals.size();
@@ -320,32 +307,22 @@ public class DashboardServiceImpl implements DashboardService {
             List<DashboardResponse.MonthlyExpense> monthlyData = new ArrayList<>();
             LocalDate currentDate = LocalDate.now();
             
+            // One query for the whole window instead of one per month
+            Map<LocalDate, SpendRollupService.SpendBucket> approvedByMonth = spendRollupService
+                    .getUserMonthlySpend(user.getId(), currentDate.minusMonths(months - 1), currentDate).stream()
+                    .filter(b -> b.hasStatus(ExpenseStatus.APPROVED))
+                    .collect(Collectors.toMap(SpendRollupService.SpendBucket::periodStart, b -> b));
+            
             for (int i = months - 1; i >= 0; i--) {
                 LocalDate targetDate = currentDate.minusMonths(i);
-                LocalDate startOfMonth = targetDate.withDayOfMonth(1);
-                LocalDate endOfMonth = targetDate.withDayOfMonth(targetDate.lengthOfMonth());
-                
-                LocalDateTime startDateTime = startOfMonth.atStartOfDay();
-                LocalDateTime endDateTime = endOfMonth.plusDays(1).atStartOfDay();
-                
-                List<Expense> monthExpenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                        user.getId(), startDateTime, endDateTime);
-                
-                BigDecimal totalAmount = monthExpenses.stream()
-                        .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                        .map(Expense::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                long expenseCount = monthExpenses.stream()
-                        .mapToLong(e -> ExpenseStatus.APPROVED.equals(e.getStatus()) ? 1 : 0)
-                        .sum();
+                SpendRollupService.SpendBucket bucket = approvedByMonth.get(targetDate.withDayOfMonth(1));
                 
                 monthlyData.add(new DashboardResponse.MonthlyExpense(
                         targetDate.format(DateTimeFormatter.ofPattern("yyyy-MM")),
                         targetDate.getMonth().name(),
                         targetDate.getYear(),
-                        totalAmount,
-                        expenseCount
+                        bucket != null ? bucket.amount() : BigDecimal.ZERO,
+                        bucket != null ? bucket.count() : 0L
                 ));
             }
             
@@ -363,26 +340,24 @@ public class DashboardServiceImpl implements DashboardService {
             User user = userRepository.findByUsernameOrEmail(username)
                     .orElseThrow(() -> new RuntimeException("User not found: " + username));
             
-            LocalDateTime startDateTime = startDate.atStartOfDay();
-            LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+            List<SpendRollupService.SpendBucket> approved = spendRollupService.getUserSpend(user.getId(), startDate, endDate).stream()
+                    .filter(b -> b.hasStatus(ExpenseStatus.APPROVED))
+                    .collect(Collectors.toList());
             
-            List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                    user.getId(), startDateTime, endDateTime);
+            Map<Long, String> categoryNames = getCategoryNames(approved.stream()
+                    .map(SpendRollupService.SpendBucket::categoryId)
+                    .collect(Collectors.toSet()));
             
-            Map<String, List<Expense>> categoryGroups = expenses.stream()
-                    .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                    .collect(Collectors.groupingBy(e -> e.getCategory().getName()));
+            Map<String, List<SpendRollupService.SpendBucket>> categoryGroups = approved.stream()
+                    .collect(Collectors.groupingBy(b -> categoryNames.getOrDefault(b.categoryId(), "Unknown")));
             
             return categoryGroups.entrySet().stream()
                     .map(entry -> {
                         String categoryName = entry.getKey();
-                        List<Expense> categoryExpenses = entry.getValue();
+                        List<SpendRollupService.SpendBucket> categoryBuckets = entry.getValue();
                         
-                        BigDecimal totalAmount = categoryExpenses.stream()
-                                .map(Expense::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                        
-                        long expenseCount = categoryExpenses.size();
+                        BigDecimal totalAmount = SpendRollupService.SpendBucket.totalAmount(categoryBuckets, b -> true);
+                        long expenseCount = SpendRollupService.SpendBucket.totalCount(categoryBuckets, b -> true);
                         
                         return new DashboardResponse.CategoryExpense(
                                 categoryName,
@@ -406,30 +381,23 @@ public class DashboardServiceImpl implements DashboardService {
             User user = userRepository.findByUsernameOrEmail(username)
                     .orElseThrow(() -> new RuntimeException("User not found: " + username));
             
+            // One query for the whole range instead of one per day
+            Map<LocalDate, SpendRollupService.SpendBucket> approvedByDay = spendRollupService
+                    .getUserDailySpend(user.getId(), startDate, endDate).stream()
+                    .filter(b -> b.hasStatus(ExpenseStatus.APPROVED))
+                    .collect(Collectors.toMap(SpendRollupService.SpendBucket::periodStart, b -> b));
+            
             List<DashboardResponse.DailyExpense> dailyData = new ArrayList<>();
             LocalDate currentDate = startDate;
             
             while (!currentDate.isAfter(endDate)) {
-                LocalDateTime startOfDay = currentDate.atStartOfDay();
-                LocalDateTime endOfDay = currentDate.plusDays(1).atStartOfDay();
-                
-                List<Expense> dayExpenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                        user.getId(), startOfDay, endOfDay);
-                
-                BigDecimal totalAmount = dayExpenses.stream()
-                        .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                        .map(Expense::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                long expenseCount = dayExpenses.stream()
-                        .mapToLong(e -> ExpenseStatus.APPROVED.equals(e.getStatus()) ? 1 : 0)
-                        .sum();
+                SpendRollupService.SpendBucket bucket = approvedByDay.get(currentDate);
                 
                 dailyData.add(new DashboardResponse.DailyExpense(
                         currentDate,
                         currentDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-                        totalAmount,
-                        expenseCount
+                        bucket != null ? bucket.amount() : BigDecimal.ZERO,
+                        bucket != null ? bucket.count() : 0L
                 ));
                 
                 currentDate = currentDate.plusDays(1);
@@ -538,19 +506,17 @@ public class DashboardServiceImpl implements DashboardService {
             LocalDate now = LocalDate.now();
             List<Budget> budgets = budgetRepository.findByUserIdAndIsActiveTrue(user.getId());
             
+            // Spent amounts for every budget's category come from one rollup query
+            Map<Long, BigDecimal> approvedByCategory = getApprovedSpendByCategory(
+                    user.getId(), now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()));
+            Map<Long, String> categoryNames = getCategoryNames(budgets.stream()
+                    .map(Budget::getCategoryId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()));
+            
             return budgets.stream()
                     .map(budget -> {
-                        // Calculate spent amount for this budget's category
-                        LocalDateTime startOfMonth = now.withDayOfMonth(1).atStartOfDay();
-                        LocalDateTime endOfMonth = now.withDayOfMonth(now.lengthOfMonth()).plusDays(1).atStartOfDay();
-                        
-                        List<Expense> categoryExpenses = expenseRepository.findByUserIdAndCategoryIdAndExpenseDateBetween(
-                                user.getId(), budget.getCategory().getId(), startOfMonth, endOfMonth);
-                        
-                        BigDecimal spentAmount = categoryExpenses.stream()
-                                .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                                .map(Expense::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                        BigDecimal spentAmount = approvedByCategory.getOrDefault(budget.getCategoryId(), BigDecimal.ZERO);
                         
                         BigDecimal remainingAmount = budget.getTotalAmount().subtract(spentAmount);
                         BigDecimal usedPercentage = budget.getTotalAmount().compareTo(BigDecimal.ZERO) > 0 ?
@@ -566,7 +532,7 @@ public class DashboardServiceImpl implements DashboardService {
                         
                         return new DashboardResponse.BudgetStatus(
                                 budget.getId(),
-                                budget.getCategory().getName(),
+                                categoryNames.get(budget.getCategoryId()),
                                 budget.getTotalAmount(),
                                 spentAmount,
                                 remainingAmount,
@@ -638,10 +604,11 @@ public class DashboardServiceImpl implements DashboardService {
             List<Expense> teamExpenses = expenseRepository.findByUserIdInAndExpenseDateBetween(
                     memberIds, startDateTime, endDateTime);
             
-            BigDecimal totalTeamExpenses = teamExpenses.stream()
+            CurrencyConverter converter = teamConverter(teamId);
+            List<Expense> approvedExpenses = teamExpenses.stream()
                     .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    .collect(Collectors.toList());
+            BigDecimal totalTeamExpenses = sumConverted(approvedExpenses, converter);
             
             long totalExpenseCount = teamExpenses.stream()
                     .mapToLong(e -> ExpenseStatus.APPROVED.equals(e.getStatus()) ? 1 : 0)
@@ -650,11 +617,10 @@ public class DashboardServiceImpl implements DashboardService {
             long activeMembersCount = teamMembers.size();
             
             // Find top spender
-            Map<String, BigDecimal> memberTotals = teamExpenses.stream()
-                    .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
+            Map<String, Long> memberTotals = approvedExpenses.stream()
                     .collect(Collectors.groupingBy(
                             e -> e.getUser().getUsername(),
-                            Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
+                            Collectors.summingLong(e -> toMinor(e, converter))
                     ));
             
             String topSpender = memberTotals.entrySet().stream()
@@ -682,16 +648,16 @@ public class DashboardServiceImpl implements DashboardService {
             List<TeamMember> teamMembers = teamMemberRepository.findByTeamId(teamId);
             LocalDateTime startDateTime = startDate.atStartOfDay();
             LocalDateTime endDateTime = endDate.plusDays(1).atStartOfDay();
+            CurrencyConverter converter = teamConverter(teamId);
             
             return teamMembers.stream()
                     .map(member -> {
                         List<Expense> memberExpenses = expenseRepository.findByUserIdAndExpenseDateBetween(
                                 member.getUser().getId(), startDateTime, endDateTime);
                         
-                        BigDecimal totalAmount = memberExpenses.stream()
+                        BigDecimal totalAmount = sumConverted(memberExpenses.stream()
                                 .filter(e -> ExpenseStatus.APPROVED.equals(e.getStatus()))
-                                .map(Expense::getAmount)
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
+                                .collect(Collectors.toList()), converter);
                         
                         long expenseCount = memberExpenses.stream()
                                 .mapToLong(e -> ExpenseStatus.APPROVED.equals(e.getStatus()) ? 1 : 0)
@@ -825,4 +791,46 @@ public class DashboardServiceImpl implements DashboardService {
             throw new RuntimeException("Failed to get yearly comparison", e);
         }
     }
-}
\ No newline at end of file
+
+    private Map<Long, BigDecimal> getApprovedSpendByCategory(Long userId, LocalDate startDate, LocalDate endDate) {
+        return spendRollupService.getUserSpend(userId, startDate, endDate).stream()
+                .filter(b -> b.hasStatus(ExpenseStatus.APPROVED))
+                .collect(Collectors.toMap(
+                        SpendRollupService.SpendBucket::categoryId,
+                        SpendRollupService.SpendBucket::amount,
+                        BigDecimal::add
+                ));
+    }
+
+    private Map<Long, String> getCategoryNames(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+    }
+
+    // Team totals are stated in the team's currency, each expense converted at its own date
+    private CurrencyConverter teamConverter(Long teamId) {
+        String currency = teamRepository.findById(teamId)
+                .map(Team::getCurrency)
+                .orElse(ExchangeRateTable.PIVOT_CURRENCY);
+        return exchangeRateService.converterTo(currency);
+    }
+
+    private long toMinor(Expense expense, CurrencyConverter converter) {
+        if (expense.getAmount() == null) {
+            return 0L;
+        }
+        LocalDate expenseDate = expense.getExpenseDate() != null ? expense.getExpenseDate() : LocalDate.now();
+        return converter.toTargetMinor(expense.getAmount(), expense.getCurrencyCode(), expenseDate);
+    }
+
+    private BigDecimal sumConverted(List<Expense> expenses, CurrencyConverter converter) {
+        long cents = 0;
+        for (Expense expense : expenses) {
+            cents += toMinor(expense, converter);
+        }
+        return converter.toAmount(cents);
+    }
+}
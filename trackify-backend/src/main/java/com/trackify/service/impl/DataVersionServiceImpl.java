@@ -0,0 +1,43 @@
+package com.trackify.service.impl;
+
+import com.trackify.repository.UserDataVersionRepository;
+import com.trackify.service.DataVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class DataVersionServiceImpl implements DataVersionService {
+
+    @Autowired
+    private UserDataVersionRepository userDataVersionRepository;
+
+    @Override
+    public void bump(Long userId) {
+        if (userId != null) {
+            userDataVersionRepository.increment(userId);
+        }
+    }
+
+    @Override
+    public void bump(Collection<Long> userIds) {
+        Set<Long> distinct = userIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinct.size() == 1) {
+            userDataVersionRepository.increment(distinct.iterator().next());
+        } else if (!distinct.isEmpty()) {
+            userDataVersionRepository.incrementAll(distinct);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getVersion(Long userId) {
+        return userDataVersionRepository.findVersion(userId).orElse(0L);
+    }
+}
@@ -1,13 +1,12 @@
 package com.trackify.service.impl;
-import java.io.ByteArrayInputStream;
 
 import com.trackify.dto.response.ReportResponse;
+import com.trackify.entity.EmailOutbox;
 import com.trackify.entity.Notification;
 import com.trackify.entity.User;
+import com.trackify.repository.EmailOutboxRepository;
 import com.trackify.repository.UserRepository;
 import com.trackify.service.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -15,15 +14,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -35,7 +32,7 @@ public class EmailServiceImpl implements EmailService {
 	private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
 
     @Autowired
-    private  JavaMailSender mailSender;
+    private EmailOutboxRepository emailOutboxRepository;
     
     @Autowired
     private UserRepository userRepository;
@@ -43,12 +40,6 @@ public class EmailServiceImpl implements EmailService {
     @Autowired
     private  TemplateEngine templateEngine;
     
-    @Value("${app.email.from-address:noreply@trackify.com}")
-    private String fromAddress;
-    
-    @Value("${app.email.from-name:Trackify Support}")
-    private String fromName;
-    
     @Value("${app.email.base-url:http://localhost:4200}")
     private String baseUrl;
     
@@ -377,64 +368,24 @@ public class EmailServiceImpl implements EmailService {
     
     @Override
     public void sendEmail(String to, String subject, String content) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromAddress);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(content);
-            
-            mailSender.send(message);
-            logger.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-        	logger.error("Failed to send email to: {}", to, e);
-            throw new RuntimeException("Failed to send email", e);
-        }
+        enqueue(to, subject, content, false, null, null, null);
     }
     
     @Override
     public void sendHtmlEmail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromAddress, fromName);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            
-            mailSender.send(message);
-            logger.info("HTML email sent successfully to: {}", to);
-        } catch (MessagingException e) {
-        	logger.error("Failed to send HTML email to: {}", to, e);
-            throw new RuntimeException("Failed to send HTML email", e);
-        } catch (Exception e) {
-        	logger.error("Unexpected error sending HTML email to: {}", to, e);
-            throw new RuntimeException("Failed to send HTML email", e);
-        }
+        enqueue(to, subject, htmlContent, true, null, null, null);
     }
     
     @Override
     public void sendEmailWithAttachment(String to, String subject, String content, String attachmentPath, String attachmentName) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromAddress, fromName);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(content);
+            // Attachment paths are often temp files, so the outbox keeps its own copy
+            byte[] attachment = Files.readAllBytes(Paths.get(attachmentPath));
+            String contentType = Files.probeContentType(Paths.get(attachmentPath));
             
-            FileSystemResource file = new FileSystemResource(new File(attachmentPath));
-            helper.addAttachment(attachmentName, file);
-            
-            mailSender.send(message);
-            logger.info("Email with attachment sent successfully to: {}", to);
-        } catch (MessagingException e) {
-        	logger.error("Failed to send email with attachment to: {}", to, e);
-            throw new RuntimeException("Failed to send email with attachment", e);
-        } catch (Exception e) {
-        	logger.error("Unexpected error sending email with attachment to: {}", to, e);
+            enqueue(to, subject, content, false, attachmentName, contentType, attachment);
+        } catch (IOException e) {
+        	logger.error("Failed to read attachment for email to: {}", to, e);
             throw new RuntimeException("Failed to send email with attachment", e);
         }
     }
@@ -457,27 +408,14 @@ public class EmailServiceImpl implements EmailService {
             
             String htmlContent = templateEngine.process("email/report", context);
             
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromAddress, fromName);
-            helper.setTo(email);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            
             // Attach the report file
             String fileName = String.format("%s-%s.%s", 
                 report.getReportName().replaceAll("\\s+", "-").toLowerCase(),
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmm")),
                 report.getFormat().toLowerCase());
             
-            helper.addAttachment(fileName, () -> new ByteArrayInputStream(reportFile));
-            
-            mailSender.send(message);
-            logger.info("Report email sent successfully to: {}", email);
-        } catch (MessagingException e) {
-            logger.error("Failed to send report email to: {}", email, e);
-            throw new RuntimeException("Failed to send report email", e);
+            enqueue(email, subject, htmlContent, true, fileName, reportContentType(report.getFormat()), reportFile);
+            logger.info("Report email queued for: {}", email);
         } catch (Exception e) {
             logger.error("Unexpected error sending report email to: {}", email, e);
             throw new RuntimeException("Failed to send report email", e);
@@ -655,14 +593,6 @@ public class EmailServiceImpl implements EmailService {
                 htmlContent = createScheduledReportFallbackContent(reportName, frequency, report);
             }
             
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromAddress, fromName);
-            helper.setTo(email);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            
             // Attach the report file
             String fileName = String.format("%s-%s-%s.%s", 
                 reportName.replaceAll("\\s+", "-").toLowerCase(),
@@ -670,10 +600,8 @@ public class EmailServiceImpl implements EmailService {
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")),
                 report.getFormat().toLowerCase());
             
-            helper.addAttachment(fileName, () -> new ByteArrayInputStream(reportFile));
-            
-            mailSender.send(message);
-            logger.info("Scheduled report email sent successfully to: {}", email);
+            enqueue(email, subject, htmlContent, true, fileName, reportContentType(report.getFormat()), reportFile);
+            logger.info("Scheduled report email queued for: {}", email);
             
         } catch (Exception e) {
             logger.error("Failed to send scheduled report email to: {}", email, e);
@@ -746,6 +674,44 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    /**
+     * Messages are not sent inline: they are written to the outbox and delivered
+     * in batches by EmailOutboxDispatcher, which also handles retries.
+     */
+    private void enqueue(String to, String subject, String content, boolean html,
+                         String attachmentName, String attachmentContentType, byte[] attachment) {
+        if (to == null || !to.contains("@")) {
+            throw new IllegalArgumentException("Invalid recipient address: " + to);
+        }
+        
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to.trim());
+        email.setRecipientDomain(to.substring(to.lastIndexOf('@') + 1).trim().toLowerCase());
+        email.setSubject(subject);
+        email.setBody(content);
+        email.setIsHtml(html);
+        email.setAttachmentName(attachmentName);
+        email.setAttachmentContentType(attachmentContentType);
+        email.setAttachment(attachment);
+        
+        emailOutboxRepository.save(email);
+        logger.debug("Email queued for: {}", to);
+    }
+    
+    private String reportContentType(String format) {
+        if (format == null) {
+            return null;
+        }
+        switch (format.toUpperCase()) {
+            case "PDF": return "application/pdf";
+            case "CSV": return "text/csv";
+            case "EXCEL":
+            case "XLSX": return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+            case "JSON": return "application/json";
+            default: return null;
+        }
+    }
+
     private String createScheduledReportFallbackContent(String reportName, String frequency, ReportResponse report) {
         StringBuilder content = new StringBuilder();
         content.append("<!DOCTYPE html>");
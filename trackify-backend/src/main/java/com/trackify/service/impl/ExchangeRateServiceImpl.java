@@ -0,0 +1,232 @@
+package com.trackify.service.impl;
+
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.currency.ExchangeRateTable;
+import com.trackify.dto.request.ExchangeRateRequest;
+import com.trackify.dto.response.ExchangeRateResponse;
+import com.trackify.entity.ExchangeRate;
+import com.trackify.exception.BadRequestException;
+import com.trackify.repository.ExchangeRateRepository;
+import com.trackify.repository.UserRepository;
+import com.trackify.service.ExchangeRateService;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the exchange_rates table in memory as an immutable {@link ExchangeRateTable}.
+ * Rates are written by admins or imported from a local CSV file, and every node reloads
+ * its copy when the table's latest updated_at changes. Converters are cached per target
+ * currency alongside the table they were built from, so their precomputed cross rates
+ * are reused until the next reload.
+ */
+@Service
+public class ExchangeRateServiceImpl implements ExchangeRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateServiceImpl.class);
+
+    private static final String SOURCE_ADMIN = "ADMIN";
+    private static final String SOURCE_FILE = "FILE";
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    // CSV with currency_code, effective_date and units_per_usd columns; empty disables the import
+    @Value("${app.currency.rates-file:}")
+    private String ratesFile;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile Rates rates = new Rates(ExchangeRateTable.empty(), null);
+
+    private record Rates(ExchangeRateTable table, LocalDateTime loadedUpdatedAt,
+                         Map<String, CurrencyConverter> converters) {
+
+        Rates(ExchangeRateTable table, LocalDateTime loadedUpdatedAt) {
+            this(table, loadedUpdatedAt, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public ExchangeRateTable getTable() {
+        return rates.table();
+    }
+
+    @Override
+    public CurrencyConverter converterTo(String currencyCode) {
+        Rates current = rates;
+        String code = StringUtils.hasText(currencyCode) ? currencyCode : ExchangeRateTable.PIVOT_CURRENCY;
+        return current.converters().computeIfAbsent(code, current.table()::converterTo);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getBaseCurrency(Long userId) {
+        return userRepository.findBaseCurrencyById(userId).orElse(ExchangeRateTable.PIVOT_CURRENCY);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CurrencyConverter converterForUser(Long userId) {
+        return converterTo(getBaseCurrency(userId));
+    }
+
+    @Override
+    public List<ExchangeRateResponse> getRates(LocalDate asOf, String baseCurrency) {
+        ExchangeRateTable table = rates.table();
+        CurrencyConverter converter = converterTo(baseCurrency);
+
+        TreeSet<String> currencies = new TreeSet<>(table.getCurrencies());
+        currencies.add(ExchangeRateTable.PIVOT_CURRENCY);
+
+        List<ExchangeRateResponse> responses = new ArrayList<>(currencies.size());
+        for (String currency : currencies) {
+            responses.add(new ExchangeRateResponse(currency, asOf, table.unitsPerUsd(currency, asOf),
+                    converter.convert(BigDecimal.ONE, currency, asOf)));
+        }
+        return responses;
+    }
+
+    @Override
+    @Transactional
+    public int saveRates(List<ExchangeRateRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one exchange rate is required");
+        }
+        for (ExchangeRateRequest request : requests) {
+            validate(request.getCurrencyCode(), request.getEffectiveDate(), request.getUnitsPerUsd());
+        }
+        for (ExchangeRateRequest request : requests) {
+            exchangeRateRepository.upsert(request.getCurrencyCode().toUpperCase(Locale.ROOT),
+                    request.getEffectiveDate(), request.getUnitsPerUsd(), SOURCE_ADMIN);
+        }
+        loadFromDatabase();
+
+        logger.info("Saved {} exchange rates", requests.size());
+        return requests.size();
+    }
+
+    @Override
+    @Transactional
+    public int importFromFile() {
+        if (!StringUtils.hasText(ratesFile)) {
+            return 0;
+        }
+        Resource resource = resourceLoader.getResource(ratesFile);
+        if (!resource.exists()) {
+            logger.warn("Exchange rates file {} does not exist", ratesFile);
+            return 0;
+        }
+
+        int imported = 0;
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8);
+             CSVParser parser = CSV_FORMAT.parse(reader)) {
+            for (CSVRecord record : parser) {
+                String currencyCode = record.get("currency_code").toUpperCase(Locale.ROOT);
+                LocalDate effectiveDate = parseDate(record.get("effective_date"), record.getRecordNumber());
+                BigDecimal unitsPerUsd = parseRate(record.get("units_per_usd"), record.getRecordNumber());
+                validate(currencyCode, effectiveDate, unitsPerUsd);
+
+                exchangeRateRepository.upsert(currencyCode, effectiveDate, unitsPerUsd, SOURCE_FILE);
+                imported++;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException("Could not read exchange rates file " + ratesFile + ": " + e.getMessage());
+        }
+        loadFromDatabase();
+
+        logger.info("Imported {} exchange rates from {}", imported, ratesFile);
+        return imported;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void loadFromDatabase() {
+        LocalDateTime updatedAt = exchangeRateRepository.findLatestUpdatedAt().orElse(null);
+        List<ExchangeRate> all = exchangeRateRepository.findAllByOrderByCurrencyCodeAscEffectiveDateAsc();
+        ExchangeRateTable table = ExchangeRateTable.of(all, versions.incrementAndGet());
+        rates = new Rates(table, updatedAt);
+
+        logger.info("Loaded {} exchange rates for {} currencies", all.size(), table.getCurrencies().size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshIfChanged() {
+        LocalDateTime updatedAt = exchangeRateRepository.findLatestUpdatedAt().orElse(null);
+        if (!Objects.equals(updatedAt, rates.loadedUpdatedAt())) {
+            loadFromDatabase();
+        }
+    }
+
+    private void validate(String currencyCode, LocalDate effectiveDate, BigDecimal unitsPerUsd) {
+        if (currencyCode == null || !currencyCode.matches("^[A-Za-z]{3}$")) {
+            throw new BadRequestException("Invalid currency code: " + currencyCode);
+        }
+        if (effectiveDate == null) {
+            throw new BadRequestException("Effective date is required for " + currencyCode);
+        }
+        if (unitsPerUsd == null || unitsPerUsd.signum() <= 0) {
+            throw new BadRequestException("Rate for " + currencyCode + " must be positive");
+        }
+        if (ExchangeRateTable.PIVOT_CURRENCY.equalsIgnoreCase(currencyCode) && unitsPerUsd.compareTo(BigDecimal.ONE) != 0) {
+            throw new BadRequestException("Rates are quoted against USD, the USD rate is always 1");
+        }
+    }
+
+    private LocalDate parseDate(String value, long recordNumber) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid effective_date on row " + recordNumber + ": " + value);
+        }
+    }
+
+    private BigDecimal parseRate(String value, long recordNumber) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid units_per_usd on row " + recordNumber + ": " + value);
+        }
+    }
+}
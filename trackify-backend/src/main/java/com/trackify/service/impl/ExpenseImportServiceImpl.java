@@ -0,0 +1,408 @@
+package com.trackify.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.trackify.dto.request.ExpenseRequest;
+import com.trackify.dto.response.ExpenseImportResponse;
+import com.trackify.entity.Expense;
+import com.trackify.enums.ExpenseStatus;
+import com.trackify.enums.ImportFormat;
+import com.trackify.enums.PaymentMethod;
+import com.trackify.exception.BadRequestException;
+import com.trackify.repository.ExpenseJdbcRepository;
+import com.trackify.service.DataVersionService;
+import com.trackify.service.ExpenseImportService;
+import com.trackify.service.SpendRollupService;
+import com.trackify.validator.ExpenseValidator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+public class ExpenseImportServiceImpl implements ExpenseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpenseImportServiceImpl.class);
+
+    // Imported rows enter the normal approval flow, they cannot arrive already approved
+    private static final Set<ExpenseStatus> IMPORTABLE_STATUSES = Set.of(ExpenseStatus.DRAFT, ExpenseStatus.PENDING);
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    @Autowired
+    private ExpenseJdbcRepository expenseJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ExpenseValidator expenseValidator;
+
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Rows per JDBC batch and per transaction
+    @Value("${app.expenses.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.expenses.import.max-rows:500000}")
+    private long maxRows;
+
+    @Value("${app.expenses.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${app.expenses.import.max-age-years:10}")
+    private int maxAgeYears;
+
+    @Override
+    public ExpenseImportResponse importExpenses(InputStream input, ImportFormat format, Long userId) {
+        logger.info("Starting {} expense import for user: {}", format.getDisplayName(), userId);
+
+        long startedAt = System.nanoTime();
+        ImportRun run = new ImportRun(userId, format,
+                expenseValidator.forImport(userId, LocalDate.now().minusYears(maxAgeYears)));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == ImportFormat.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Expense import for user {} stopped reading input: {}", userId, e.getMessage());
+            run.reject(run.lastLine + 1, "Could not read input: " + e.getMessage());
+        }
+        run.flush();
+
+        ExpenseImportResponse response = run.response;
+        long elapsedNanos = Math.max(System.nanoTime() - startedAt, 1);
+        response.setDurationMs(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(response.getTotalRows() * 1_000_000_000d / elapsedNanos);
+
+        logger.info("Imported {} of {} expense rows for user {} in {} ms ({} rows/s)",
+                response.getImportedRows(), response.getTotalRows(), userId, response.getDurationMs(),
+                Math.round(response.getRowsPerSecond()));
+        return response;
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        try (CSVParser parser = CSV_FORMAT.parse(reader)) {
+            for (CSVRecord record : parser) {
+                // Record numbers exclude the header line
+                long line = record.getRecordNumber() + 1;
+                if (!run.startRow(line)) {
+                    return;
+                }
+                try {
+                    run.accept(line, fromCsv(record, run.validator));
+                } catch (BadRequestException e) {
+                    run.reject(line, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        ObjectReader requestReader = objectMapper.readerFor(ExpenseRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (!StringUtils.hasText(text)) {
+                continue;
+            }
+            if (!run.startRow(line)) {
+                return;
+            }
+            try {
+                run.accept(line, fromJson(text, requestReader, run.validator));
+            } catch (BadRequestException e) {
+                run.reject(line, e.getMessage());
+            }
+        }
+    }
+
+    private ExpenseRequest fromCsv(CSVRecord record, ExpenseValidator.ImportRowValidator validator) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setTitle(column(record, "title"));
+        request.setDescription(column(record, "description"));
+        request.setAmount(parseDecimal(column(record, "amount"), "amount"));
+        request.setExpenseDate(parseDate(column(record, "expenseDate"), "expenseDate"));
+
+        String category = column(record, "category");
+        request.setCategoryId(validator.resolveCategoryId(category != null ? category : column(record, "categoryId")));
+
+        request.setCurrencyCode(column(record, "currencyCode"));
+        request.setPaymentMethod(parseEnum(PaymentMethod.class, column(record, "paymentMethod"), "paymentMethod"));
+        request.setMerchantName(column(record, "merchantName"));
+        request.setLocation(column(record, "location"));
+        request.setTags(column(record, "tags"));
+        request.setNotes(column(record, "notes"));
+        request.setReferenceNumber(column(record, "referenceNumber"));
+        request.setTeamId(parseLong(column(record, "teamId"), "teamId"));
+        request.setIsBusinessExpense(parseBoolean(column(record, "isBusinessExpense"), "isBusinessExpense"));
+        request.setIsReimbursable(parseBoolean(column(record, "isReimbursable"), "isReimbursable"));
+        request.setStatus(parseEnum(ExpenseStatus.class, column(record, "status"), "status"));
+        return request;
+    }
+
+    private ExpenseRequest fromJson(String text, ObjectReader requestReader, ExpenseValidator.ImportRowValidator validator) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                throw new BadRequestException("Each line must be a JSON object");
+            }
+            // "category" may carry a name instead of categoryId, it is not a request field
+            JsonNode category = ((ObjectNode) node).remove("category");
+            ExpenseRequest request = requestReader.readValue(node);
+            if (request.getCategoryId() == null && category != null && !category.isNull()) {
+                request.setCategoryId(validator.resolveCategoryId(category.asText()));
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid JSON: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String column(CSVRecord record, String name) {
+        if (!record.isMapped(name) || !record.isSet(name)) {
+            return null;
+        }
+        String value = record.get(name);
+        return StringUtils.hasText(value) ? value : null;
+    }
+
+    private BigDecimal parseDecimal(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private Long parseLong(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private LocalDate parseDate(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + field + ", expected yyyy-MM-dd: " + value);
+        }
+    }
+
+    private Boolean parseBoolean(String value, String field) {
+        if (value == null) {
+            return false;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> true;
+            case "false", "no", "n", "0" -> false;
+            default -> throw new BadRequestException("Invalid " + field + ": " + value);
+        };
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private void normalize(ExpenseRequest request) {
+        if (request.getStatus() == null) {
+            request.setStatus(ExpenseStatus.PENDING);
+        }
+        if (!IMPORTABLE_STATUSES.contains(request.getStatus())) {
+            throw new BadRequestException("Imported expenses must be Draft or Pending, not " + request.getStatus().getDisplayName());
+        }
+        request.setCurrencyCode(StringUtils.hasText(request.getCurrencyCode())
+                ? request.getCurrencyCode().trim().toUpperCase(Locale.ROOT) : "USD");
+        if (request.getIsRecurring() == null) {
+            request.setIsRecurring(false);
+        }
+        if (request.getIsBusinessExpense() == null) {
+            request.setIsBusinessExpense(false);
+        }
+        if (request.getIsReimbursable() == null) {
+            request.setIsReimbursable(false);
+        }
+    }
+
+    private Expense toExpense(ExpenseRequest request, Long userId) {
+        Expense expense = new Expense();
+        expense.setTitle(request.getTitle().trim());
+        expense.setDescription(request.getDescription());
+        expense.setAmount(request.getAmount());
+        expense.setExpenseDate(request.getExpenseDate());
+        expense.setStatus(request.getStatus());
+        expense.setPaymentMethod(request.getPaymentMethod());
+        expense.setMerchantName(request.getMerchantName());
+        expense.setLocation(request.getLocation());
+        expense.setTags(request.getTags());
+        expense.setIsRecurring(request.getIsRecurring());
+        expense.setCurrencyCode(request.getCurrencyCode());
+        expense.setExchangeRate(request.getExchangeRate());
+        expense.setOriginalAmount(request.getOriginalAmount());
+        expense.setOriginalCurrency(request.getOriginalCurrency());
+        expense.setNotes(request.getNotes());
+        expense.setReferenceNumber(request.getReferenceNumber());
+        expense.setIsBusinessExpense(request.getIsBusinessExpense());
+        expense.setIsReimbursable(request.getIsReimbursable());
+        expense.setReimbursed(false);
+        expense.setUserId(userId);
+        expense.setCategoryId(request.getCategoryId());
+        expense.setTeamId(request.getTeamId());
+        expense.setProjectId(request.getProjectId());
+        return expense;
+    }
+
+    /**
+     * State of one import: the pending chunk, its source lines and the running totals
+     */
+    private final class ImportRun {
+
+        private final Long userId;
+        private final ExpenseValidator.ImportRowValidator validator;
+        private final ExpenseImportResponse response = new ExpenseImportResponse();
+        private final List<Expense> chunk = new ArrayList<>();
+        private final List<Long> chunkLines = new ArrayList<>();
+        private long lastLine;
+
+        private ImportRun(Long userId, ImportFormat format, ExpenseValidator.ImportRowValidator validator) {
+            this.userId = userId;
+            this.validator = validator;
+            response.setFormat(format);
+        }
+
+        private boolean startRow(long line) {
+            lastLine = line;
+            boolean overLimit = response.getTotalRows() >= maxRows;
+            // Counted either way, so importedRows + failedRows always adds up to totalRows
+            response.setTotalRows(response.getTotalRows() + 1);
+            if (overLimit) {
+                reject(line, "Row limit of " + maxRows + " reached, remaining rows were not read");
+                return false;
+            }
+            return true;
+        }
+
+        private void accept(long line, ExpenseRequest request) {
+            normalize(request);
+            String error = validator.validate(request);
+            if (error != null) {
+                reject(line, error);
+                return;
+            }
+
+            chunk.add(toExpense(request, userId));
+            chunkLines.add(line);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void reject(long line, String message) {
+            response.setFailedRows(response.getFailedRows() + 1);
+            if (response.getErrors().size() < maxReportedErrors) {
+                response.getErrors().add(new ExpenseImportResponse.RowError(line, message));
+            } else {
+                response.setErrorsTruncated(true);
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                insert(chunk);
+                response.setImportedRows(response.getImportedRows() + chunk.size());
+            } catch (DataAccessException e) {
+                logger.warn("Expense import chunk for user {} failed at lines {}-{}, retrying row by row: {}", userId,
+                        chunkLines.get(0), chunkLines.get(chunkLines.size() - 1), e.getMostSpecificCause().getMessage());
+
+                // Isolate the failing rows so they do not hold back the rest of the chunk
+                for (int i = 0; i < chunk.size(); i++) {
+                    try {
+                        insert(List.of(chunk.get(i)));
+                        response.setImportedRows(response.getImportedRows() + 1);
+                    } catch (DataAccessException rowError) {
+                        logger.debug("Expense import row {} for user {} failed", chunkLines.get(i), userId, rowError);
+                        reject(chunkLines.get(i), "Could not be saved: " + rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+
+        private void insert(List<Expense> expenses) {
+            // One transaction per insert, so the rows, rollups and cache version commit together
+            transactionTemplate.executeWithoutResult(status -> {
+                expenseJdbcRepository.batchInsert(expenses);
+                spendRollupService.recordAdded(expenses);
+                dataVersionService.bump(userId);
+            });
+        }
+    }
+}
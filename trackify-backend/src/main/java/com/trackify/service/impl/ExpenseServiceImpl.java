@@ -16,9 +16,15 @@ import com.itextpdf.text.Rectangle;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.currency.MoneyFormatter;
 import com.trackify.dto.request.ExpenseRequest;
+import com.trackify.dto.request.ExpenseSearchRequest;
+import com.trackify.dto.response.BulkOperationResponse;
 import com.trackify.dto.response.ExpenseResponse;
 import com.trackify.dto.response.ReceiptResponse;
+import com.trackify.dto.response.RecurringExpenseRuleResponse;
+import com.trackify.entity.AuditLog;
 import com.trackify.entity.Category;
 import com.trackify.entity.Expense;
 import com.trackify.entity.Receipt;
@@ -31,14 +37,21 @@ import com.trackify.repository.CategoryRepository;
 import com.trackify.repository.ExpenseRepository;
 import com.trackify.repository.ReceiptRepository;
 import com.trackify.repository.UserRepository;
+import com.trackify.service.AuditService;
+import com.trackify.service.DataVersionService;
+import com.trackify.service.ExchangeRateService;
 import com.trackify.service.ExpenseService;
+import com.trackify.service.RecurringExpenseService;
+import com.trackify.service.SpendRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -49,7 +62,6 @@ import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
-import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -66,6 +78,13 @@ public class ExpenseServiceImpl implements ExpenseService {
     
     private static final Logger logger = LoggerFactory.getLogger(ExpenseServiceImpl.class);
     
+    private static final int SEARCH_MAX_TERMS = 8;
+    private static final int SEARCH_FUZZY_TRIM = 2;
+    private static final BigDecimal SEARCH_MIN_AMOUNT = new BigDecimal("-9999999999.99");
+    private static final BigDecimal SEARCH_MAX_AMOUNT = new BigDecimal("9999999999.99");
+    private static final LocalDate SEARCH_MIN_DATE = LocalDate.of(1900, 1, 1);
+    private static final LocalDate SEARCH_MAX_DATE = LocalDate.of(9999, 12, 31);
+    
     @Autowired
     private ExpenseRepository expenseRepository;
     
@@ -82,6 +101,35 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Autowired
     private ModelMapper modelMapper;
     
+    @Autowired
+    private SpendRollupService spendRollupService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private RecurringExpenseService recurringExpenseService;
+    
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+    
+    @Autowired
+    private MoneyFormatter moneyFormatter;
+    
+    @Autowired
+    private AuditService auditService;
+    
+    // Ids per IN list for bulk operations, well below the prepared statement placeholder limits
+    @Value("${app.expenses.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+    
+    @Value("${app.expenses.bulk.max-ids:5000}")
+    private int bulkMaxIds;
+    
+    // Must match innodb_ft_min_token_size, shorter words are not in the full-text index
+    @Value("${app.expenses.search.min-token-length:3}")
+    private int searchMinTokenLength;
+    
     @Override
     public ExpenseResponse createExpense(ExpenseRequest expenseRequest, Long userId) {
         logger.info("Creating expense '{}' for user: {}", expenseRequest.getTitle(), userId);
@@ -92,6 +140,10 @@ public class ExpenseServiceImpl implements ExpenseService {
         // Create expense entity
         Expense expense = convertToEntity(expenseRequest, userId);
         Expense savedExpense = expenseRepository.save(expense);
+        spendRollupService.recordAdded(savedExpense);
+        dataVersionService.bump(savedExpense.getUserId());
+        auditService.record(AuditLog.ACTION_CREATE, AuditLog.ENTITY_EXPENSE, savedExpense.getId(),
+                "Created expense '" + savedExpense.getTitle() + "'");
         
         logger.info("Expense created successfully with id: {}", savedExpense.getId());
         return convertToResponse(savedExpense);
@@ -127,8 +179,13 @@ public class ExpenseServiceImpl implements ExpenseService {
         }
         
         // Update expense fields
+        SpendRollupService.Snapshot before = SpendRollupService.Snapshot.of(expense);
         updateExpenseFromRequest(expense, expenseRequest);
         Expense updatedExpense = expenseRepository.save(expense);
+        spendRollupService.recordChanged(before, SpendRollupService.Snapshot.of(updatedExpense));
+        dataVersionService.bump(updatedExpense.getUserId());
+        auditService.record(AuditLog.ACTION_UPDATE, AuditLog.ENTITY_EXPENSE, expenseId,
+                "Updated expense '" + updatedExpense.getTitle() + "'");
         
         logger.info("Expense updated successfully: {}", expenseId);
         return convertToResponse(updatedExpense);
@@ -147,7 +204,11 @@ public class ExpenseServiceImpl implements ExpenseService {
             throw new ForbiddenException("This expense cannot be deleted");
         }
         
+        spendRollupService.recordRemoved(expense);
         expenseRepository.deleteById(expenseId);
+        dataVersionService.bump(expense.getUserId());
+        auditService.record(AuditLog.ACTION_DELETE, AuditLog.ENTITY_EXPENSE, expenseId,
+                "Deleted expense '" + expense.getTitle() + "'");
         logger.info("Expense deleted successfully: {}", expenseId);
     }
     
@@ -162,7 +223,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Transactional(readOnly = true)
     public Page<ExpenseResponse> getUserExpensesPaginated(Long userId, Pageable pageable) {
         Page<Expense> expenses = expenseRepository.findByUserId(userId, pageable);
-        return expenses.map(this::convertToResponse);
+        return convertToResponsePage(expenses);
     }
     
     @Override
@@ -176,7 +237,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Transactional(readOnly = true)
     public Page<ExpenseResponse> getExpensesByCategoryPaginated(Long categoryId, Long userId, Pageable pageable) {
         Page<Expense> expenses = expenseRepository.findByUserIdAndCategoryId(userId, categoryId, pageable);
-        return expenses.map(this::convertToResponse);
+        return convertToResponsePage(expenses);
     }
     
     @Override
@@ -190,7 +251,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Transactional(readOnly = true)
     public Page<ExpenseResponse> getExpensesByStatusPaginated(Long userId, ExpenseStatus status, Pageable pageable) {
         Page<Expense> expenses = expenseRepository.findByUserIdAndStatus(userId, status, pageable);
-        return expenses.map(this::convertToResponse);
+        return convertToResponsePage(expenses);
     }
     
     @Override
@@ -204,7 +265,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Transactional(readOnly = true)
     public Page<ExpenseResponse> getExpensesByDateRangePaginated(Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
         Page<Expense> expenses = expenseRepository.findByUserIdAndDateRange(userId, startDate, endDate, pageable);
-        return expenses.map(this::convertToResponse);
+        return convertToResponsePage(expenses);
     }
     
     @Override
@@ -217,8 +278,75 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Override
     @Transactional(readOnly = true)
     public Page<ExpenseResponse> searchExpenses(Long userId, String keyword, Pageable pageable) {
-        Page<Expense> expenses = expenseRepository.searchByKeyword(userId, keyword, pageable);
-        return expenses.map(this::convertToResponse);
+        return searchExpenses(userId, new ExpenseSearchRequest(keyword), pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ExpenseResponse> searchExpenses(Long userId, ExpenseSearchRequest request, Pageable pageable) {
+        if (!StringUtils.hasText(request.getKeyword())) {
+            throw new BadRequestException("Search keyword is required");
+        }
+        
+        List<String> terms = toSearchTerms(request.getKeyword());
+        if (terms.isEmpty()) {
+            // Only words too short for the full-text index, scan with LIKE as before
+            return convertToResponsePage(searchByKeyword(userId, request, pageable));
+        }
+        
+        // Ranking decides the order, so only the page window is taken from the caller
+        Pageable window = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<Expense> expenses = searchFullText(userId, request, requireAllPrefixes(terms), window);
+        if (expenses.getTotalElements() == 0 && request.isFuzzy()) {
+            expenses = searchFullText(userId, request, matchAnyStem(terms), window);
+        }
+        return convertToResponsePage(expenses);
+    }
+    
+    private Page<Expense> searchByKeyword(Long userId, ExpenseSearchRequest request, Pageable pageable) {
+        return expenseRepository.searchByKeyword(userId, request.getKeyword().trim(),
+                request.getCategoryId() != null ? request.getCategoryId() : 0L,
+                request.getMinAmount() != null ? request.getMinAmount() : SEARCH_MIN_AMOUNT,
+                request.getMaxAmount() != null ? request.getMaxAmount() : SEARCH_MAX_AMOUNT,
+                request.getStartDate() != null ? request.getStartDate() : SEARCH_MIN_DATE,
+                request.getEndDate() != null ? request.getEndDate() : SEARCH_MAX_DATE,
+                pageable);
+    }
+    
+    private Page<Expense> searchFullText(Long userId, ExpenseSearchRequest request, String query, Pageable pageable) {
+        return expenseRepository.searchFullText(userId, query,
+                request.getCategoryId() != null ? request.getCategoryId() : 0L,
+                request.getMinAmount() != null ? request.getMinAmount() : SEARCH_MIN_AMOUNT,
+                request.getMaxAmount() != null ? request.getMaxAmount() : SEARCH_MAX_AMOUNT,
+                request.getStartDate() != null ? request.getStartDate() : SEARCH_MIN_DATE,
+                request.getEndDate() != null ? request.getEndDate() : SEARCH_MAX_DATE,
+                pageable);
+    }
+    
+    /**
+     * Splits the keyword into words the full-text parser indexes; boolean mode
+     * operators are dropped so user input cannot change the query structure
+     */
+    private List<String> toSearchTerms(String keyword) {
+        List<String> terms = new ArrayList<>();
+        for (String word : keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= searchMinTokenLength && !terms.contains(word) && terms.size() < SEARCH_MAX_TERMS) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+    
+    // Every word must match, each as a prefix: "uber lunch" finds "Uber Eats lunches"
+    private String requireAllPrefixes(List<String> terms) {
+        return terms.stream().map(term -> "+" + term + "*").collect(Collectors.joining(" "));
+    }
+    
+    // Typo tolerance: any word may match on a shortened stem, more matching words rank higher
+    private String matchAnyStem(List<String> terms) {
+        return terms.stream()
+                .map(term -> term.substring(0, Math.max(searchMinTokenLength, term.length() - SEARCH_FUZZY_TRIM)) + "*")
+                .collect(Collectors.joining(" "));
     }
     
     @Override
@@ -232,7 +360,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Transactional(readOnly = true)
     public Page<ExpenseResponse> getTeamExpensesPaginated(Long teamId, Pageable pageable) {
         Page<Expense> expenses = expenseRepository.findByTeamId(teamId, pageable);
-        return expenses.map(this::convertToResponse);
+        return convertToResponsePage(expenses);
     }
     
     @Override
@@ -246,7 +374,11 @@ public class ExpenseServiceImpl implements ExpenseService {
             throw new BadRequestException("Only pending expenses can be approved");
         }
         
+        spendRollupService.recordStatusChange(expense, ExpenseStatus.APPROVED);
         expenseRepository.approveExpense(expenseId, approvedBy, LocalDateTime.now());
+        dataVersionService.bump(Arrays.asList(expense.getUserId(), approvedBy));
+        
+        auditService.record(AuditLog.ACTION_APPROVE, AuditLog.ENTITY_EXPENSE, expenseId, "Approved expense");
         
         Expense updatedExpense = expenseRepository.findById(expenseId).orElseThrow();
         logger.info("Expense approved successfully: {}", expenseId);
@@ -265,7 +397,12 @@ public class ExpenseServiceImpl implements ExpenseService {
             throw new BadRequestException("Only pending expenses can be rejected");
         }
         
+        spendRollupService.recordStatusChange(expense, ExpenseStatus.REJECTED);
         expenseRepository.rejectExpense(expenseId, rejectedBy, LocalDateTime.now(), rejectionReason);
+        dataVersionService.bump(Arrays.asList(expense.getUserId(), rejectedBy));
+        
+        auditService.record(AuditLog.ACTION_REJECT, AuditLog.ENTITY_EXPENSE, expenseId,
+                "Rejected expense: " + rejectionReason);
         
         Expense updatedExpense = expenseRepository.findById(expenseId).orElseThrow();
         logger.info("Expense rejected successfully: {}", expenseId);
@@ -310,6 +447,7 @@ public class ExpenseServiceImpl implements ExpenseService {
         expense.setReimbursed(true);
         expense.setReimbursedDate(LocalDate.now());
         Expense updatedExpense = expenseRepository.save(expense);
+        dataVersionService.bump(updatedExpense.getUserId());
         
         logger.info("Expense marked as reimbursed: {}", expenseId);
         return convertToResponse(updatedExpense);
@@ -386,19 +524,27 @@ public class ExpenseServiceImpl implements ExpenseService {
     @Override
     @Transactional(readOnly = true)
     public List<ExpenseResponse> getRecurringExpenses(Long userId) {
-        List<Expense> expenses = expenseRepository.findByUserIdOrderByExpenseDateDesc(userId)
-                .stream()
-                .filter(expense -> expense.getIsRecurring())
-                .collect(Collectors.toList());
+        List<Expense> expenses = expenseRepository.findByUserIdAndIsRecurringTrueOrderByExpenseDateDesc(userId);
         return convertToResponseList(expenses);
     }
     
     @Override
-    public void createRecurringExpense(ExpenseRequest expenseRequest, Long userId) {
-        // Implementation for creating recurring expenses
-        // This would typically involve scheduling logic
-        logger.info("Creating recurring expense for user: {}", userId);
-        createExpense(expenseRequest, userId);
+    public RecurringExpenseRuleResponse createRecurringExpense(ExpenseRequest expenseRequest, Long userId) {
+        logger.info("Creating recurring expense '{}' for user: {}", expenseRequest.getTitle(), userId);
+        
+        validateCategoryAccess(expenseRequest.getCategoryId(), userId);
+        return recurringExpenseService.createRule(expenseRequest, userId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringExpenseRuleResponse> getRecurringExpenseRules(Long userId) {
+        return recurringExpenseService.getRules(userId);
+    }
+    
+    @Override
+    public void deactivateRecurringExpenseRule(Long ruleId, Long userId) {
+        recurringExpenseService.deactivateRule(ruleId, userId);
     }
     
     @Override
@@ -432,29 +578,117 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
     
     @Override
-    public void deleteMultipleExpenses(List<Long> expenseIds, Long userId) {
+    public BulkOperationResponse deleteMultipleExpenses(List<Long> expenseIds, Long userId) {
         logger.info("Deleting {} expenses for user: {}", expenseIds.size(), userId);
         
-        for (Long expenseId : expenseIds) {
-            validateExpenseAccess(expenseId, userId);
-            if (canUserDeleteExpense(expenseId, userId)) {
-                expenseRepository.deleteById(expenseId);
+        BulkOperationResponse response = new BulkOperationResponse();
+        for (List<Long> chunk : toBulkChunks(expenseIds)) {
+            Map<Long, Expense> expenses = loadForUpdate(chunk);
+            List<Expense> deletable = new ArrayList<>();
+            
+            for (Long expenseId : chunk) {
+                Expense expense = expenses.get(expenseId);
+                if (expense == null) {
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.NOT_FOUND, "Expense not found");
+                } else if (!expense.getUserId().equals(userId)) {
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.FORBIDDEN, "You don't have access to this expense");
+                } else if (!expense.canBeDeleted()) {
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.NOT_ALLOWED,
+                            "Expense with status " + expense.getStatus().getDisplayName() + " cannot be deleted");
+                } else {
+                    deletable.add(expense);
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.DELETED, null);
+                }
+            }
+            
+            if (!deletable.isEmpty()) {
+                spendRollupService.recordRemoved(deletable);
+                expenseRepository.deleteByIds(deletable.stream().map(Expense::getId).toList());
+                // One record per expense, as deleteExpense writes; the writer batches them
+                for (Expense expense : deletable) {
+                    auditService.record(AuditLog.ACTION_DELETE, AuditLog.ENTITY_EXPENSE, expense.getId(),
+                            "Deleted expense '" + expense.getTitle() + "' in a bulk delete");
+                }
             }
         }
+        if (response.getSucceeded() > 0) {
+            dataVersionService.bump(userId);
+        }
         
-        logger.info("Bulk delete completed for user: {}", userId);
+        logger.info("Bulk delete completed for user: {} ({} deleted, {} failed)", userId, response.getSucceeded(), response.getFailed());
+        return response;
     }
     
     @Override
-    public void updateMultipleExpenseStatus(List<Long> expenseIds, ExpenseStatus status, Long userId) {
+    public BulkOperationResponse updateMultipleExpenseStatus(List<Long> expenseIds, ExpenseStatus status, Long userId) {
         logger.info("Updating status for {} expenses to {} for user: {}", expenseIds.size(), status, userId);
         
-        for (Long expenseId : expenseIds) {
-            validateExpenseAccess(expenseId, userId);
-            expenseRepository.updateStatus(expenseId, status);
+        BulkOperationResponse response = new BulkOperationResponse();
+        boolean changed = false;
+        for (List<Long> chunk : toBulkChunks(expenseIds)) {
+            Map<Long, Expense> expenses = loadForUpdate(chunk);
+            List<Expense> updatable = new ArrayList<>();
+            
+            for (Long expenseId : chunk) {
+                Expense expense = expenses.get(expenseId);
+                if (expense == null) {
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.NOT_FOUND, "Expense not found");
+                } else if (!expense.getUserId().equals(userId)) {
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.FORBIDDEN, "You don't have access to this expense");
+                } else if (expense.getStatus() == status) {
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.UNCHANGED, null);
+                } else {
+                    updatable.add(expense);
+                    response.addResult(expenseId, BulkOperationResponse.Outcome.UPDATED, null);
+                }
+            }
+            
+            if (!updatable.isEmpty()) {
+                // Described before the update, while the loaded expenses still hold their old status
+                List<String> descriptions = updatable.stream()
+                        .map(expense -> "Changed status of expense '" + expense.getTitle() + "' from "
+                                + expense.getStatus().getDisplayName() + " to " + status.getDisplayName()
+                                + " in a bulk update")
+                        .toList();
+                spendRollupService.recordStatusChange(updatable, status);
+                expenseRepository.updateStatusByIds(updatable.stream().map(Expense::getId).toList(), status);
+                for (int i = 0; i < updatable.size(); i++) {
+                    auditService.record(AuditLog.ACTION_UPDATE, AuditLog.ENTITY_EXPENSE, updatable.get(i).getId(),
+                            descriptions.get(i));
+                }
+                changed = true;
+            }
+        }
+        if (changed) {
+            dataVersionService.bump(userId);
+        }
+        
+        logger.info("Bulk status update completed for user: {} ({} succeeded, {} failed)", userId, response.getSucceeded(), response.getFailed());
+        return response;
+    }
+    
+    /**
+     * Splits the requested ids into IN-list sized chunks, dropping duplicates and nulls
+     */
+    private List<List<Long>> toBulkChunks(List<Long> expenseIds) {
+        if (expenseIds == null || expenseIds.isEmpty()) {
+            throw new BadRequestException("At least one expense id is required");
+        }
+        List<Long> distinctIds = expenseIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.size() > bulkMaxIds) {
+            throw new BadRequestException("A bulk operation can include at most " + bulkMaxIds + " expenses");
         }
         
-        logger.info("Bulk status update completed for user: {}", userId);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += bulkChunkSize) {
+            chunks.add(distinctIds.subList(from, Math.min(from + bulkChunkSize, distinctIds.size())));
+        }
+        return chunks;
+    }
+    
+    private Map<Long, Expense> loadForUpdate(List<Long> expenseIds) {
+        return expenseRepository.findAllByIdForUpdate(expenseIds).stream()
+                .collect(Collectors.toMap(Expense::getId, expense -> expense));
     }
     
     @Override
@@ -527,6 +761,8 @@ public class ExpenseServiceImpl implements ExpenseService {
             
             logger.info("Successfully exported {} expenses to CSV for user: {}, total size: {} bytes", 
                     expenses.size(), userId, csvBytes.length);
+            auditService.record(AuditLog.ACTION_EXPORT, AuditLog.ENTITY_EXPENSE, null,
+                    "Exported " + expenses.size() + " expenses to CSV from " + startDate + " to " + endDate);
             
             return csvBytes;
             
@@ -552,6 +788,10 @@ public class ExpenseServiceImpl implements ExpenseService {
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
             
+            // Totals are stated in the user's base currency
+            CurrencyConverter converter = exchangeRateService.converterTo(user.getBaseCurrency());
+            String totalCurrency = converter.getTargetCurrency();
+            
             // Create PDF document
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             Document document = new Document(PageSize.A4.rotate()); // Landscape for better table display
@@ -612,7 +852,7 @@ public class ExpenseServiceImpl implements ExpenseService {
                 }
                 
                 // Add expense data
-                BigDecimal totalAmount = BigDecimal.ZERO;
+                long totalCents = 0;
                 
                 for (Expense expense : expenses) {
                     // Date
@@ -626,8 +866,8 @@ public class ExpenseServiceImpl implements ExpenseService {
                             smallFont, Element.ALIGN_LEFT);
                     
                     // Amount
-                    String amountText = expense.getAmount() != null ? 
-                            NumberFormat.getCurrencyInstance(Locale.US).format(expense.getAmount()) : "$0.00";
+                    String amountText = moneyFormatter.format(
+                            expense.getAmount() != null ? expense.getAmount() : BigDecimal.ZERO, expense.getCurrencyCode());
                     addCellToTable(expenseTable, amountText, smallFont, Element.ALIGN_RIGHT);
                     
                     // Currency
@@ -659,12 +899,11 @@ public class ExpenseServiceImpl implements ExpenseService {
                             smallFont, Element.ALIGN_LEFT);
                     
                     // Add to total
-                    if (expense.getAmount() != null) {
-                        totalAmount = totalAmount.add(expense.getAmount());
-                    }
+                    totalCents += toMinor(expense, converter);
                 }
                 
                 document.add(expenseTable);
+                BigDecimal totalAmount = converter.toAmount(totalCents);
                 
                 // Add summary section
                 PdfPTable summaryTable = new PdfPTable(2);
@@ -673,22 +912,22 @@ public class ExpenseServiceImpl implements ExpenseService {
                 summaryTable.setSpacingBefore(20);
                 
                 addCellToTable(summaryTable, "Total Amount:", headerFont, Element.ALIGN_RIGHT);
-                addCellToTable(summaryTable, NumberFormat.getCurrencyInstance(Locale.US).format(totalAmount), 
+                addCellToTable(summaryTable, moneyFormatter.format(totalAmount, totalCurrency), 
                         headerFont, Element.ALIGN_RIGHT);
                 
                 // Calculate average
                 BigDecimal averageAmount = expenses.size() > 0 ? 
-                        totalAmount.divide(BigDecimal.valueOf(expenses.size()), 2, RoundingMode.HALF_UP) : 
+                        totalAmount.divide(BigDecimal.valueOf(expenses.size()), totalAmount.scale(), RoundingMode.HALF_UP) : 
                         BigDecimal.ZERO;
                 
                 addCellToTable(summaryTable, "Average Amount:", normalFont, Element.ALIGN_RIGHT);
-                addCellToTable(summaryTable, NumberFormat.getCurrencyInstance(Locale.US).format(averageAmount), 
+                addCellToTable(summaryTable, moneyFormatter.format(averageAmount, totalCurrency), 
                         normalFont, Element.ALIGN_RIGHT);
                 
                 document.add(summaryTable);
                 
                 // Add category breakdown if there are expenses
-                addCategoryBreakdown(document, expenses, headerFont, normalFont);
+                addCategoryBreakdown(document, expenses, converter, headerFont, normalFont);
             }
             
             // Add footer
@@ -705,6 +944,8 @@ public class ExpenseServiceImpl implements ExpenseService {
             
             logger.info("Successfully exported {} expenses to PDF for user: {}, total size: {} bytes", 
                     expenses.size(), userId, pdfBytes.length);
+            auditService.record(AuditLog.ACTION_EXPORT, AuditLog.ENTITY_EXPENSE, null,
+                    "Exported " + expenses.size() + " expenses to PDF from " + startDate + " to " + endDate);
             
             return pdfBytes;
             
@@ -767,7 +1008,8 @@ public class ExpenseServiceImpl implements ExpenseService {
         table.addCell(cell);
     }
 
-    private void addCategoryBreakdown(Document document, List<Expense> expenses, Font headerFont, Font normalFont) 
+    private void addCategoryBreakdown(Document document, List<Expense> expenses, CurrencyConverter converter,
+                                      Font headerFont, Font normalFont) 
             throws DocumentException {
         
         // Group expenses by category
@@ -794,32 +1036,22 @@ public class ExpenseServiceImpl implements ExpenseService {
         addCellToTable(categoryTable, "Total Amount", headerFont, Element.ALIGN_RIGHT);
         
         // Sort categories by total amount (descending)
+        Map<String, Long> categoryCents = new HashMap<>();
+        categoryGroups.forEach((name, group) -> categoryCents.put(name,
+                group.stream().mapToLong(expense -> toMinor(expense, converter)).sum()));
         List<Map.Entry<String, List<Expense>>> sortedCategories = categoryGroups.entrySet().stream()
-                .sorted((e1, e2) -> {
-                    BigDecimal total1 = e1.getValue().stream()
-                            .map(Expense::getAmount)
-                            .filter(amount -> amount != null)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    BigDecimal total2 = e2.getValue().stream()
-                            .map(Expense::getAmount)
-                            .filter(amount -> amount != null)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return total2.compareTo(total1);
-                })
+                .sorted((e1, e2) -> Long.compare(categoryCents.get(e2.getKey()), categoryCents.get(e1.getKey())))
                 .collect(Collectors.toList());
         
         for (Map.Entry<String, List<Expense>> entry : sortedCategories) {
             String categoryName = entry.getKey();
             List<Expense> categoryExpenses = entry.getValue();
             
-            BigDecimal categoryTotal = categoryExpenses.stream()
-                    .map(Expense::getAmount)
-                    .filter(amount -> amount != null)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal categoryTotal = converter.toAmount(categoryCents.get(categoryName));
             
             addCellToTable(categoryTable, categoryName, normalFont, Element.ALIGN_LEFT);
             addCellToTable(categoryTable, String.valueOf(categoryExpenses.size()), normalFont, Element.ALIGN_CENTER);
-            addCellToTable(categoryTable, NumberFormat.getCurrencyInstance(Locale.US).format(categoryTotal), 
+            addCellToTable(categoryTable, moneyFormatter.format(categoryTotal, converter.getTargetCurrency()), 
                     normalFont, Element.ALIGN_RIGHT);
         }
         
@@ -899,17 +1131,52 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
     
     private ExpenseResponse convertToResponse(Expense expense) {
+        return convertToResponseList(List.of(expense)).get(0);
+    }
+    
+    private Page<ExpenseResponse> convertToResponsePage(Page<Expense> expenses) {
+        return new PageImpl<>(convertToResponseList(expenses.getContent()), expenses.getPageable(),
+                expenses.getTotalElements());
+    }
+    
+    /**
+     * Converts expenses with a fixed number of queries: categories and receipts are each
+     * loaded once for all expenses, and the categories loaded here also resolve the lazy
+     * category ModelMapper reads.
+     */
+    private List<ExpenseResponse> convertToResponseList(List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, Category> categories = categoryRepository.findAllById(expenses.stream()
+                        .map(Expense::getCategoryId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Category::getId, category -> category));
+        
+        Map<Long, List<Receipt>> receiptsByExpense = receiptRepository.findByExpenseIdInOrderByCreatedAtAsc(
+                        expenses.stream().map(Expense::getId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.groupingBy(Receipt::getExpenseId));
+        
+        List<ExpenseResponse> responses = new ArrayList<>(expenses.size());
+        for (Expense expense : expenses) {
+            responses.add(convertToResponse(expense, categories.get(expense.getCategoryId()),
+                    receiptsByExpense.getOrDefault(expense.getId(), List.of())));
+        }
+        return responses;
+    }
+    
+    private ExpenseResponse convertToResponse(Expense expense, Category category, List<Receipt> receipts) {
         ExpenseResponse response = modelMapper.map(expense, ExpenseResponse.class);
         
-        // Get category information
-        categoryRepository.findById(expense.getCategoryId()).ifPresent(category -> {
+        // Set category information
+        if (category != null) {
             response.setCategoryName(category.getName());
             response.setCategoryColor(category.getColor());
             response.setCategoryIcon(category.getIcon());
-        });
+        }
         
-        // Get receipts
-        List<Receipt> receipts = receiptRepository.findByExpenseIdOrderByCreatedAtAsc(expense.getId());
+        // Set receipts
         List<ReceiptResponse> receiptResponses = receipts.stream()
                 .map(receipt -> {
                     ReceiptResponse receiptResponse = modelMapper.map(receipt, ReceiptResponse.class);
@@ -934,12 +1201,6 @@ public class ExpenseServiceImpl implements ExpenseService {
         return response;
     }
     
-    private List<ExpenseResponse> convertToResponseList(List<Expense> expenses) {
-        return expenses.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
-    }
-    
     private void validateCategoryAccess(Long categoryId, Long userId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
@@ -962,13 +1223,14 @@ public class ExpenseServiceImpl implements ExpenseService {
     }
     
     private String formatAmount(BigDecimal amount, String currencyCode) {
-        NumberFormat formatter = NumberFormat.getCurrencyInstance(Locale.US);
-        if ("USD".equals(currencyCode)) {
-            formatter.setCurrency(Currency.getInstance("USD"));
-        } else if ("EUR".equals(currencyCode)) {
-            formatter.setCurrency(Currency.getInstance("EUR"));
-        }
-        // Add more currencies as needed
-        return formatter.format(amount);
+        return moneyFormatter.format(amount, currencyCode);
+    }
+    
+    private long toMinor(Expense expense, CurrencyConverter converter) {
+        if (expense.getAmount() == null) {
+            return 0L;
+        }
+        LocalDate expenseDate = expense.getExpenseDate() != null ? expense.getExpenseDate() : LocalDate.now();
+        return converter.toTargetMinor(expense.getAmount(), expense.getCurrencyCode(), expenseDate);
     }
 }
\ No newline at end of file
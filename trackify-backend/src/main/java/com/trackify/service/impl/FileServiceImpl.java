@@ -2,20 +2,29 @@ package com.trackify.service.impl;
 
 import com.trackify.dto.response.ReceiptResponse;
 import com.trackify.entity.Receipt;
+import com.trackify.entity.StorageUsage;
 import com.trackify.enums.FileType;
 import com.trackify.exception.BadRequestException;
 import com.trackify.exception.ForbiddenException;
 import com.trackify.exception.ResourceNotFoundException;
 import com.trackify.repository.ReceiptRepository;
+import com.trackify.repository.StorageUsageRepository;
 import com.trackify.service.FileService;
+import com.trackify.service.ReceiptDerivativeService;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -44,6 +53,12 @@ public class FileServiceImpl implements FileService {
     @Autowired
     private ModelMapper modelMapper;
     
+    @Autowired
+    private ReceiptDerivativeService receiptDerivativeService;
+    
+    @Autowired
+    private StorageUsageRepository storageUsageRepository;
+    
     @Value("${app.file.upload-dir:uploads/}")
     private String uploadDirectory;
     
@@ -62,6 +77,7 @@ public class FileServiceImpl implements FileService {
     );
     
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final int MAX_LARGE_FILES_LIMIT = 1000;
     
     @Override
     public ReceiptResponse uploadReceipt(MultipartFile file, Long expenseId, Long userId) throws IOException {
@@ -93,17 +109,13 @@ public class FileServiceImpl implements FileService {
         receipt.setExpenseId(expenseId);
         receipt.setUploadedBy(userId);
         
-        // Generate thumbnail for images
-        if (receipt.isImage()) {
-            try {
-                String thumbnailUrl = generateThumbnail(filePath);
-                receipt.setThumbnailUrl(thumbnailUrl);
-            } catch (Exception e) {
-                logger.warn("Failed to generate thumbnail for receipt: {}", storedFilename, e);
-            }
-        }
-        
         Receipt savedReceipt = receiptRepository.save(receipt);
+        recordStorageDelta(userId, file.getSize(), 1);
+        
+        // Thumbnails and previews are generated once the receipt row is committed
+        if (savedReceipt.isImage() || savedReceipt.isPdf()) {
+            scheduleDerivatives(savedReceipt.getId());
+        }
         
         logger.info("Receipt uploaded successfully with id: {}", savedReceipt.getId());
         return convertToResponse(savedReceipt);
@@ -127,7 +139,7 @@ public class FileServiceImpl implements FileService {
     
     @Override
     @Transactional(readOnly = true)
-    public byte[] downloadReceipt(Long receiptId, Long userId) throws IOException {
+    public Resource downloadReceipt(Long receiptId, Long userId) throws IOException {
         Receipt receipt = receiptRepository.findById(receiptId)
                 .orElseThrow(() -> new ResourceNotFoundException("Receipt not found with id: " + receiptId));
 
@@ -137,16 +149,16 @@ public class FileServiceImpl implements FileService {
         }
 
         Path filePath = Paths.get(receipt.getFilePath());
-        if (!Files.exists(filePath)) {
+        if (!Files.isReadable(filePath)) {
             throw new ResourceNotFoundException("Receipt file not found on disk");
         }
 
-        return Files.readAllBytes(filePath);
+        return new FileSystemResource(filePath);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public byte[] downloadReceiptByFilename(String filename, Long userId) throws IOException {
+    public Resource downloadReceiptByFilename(String filename, Long userId) throws IOException {
         Receipt receipt = receiptRepository.findByStoredFilename(filename)
                 .orElseThrow(() -> new ResourceNotFoundException("Receipt not found with filename: " + filename));
         
@@ -155,13 +167,44 @@ public class FileServiceImpl implements FileService {
     
     @Override
     @Transactional(readOnly = true)
-    public byte[] downloadReceiptByOriginalFilename(String originalFilename, Long userId) throws IOException {
+    public Resource downloadReceiptByOriginalFilename(String originalFilename, Long userId) throws IOException {
         Receipt receipt = receiptRepository.findByOriginalFilename(originalFilename)
                 .orElseThrow(() -> new ResourceNotFoundException("Receipt not found with filename: " + originalFilename));
 
         return downloadReceipt(receipt.getId(), userId);
     }
 
+    // No transaction: a render can take a while and must not hold a pooled connection meanwhile
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Resource downloadThumbnail(Long receiptId, Long userId) throws IOException {
+        Receipt receipt = findAccessibleReceipt(receiptId, userId);
+        
+        if (!receipt.isImage() && !receipt.isPdf()) {
+            throw new ResourceNotFoundException("No thumbnail available for receipt: " + receiptId);
+        }
+        
+        // Receipts uploaded before derivatives existed, or still queued, are generated on demand
+        Path thumbnail = receiptDerivativeService.getOrCreateThumbnail(
+                Paths.get(receipt.getFilePath()), receipt.getFileType());
+        
+        return new FileSystemResource(thumbnail);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Resource downloadPreview(Long receiptId, Long userId) throws IOException {
+        Receipt receipt = findAccessibleReceipt(receiptId, userId);
+        
+        if (!receipt.isPdf()) {
+            throw new BadRequestException("Previews are only available for PDF receipts");
+        }
+        
+        Path preview = receiptDerivativeService.getOrCreatePdfPreview(Paths.get(receipt.getFilePath()));
+        
+        return new FileSystemResource(preview);
+    }
+
     @Override
     public void deleteReceipt(Long receiptId, Long userId) throws IOException {
         logger.info("Deleting receipt {} by user: {}", receiptId, userId);
@@ -177,17 +220,12 @@ public class FileServiceImpl implements FileService {
         // Delete file from disk
         deleteFile(receipt.getFilePath());
         
-        // Delete thumbnail if exists
-        if (receipt.getThumbnailUrl() != null) {
-            try {
-                deleteFile(receipt.getThumbnailUrl());
-            } catch (Exception e) {
-                logger.warn("Failed to delete thumbnail for receipt: {}", receiptId, e);
-            }
-        }
+        // Delete thumbnail and preview if they exist
+        receiptDerivativeService.deleteDerivatives(Paths.get(receipt.getFilePath()));
         
         // Delete from database
         receiptRepository.deleteById(receiptId);
+        recordStorageDelta(receipt.getUploadedBy(), -sizeOf(receipt), -1);
         
         logger.info("Receipt deleted successfully: {}", receiptId);
     }
@@ -199,6 +237,7 @@ public class FileServiceImpl implements FileService {
             Files.delete(filePath);
             logger.info("Deleted file: {}", filename);
         }
+        receiptDerivativeService.deleteDerivatives(filePath);
     }
     
     @Override
@@ -352,13 +391,17 @@ public class FileServiceImpl implements FileService {
     }
     
     
-    //TODO generate Thumbnail  from the receipt uploaded
     @Override
     public String generateThumbnail(String filePath) throws IOException {
-        // Placeholder implementation for thumbnail generation
-        // In a real implementation, this would create image thumbnails
         logger.info("Generating thumbnail for file: {}", filePath);
-        return "/thumbnails/" + getFileExtension(filePath) + "_thumbnail.jpg";
+        Path original = Paths.get(filePath);
+        
+        // Thumbnails are served by receipt id, so the file has to belong to a stored receipt
+        Receipt receipt = receiptRepository.findByStoredFilename(original.getFileName().toString())
+                .orElseThrow(() -> new ResourceNotFoundException("No receipt stored for file: " + original.getFileName()));
+        
+        receiptDerivativeService.getOrCreateThumbnail(original, determineFileType(filePath, null));
+        return generateThumbnailUrl(String.valueOf(receipt.getId()));
     }
     
     @Override
@@ -404,26 +447,41 @@ public class FileServiceImpl implements FileService {
     @Override
     @Transactional(readOnly = true)
     public long getTotalStorageUsed() {
-        Long total = receiptRepository.getTotalStorageUsed();
-        return total != null ? total : 0L;
+        return storageUsageRepository.sumBytesUsed();
     }
     
     @Override
     @Transactional(readOnly = true)
     public long getUserStorageUsed(Long userId) {
-        Long total = receiptRepository.getTotalStorageUsedByUser(userId);
-        return total != null ? total : 0L;
+        return storageUsageRepository.findById(userId)
+                .map(StorageUsage::getBytesUsed)
+                .orElse(0L);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<ReceiptResponse> getLargeFiles(long sizeThreshold) {
-        List<Receipt> receipts = receiptRepository.findLargeReceipts(sizeThreshold);
+    public List<ReceiptResponse> getLargeFiles(long sizeThreshold, int limit) {
+        if (limit < 1 || limit > MAX_LARGE_FILES_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LARGE_FILES_LIMIT);
+        }
+        
+        List<Receipt> receipts = receiptRepository.findByFileSizeGreaterThanOrderByFileSizeDesc(
+                sizeThreshold, PageRequest.of(0, limit));
         return receipts.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public void reconcileStorageUsage() {
+        logger.info("Reconciling storage usage counters");
+        
+        int users = storageUsageRepository.reconcileUserUsage();
+        int emptied = storageUsageRepository.resetEmptyUserUsage();
+        
+        logger.info("Storage usage reconciled: {} user counters refreshed, {} reset", users, emptied);
+    }
+    
     @Override
     public String generateFileUrl(String filename) {
         return "/api/files/receipts/" + filename;
@@ -486,6 +544,42 @@ public class FileServiceImpl implements FileService {
     
     // Private helper methods
     
+    private Receipt findAccessibleReceipt(Long receiptId, Long userId) {
+        Receipt receipt = receiptRepository.findById(receiptId)
+                .orElseThrow(() -> new ResourceNotFoundException("Receipt not found with id: " + receiptId));
+        
+        // Validate access
+        if (!receipt.getUploadedBy().equals(userId)) {
+            throw new ForbiddenException("You don't have access to this receipt");
+        }
+        
+        return receipt;
+    }
+    
+    private void recordStorageDelta(Long userId, long bytes, int files) {
+        storageUsageRepository.addUsage(userId, bytes, files);
+    }
+    
+    private long sizeOf(Receipt receipt) {
+        return receipt.getFileSize() != null ? receipt.getFileSize() : 0L;
+    }
+    
+    private void scheduleDerivatives(Long receiptId) {
+        String thumbnailUrl = generateThumbnailUrl(String.valueOf(receiptId));
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            receiptDerivativeService.generateDerivativesAsync(receiptId, thumbnailUrl);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                receiptDerivativeService.generateDerivativesAsync(receiptId, thumbnailUrl);
+            }
+        });
+    }
+    
     private ReceiptResponse convertToResponse(Receipt receipt) {
         ReceiptResponse response = modelMapper.map(receipt, ReceiptResponse.class);
         response.setDisplaySize(receipt.getDisplaySize());
@@ -15,6 +15,7 @@ import com.trackify.service.EmailService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -49,6 +50,11 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private EmailService emailService;
 
+    // Undelivered notifications older than this are left alone, which keeps the delivery
+    // queries on the most recent monthly partitions
+    @Value("${app.notifications.delivery-window-days:7}")
+    private int deliveryWindowDays;
+
     // In-memory template storage (in production, use database)
     private final Map<String, NotificationTemplate> templates = new ConcurrentHashMap<>();
     
@@ -766,11 +772,12 @@ public class NotificationServiceImpl implements NotificationService {
         LocalDateTime now = LocalDateTime.now();
         
         // Process email notifications
-        List<Notification> emailQueue = notificationRepository.findNotificationsNeedingEmail(now);
+        LocalDateTime createdAfter = now.minusDays(deliveryWindowDays);
+        List<Notification> emailQueue = notificationRepository.findNotificationsNeedingEmail(createdAfter, now);
         emailQueue.forEach(notification -> sendEmailNotification(notification.getId()));
         
         // Process push notifications
-        List<Notification> pushQueue = notificationRepository.findNotificationsNeedingPush(now);
+        List<Notification> pushQueue = notificationRepository.findNotificationsNeedingPush(createdAfter, now);
         pushQueue.forEach(notification -> sendPushNotification(notification.getId()));
         
         logger.info("Processed {} email and {} push notifications", emailQueue.size(), pushQueue.size());
@@ -781,7 +788,8 @@ public class NotificationServiceImpl implements NotificationService {
         LocalDateTime retryBefore = LocalDateTime.now().minusHours(1);
         LocalDateTime now = LocalDateTime.now();
         
-        List<Notification> retryList = notificationRepository.findNotificationsForRetry(retryBefore, now);
+        List<Notification> retryList = notificationRepository.findNotificationsForRetry(
+                now.minusDays(deliveryWindowDays), retryBefore, now);
         
         for (Notification notification : retryList) {
             if (notification.canRetry()) {
@@ -876,7 +884,7 @@ public class NotificationServiceImpl implements NotificationService {
     public List<Notification> findNotificationsForRetry() {
         LocalDateTime retryBefore = LocalDateTime.now().minusHours(1);
         LocalDateTime now = LocalDateTime.now();
-        return notificationRepository.findNotificationsForRetry(retryBefore, now);
+        return notificationRepository.findNotificationsForRetry(now.minusDays(deliveryWindowDays), retryBefore, now);
     }
 
     @Override
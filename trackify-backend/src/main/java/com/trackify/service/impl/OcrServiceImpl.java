@@ -1,10 +1,13 @@
 package com.trackify.service.impl;
 
 import com.trackify.service.OcrService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,6 +17,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -25,7 +29,13 @@ public class OcrServiceImpl implements OcrService {
     private static final Logger logger = LoggerFactory.getLogger(OcrServiceImpl.class);
     
     @Autowired
-    private Tesseract tesseract;
+    private ObjectProvider<Tesseract> tesseractProvider;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // One engine per thread so receipts can be OCR'd in parallel on the OCR executor
+    private final ThreadLocal<Tesseract> tesseract = ThreadLocal.withInitial(() -> tesseractProvider.getObject());
     
     // Store configuration values to avoid calling non-existent getter methods
     private String configuredLanguage = "eng";
@@ -87,7 +97,7 @@ public class OcrServiceImpl implements OcrService {
             BufferedImage processedImage = preprocessImage(image);
             
             // Extract text using Tesseract
-            String extractedText = tesseract.doOCR(processedImage);
+            String extractedText = doOcr(tesseract.get(), processedImage, "text");
             
             // Clean and validate extracted text
             String cleanedText = cleanExtractedText(extractedText);
@@ -126,7 +136,7 @@ public class OcrServiceImpl implements OcrService {
             BufferedImage processedImage = preprocessImage(image);
             
             // Extract text
-            String extractedText = tesseract.doOCR(processedImage);
+            String extractedText = doOcr(tesseract.get(), processedImage, "confidence");
             String cleanedText = cleanExtractedText(extractedText);
             
             // Calculate confidence based on text quality
@@ -224,7 +234,7 @@ public class OcrServiceImpl implements OcrService {
             g.drawString("TEST", 20, 30);
             g.dispose();
             
-            String result = tesseract.doOCR(testImage);
+            String result = tesseract.get().doOCR(testImage);
             return result != null && result.trim().length() > 0;
             
         } catch (Exception e) {
@@ -310,7 +320,7 @@ public class OcrServiceImpl implements OcrService {
             receiptTesseract.setPageSegMode(6); // Single uniform block
             receiptTesseract.setOcrEngineMode(1); // LSTM only
             
-            String extractedText = receiptTesseract.doOCR(processedImage);
+            String extractedText = doOcr(receiptTesseract, processedImage, "receipt");
             return cleanExtractedText(extractedText);
             
         } catch (Exception e) {
@@ -319,6 +329,27 @@ public class OcrServiceImpl implements OcrService {
         }
     }
     
+    /**
+     * Run Tesseract, recording the time it took as trackify.ocr.duration
+     */
+    private String doOcr(Tesseract engine, BufferedImage image, String mode) throws TesseractException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String text = engine.doOCR(image);
+            outcome = "success";
+            return text;
+        } finally {
+            sample.stop(Timer.builder("trackify.ocr.duration")
+                    .description("Tesseract OCR time per image")
+                    .tag("mode", mode)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(60))
+                    .register(meterRegistry));
+        }
+    }
+    
     @Override
     public String cleanExtractedText(String rawText) {
         if (rawText == null) {
@@ -0,0 +1,105 @@
+package com.trackify.service.impl;
+
+import com.trackify.repository.PartitionJdbcRepository;
+import com.trackify.service.PartitionMaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PartitionMaintenanceServiceImpl implements PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceServiceImpl.class);
+
+    private static final String AUDIT_LOGS_TABLE = "audit_logs";
+    private static final String NOTIFICATIONS_TABLE = "notifications";
+
+    @Autowired
+    private PartitionJdbcRepository partitionJdbcRepository;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.audit.retention-days:365}")
+    private int auditRetentionDays;
+
+    @Value("${app.cleanup.notification-retention-days:90}")
+    private int notificationRetentionDays;
+
+    @Override
+    public int createFuturePartitions() {
+        return createFuturePartitions(AUDIT_LOGS_TABLE) + createFuturePartitions(NOTIFICATIONS_TABLE);
+    }
+
+    @Override
+    public int dropExpiredAuditPartitions() {
+        return dropPartitionsBefore(AUDIT_LOGS_TABLE, LocalDateTime.now().minusDays(auditRetentionDays));
+    }
+
+    @Override
+    public int dropExpiredNotificationPartitions() {
+        return dropPartitionsBefore(NOTIFICATIONS_TABLE, LocalDateTime.now().minusDays(notificationRetentionDays));
+    }
+
+    private int createFuturePartitions(String table) {
+        List<PartitionJdbcRepository.Partition> partitions = partitionJdbcRepository.findPartitions(table);
+        if (partitions.isEmpty()) {
+            logger.debug("Table {} is not partitioned, skipping partition creation", table);
+            return 0;
+        }
+        boolean hasFuturePartition = partitions.stream()
+                .anyMatch(partition -> PartitionJdbcRepository.FUTURE_PARTITION.equals(partition.name()));
+        if (!hasFuturePartition) {
+            logger.warn("Table {} has no {} partition, cannot add monthly partitions",
+                    table, PartitionJdbcRepository.FUTURE_PARTITION);
+            return 0;
+        }
+
+        // Months are split off in order, starting where the last bounded partition ends
+        LocalDate next = partitions.stream()
+                .map(PartitionJdbcRepository.Partition::lessThan)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .map(LocalDateTime::toLocalDate)
+                .orElse(LocalDate.now().withDayOfMonth(1));
+        LocalDate horizon = LocalDate.now().withDayOfMonth(1).plusMonths(monthsAhead + 1L);
+
+        List<LocalDate> months = new ArrayList<>();
+        for (LocalDate month = next; month.isBefore(horizon); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        if (months.isEmpty()) {
+            return 0;
+        }
+
+        partitionJdbcRepository.addMonthlyPartitions(table, months);
+        logger.info("Added {} monthly partitions to {} starting {}", months.size(), table, next);
+        return months.size();
+    }
+
+    private int dropPartitionsBefore(String table, LocalDateTime cutoff) {
+        // A partition goes only once every row it can hold is older than the cutoff
+        List<String> expired = partitionJdbcRepository.findPartitions(table).stream()
+                .filter(partition -> partition.lessThan() != null && !partition.lessThan().isAfter(cutoff))
+                .map(PartitionJdbcRepository.Partition::name)
+                .toList();
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        partitionJdbcRepository.dropPartitions(table, expired);
+        logger.info("Dropped {} partitions from {} older than {}: {}", expired.size(), table, cutoff, expired);
+        return expired.size();
+    }
+}
@@ -0,0 +1,325 @@
+package com.trackify.service.impl;
+
+import com.trackify.entity.Receipt;
+import com.trackify.enums.FileType;
+import com.trackify.repository.ReceiptRepository;
+import com.trackify.service.ReceiptDerivativeService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class ReceiptDerivativeServiceImpl implements ReceiptDerivativeService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReceiptDerivativeServiceImpl.class);
+    
+    private static final String THUMBNAIL_SUFFIX = ".thumb.jpg";
+    private static final String PREVIEW_SUFFIX = ".preview.png";
+    
+    @Autowired
+    private ReceiptRepository receiptRepository;
+    
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.file.thumbnail-size:320}")
+    private int thumbnailSize;
+    
+    @Value("${app.file.thumbnail-quality:0.8}")
+    private float thumbnailQuality;
+    
+    @Value("${app.file.preview-dpi:96}")
+    private float previewDpi;
+    
+    @Value("${app.file.derivative-timeout-ms:10000}")
+    private long derivativeTimeoutMs;
+    
+    // Renders in progress, keyed by target file, so a burst of requests for one receipt renders it once
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    
+    /**
+     * Runs without a surrounding transaction: the receipt is read, the render holds no connection,
+     * and only the thumbnail_url update opens a short transaction of its own
+     */
+    @Override
+    @Async("taskExecutor")
+    public void generateDerivativesAsync(Long receiptId, String thumbnailUrl) {
+        Receipt receipt = receiptRepository.findById(receiptId).orElse(null);
+        
+        if (receipt == null) {
+            logger.warn("Receipt {} no longer exists, skipping derivatives", receiptId);
+            return;
+        }
+        
+        if (!receipt.isImage() && !receipt.isPdf()) {
+            return;
+        }
+        
+        long startTime = System.currentTimeMillis();
+        Path original = Paths.get(receipt.getFilePath());
+        
+        try {
+            if (receipt.isPdf()) {
+                createPdfPreview(original);
+            }
+            createThumbnail(original, receipt.getFileType());
+            
+            Integer updated = transactionTemplate.execute(status ->
+                    receiptRepository.updateThumbnailUrl(receiptId, thumbnailUrl));
+            if (updated == null || updated == 0) {
+                // Deleted while rendering, possibly before these files existed for its delete to remove
+                logger.debug("Receipt {} was deleted while generating derivatives", receiptId);
+                deleteDerivatives(original);
+                return;
+            }
+            
+            logger.debug("Generated derivatives for receipt {} in {}ms", 
+                        receiptId, System.currentTimeMillis() - startTime);
+            
+        } catch (Exception e) {
+            logger.warn("Failed to generate derivatives for receipt: {}", receiptId, e);
+        }
+    }
+    
+    @Override
+    public Path createThumbnail(Path original, FileType fileType) throws IOException {
+        BufferedImage source;
+        
+        if (fileType == FileType.PDF) {
+            // Reuse the preview when it is already on disk rather than rendering again
+            Path preview = getPreviewPath(original);
+            source = Files.exists(preview) ? ImageIO.read(preview.toFile()) : renderFirstPage(original);
+        } else {
+            source = readSubsampled(original, thumbnailSize);
+        }
+        
+        if (source == null) {
+            throw new IOException("Unsupported image format: " + original.getFileName());
+        }
+        
+        BufferedImage thumbnail = scaleToFit(source, thumbnailSize);
+        Path target = getThumbnailPath(original);
+        writeAtomically(target, tmp -> writeJpeg(thumbnail, tmp));
+        
+        return target;
+    }
+    
+    @Override
+    public Path createPdfPreview(Path original) throws IOException {
+        BufferedImage page = renderFirstPage(original);
+        Path target = getPreviewPath(original);
+        writeAtomically(target, tmp -> ImageIO.write(page, "png", tmp.toFile()));
+        
+        return target;
+    }
+    
+    @Override
+    public Path getOrCreateThumbnail(Path original, FileType fileType) throws IOException {
+        Path target = getThumbnailPath(original);
+        return Files.exists(target) ? target : render(target, () -> createThumbnail(original, fileType));
+    }
+    
+    @Override
+    public Path getOrCreatePdfPreview(Path original) throws IOException {
+        Path target = getPreviewPath(original);
+        return Files.exists(target) ? target : render(target, () -> createPdfPreview(original));
+    }
+    
+    @Override
+    public Path getThumbnailPath(Path original) {
+        return original.resolveSibling(original.getFileName() + THUMBNAIL_SUFFIX);
+    }
+    
+    @Override
+    public Path getPreviewPath(Path original) {
+        return original.resolveSibling(original.getFileName() + PREVIEW_SUFFIX);
+    }
+    
+    @Override
+    public void deleteDerivatives(Path original) {
+        for (Path derivative : new Path[] { getThumbnailPath(original), getPreviewPath(original) }) {
+            try {
+                Files.deleteIfExists(derivative);
+            } catch (IOException e) {
+                logger.warn("Failed to delete derivative: {}", derivative, e);
+            }
+        }
+    }
+    
+    // Private helper methods
+    
+    /**
+     * Run a render on the task executor, joining one already in flight for the same target,
+     * and wait at most app.file.derivative-timeout-ms for it
+     */
+    private Path render(Path target, DerivativeRender render) throws IOException {
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> future = inFlight.putIfAbsent(target, created);
+        
+        if (future == null) {
+            future = created;
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        created.complete(render.create());
+                    } catch (Throwable t) {
+                        created.completeExceptionally(t);
+                    } finally {
+                        inFlight.remove(target, created);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(target, created);
+                throw new IOException("Too many derivatives being generated, try again later", e);
+            }
+        }
+        
+        try {
+            return future.get(derivativeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The render keeps going and the next request will find the file on disk
+            throw new IOException("Timed out generating " + target.getFileName(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating " + target.getFileName(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Failed to generate " + target.getFileName(), e.getCause());
+        }
+    }
+    
+    private BufferedImage renderFirstPage(Path pdf) throws IOException {
+        try (PDDocument document = PDDocument.load(pdf.toFile())) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IOException("PDF has no pages: " + pdf.getFileName());
+            }
+            return new PDFRenderer(document).renderImageWithDPI(0, previewDpi, ImageType.RGB);
+        }
+    }
+    
+    /**
+     * Decode only every n-th pixel of large photos so a 12MP receipt photo
+     * never has to be fully decoded just to produce a thumbnail
+     */
+    private BufferedImage readSubsampled(Path file, int targetSize) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longestSide / (targetSize * 2));
+                
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+    
+    private BufferedImage scaleToFit(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        
+        // JPEG has no alpha channel, so flatten onto white
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = scaled.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, width, height);
+        g2.drawImage(source, 0, 0, width, height, null);
+        g2.dispose();
+        
+        return scaled;
+    }
+    
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(thumbnailQuality);
+            
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+    
+    /**
+     * Write to a temp file and move it into place, so the cached endpoint never serves a partial image
+     */
+    private void writeAtomically(Path target, ImageWriteAction action) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), ".derivative-", ".tmp");
+        try {
+            action.write(tmp);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface ImageWriteAction {
+        void write(Path target) throws IOException;
+    }
+    
+    @FunctionalInterface
+    private interface DerivativeRender {
+        Path create() throws IOException;
+    }
+}
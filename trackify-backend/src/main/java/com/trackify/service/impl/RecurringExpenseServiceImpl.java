@@ -0,0 +1,291 @@
+package com.trackify.service.impl;
+
+import com.trackify.dto.request.ExpenseRequest;
+import com.trackify.dto.response.RecurringExpenseRuleResponse;
+import com.trackify.entity.Expense;
+import com.trackify.entity.RecurringExpenseRule;
+import com.trackify.enums.ExpenseStatus;
+import com.trackify.exception.BadRequestException;
+import com.trackify.exception.ResourceNotFoundException;
+import com.trackify.repository.ExpenseJdbcRepository;
+import com.trackify.repository.RecurringExpenseRuleRepository;
+import com.trackify.service.DataVersionService;
+import com.trackify.service.RecurringExpenseService;
+import com.trackify.service.SpendRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring expenses are stored as rules and materialized into ordinary expenses once
+ * each occurrence is due. The scheduler walks due rules in keyset pages and handles each
+ * page in one transaction: every rule is advanced with a compare-and-set on its occurrence
+ * count, so a rule claimed by another node is skipped, and the generated expenses are
+ * written in one JDBC batch. The unique key on (recurring_rule_id, recurring_occurrence_date)
+ * makes the insert itself idempotent as a last line of defence.
+ */
+@Service
+public class RecurringExpenseServiceImpl implements RecurringExpenseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecurringExpenseServiceImpl.class);
+
+    @Autowired
+    private RecurringExpenseRuleRepository ruleRepository;
+
+    @Autowired
+    private ExpenseJdbcRepository expenseJdbcRepository;
+
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Rules per keyset page and per transaction
+    @Value("${app.expenses.recurring.batch-size:500}")
+    private int batchSize;
+
+    // Occurrences generated per rule and run; a long backlog is worked off over several runs
+    @Value("${app.expenses.recurring.max-catch-up:60}")
+    private int maxCatchUp;
+
+    @Override
+    @Transactional
+    public RecurringExpenseRuleResponse createRule(ExpenseRequest request, Long userId) {
+        if (request.getRecurrenceFrequency() == null) {
+            throw new BadRequestException("Recurrence frequency is required for recurring expenses");
+        }
+        if (request.getRecurrenceEndDate() != null && request.getRecurrenceEndDate().isBefore(request.getExpenseDate())) {
+            throw new BadRequestException("Recurrence end date cannot be before the first occurrence");
+        }
+
+        RecurringExpenseRule rule = new RecurringExpenseRule();
+        rule.setUserId(userId);
+        rule.setCategoryId(request.getCategoryId());
+        rule.setTeamId(request.getTeamId());
+        rule.setTitle(request.getTitle().trim());
+        rule.setDescription(request.getDescription());
+        rule.setAmount(request.getAmount());
+        rule.setCurrencyCode(StringUtils.hasText(request.getCurrencyCode())
+                ? request.getCurrencyCode().toUpperCase(Locale.ROOT) : "USD");
+        rule.setPaymentMethod(request.getPaymentMethod());
+        rule.setMerchantName(request.getMerchantName());
+        rule.setNotes(request.getNotes());
+        rule.setTags(request.getTags());
+        rule.setIsBusinessExpense(Boolean.TRUE.equals(request.getIsBusinessExpense()));
+        rule.setIsReimbursable(Boolean.TRUE.equals(request.getIsReimbursable()));
+        rule.setFrequency(request.getRecurrenceFrequency());
+        rule.setStartDate(request.getExpenseDate());
+        rule.setEndDate(request.getRecurrenceEndDate());
+        rule.setMaxOccurrences(request.getRecurrenceMaxOccurrences());
+        RecurringExpenseRule savedRule = ruleRepository.save(rule);
+
+        // The rule is not visible to other nodes yet, so its due occurrences are generated
+        // here without a claim, and the managed entity is advanced directly
+        Plan plan = plan(savedRule, LocalDate.now());
+        savedRule.setOccurrencesGenerated(plan.generated());
+        savedRule.setNextOccurrenceDate(plan.nextDate());
+        savedRule.setIsActive(plan.active());
+        savedRule.setLastGeneratedAt(LocalDateTime.now());
+        insertOccurrences(plan.expenses());
+
+        logger.info("Created {} recurring expense rule {} for user {} with {} occurrences due",
+                savedRule.getFrequency().getDisplayName(), savedRule.getId(), userId, plan.expenses().size());
+        return toResponse(savedRule);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringExpenseRuleResponse> getRules(Long userId) {
+        return ruleRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void deactivateRule(Long ruleId, Long userId) {
+        if (ruleRepository.deactivate(ruleId, userId) == 0) {
+            throw new ResourceNotFoundException("Recurring expense rule not found with id: " + ruleId);
+        }
+        logger.info("Deactivated recurring expense rule {} for user {}", ruleId, userId);
+    }
+
+    @Override
+    public int materializeDueOccurrences() {
+        LocalDate today = LocalDate.now();
+        // Whole seconds, so a rule advanced during this run never stores an earlier time
+        LocalDateTime runStartedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDate afterDate = LocalDate.of(1970, 1, 1);
+        Long afterId = 0L;
+        int created = 0;
+        int pages = 0;
+
+        while (true) {
+            List<RecurringExpenseRule> page = ruleRepository.findDue(today, afterDate, afterId, runStartedAt,
+                    PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            pages++;
+            created += materializePage(page, today);
+
+            // The cursor is the last rule's position as read. Rules advanced in this page may
+            // now sort after it while still due (more than maxCatchUp behind); findDue leaves
+            // them out, so each rule gets at most maxCatchUp occurrences per run and the rest
+            // on the next run. Rules that failed keep their position before the cursor.
+            RecurringExpenseRule last = page.get(page.size() - 1);
+            afterDate = last.getNextOccurrenceDate();
+            afterId = last.getId();
+            if (page.size() < batchSize) {
+                break;
+            }
+        }
+
+        if (created > 0) {
+            logger.info("Materialized {} recurring expenses from {} pages of due rules", created, pages);
+        }
+        return created;
+    }
+
+    private int materializePage(List<RecurringExpenseRule> rules, LocalDate today) {
+        try {
+            return transactionTemplate.execute(status -> claimAndInsert(rules, today));
+        } catch (Exception e) {
+            logger.warn("Recurring expense page of {} rules failed, retrying rule by rule: {}", rules.size(), e.getMessage());
+        }
+
+        // Isolate the failing rule so it does not hold back the rest of the page
+        int created = 0;
+        for (RecurringExpenseRule rule : rules) {
+            try {
+                created += transactionTemplate.execute(status -> claimAndInsert(List.of(rule), today));
+            } catch (Exception e) {
+                logger.error("Failed to materialize recurring expense rule {}, it stays due", rule.getId(), e);
+            }
+        }
+        return created;
+    }
+
+    private int claimAndInsert(List<RecurringExpenseRule> rules, LocalDate today) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Expense> expenses = new ArrayList<>();
+        for (RecurringExpenseRule rule : rules) {
+            Plan plan = plan(rule, today);
+            int claimed = ruleRepository.advance(rule.getId(), rule.getOccurrencesGenerated(),
+                    plan.generated(), plan.nextDate(), plan.active(), now);
+            if (claimed == 1) {
+                expenses.addAll(plan.expenses());
+            } else {
+                logger.debug("Recurring expense rule {} was advanced concurrently, skipping", rule.getId());
+            }
+        }
+        return insertOccurrences(expenses);
+    }
+
+    private int insertOccurrences(List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return 0;
+        }
+        int[] counts = expenseJdbcRepository.batchInsertIgnoringDuplicates(expenses);
+
+        List<Expense> inserted = new ArrayList<>(expenses.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                inserted.add(expenses.get(i));
+            }
+        }
+        if (inserted.isEmpty()) {
+            return 0;
+        }
+        spendRollupService.recordAdded(inserted);
+        Set<Long> userIds = inserted.stream().map(Expense::getUserId).collect(Collectors.toSet());
+        dataVersionService.bump(userIds);
+        return inserted.size();
+    }
+
+    /**
+     * Occurrences of a rule due on or before today, capped at maxCatchUp, and the position
+     * the rule moves to afterwards
+     */
+    private Plan plan(RecurringExpenseRule rule, LocalDate today) {
+        List<Expense> expenses = new ArrayList<>();
+        long n = rule.getOccurrencesGenerated();
+        LocalDate date = rule.getFrequency().occurrence(rule.getStartDate(), n);
+        while (expenses.size() < maxCatchUp && !date.isAfter(today) && rule.allowsOccurrence(n, date)) {
+            expenses.add(toExpense(rule, date));
+            n++;
+            date = rule.getFrequency().occurrence(rule.getStartDate(), n);
+        }
+        return new Plan(expenses, (int) n, date, rule.allowsOccurrence(n, date));
+    }
+
+    private Expense toExpense(RecurringExpenseRule rule, LocalDate occurrenceDate) {
+        Expense expense = new Expense();
+        expense.setTitle(rule.getTitle());
+        expense.setDescription(rule.getDescription());
+        expense.setAmount(rule.getAmount());
+        expense.setExpenseDate(occurrenceDate);
+        expense.setStatus(ExpenseStatus.PENDING);
+        expense.setPaymentMethod(rule.getPaymentMethod());
+        expense.setMerchantName(rule.getMerchantName());
+        expense.setTags(rule.getTags());
+        expense.setIsRecurring(true);
+        expense.setCurrencyCode(rule.getCurrencyCode());
+        expense.setNotes(rule.getNotes());
+        expense.setIsBusinessExpense(rule.getIsBusinessExpense());
+        expense.setIsReimbursable(rule.getIsReimbursable());
+        expense.setReimbursed(false);
+        expense.setUserId(rule.getUserId());
+        expense.setCategoryId(rule.getCategoryId());
+        expense.setTeamId(rule.getTeamId());
+        expense.setRecurringRuleId(rule.getId());
+        expense.setRecurringOccurrenceDate(occurrenceDate);
+        return expense;
+    }
+
+    private RecurringExpenseRuleResponse toResponse(RecurringExpenseRule rule) {
+        RecurringExpenseRuleResponse response = new RecurringExpenseRuleResponse();
+        response.setId(rule.getId());
+        response.setTitle(rule.getTitle());
+        response.setDescription(rule.getDescription());
+        response.setAmount(rule.getAmount());
+        response.setCurrencyCode(rule.getCurrencyCode());
+        response.setCategoryId(rule.getCategoryId());
+        response.setTeamId(rule.getTeamId());
+        response.setPaymentMethod(rule.getPaymentMethod());
+        response.setMerchantName(rule.getMerchantName());
+        response.setFrequency(rule.getFrequency());
+        response.setStartDate(rule.getStartDate());
+        response.setEndDate(rule.getEndDate());
+        response.setMaxOccurrences(rule.getMaxOccurrences());
+        response.setNextOccurrenceDate(rule.getNextOccurrenceDate());
+        response.setOccurrencesGenerated(rule.getOccurrencesGenerated());
+        response.setIsActive(rule.getIsActive());
+        response.setLastGeneratedAt(rule.getLastGeneratedAt());
+        response.setCreatedAt(rule.getCreatedAt());
+        return response;
+    }
+
+    private record Plan(List<Expense> expenses, int generated, LocalDate nextDate, boolean active) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.trackify.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trackify.dto.request.ReportRequest;
+import com.trackify.dto.response.ReportResponse;
+import com.trackify.entity.ReportJob;
+import com.trackify.entity.ScheduledReport;
+import com.trackify.entity.User;
+import com.trackify.enums.ReportJobStatus;
+import com.trackify.enums.ReportJobType;
+import com.trackify.exception.BadRequestException;
+import com.trackify.exception.ForbiddenException;
+import com.trackify.exception.ResourceNotFoundException;
+import com.trackify.report.ReportOutputStore;
+import com.trackify.repository.ReportJobRepository;
+import com.trackify.repository.UserRepository;
+import com.trackify.service.ReportJobService;
+import com.trackify.service.WebSocketService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReportOutputStore reportOutputStore;
+
+    @Value("${app.reports.jobs.max-queued-per-user:20}")
+    private int maxQueuedPerUser;
+
+    @Value("${app.reports.jobs.recent-limit:50}")
+    private int recentJobsLimit;
+
+    @Override
+    public ReportResponse submit(ReportJobType reportType, Object request, String username) {
+        User user = userRepository.findByUsernameOrEmail(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+
+        if (reportJobRepository.countByUserIdAndStatus(user.getId(), ReportJobStatus.PENDING) >= maxQueuedPerUser) {
+            throw new BadRequestException("Too many reports queued, please wait for pending reports to finish");
+        }
+
+        ReportJob job = enqueue(user.getId(), user.getUsername(), reportType, request, null);
+        logger.info("Queued {} report job {} for user: {}", reportType, job.getReportId(), username);
+
+        return toResponse(job);
+    }
+
+    @Override
+    public ReportResponse submitScheduledRun(ScheduledReport schedule, ReportRequest request) {
+        // Scheduled runs bypass the queued-jobs cap; the dispatcher's per-user limit still applies
+        ReportJob job = enqueue(schedule.getUserId(), schedule.getCreatedBy(), ReportJobType.CUSTOM, request, schedule.getId());
+        logger.info("Queued report job {} for scheduled report: {}", job.getReportId(), schedule.getId());
+
+        return toResponse(job);
+    }
+
+    // The status reads below are not read-only: a completed job whose output is gone is marked expired
+
+    @Override
+    public ReportResponse getJobStatus(String reportId, String username) {
+        return toResponse(expireIfOutputMissing(getOwnedJob(reportId, username)));
+    }
+
+    @Override
+    public Optional<ReportResponse> findIncompleteJob(String reportId, String username) {
+        return reportJobRepository.findByReportId(reportId)
+                .filter(job -> isOwner(job, username))
+                .map(this::expireIfOutputMissing)
+                .filter(job -> job.getStatus() != ReportJobStatus.COMPLETED)
+                .map(this::toResponse);
+    }
+
+    @Override
+    public List<ReportResponse> getRecentJobs(String username) {
+        User user = userRepository.findByUsernameOrEmail(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+
+        return reportJobRepository.findByUserIdOrderByIdDesc(user.getId(), PageRequest.of(0, recentJobsLimit))
+                .stream()
+                .map(this::expireIfOutputMissing)
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ReportResponse cancelJob(String reportId, String username) {
+        ReportJob job = getOwnedJob(reportId, username);
+
+        if (job.getStatus().isFinal()) {
+            throw new BadRequestException("Report job is already " + job.getStatus().getDisplayName().toLowerCase());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (reportJobRepository.cancelPending(job.getId(), now) == 1) {
+            // Never started, so nothing else will report on it
+            job.setStatus(ReportJobStatus.CANCELLED);
+            job.setCancelRequested(true);
+            job.setFinishedAt(now);
+            publishJobUpdate(job);
+        } else if (reportJobRepository.requestCancel(job.getId()) == 1) {
+            // Running: the worker checks the flag between stages and publishes the cancellation itself
+            job.setCancelRequested(true);
+        }
+
+        logger.info("Cancellation requested for report job {} by user: {}", reportId, username);
+        return toResponse(job);
+    }
+
+    @Override
+    public void publishJobUpdate(ReportJob job) {
+        try {
+            webSocketService.sendMessageToUser(job.getUsername(), "/queue/reports", toResponse(job));
+        } catch (Exception e) {
+            logger.warn("Failed to publish progress for report job {}", job.getReportId(), e);
+        }
+    }
+
+    private ReportJob enqueue(Long userId, String username, ReportJobType reportType, Object request, Long scheduleId) {
+        ReportJob job = new ReportJob();
+        job.setReportId(generateReportId());
+        job.setUserId(userId);
+        job.setUsername(username);
+        job.setReportType(reportType);
+        job.setScheduleId(scheduleId);
+        job.setStatus(ReportJobStatus.PENDING);
+        try {
+            job.setRequestPayload(objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid report request: " + e.getOriginalMessage());
+        }
+
+        return reportJobRepository.save(job);
+    }
+
+    /**
+     * A completed job only advertises a download while its output is still in the report
+     * store; retention cleanup, or a node that kept reports on local disk, can remove it
+     */
+    private ReportJob expireIfOutputMissing(ReportJob job) {
+        if (job.getStatus() != ReportJobStatus.COMPLETED || reportOutputStore.existsAt(job.getOutputPath())) {
+            return job;
+        }
+
+        reportJobRepository.markExpired(job.getId());
+        job.setStatus(ReportJobStatus.EXPIRED);
+        logger.info("Output of report job {} is no longer available, marked expired", job.getReportId());
+        return job;
+    }
+
+    private ReportJob getOwnedJob(String reportId, String username) {
+        ReportJob job = reportJobRepository.findByReportId(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found: " + reportId));
+
+        if (!isOwner(job, username)) {
+            throw new ForbiddenException("Access denied to report: " + reportId);
+        }
+        return job;
+    }
+
+    private boolean isOwner(ReportJob job, String username) {
+        return job.getUsername().equals(username)
+                || userRepository.findByUsernameOrEmail(username)
+                        .map(user -> user.getId().equals(job.getUserId()))
+                        .orElse(false);
+    }
+
+    private ReportResponse toResponse(ReportJob job) {
+        ReportResponse response = new ReportResponse();
+        response.setReportId(job.getReportId());
+        response.setReportType(job.getReportType().name());
+        response.setReportName(job.getReportType().getDisplayName());
+        response.setStatus(job.getStatus().name());
+        response.setProgress(job.getProgress());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setGeneratedBy(job.getUsername());
+        response.setGeneratedAt(job.getFinishedAt());
+        if (job.getStatus() == ReportJobStatus.COMPLETED) {
+            response.setDownloadUrl("/api/reports/" + job.getReportId() + "/download");
+        }
+        return response;
+    }
+
+    // Same format as ReportServiceImpl, so queued and inline report ids are indistinguishable
+    private String generateReportId() {
+        return "RPT-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
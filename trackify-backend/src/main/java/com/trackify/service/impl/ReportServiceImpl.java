@@ -1,5 +1,7 @@
 package com.trackify.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itextpdf.text.BaseColor;
 import com.itextpdf.text.Chunk;
 import com.itextpdf.text.Document;
@@ -12,40 +14,88 @@ import com.itextpdf.text.Phrase;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
+import com.trackify.currency.CurrencyConverter;
 import com.trackify.dto.request.ReportRequest;
 import com.trackify.dto.response.ReportResponse;
 import com.trackify.entity.*;
 import com.trackify.enums.ApprovalStatus;
 import com.trackify.enums.ExpenseStatus;
+import com.trackify.enums.ReportJobStatus;
+import com.trackify.enums.ReportJobType;
+import com.trackify.exception.BadRequestException;
 import com.trackify.exception.ResourceNotFoundException;
 import com.trackify.exception.ForbiddenException;
+import com.trackify.report.ExpenseColumns;
+import com.trackify.report.ReportAggregates;
+import com.trackify.report.ReportComputationEngine;
+import com.trackify.report.ReportOutputStore;
+import com.trackify.report.ReportResultCache;
 import com.trackify.repository.*;
+import com.trackify.service.ReportJobService;
 import com.trackify.service.ReportService;
+import com.trackify.service.SpendRollupService;
+import com.trackify.service.TeamSpendService;
 import com.trackify.service.EmailService;
+import com.trackify.service.ExchangeRateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ReportServiceImpl implements ReportService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
-    private final Map<String, List<String>> sharedReports = new HashMap<>();
+    
+    // Below this many items per slice, handing work to the executor costs more than it saves
+    private static final int PARALLEL_SLICE_MIN_SIZE = 16;
+    
+    // Known formats, so a bad format in a request can't add a new render timer series
+    private static final Set<String> REPORT_FORMATS = Set.of("PDF", "CSV", "XLSX", "JSON");
+    
+    // Report id reserved by a queued report job; consumed by the next generateReportId() on this thread
+    private static final ThreadLocal<String> reservedReportId = new ThreadLocal<>();
+    
+    private final Map<String, List<String>> sharedReports = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     private ExpenseRepository expenseRepository;
@@ -68,17 +118,62 @@ public class ReportServiceImpl implements ReportService {
     @Autowired
     private TeamMemberRepository teamMemberRepository;
     
+    @Autowired
+    private TeamSpendService teamSpendService;
+    
+    @Autowired
+    private SpendRollupService spendRollupService;
+    
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+    
+    @Autowired
+    private ReportComputationEngine reportComputationEngine;
+    
+    @Autowired
+    private ReportResultCache reportResultCache;
+    
+    @Autowired
+    @Qualifier("reportExecutor")
+    private Executor reportExecutor;
+    
+    @Value("${app.reports.parallelism:4}")
+    private int reportParallelism;
+    
     @Autowired(required = false)
     private EmailService emailService;
     
-    private final Map<String, List<ReportResponse.ScheduledReportInfo>> userScheduledReports = new HashMap<>();
-
-    private final Map<Long, String> scheduleOwnerMap = new HashMap<>();
+    @Autowired
+    private ScheduledReportRepository scheduledReportRepository;
+    
+    @Autowired
+    private ReportJobService reportJobService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Value("${app.reports.schedules.batch-size:100}")
+    private int scheduleBatchSize;
+    
+    @Value("${app.reports.schedules.max-failures:5}")
+    private int maxScheduleFailures;
 
  
-    // In-memory storage for reports (in production, use database or file storage)
-    private final Map<String, ReportResponse> reportStorage = new HashMap<>();
-    private final Map<String, byte[]> reportFiles = new HashMap<>();
+    // Reports generated on this node, in front of the durable ReportOutputStore. Written from
+    // report job worker threads, so this must be a concurrent map.
+    private final Map<String, ReportResponse> reportStorage = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ReportOutputStore reportOutputStore;
+
+    @Value("${app.reports.output-retention-days:30}")
+    private int outputRetentionDays;
 
     @Override
     public ReportResponse generateExpenseReport(ReportRequest.ExpenseReportRequest request, String username) {
@@ -108,7 +203,8 @@ public class ReportServiceImpl implements ReportService {
             report.setExpiresAt(LocalDateTime.now().plusDays(30));
 
             // Calculate summary with null safety
-            ReportResponse.ReportSummary summary = calculateExpenseSummary(expenses);
+            CurrencyConverter converter = exchangeRateService.converterForUser(user.getId());
+            ReportResponse.ReportSummary summary = calculateExpenseSummary(expenses, converter);
             report.setSummary(summary);
 
             // Prepare report data
@@ -116,14 +212,14 @@ public class ReportServiceImpl implements ReportService {
             data.setExpenses(convertToExpenseItems(expenses));
             
             if ("CATEGORY".equals(request.getGroupBy())) {
-                data.setCategorySummaries(calculateCategorySummaries(expenses));
+                data.setCategorySummaries(calculateCategorySummaries(expenses, converter));
             }
             
             report.setData(data);
 
             // Generate charts - check both format and includeCharts
             if ("PDF".equals(request.getFormat()) || Boolean.TRUE.equals(request.getIncludeCharts())) {
-                List<ReportResponse.ReportChart> charts = generateExpenseCharts(expenses, request.getGroupBy());
+                List<ReportResponse.ReportChart> charts = generateExpenseCharts(expenses, request.getGroupBy(), converter);
                 report.setCharts(charts);
             }
 
@@ -133,8 +229,7 @@ public class ReportServiceImpl implements ReportService {
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
 
             // Store report
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
 
             logger.info("Successfully generated expense report: {}", reportId);
             return report;
@@ -189,42 +284,52 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private ReportResponse.ReportSummary calculateExpenseSummary(List<Expense> expenses) {
+    private ReportResponse.ReportSummary calculateExpenseSummary(List<Expense> expenses, CurrencyConverter converter) {
         if (expenses == null || expenses.isEmpty()) {
             return new ReportResponse.ReportSummary(BigDecimal.ZERO, 0L, BigDecimal.ZERO);
         }
 
-        BigDecimal totalAmount = expenses.stream()
-                .filter(e -> e.getAmount() != null)
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // One pass in minor units of the report currency, each expense converted at its own date
+        long totalCents = 0;
+        long maxCents = Long.MIN_VALUE;
+        long minCents = Long.MAX_VALUE;
+        for (Expense expense : expenses) {
+            if (expense.getAmount() == null) {
+                continue;
+            }
+            long cents = toReportCents(expense, converter);
+            totalCents += cents;
+            maxCents = Math.max(maxCents, cents);
+            minCents = Math.min(minCents, cents);
+        }
+        BigDecimal totalAmount = converter.toAmount(totalCents);
 
         long totalCount = expenses.size();
 
         BigDecimal averageAmount = totalCount > 0 ? 
-                totalAmount.divide(BigDecimal.valueOf(totalCount), 2, RoundingMode.HALF_UP) : 
+                totalAmount.divide(BigDecimal.valueOf(totalCount), totalAmount.scale(), RoundingMode.HALF_UP) : 
                 BigDecimal.ZERO;
 
         ReportResponse.ReportSummary summary = new ReportResponse.ReportSummary(totalAmount, totalCount, averageAmount);
-        
-        if (!expenses.isEmpty()) {
-            BigDecimal maxAmount = expenses.stream()
-                    .filter(e -> e.getAmount() != null)
-                    .map(Expense::getAmount)
-                    .max(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
+        summary.setMaxAmount(maxCents != Long.MIN_VALUE ? converter.toAmount(maxCents) : BigDecimal.ZERO);
+        summary.setMinAmount(minCents != Long.MAX_VALUE ? converter.toAmount(minCents) : BigDecimal.ZERO);
+
+        return summary;
+    }
 
-            BigDecimal minAmount = expenses.stream()
-                    .filter(e -> e.getAmount() != null)
-                    .map(Expense::getAmount)
-                    .min(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
+    private long toReportCents(Expense expense, CurrencyConverter converter) {
+        LocalDate expenseDate = expense.getExpenseDate() != null ? expense.getExpenseDate() : LocalDate.now();
+        return converter.toTargetMinor(expense.getAmount(), expense.getCurrencyCode(), expenseDate);
+    }
 
-            summary.setMaxAmount(maxAmount);
-            summary.setMinAmount(minAmount);
+    private BigDecimal sumConverted(List<Expense> expenses, CurrencyConverter converter) {
+        long cents = 0;
+        for (Expense expense : expenses) {
+            if (expense.getAmount() != null) {
+                cents += toReportCents(expense, converter);
+            }
         }
-
-        return summary;
+        return converter.toAmount(cents);
     }
 
     private List<ReportResponse.ExpenseItem> convertToExpenseItems(List<Expense> expenses) {
@@ -245,7 +350,7 @@ public class ReportServiceImpl implements ReportService {
                 .collect(Collectors.toList());
     }
 
-    private List<ReportResponse.CategorySummary> calculateCategorySummaries(List<Expense> expenses) {
+    private List<ReportResponse.CategorySummary> calculateCategorySummaries(List<Expense> expenses, CurrencyConverter converter) {
         if (expenses == null || expenses.isEmpty()) {
             return new ArrayList<>();
         }
@@ -259,10 +364,7 @@ public class ReportServiceImpl implements ReportService {
                     String categoryName = entry.getKey();
                     List<Expense> categoryExpenses = entry.getValue();
                     
-                    BigDecimal totalAmount = categoryExpenses.stream()
-                            .filter(e -> e.getAmount() != null)
-                            .map(Expense::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    BigDecimal totalAmount = sumConverted(categoryExpenses, converter);
                     
                     return new ReportResponse.CategorySummary(categoryName, totalAmount, (long) categoryExpenses.size());
                 })
@@ -270,11 +372,12 @@ public class ReportServiceImpl implements ReportService {
                 .collect(Collectors.toList());
     }
 
-    private List<ReportResponse.ReportChart> generateExpenseCharts(List<Expense> expenses, String groupBy) {
+    private List<ReportResponse.ReportChart> generateExpenseCharts(List<Expense> expenses, String groupBy,
+                                                                   CurrencyConverter converter) {
         List<ReportResponse.ReportChart> charts = new ArrayList<>();
 
         if ("CATEGORY".equals(groupBy) && expenses != null && !expenses.isEmpty()) {
-            List<ReportResponse.CategorySummary> categorySummaries = calculateCategorySummaries(expenses);
+            List<ReportResponse.CategorySummary> categorySummaries = calculateCategorySummaries(expenses, converter);
             
             List<ReportResponse.ChartDataPoint> dataPoints = categorySummaries.stream()
                     .map(summary -> new ReportResponse.ChartDataPoint(summary.getCategoryName(), summary.getTotalAmount()))
@@ -287,22 +390,39 @@ public class ReportServiceImpl implements ReportService {
     }
 
     private byte[] generateReportFile(ReportResponse report, String format) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
         try {
-            switch (format.toUpperCase()) {
-                case "PDF":
-                    return generatePDFReport(report);
-                case "CSV":
-                    return generateCSVReport(report);
-                case "XLSX":
-                    return generateExcelReport(report);
-                case "JSON":
-                    return generateJSONReport(report);
-                default:
-                    throw new IllegalArgumentException("Unsupported format: " + format);
-            }
+            byte[] file = renderReportFile(report, format);
+            outcome = "success";
+            return file;
         } catch (Exception e) {
             logger.error("Error generating report file", e);
             return ("Error generating report: " + e.getMessage()).getBytes();
+        } finally {
+            String formatTag = format != null && REPORT_FORMATS.contains(format.toUpperCase()) ? format.toUpperCase() : "OTHER";
+            sample.stop(Timer.builder("trackify.report.render")
+                    .description("Time to render a report file")
+                    .tag("format", formatTag)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(Duration.ofSeconds(120))
+                    .register(meterRegistry));
+        }
+    }
+
+    private byte[] renderReportFile(ReportResponse report, String format) throws Exception {
+        switch (format.toUpperCase()) {
+            case "PDF":
+                return generatePDFReport(report);
+            case "CSV":
+                return generateCSVReport(report);
+            case "XLSX":
+                return generateExcelReport(report);
+            case "JSON":
+                return generateJSONReport(report);
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
         }
     }
 
@@ -526,8 +646,7 @@ public class ReportServiceImpl implements ReportService {
             report.setFileSizeBytes((long) reportFile.length);
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
 
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
 
             return report;
         } catch (Exception e) {
@@ -570,8 +689,7 @@ public class ReportServiceImpl implements ReportService {
             report.setFileSizeBytes((long) reportFile.length);
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
 
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
 
             return report;
         } catch (Exception e) {
@@ -604,7 +722,9 @@ public class ReportServiceImpl implements ReportService {
             report.setStatus("COMPLETED");
             report.setExpiresAt(LocalDateTime.now().plusDays(30));
 
-            ReportResponse.ReportSummary summary = calculateTeamSummary(teamExpenses, teamBudgets);
+            // Team reports are stated in the team's currency
+            CurrencyConverter converter = exchangeRateService.converterTo(team.getCurrency());
+            ReportResponse.ReportSummary summary = calculateTeamSummary(teamExpenses, teamBudgets, converter);
             report.setSummary(summary);
 
             ReportResponse.ReportData data = new ReportResponse.ReportData();
@@ -612,7 +732,7 @@ public class ReportServiceImpl implements ReportService {
             data.setBudgets(convertToBudgetItems(teamBudgets));
             
             if (Boolean.TRUE.equals(request.getIncludeMemberBreakdown())) {
-                data.setUserSummaries(calculateTeamMemberSummaries(teamExpenses));
+                data.setUserSummaries(calculateTeamMemberSummaries(teamExpenses, converter));
             }
             
             report.setData(data);
@@ -621,8 +741,7 @@ public class ReportServiceImpl implements ReportService {
             report.setFileSizeBytes((long) reportFile.length);
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
 
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
 
             return report;
         } catch (Exception e) {
@@ -690,6 +809,30 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
+    @Override
+    public ReportResponse generateReport(String reportId, ReportJobType reportType, Object request, String username) {
+        // Queued jobs hand out their report id before the report exists, so the generator must store it under that id
+        reservedReportId.set(reportId);
+        try {
+            switch (reportType) {
+                case EXPENSE:
+                    return generateExpenseReport((ReportRequest.ExpenseReportRequest) request, username);
+                case BUDGET:
+                    return generateBudgetReport((ReportRequest.BudgetReportRequest) request, username);
+                case APPROVAL:
+                    return generateApprovalReport((ReportRequest.ApprovalReportRequest) request, username);
+                case TEAM:
+                    return generateTeamReport((ReportRequest.TeamReportRequest) request, username);
+                case CUSTOM:
+                    return generateCustomReport((ReportRequest) request, username);
+                default:
+                    throw new IllegalArgumentException("Unsupported report type: " + reportType);
+            }
+        } finally {
+            reservedReportId.remove();
+        }
+    }
+
     // NEW: Method to handle advanced custom reports
     private ReportResponse generateAdvancedCustomReport(ReportRequest request, String username) {
         try {
@@ -719,12 +862,16 @@ public class ReportServiceImpl implements ReportService {
             report.setStatus("COMPLETED");
             report.setExpiresAt(LocalDateTime.now().plusDays(30));
             
+            // Read the expenses once and compute every section from the aggregates
+            ExpenseColumns expenses = loadReportExpenses(user.getId(), username, request);
+            ReportAggregates aggregates = reportComputationEngine.aggregate(expenses, false);
+            
             // Generate custom analysis based on parameters
-            ReportResponse.ReportData data = generateCustomAnalysisData(user.getId(), request, analysisType, groupBy);
+            ReportResponse.ReportData data = generateCustomAnalysisData(user.getId(), request, expenses, aggregates, analysisType, groupBy);
             report.setData(data);
             
             // Calculate summary
-            ReportResponse.ReportSummary summary = generateCustomSummary(data, analysisType);
+            ReportResponse.ReportSummary summary = generateCustomSummary(data, aggregates, analysisType);
             report.setSummary(summary);
             
             // Generate charts if requested
@@ -739,8 +886,7 @@ public class ReportServiceImpl implements ReportService {
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
 
             // Store report
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
 
             logger.info("Successfully generated custom report: {}", reportId);
             return report;
@@ -752,41 +898,37 @@ public class ReportServiceImpl implements ReportService {
     }
 
     // Helper method to generate custom analysis data
-    private ReportResponse.ReportData generateCustomAnalysisData(Long userId, ReportRequest request, String analysisType, String groupBy) {
+    private ReportResponse.ReportData generateCustomAnalysisData(Long userId, ReportRequest request, ExpenseColumns expenses,
+                                                                 ReportAggregates aggregates, String analysisType, String groupBy) {
         ReportResponse.ReportData data = new ReportResponse.ReportData();
         
         try {
-            // Get expenses and budgets for the period
-            LocalDateTime startDateTime = request.getStartDate().atStartOfDay();
-            LocalDateTime endDateTime = request.getEndDate().plusDays(1).atStartOfDay();
-            
-            List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDateTime, endDateTime);
+            // Get budgets for the period
             List<Budget> budgets = budgetRepository.findByUserIdAndPeriodOverlap(userId, request.getStartDate(), request.getEndDate());
             
             // Apply filters if provided
-            expenses = applyExpenseFilters(expenses, request);
             budgets = applyBudgetFilters(budgets, request);
             
             // Set basic data
-            data.setExpenses(convertToExpenseItems(expenses));
+            data.setExpenses(expenses.getItems());
             data.setBudgets(convertToBudgetItems(budgets));
             
             // Generate analysis based on type
             switch (analysisType.toUpperCase()) {
                 case "TREND":
-                    data.setTrendAnalysis(generateTrendAnalysis(expenses, groupBy));
+                    data.setTrendAnalysis(generateTrendAnalysis(aggregates, groupBy));
                     break;
                 case "COMPARISON":
-                    data.setComparisonAnalysis(generateComparisonAnalysis(expenses, budgets));
+                    data.setComparisonAnalysis(generateComparisonAnalysis(aggregates.getTotalsByCategory(), budgets));
                     break;
                 case "VARIANCE":
-                    data.setVarianceAnalysis(generateVarianceAnalysis(expenses, budgets));
+                    data.setVarianceAnalysis(generateVarianceAnalysis(aggregates.getTotalsByCategory(), budgets));
                     break;
                 case "FORECAST":
-                    data.setForecastAnalysis(generateForecastAnalysis(expenses, request));
+                    data.setForecastAnalysis(generateForecastAnalysis(aggregates.getTotalsByCategory(), request));
                     break;
                 default:
-                    data.setCategorySummaries(calculateCategorySummaries(expenses));
+                    data.setCategorySummaries(aggregates.getCategorySummaries());
                     break;
             }
             
@@ -799,17 +941,24 @@ public class ReportServiceImpl implements ReportService {
     }
 
     // Helper methods for custom analysis
-    private List<Expense> applyExpenseFilters(List<Expense> expenses, ReportRequest request) {
-        if (expenses == null) return new ArrayList<>();
-        
-        return expenses.stream()
-                .filter(e -> request.getCategoryIds() == null || request.getCategoryIds().isEmpty() ||
-                        (e.getCategory() != null && request.getCategoryIds().contains(e.getCategory().getId())))
-                .filter(e -> request.getMinAmount() == null ||
-                        (e.getAmount() != null && e.getAmount().compareTo(request.getMinAmount()) >= 0))
-                .filter(e -> request.getMaxAmount() == null ||
-                        (e.getAmount() != null && e.getAmount().compareTo(request.getMaxAmount()) <= 0))
-                .collect(Collectors.toList());
+    private ExpenseColumns loadReportExpenses(Long userId, String username, ReportRequest request) {
+        try (Stream<Expense> expenses = expenseRepository.streamByUserIdAndExpenseDateBetween(
+                userId, request.getStartDate(), request.getEndDate())) {
+            // Only scalar fields are read, so each row is detached as it arrives; otherwise the
+            // persistence context would hold every expense in the range until the transaction ends
+            return reportComputationEngine.load(expenses.peek(entityManager::detach),
+                    e -> matchesExpenseFilters(e, request), username,
+                    exchangeRateService.converterForUser(userId));
+        }
+    }
+
+    private boolean matchesExpenseFilters(Expense expense, ReportRequest request) {
+        return (request.getCategoryIds() == null || request.getCategoryIds().isEmpty() ||
+                        request.getCategoryIds().contains(expense.getCategoryId()))
+                && (request.getMinAmount() == null ||
+                        (expense.getAmount() != null && expense.getAmount().compareTo(request.getMinAmount()) >= 0))
+                && (request.getMaxAmount() == null ||
+                        (expense.getAmount() != null && expense.getAmount().compareTo(request.getMaxAmount()) <= 0));
     }
 
     private List<Budget> applyBudgetFilters(List<Budget> budgets, ReportRequest request) {
@@ -823,38 +972,20 @@ public class ReportServiceImpl implements ReportService {
                 .collect(Collectors.toList());
     }
 
-    private List<ReportResponse.TrendAnalysis> generateTrendAnalysis(List<Expense> expenses, String groupBy) {
+    private List<ReportResponse.TrendAnalysis> generateTrendAnalysis(ReportAggregates aggregates, String groupBy) {
         List<ReportResponse.TrendAnalysis> trends = new ArrayList<>();
         
         if ("CATEGORY".equals(groupBy)) {
-            Map<String, List<Expense>> categoryGroups = expenses.stream()
-                    .collect(Collectors.groupingBy(e -> 
-                            e.getCategory() != null ? e.getCategory().getName() : "Unknown"));
-            
-            categoryGroups.forEach((category, categoryExpenses) -> {
-                BigDecimal totalAmount = categoryExpenses.stream()
-                        .filter(e -> e.getAmount() != null)
-                        .map(Expense::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                trends.add(new ReportResponse.TrendAnalysis(category, totalAmount, (long) categoryExpenses.size()));
-            });
+            aggregates.getCategorySummaries().forEach(category -> trends.add(new ReportResponse.TrendAnalysis(
+                    category.getCategoryName(), category.getTotalAmount(), category.getExpenseCount())));
         }
         
         return trends;
     }
 
-    private List<ReportResponse.ComparisonAnalysis> generateComparisonAnalysis(List<Expense> expenses, List<Budget> budgets) {
+    private List<ReportResponse.ComparisonAnalysis> generateComparisonAnalysis(Map<String, BigDecimal> expensesByCategory, List<Budget> budgets) {
         List<ReportResponse.ComparisonAnalysis> comparisons = new ArrayList<>();
         
-        // Group expenses by category
-        Map<String, BigDecimal> expensesByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory() != null ? e.getCategory().getName() : "Unknown",
-                        Collectors.reducing(BigDecimal.ZERO, 
-                                e -> e.getAmount() != null ? e.getAmount() : BigDecimal.ZERO, 
-                                BigDecimal::add)));
-        
         // Group budgets by category
         Map<String, BigDecimal> budgetsByCategory = budgets.stream()
                 .collect(Collectors.groupingBy(
@@ -879,17 +1010,9 @@ public class ReportServiceImpl implements ReportService {
         return comparisons;
     }
 
-    private List<ReportResponse.VarianceAnalysis> generateVarianceAnalysis(List<Expense> expenses, List<Budget> budgets) {
+    private List<ReportResponse.VarianceAnalysis> generateVarianceAnalysis(Map<String, BigDecimal> expensesByCategory, List<Budget> budgets) {
         List<ReportResponse.VarianceAnalysis> variances = new ArrayList<>();
         
-        // Group expenses by category
-        Map<String, BigDecimal> expensesByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory() != null ? e.getCategory().getName() : "Unknown",
-                        Collectors.reducing(BigDecimal.ZERO, 
-                                e -> e.getAmount() != null ? e.getAmount() : BigDecimal.ZERO, 
-                                BigDecimal::add)));
-        
         // Analyze variance for each budget
         for (Budget budget : budgets) {
             String categoryName = budget.getCategory() != null ? budget.getCategory().getName() : "Unknown";
@@ -902,17 +1025,10 @@ public class ReportServiceImpl implements ReportService {
         return variances;
     }
 
-    private List<ReportResponse.ForecastAnalysis> generateForecastAnalysis(List<Expense> expenses, ReportRequest request) {
+    private List<ReportResponse.ForecastAnalysis> generateForecastAnalysis(Map<String, BigDecimal> expensesByCategory, ReportRequest request) {
         List<ReportResponse.ForecastAnalysis> forecasts = new ArrayList<>();
         
         // Simple linear projection based on current period
-        Map<String, BigDecimal> expensesByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory() != null ? e.getCategory().getName() : "Unknown",
-                        Collectors.reducing(BigDecimal.ZERO, 
-                                e -> e.getAmount() != null ? e.getAmount() : BigDecimal.ZERO, 
-                                BigDecimal::add)));
-        
         // Calculate days in current period
         long daysInPeriod = java.time.temporal.ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
         
@@ -934,22 +1050,9 @@ public class ReportServiceImpl implements ReportService {
         return forecasts;
     }
 
-    private ReportResponse.ReportSummary generateCustomSummary(ReportResponse.ReportData data, String analysisType) {
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        long totalCount = 0;
-        
-        if (data.getExpenses() != null) {
-            totalAmount = data.getExpenses().stream()
-                    .map(ReportResponse.ExpenseItem::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            totalCount = data.getExpenses().size();
-        }
-        
-        BigDecimal averageAmount = totalCount > 0 ? 
-                totalAmount.divide(BigDecimal.valueOf(totalCount), 2, RoundingMode.HALF_UP) : 
-                BigDecimal.ZERO;
-        
-        ReportResponse.ReportSummary summary = new ReportResponse.ReportSummary(totalAmount, totalCount, averageAmount);
+    private ReportResponse.ReportSummary generateCustomSummary(ReportResponse.ReportData data, ReportAggregates aggregates, String analysisType) {
+        ReportResponse.ReportSummary summary = new ReportResponse.ReportSummary(
+                aggregates.getTotalAmount(), aggregates.getCount(), aggregates.getAverageAmount());
         
         Map<String, Object> additionalMetrics = new HashMap<>();
         additionalMetrics.put("analysisType", analysisType);
@@ -1011,23 +1114,26 @@ public class ReportServiceImpl implements ReportService {
         report.setStatus("COMPLETED");
         report.setExpiresAt(LocalDateTime.now().plusDays(30));
         
-        LocalDateTime startDateTime = request.getStartDate().atStartOfDay();
-        LocalDateTime endDateTime = request.getEndDate().plusDays(1).atStartOfDay();
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(user.getId(), startDateTime, endDateTime);
+        ExpenseColumns expenses = loadReportExpenses(user.getId(), username, request);
+        ReportAggregates aggregates = reportComputationEngine.aggregate(expenses, false);
         
         ReportResponse.ReportData data = new ReportResponse.ReportData();
-        data.setCategorySummaries(calculateCategorySummaries(expenses));
+        data.setCategorySummaries(aggregates.getCategorySummaries());
         report.setData(data);
         
-        ReportResponse.ReportSummary summary = calculateExpenseSummary(expenses);
+        ReportResponse.ReportSummary summary = new ReportResponse.ReportSummary(
+                aggregates.getTotalAmount(), aggregates.getCount(), aggregates.getAverageAmount());
+        if (aggregates.getCount() > 0) {
+            summary.setMaxAmount(aggregates.getMaxAmount());
+            summary.setMinAmount(aggregates.getMinAmount());
+        }
         report.setSummary(summary);
         
         byte[] reportFile = generateReportFile(report, request.getFormat());
         report.setFileSizeBytes((long) reportFile.length);
         report.setDownloadUrl("/api/reports/" + reportId + "/download");
         
-        reportStorage.put(reportId, report);
-        reportFiles.put(reportId, reportFile);
+        storeReport(report, reportFile);
         
         return report;
     }
@@ -1085,8 +1191,7 @@ public class ReportServiceImpl implements ReportService {
             report.setFileSizeBytes((long) reportFile.length);
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
             
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
             
             logger.info("Successfully generated team performance report: {}", reportId);
             return report;
@@ -1100,117 +1205,176 @@ public class ReportServiceImpl implements ReportService {
     private ReportResponse.ReportData generateTeamPerformanceData(List<Long> teamIds, ReportRequest request) {
         ReportResponse.ReportData data = new ReportResponse.ReportData();
         
-        LocalDateTime startDateTime = request.getStartDate().atStartOfDay();
-        LocalDateTime endDateTime = request.getEndDate().plusDays(1).atStartOfDay();
+        // Fetch every team's data up front with IN queries, the round trips no longer grow with the team count
+        List<Long> distinctTeamIds = teamIds.stream().distinct().collect(Collectors.toList());
+        
+        Map<Long, Team> teams = teamRepository.findAllById(distinctTeamIds).stream()
+                .collect(Collectors.toMap(Team::getId, team -> team));
+        
+        Map<Long, List<Budget>> budgetsByTeam = budgetRepository.findByTeamIdInAndIsActiveTrue(distinctTeamIds)
+                .stream()
+                .filter(b -> !b.getStartDate().isAfter(request.getEndDate()) &&
+                           !b.getEndDate().isBefore(request.getStartDate()))
+                .collect(Collectors.groupingBy(Budget::getTeamId));
+        
+        // Team members come with their users in one query
+        Map<Long, List<TeamMember>> rostersByTeam = teamMemberRepository.findActiveRostersByTeamIds(distinctTeamIds)
+                .stream()
+                .collect(Collectors.groupingBy(member -> member.getTeam().getId()));
+        
+        // Team spend from the monthly aggregates, only partial edge months touch expenses
+        Map<Long, TeamSpendService.SpendTotal> spendByTeam = teamSpendService.getTeamSpend(
+                distinctTeamIds, request.getStartDate(), request.getEndDate());
+        
+        // Per team, member and status totals grouped in the database, for the member breakdown
+        Map<Long, Map<Long, Map<ExpenseStatus, TeamSpendService.SpendTotal>>> totalsByTeam = new HashMap<>();
+        for (Object[] row : expenseRepository.getTeamMemberStatusTotalsByTeamIds(
+                distinctTeamIds, request.getStartDate(), request.getEndDate())) {
+            totalsByTeam.computeIfAbsent((Long) row[0], id -> new HashMap<>())
+                    .computeIfAbsent((Long) row[1], id -> new EnumMap<>(ExpenseStatus.class))
+                    .put((ExpenseStatus) row[2],
+                            new TeamSpendService.SpendTotal((BigDecimal) row[4], ((Number) row[3]).longValue()));
+        }
+        
+        // Summaries are pure computation over the fetched data, so teams are processed in parallel
+        List<Team> reportTeams = distinctTeamIds.stream()
+                .map(teams::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        
+        List<TeamPerformance> results = mapInParallel(reportTeams, team -> calculateTeamPerformance(
+                team,
+                budgetsByTeam.getOrDefault(team.getId(), List.of()),
+                rostersByTeam.getOrDefault(team.getId(), List.of()),
+                spendByTeam.getOrDefault(team.getId(), TeamSpendService.SpendTotal.EMPTY),
+                totalsByTeam.getOrDefault(team.getId(), Map.of())));
         
         List<ReportResponse.TeamSummary> teamSummaries = new ArrayList<>();
         List<ReportResponse.UserSummary> userSummaries = new ArrayList<>();
         List<ReportResponse.PerformanceMetrics> performanceMetrics = new ArrayList<>();
         
-        for (Long teamId : teamIds) {
-            try {
-                Team team = teamRepository.findById(teamId).orElse(null);
-                if (team == null) continue;
-                
-                // Get team expenses
-                List<Expense> teamExpenses = expenseRepository.findByTeamId(teamId)
-                        .stream()
-                        .filter(e -> !e.getExpenseDate().isBefore(request.getStartDate()) &&
-                                   !e.getExpenseDate().isAfter(request.getEndDate()))
-                        .collect(Collectors.toList());
-                
-                // Get team budgets
-                List<Budget> teamBudgets = budgetRepository.findByTeamIdAndIsActiveTrue(teamId)
-                        .stream()
-                        .filter(b -> !b.getStartDate().isAfter(request.getEndDate()) &&
-                                   !b.getEndDate().isBefore(request.getStartDate()))
-                        .collect(Collectors.toList());
-                
-                // Get team members
-                List<TeamMember> teamMembers = teamMemberRepository.findByTeamIdAndIsActiveTrue(teamId);
-                
-                // Calculate team metrics
-                BigDecimal totalExpenses = teamExpenses.stream()
-                        .filter(e -> e.getAmount() != null)
-                        .map(Expense::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                BigDecimal totalBudget = teamBudgets.stream()
-                        .filter(b -> b.getTotalAmount() != null)
-                        .map(Budget::getTotalAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                BigDecimal budgetUtilization = totalBudget.compareTo(BigDecimal.ZERO) > 0 ?
-                        totalExpenses.divide(totalBudget, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) :
-                        BigDecimal.ZERO;
+        for (TeamPerformance result : results) {
+            if (result == null) continue;
+            teamSummaries.add(result.teamSummary());
+            userSummaries.addAll(result.userSummaries());
+            performanceMetrics.addAll(result.performanceMetrics());
+        }
+        
+        data.setTeamSummaries(teamSummaries);
+        data.setUserSummaries(userSummaries);
+        // Note: You'll need to add performanceMetrics to ReportData class
+        
+        return data;
+    }
+
+    // Package-private, like calculateTeamPerformance and mapInParallel, for the JMH benchmarks
+    record TeamPerformance(ReportResponse.TeamSummary teamSummary,
+                           List<ReportResponse.UserSummary> userSummaries,
+                           List<ReportResponse.PerformanceMetrics> performanceMetrics) {}
+
+    TeamPerformance calculateTeamPerformance(Team team, List<Budget> teamBudgets, List<TeamMember> teamMembers,
+                                             TeamSpendService.SpendTotal teamSpend,
+                                             Map<Long, Map<ExpenseStatus, TeamSpendService.SpendTotal>> totalsByUser) {
+        try {
+            // Calculate team metrics
+            BigDecimal totalExpenses = teamSpend.amount();
+            
+            BigDecimal totalBudget = teamBudgets.stream()
+                    .filter(b -> b.getTotalAmount() != null)
+                    .map(Budget::getTotalAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            
+            BigDecimal budgetUtilization = totalBudget.compareTo(BigDecimal.ZERO) > 0 ?
+                    totalExpenses.divide(totalBudget, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)) :
+                    BigDecimal.ZERO;
+            
+            // Create team summary
+            ReportResponse.TeamSummary teamSummary = new ReportResponse.TeamSummary(
+                    team.getName(), totalExpenses, teamSpend.count(), teamMembers.size());
+            teamSummary.setBudgetAmount(totalBudget);
+            teamSummary.setBudgetUsedPercentage(budgetUtilization);
+            
+            // Calculate member performance
+            List<ReportResponse.UserSummary> userSummaries = new ArrayList<>();
+            for (TeamMember member : teamMembers) {
+                Map<ExpenseStatus, TeamSpendService.SpendTotal> memberTotals =
+                        totalsByUser.getOrDefault(member.getUser().getId(), Map.of());
+                // Same statuses as the team total, so member spend adds up to it
+                TeamSpendService.SpendTotal memberTotal = TeamSpendService.SPEND_STATUSES.stream()
+                        .map(status -> memberTotals.getOrDefault(status, TeamSpendService.SpendTotal.EMPTY))
+                        .reduce(TeamSpendService.SpendTotal.EMPTY, TeamSpendService.SpendTotal::plus);
                 
-                // Create team summary
-                ReportResponse.TeamSummary teamSummary = new ReportResponse.TeamSummary(
-                        team.getName(), totalExpenses, (long) teamExpenses.size(), teamMembers.size());
-                teamSummary.setBudgetAmount(totalBudget);
-                teamSummary.setBudgetUsedPercentage(budgetUtilization);
-                teamSummaries.add(teamSummary);
+                String fullName = member.getUser().getFirstName() + " " + member.getUser().getLastName();
+                ReportResponse.UserSummary userSummary = new ReportResponse.UserSummary(
+                        member.getUser().getUsername(), fullName, memberTotal.amount(), memberTotal.count());
                 
-                // Calculate member performance
-                Map<Long, List<Expense>> expensesByUser = teamExpenses.stream()
-                        .filter(e -> e.getUser() != null)
-                        .collect(Collectors.groupingBy(e -> e.getUser().getId()));
+                // Add role-specific metrics
+                long pendingApprovals = 0;
+                long approvedExpenses = 0;
+                long rejectedExpenses = 0;
                 
-                for (TeamMember member : teamMembers) {
-                    List<Expense> memberExpenses = expensesByUser.getOrDefault(member.getUser().getId(), new ArrayList<>());
-                    BigDecimal memberTotal = memberExpenses.stream()
-                            .filter(e -> e.getAmount() != null)
-                            .map(Expense::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    
-                    String fullName = member.getUser().getFirstName() + " " + member.getUser().getLastName();
-                    ReportResponse.UserSummary userSummary = new ReportResponse.UserSummary(
-                            member.getUser().getUsername(), fullName, memberTotal, (long) memberExpenses.size());
-                    
-                    // Add role-specific metrics
-                    long pendingApprovals = 0;
-                    long approvedExpenses = 0;
-                    long rejectedExpenses = 0;
-                    
-                    if (member.getRole() != null && 
-                        (member.getRole().name().equals("ADMIN") || member.getRole().name().equals("MANAGER"))) {
-                        // Count approvals for managers/admins
-                        pendingApprovals = memberExpenses.stream()
-                                .filter(e -> e.getStatus() == ExpenseStatus.PENDING)
-                                .count();
-                        approvedExpenses = memberExpenses.stream()
-                                .filter(e -> e.getStatus() == ExpenseStatus.APPROVED)
-                                .count();
-                        rejectedExpenses = memberExpenses.stream()
-                                .filter(e -> e.getStatus() == ExpenseStatus.REJECTED)
-                                .count();
-                    }
-                    
-                    userSummary.setPendingApprovals(pendingApprovals);
-                    userSummary.setApprovedExpenses(approvedExpenses);
-                    userSummary.setRejectedExpenses(rejectedExpenses);
-                    userSummaries.add(userSummary);
+                if (member.getRole() != null && 
+                    (member.getRole().name().equals("ADMIN") || member.getRole().name().equals("MANAGER"))) {
+                    // Count approvals for managers/admins
+                    pendingApprovals = memberTotals.getOrDefault(ExpenseStatus.PENDING, TeamSpendService.SpendTotal.EMPTY).count();
+                    approvedExpenses = memberTotals.getOrDefault(ExpenseStatus.APPROVED, TeamSpendService.SpendTotal.EMPTY).count();
+                    rejectedExpenses = memberTotals.getOrDefault(ExpenseStatus.REJECTED, TeamSpendService.SpendTotal.EMPTY).count();
                 }
                 
-                // Generate performance metrics
-                performanceMetrics.add(new ReportResponse.PerformanceMetrics(
-                        "Budget Utilization - " + team.getName(), budgetUtilization, BigDecimal.valueOf(80)));
-                
-                performanceMetrics.add(new ReportResponse.PerformanceMetrics(
-                        "Avg Expense per Member - " + team.getName(), 
-                        teamMembers.size() > 0 ? totalExpenses.divide(BigDecimal.valueOf(teamMembers.size()), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO,
-                        BigDecimal.valueOf(1000))); // Target $1000 per member
-                
-            } catch (Exception e) {
-                logger.error("Error processing team: {}", teamId, e);
+                userSummary.setPendingApprovals(pendingApprovals);
+                userSummary.setApprovedExpenses(approvedExpenses);
+                userSummary.setRejectedExpenses(rejectedExpenses);
+                userSummaries.add(userSummary);
             }
+            
+            // Generate performance metrics
+            List<ReportResponse.PerformanceMetrics> performanceMetrics = new ArrayList<>();
+            performanceMetrics.add(new ReportResponse.PerformanceMetrics(
+                    "Budget Utilization - " + team.getName(), budgetUtilization, BigDecimal.valueOf(80)));
+            
+            performanceMetrics.add(new ReportResponse.PerformanceMetrics(
+                    "Avg Expense per Member - " + team.getName(), 
+                    teamMembers.size() > 0 ? totalExpenses.divide(BigDecimal.valueOf(teamMembers.size()), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO,
+                    BigDecimal.valueOf(1000))); // Target $1000 per member
+            
+            return new TeamPerformance(teamSummary, userSummaries, performanceMetrics);
+            
+        } catch (Exception e) {
+            logger.error("Error processing team: {}", team.getId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Maps the items on the report executor in at most reportParallelism
+     * slices, keeping their order. Small inputs and rejected slices run on
+     * the calling thread. The mapper must not touch lazy associations, the
+     * worker threads have no persistence context.
+     */
+    <T, R> List<R> mapInParallel(List<T> items, Function<T, R> mapper) {
+        int slices = Math.min(reportParallelism, items.size() / PARALLEL_SLICE_MIN_SIZE);
+        if (slices <= 1) {
+            return items.stream().map(mapper).collect(Collectors.toList());
         }
         
-        data.setTeamSummaries(teamSummaries);
-        data.setUserSummaries(userSummaries);
-        // Note: You'll need to add performanceMetrics to ReportData class
+        int sliceSize = (items.size() + slices - 1) / slices;
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += sliceSize) {
+            List<T> slice = items.subList(from, Math.min(from + sliceSize, items.size()));
+            Supplier<List<R>> task = () -> slice.stream().map(mapper).collect(Collectors.toList());
+            try {
+                futures.add(CompletableFuture.supplyAsync(task, reportExecutor));
+            } catch (RejectedExecutionException e) {
+                logger.debug("Report executor saturated, computing slice on the calling thread");
+                futures.add(CompletableFuture.completedFuture(task.get()));
+            }
+        }
         
-        return data;
+        List<R> results = new ArrayList<>(items.size());
+        for (CompletableFuture<List<R>> future : futures) {
+            results.addAll(future.join());
+        }
+        return results;
     }
 
     private ReportResponse.ReportSummary generateTeamPerformanceSummary(ReportResponse.ReportData data) {
@@ -1284,12 +1448,16 @@ public class ReportServiceImpl implements ReportService {
             report.setStatus("COMPLETED");
             report.setExpiresAt(LocalDateTime.now().plusDays(30));
             
+            // Read the expenses once and compute every section from the aggregates
+            ExpenseColumns expenses = loadReportExpenses(user.getId(), username, request);
+            ReportAggregates aggregates = reportComputationEngine.aggregate(expenses, true);
+            
             // Generate user analysis data
-            ReportResponse.ReportData data = generateUserAnalysisData(user, request);
+            ReportResponse.ReportData data = generateUserAnalysisData(user, request, expenses, aggregates);
             report.setData(data);
             
             // Calculate user analysis summary
-            ReportResponse.ReportSummary summary = generateUserAnalysisSummary(data, user);
+            ReportResponse.ReportSummary summary = generateUserAnalysisSummary(data, aggregates, user);
             report.setSummary(summary);
             
             // Generate charts if requested
@@ -1302,8 +1470,7 @@ public class ReportServiceImpl implements ReportService {
             report.setFileSizeBytes((long) reportFile.length);
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
             
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
             
             logger.info("Successfully generated user analysis report: {}", reportId);
             return report;
@@ -1314,142 +1481,36 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private ReportResponse.ReportData generateUserAnalysisData(User user, ReportRequest request) {
+    private ReportResponse.ReportData generateUserAnalysisData(User user, ReportRequest request, ExpenseColumns expenses,
+                                                               ReportAggregates aggregates) {
         ReportResponse.ReportData data = new ReportResponse.ReportData();
         
-        LocalDateTime startDateTime = request.getStartDate().atStartOfDay();
-        LocalDateTime endDateTime = request.getEndDate().plusDays(1).atStartOfDay();
-        
-        // Get user's expenses
-        List<Expense> userExpenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                user.getId(), startDateTime, endDateTime);
-        
         // Get user's budgets
         List<Budget> userBudgets = budgetRepository.findByUserIdAndPeriodOverlap(
                 user.getId(), request.getStartDate(), request.getEndDate());
         
         // Apply filters
-        userExpenses = applyExpenseFilters(userExpenses, request);
         userBudgets = applyBudgetFilters(userBudgets, request);
         
         // Set basic data
-        data.setExpenses(convertToExpenseItems(userExpenses));
+        data.setExpenses(expenses.getItems());
         data.setBudgets(convertToBudgetItems(userBudgets));
-        data.setCategorySummaries(calculateCategorySummaries(userExpenses));
-        
-        // Generate monthly summaries
-        List<ReportResponse.MonthlySummary> monthlySummaries = generateMonthlySummaries(userExpenses);
-        data.setMonthlySummaries(monthlySummaries);
+        data.setCategorySummaries(aggregates.getCategorySummaries());
         
-        // Generate spending patterns analysis
-        List<ReportResponse.TrendAnalysis> spendingTrends = generateUserSpendingTrends(userExpenses);
-        data.setTrendAnalysis(spendingTrends);
+        // Monthly summaries and spending patterns come straight from the aggregates
+        data.setMonthlySummaries(aggregates.getMonthlySummaries());
+        data.setTrendAnalysis(aggregates.getCategoryTrends());
         
         // Generate budget compliance analysis
-        List<ReportResponse.VarianceAnalysis> budgetCompliance = generateUserBudgetCompliance(userExpenses, userBudgets);
+        List<ReportResponse.VarianceAnalysis> budgetCompliance = generateUserBudgetCompliance(aggregates.getTotalsByCategory(), userBudgets);
         data.setVarianceAnalysis(budgetCompliance);
         
         return data;
     }
 
-    private List<ReportResponse.MonthlySummary> generateMonthlySummaries(List<Expense> expenses) {
-        Map<String, List<Expense>> expensesByMonth = expenses.stream()
-                .collect(Collectors.groupingBy(e -> 
-                        e.getExpenseDate().getYear() + "-" + String.format("%02d", e.getExpenseDate().getMonthValue())));
-        
-        return expensesByMonth.entrySet().stream()
-                .map(entry -> {
-                    String[] yearMonth = entry.getKey().split("-");
-                    int year = Integer.parseInt(yearMonth[0]);
-                    int month = Integer.parseInt(yearMonth[1]);
-                    String monthName = java.time.Month.of(month).name();
-                    
-                    List<Expense> monthExpenses = entry.getValue();
-                    BigDecimal totalAmount = monthExpenses.stream()
-                            .filter(e -> e.getAmount() != null)
-                            .map(Expense::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    
-                    ReportResponse.MonthlySummary summary = new ReportResponse.MonthlySummary(
-                            monthName, year, totalAmount, (long) monthExpenses.size());
-                    
-                    // Add approval metrics
-                    int approvalCount = (int) monthExpenses.stream()
-                            .filter(e -> e.getStatus() == ExpenseStatus.APPROVED)
-                            .count();
-                    summary.setApprovalCount(approvalCount);
-                    
-                    return summary;
-                })
-                .sorted((a, b) -> {
-                    int yearCompare = a.getYear().compareTo(b.getYear());
-                    return yearCompare != 0 ? yearCompare : a.getMonth().compareTo(b.getMonth());
-                })
-                .collect(Collectors.toList());
-    }
-
-    private List<ReportResponse.TrendAnalysis> generateUserSpendingTrends(List<Expense> expenses) {
-        List<ReportResponse.TrendAnalysis> trends = new ArrayList<>();
-        
-        // Analyze spending by category over time
-        Map<String, List<Expense>> expensesByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(e -> 
-                        e.getCategory() != null ? e.getCategory().getName() : "Unknown"));
-        
-        for (Map.Entry<String, List<Expense>> entry : expensesByCategory.entrySet()) {
-            String category = entry.getKey();
-            List<Expense> categoryExpenses = entry.getValue();
-            
-            BigDecimal totalAmount = categoryExpenses.stream()
-                    .filter(e -> e.getAmount() != null)
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Calculate trend based on expense frequency and amounts
-            String trend = "STABLE";
-            if (categoryExpenses.size() > 3) {
-                // Simple trend analysis based on recent vs older expenses
-                List<Expense> sortedExpenses = categoryExpenses.stream()
-                        .sorted((a, b) -> a.getExpenseDate().compareTo(b.getExpenseDate()))
-                        .collect(Collectors.toList());
-                
-                int midPoint = sortedExpenses.size() / 2;
-                BigDecimal firstHalfSum = sortedExpenses.subList(0, midPoint).stream()
-                        .filter(e -> e.getAmount() != null)
-                        .map(Expense::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                BigDecimal secondHalfSum = sortedExpenses.subList(midPoint, sortedExpenses.size()).stream()
-                        .filter(e -> e.getAmount() != null)
-                        .map(Expense::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                if (secondHalfSum.compareTo(firstHalfSum.multiply(BigDecimal.valueOf(1.1))) > 0) {
-                    trend = "INCREASING";
-                } else if (secondHalfSum.compareTo(firstHalfSum.multiply(BigDecimal.valueOf(0.9))) < 0) {
-                    trend = "DECREASING";
-                }
-            }
-            
-            ReportResponse.TrendAnalysis trendAnalysis = new ReportResponse.TrendAnalysis(
-                    category, totalAmount, (long) categoryExpenses.size(), BigDecimal.ZERO, trend);
-            trends.add(trendAnalysis);
-        }
-        
-        return trends;
-    }
-
-    private List<ReportResponse.VarianceAnalysis> generateUserBudgetCompliance(List<Expense> expenses, List<Budget> budgets) {
+    private List<ReportResponse.VarianceAnalysis> generateUserBudgetCompliance(Map<String, BigDecimal> expensesByCategory, List<Budget> budgets) {
         List<ReportResponse.VarianceAnalysis> compliance = new ArrayList<>();
         
-        // Group expenses by category
-        Map<String, BigDecimal> expensesByCategory = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory() != null ? e.getCategory().getName() : "Unknown",
-                        Collectors.reducing(BigDecimal.ZERO, 
-                                e -> e.getAmount() != null ? e.getAmount() : BigDecimal.ZERO, 
-                                BigDecimal::add)));
-        
         // Analyze each budget
         for (Budget budget : budgets) {
             String categoryName = budget.getCategory() != null ? budget.getCategory().getName() : "Unknown";
@@ -1474,22 +1535,9 @@ public class ReportServiceImpl implements ReportService {
         return compliance;
     }
 
-    private ReportResponse.ReportSummary generateUserAnalysisSummary(ReportResponse.ReportData data, User user) {
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        long totalCount = 0;
-        
-        if (data.getExpenses() != null) {
-            totalAmount = data.getExpenses().stream()
-                    .map(ReportResponse.ExpenseItem::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            totalCount = data.getExpenses().size();
-        }
-        
-        BigDecimal averageAmount = totalCount > 0 ?
-                totalAmount.divide(BigDecimal.valueOf(totalCount), 2, RoundingMode.HALF_UP) :
-                BigDecimal.ZERO;
-        
-        ReportResponse.ReportSummary summary = new ReportResponse.ReportSummary(totalAmount, totalCount, averageAmount);
+    private ReportResponse.ReportSummary generateUserAnalysisSummary(ReportResponse.ReportData data, ReportAggregates aggregates, User user) {
+        ReportResponse.ReportSummary summary = new ReportResponse.ReportSummary(
+                aggregates.getTotalAmount(), aggregates.getCount(), aggregates.getAverageAmount());
         
         // Find top category and amounts
         if (data.getCategorySummaries() != null && !data.getCategorySummaries().isEmpty()) {
@@ -1501,18 +1549,8 @@ public class ReportServiceImpl implements ReportService {
                 summary.setTopCategory(topCategory.getCategoryName());
             }
             
-            BigDecimal maxAmount = data.getExpenses().stream()
-                    .map(ReportResponse.ExpenseItem::getAmount)
-                    .max(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
-            
-            BigDecimal minAmount = data.getExpenses().stream()
-                    .map(ReportResponse.ExpenseItem::getAmount)
-                    .min(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
-            
-            summary.setMaxAmount(maxAmount);
-            summary.setMinAmount(minAmount);
+            summary.setMaxAmount(aggregates.getMaxAmount());
+            summary.setMinAmount(aggregates.getMinAmount());
         }
         
         Map<String, Object> additionalMetrics = new HashMap<>();
@@ -1569,12 +1607,16 @@ public class ReportServiceImpl implements ReportService {
             report.setStatus("COMPLETED");
             report.setExpiresAt(LocalDateTime.now().plusDays(30));
             
+            // Read the expenses once and compute every section from the aggregates
+            ExpenseColumns expenses = loadReportExpenses(user.getId(), username, request);
+            ReportAggregates aggregates = reportComputationEngine.aggregate(expenses, false);
+            
             // Generate comprehensive financial data
-            ReportResponse.ReportData data = generateFinancialSummaryData(user, request);
+            ReportResponse.ReportData data = generateFinancialSummaryData(user, request, expenses, aggregates);
             report.setData(data);
             
             // Calculate financial summary
-            ReportResponse.ReportSummary summary = generateFinancialSummary(data);
+            ReportResponse.ReportSummary summary = generateFinancialSummary(data, aggregates);
             report.setSummary(summary);
             
             // Generate financial charts
@@ -1587,8 +1629,7 @@ public class ReportServiceImpl implements ReportService {
             report.setFileSizeBytes((long) reportFile.length);
             report.setDownloadUrl("/api/reports/" + reportId + "/download");
             
-            reportStorage.put(reportId, report);
-            reportFiles.put(reportId, reportFile);
+            storeReport(report, reportFile);
             
             logger.info("Successfully generated financial summary report: {}", reportId);
             return report;
@@ -1599,51 +1640,43 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private ReportResponse.ReportData generateFinancialSummaryData(User user, ReportRequest request) {
+    private ReportResponse.ReportData generateFinancialSummaryData(User user, ReportRequest request, ExpenseColumns expenses,
+                                                                   ReportAggregates aggregates) {
         ReportResponse.ReportData data = new ReportResponse.ReportData();
         
-        LocalDateTime startDateTime = request.getStartDate().atStartOfDay();
-        LocalDateTime endDateTime = request.getEndDate().plusDays(1).atStartOfDay();
-        
         // Get all financial data
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                user.getId(), startDateTime, endDateTime);
         List<Budget> budgets = budgetRepository.findByUserIdAndPeriodOverlap(
                 user.getId(), request.getStartDate(), request.getEndDate());
         
         // Apply filters
-        expenses = applyExpenseFilters(expenses, request);
         budgets = applyBudgetFilters(budgets, request);
         
         // Set basic data
-        data.setExpenses(convertToExpenseItems(expenses));
+        data.setExpenses(expenses.getItems());
         data.setBudgets(convertToBudgetItems(budgets));
-        data.setCategorySummaries(calculateCategorySummaries(expenses));
-        data.setMonthlySummaries(generateMonthlySummaries(expenses));
+        data.setCategorySummaries(aggregates.getCategorySummaries());
+        data.setMonthlySummaries(aggregates.getMonthlySummaries());
         
         // Generate financial metrics
-        List<ReportResponse.FinancialMetrics> financialMetrics = generateFinancialMetrics(expenses, budgets);
+        List<ReportResponse.FinancialMetrics> financialMetrics = generateFinancialMetrics(aggregates, budgets);
         data.setFinancialMetrics(financialMetrics);
         
         // Generate cash flow analysis
-        List<ReportResponse.ComparisonAnalysis> cashFlowAnalysis = generateCashFlowAnalysis(expenses, request);
+        List<ReportResponse.ComparisonAnalysis> cashFlowAnalysis = generateCashFlowAnalysis(user.getId(), aggregates, request);
         data.setComparisonAnalysis(cashFlowAnalysis);
         
         // Generate budget vs actual analysis
-        List<ReportResponse.VarianceAnalysis> budgetAnalysis = generateUserBudgetCompliance(expenses, budgets);
+        List<ReportResponse.VarianceAnalysis> budgetAnalysis = generateUserBudgetCompliance(aggregates.getTotalsByCategory(), budgets);
         data.setVarianceAnalysis(budgetAnalysis);
         
         return data;
     }
 
-    private List<ReportResponse.FinancialMetrics> generateFinancialMetrics(List<Expense> expenses, List<Budget> budgets) {
+    private List<ReportResponse.FinancialMetrics> generateFinancialMetrics(ReportAggregates aggregates, List<Budget> budgets) {
         List<ReportResponse.FinancialMetrics> metrics = new ArrayList<>();
         
         // Total expenses
-        BigDecimal totalExpenses = expenses.stream()
-                .filter(e -> e.getAmount() != null)
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalExpenses = aggregates.getTotalAmount();
         
         metrics.add(new ReportResponse.FinancialMetrics(
                 "Total Expenses", "AMOUNT", totalExpenses, "USD", "EXPENSES", 
@@ -1676,31 +1709,25 @@ public class ReportServiceImpl implements ReportService {
                 "Percentage of budget used", utilizationStatus));
         
         // Average expense amount
-        BigDecimal avgExpense = expenses.size() > 0 ?
-                totalExpenses.divide(BigDecimal.valueOf(expenses.size()), 2, RoundingMode.HALF_UP) :
-                BigDecimal.ZERO;
+        BigDecimal avgExpense = aggregates.getAverageAmount();
         
         metrics.add(new ReportResponse.FinancialMetrics(
                 "Average Expense Amount", "AMOUNT", avgExpense, "USD", "EXPENSES",
                 "Average amount per expense", "GOOD"));
         
         // Number of categories used
-        long categoriesUsed = expenses.stream()
-                .map(e -> e.getCategory() != null ? e.getCategory().getName() : "Unknown")
-                .distinct()
-                .count();
+        long categoriesUsed = aggregates.getCategoriesUsed();
         
         metrics.add(new ReportResponse.FinancialMetrics(
                 "Categories Used", "COUNT", BigDecimal.valueOf(categoriesUsed), "COUNT", "CATEGORIES",
                 "Number of different expense categories", "GOOD"));
         
         // Expense frequency (expenses per day)
-        long daysInPeriod = java.time.temporal.ChronoUnit.DAYS.between(
-                expenses.stream().map(Expense::getExpenseDate).min(LocalDate::compareTo).orElse(LocalDate.now()),
-                expenses.stream().map(Expense::getExpenseDate).max(LocalDate::compareTo).orElse(LocalDate.now())) + 1;
+        long daysInPeriod = aggregates.getCount() > 0 ?
+                java.time.temporal.ChronoUnit.DAYS.between(aggregates.getFirstDate(), aggregates.getLastDate()) + 1 : 1;
         
         BigDecimal expenseFrequency = daysInPeriod > 0 ?
-                BigDecimal.valueOf(expenses.size()).divide(BigDecimal.valueOf(daysInPeriod), 2, RoundingMode.HALF_UP) :
+                BigDecimal.valueOf(aggregates.getCount()).divide(BigDecimal.valueOf(daysInPeriod), 2, RoundingMode.HALF_UP) :
                 BigDecimal.ZERO;
         
         metrics.add(new ReportResponse.FinancialMetrics(
@@ -1708,11 +1735,7 @@ public class ReportServiceImpl implements ReportService {
                 "Average number of expenses per day", "GOOD"));
         
         // Largest single expense
-        BigDecimal largestExpense = expenses.stream()
-                .filter(e -> e.getAmount() != null)
-                .map(Expense::getAmount)
-                .max(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
+        BigDecimal largestExpense = aggregates.getMaxAmount();
         
         metrics.add(new ReportResponse.FinancialMetrics(
                 "Largest Single Expense", "AMOUNT", largestExpense, "USD", "EXPENSES",
@@ -1729,7 +1752,7 @@ public class ReportServiceImpl implements ReportService {
         return metrics;
      }
 
-     private List<ReportResponse.ComparisonAnalysis> generateCashFlowAnalysis(List<Expense> expenses, ReportRequest request) {
+     private List<ReportResponse.ComparisonAnalysis> generateCashFlowAnalysis(Long userId, ReportAggregates aggregates, ReportRequest request) {
         List<ReportResponse.ComparisonAnalysis> cashFlow = new ArrayList<>();
         
         // Compare current period with previous period of same length
@@ -1738,24 +1761,15 @@ public class ReportServiceImpl implements ReportService {
         LocalDate previousPeriodEnd = request.getStartDate().minusDays(1);
         
         try {
-            // Get previous period expenses for comparison
-            LocalDateTime prevStartDateTime = previousPeriodStart.atStartOfDay();
-            LocalDateTime prevEndDateTime = previousPeriodEnd.plusDays(1).atStartOfDay();
-            
-            List<Expense> previousExpenses = expenseRepository.findByUserIdAndExpenseDateBetween(
-                    expenses.get(0).getUser().getId(), prevStartDateTime, prevEndDateTime);
+            // Previous period only needs totals, so read them from the spend rollups
+            List<SpendRollupService.SpendBucket> previousBuckets = spendRollupService.getUserSpend(
+                    userId, previousPeriodStart, previousPeriodEnd);
             
             // Current period total
-            BigDecimal currentTotal = expenses.stream()
-                    .filter(e -> e.getAmount() != null)
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal currentTotal = aggregates.getTotalAmount();
             
             // Previous period total
-            BigDecimal previousTotal = previousExpenses.stream()
-                    .filter(e -> e.getAmount() != null)
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal previousTotal = SpendRollupService.SpendBucket.totalAmount(previousBuckets, b -> true);
             
             // Overall cash flow comparison
             ReportResponse.ComparisonAnalysis overallComparison = new ReportResponse.ComparisonAnalysis(
@@ -1768,19 +1782,17 @@ public class ReportServiceImpl implements ReportService {
             cashFlow.add(overallComparison);
             
             // Category-wise cash flow comparison
-            Map<String, BigDecimal> currentCategoryTotals = expenses.stream()
-                    .collect(Collectors.groupingBy(
-                            e -> e.getCategory() != null ? e.getCategory().getName() : "Unknown",
-                            Collectors.reducing(BigDecimal.ZERO, 
-                                    e -> e.getAmount() != null ? e.getAmount() : BigDecimal.ZERO, 
-                                    BigDecimal::add)));
+            Map<String, BigDecimal> currentCategoryTotals = aggregates.getTotalsByCategory();
+            
+            Map<Long, String> previousCategoryNames = categoryRepository.findAllById(previousBuckets.stream()
+                    .map(SpendRollupService.SpendBucket::categoryId)
+                    .collect(Collectors.toSet())).stream()
+                    .collect(Collectors.toMap(Category::getId, Category::getName));
             
-            Map<String, BigDecimal> previousCategoryTotals = previousExpenses.stream()
+            Map<String, BigDecimal> previousCategoryTotals = previousBuckets.stream()
                     .collect(Collectors.groupingBy(
-                            e -> e.getCategory() != null ? e.getCategory().getName() : "Unknown",
-                            Collectors.reducing(BigDecimal.ZERO, 
-                                    e -> e.getAmount() != null ? e.getAmount() : BigDecimal.ZERO, 
-                                    BigDecimal::add)));
+                            b -> previousCategoryNames.getOrDefault(b.categoryId(), "Unknown"),
+                            Collectors.reducing(BigDecimal.ZERO, SpendRollupService.SpendBucket::amount, BigDecimal::add)));
             
             Set<String> allCategories = new HashSet<>();
             allCategories.addAll(currentCategoryTotals.keySet());
@@ -1803,10 +1815,7 @@ public class ReportServiceImpl implements ReportService {
         } catch (Exception e) {
             logger.error("Error generating cash flow analysis", e);
             // Add a basic current period analysis if comparison fails
-            BigDecimal currentTotal = expenses.stream()
-                    .filter(exp -> exp.getAmount() != null)
-                    .map(Expense::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal currentTotal = aggregates.getTotalAmount();
             
             ReportResponse.ComparisonAnalysis basicAnalysis = new ReportResponse.ComparisonAnalysis(
                     "CURRENT_PERIOD_ONLY", "Total Expenses", currentTotal, BigDecimal.ZERO);
@@ -1817,17 +1826,10 @@ public class ReportServiceImpl implements ReportService {
         return cashFlow;
      }
 
-     private ReportResponse.ReportSummary generateFinancialSummary(ReportResponse.ReportData data) {
-        BigDecimal totalExpenses = BigDecimal.ZERO;
+     private ReportResponse.ReportSummary generateFinancialSummary(ReportResponse.ReportData data, ReportAggregates aggregates) {
+        BigDecimal totalExpenses = aggregates.getTotalAmount();
         BigDecimal totalBudgets = BigDecimal.ZERO;
-        long expenseCount = 0;
-        
-        if (data.getExpenses() != null) {
-            totalExpenses = data.getExpenses().stream()
-                    .map(ReportResponse.ExpenseItem::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            expenseCount = data.getExpenses().size();
-        }
+        long expenseCount = aggregates.getCount();
         
         if (data.getBudgets() != null) {
             totalBudgets = data.getBudgets().stream()
@@ -1835,9 +1837,7 @@ public class ReportServiceImpl implements ReportService {
                     .reduce(BigDecimal.ZERO, BigDecimal::add);
         }
         
-        BigDecimal averageExpense = expenseCount > 0 ?
-                totalExpenses.divide(BigDecimal.valueOf(expenseCount), 2, RoundingMode.HALF_UP) :
-                BigDecimal.ZERO;
+        BigDecimal averageExpense = aggregates.getAverageAmount();
         
         ReportResponse.ReportSummary summary = new ReportResponse.ReportSummary(totalExpenses, expenseCount, averageExpense);
         
@@ -1864,19 +1864,9 @@ public class ReportServiceImpl implements ReportService {
         summary.setTopCategory(topCategory);
         
         // Find min and max expenses
-        if (data.getExpenses() != null && !data.getExpenses().isEmpty()) {
-            BigDecimal maxAmount = data.getExpenses().stream()
-                    .map(ReportResponse.ExpenseItem::getAmount)
-                    .max(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
-            
-            BigDecimal minAmount = data.getExpenses().stream()
-                    .map(ReportResponse.ExpenseItem::getAmount)
-                    .min(BigDecimal::compareTo)
-                    .orElse(BigDecimal.ZERO);
-            
-            summary.setMaxAmount(maxAmount);
-            summary.setMinAmount(minAmount);
+        if (aggregates.getCount() > 0) {
+            summary.setMaxAmount(aggregates.getMaxAmount());
+            summary.setMinAmount(aggregates.getMinAmount());
         }
         
         // Additional financial metrics
@@ -2147,8 +2137,9 @@ public class ReportServiceImpl implements ReportService {
         return summary;
     }
 
-    private ReportResponse.ReportSummary calculateTeamSummary(List<Expense> expenses, List<Budget> budgets) {
-        ReportResponse.ReportSummary expenseSummary = calculateExpenseSummary(expenses);
+    private ReportResponse.ReportSummary calculateTeamSummary(List<Expense> expenses, List<Budget> budgets,
+                                                              CurrencyConverter converter) {
+        ReportResponse.ReportSummary expenseSummary = calculateExpenseSummary(expenses, converter);
         ReportResponse.ReportSummary budgetSummary = calculateBudgetSummary(budgets);
         
         Map<String, Object> teamMetrics = new HashMap<>();
@@ -2196,7 +2187,7 @@ public class ReportServiceImpl implements ReportService {
                 .collect(Collectors.toList());
     }
 
-    private List<ReportResponse.UserSummary> calculateTeamMemberSummaries(List<Expense> expenses) {
+    private List<ReportResponse.UserSummary> calculateTeamMemberSummaries(List<Expense> expenses, CurrencyConverter converter) {
         if (expenses == null || expenses.isEmpty()) {
             return new ArrayList<>();
         }
@@ -2210,10 +2201,7 @@ public class ReportServiceImpl implements ReportService {
                     String username = entry.getKey();
                     List<Expense> userExpenses = entry.getValue();
                     
-                    BigDecimal totalAmount = userExpenses.stream()
-                            .filter(e -> e.getAmount() != null)
-                            .map(Expense::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    BigDecimal totalAmount = sumConverted(userExpenses, converter);
                     
                     String fullName = userExpenses.get(0).getUser() != null ? 
                             userExpenses.get(0).getUser().getFirstName() + " " + userExpenses.get(0).getUser().getLastName() : 
@@ -2233,12 +2221,8 @@ public class ReportServiceImpl implements ReportService {
             throw new ForbiddenException("Access denied to report: " + reportId);
         }
 
-        ReportResponse report = reportStorage.get(reportId);
-        if (report == null) {
-            throw new ResourceNotFoundException("Report not found: " + reportId);
-        }
-
-        return report;
+        return findReport(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report not found: " + reportId));
     }
 
     @Override
@@ -2269,7 +2253,7 @@ public class ReportServiceImpl implements ReportService {
         }
 
         reportStorage.remove(reportId);
-        reportFiles.remove(reportId);
+        reportOutputStore.delete(reportId);
 
         logger.info("Deleted report: {} by user: {}", reportId, username);
     }
@@ -2280,12 +2264,8 @@ public class ReportServiceImpl implements ReportService {
             throw new ForbiddenException("Access denied to report: " + reportId);
         }
 
-        byte[] reportFile = reportFiles.get(reportId);
-        if (reportFile == null) {
-            throw new ResourceNotFoundException("Report file not found: " + reportId);
-        }
-
-        return reportFile;
+        return reportOutputStore.readFile(reportId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report file not found: " + reportId));
     }
 
     @Override
@@ -2299,50 +2279,22 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public ReportResponse.ScheduledReportInfo createScheduledReport(ReportRequest.ScheduledReportRequest request, String username) {
-        try {
-            logger.info("Creating scheduled report: {} for user: {}", request.getReportName(), username);
-            
-            // Get user to validate existence
-            User user = userRepository.findByUsernameOrEmail(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-            
-            Long scheduleId = System.currentTimeMillis();
-            LocalDateTime nextScheduled = calculateNextScheduledTime(request.getFrequency());
-            
-            ReportResponse.ScheduledReportInfo scheduleInfo = new ReportResponse.ScheduledReportInfo(
-                    scheduleId, request.getReportName(), request.getFrequency(),
-                    request.getIsActive(), nextScheduled);
-            
-            scheduleInfo.setEmailRecipients(request.getEmailRecipients());
-            scheduleInfo.setDescription(request.getDescription());
-            scheduleInfo.setStatus(Boolean.TRUE.equals(request.getIsActive()) ? "ACTIVE" : "INACTIVE");
-            scheduleInfo.setExecutionCount(0);
-            
-            // Store the scheduled report for the user
-            List<ReportResponse.ScheduledReportInfo> userReports = userScheduledReports.getOrDefault(username, new ArrayList<>());
-            userReports.add(scheduleInfo);
-            userScheduledReports.put(username, userReports);
-            
-            // Also store the owner mapping for validation
-            scheduleOwnerMap.put(scheduleId, username);
-            
-            logger.info("Successfully created scheduled report: {} with ID: {} for user: {}", 
-                    request.getReportName(), scheduleId, username);
-            
-            return scheduleInfo;
-            
-        } catch (ResourceNotFoundException e) {
-            logger.error("Error creating scheduled report: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error creating scheduled report for user: {}", username, e);
-            throw new RuntimeException("Failed to create scheduled report: " + e.getMessage(), e);
-        }
-    }
-    
- // Helper method to get the owner of a scheduled report
-    private String getScheduledReportOwner(Long scheduleId) {
-        return scheduleOwnerMap.get(scheduleId);
+        logger.info("Creating scheduled report: {} for user: {}", request.getReportName(), username);
+        
+        User user = userRepository.findByUsernameOrEmail(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+        
+        ScheduledReport schedule = new ScheduledReport();
+        schedule.setUserId(user.getId());
+        schedule.setCreatedBy(user.getUsername());
+        applyScheduleRequest(schedule, request);
+        
+        schedule = scheduledReportRepository.save(schedule);
+        
+        logger.info("Successfully created scheduled report: {} with ID: {} for user: {}", 
+                request.getReportName(), schedule.getId(), username);
+        
+        return convertToScheduledReportInfo(schedule);
     }
 
     @Override
@@ -2351,12 +2303,13 @@ public class ReportServiceImpl implements ReportService {
         try {
             logger.info("Retrieving scheduled reports for user: {}", username);
             
-            // Get user to validate existence
             User user = userRepository.findByUsernameOrEmail(username)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
             
-            // Return scheduled reports for this user
-            List<ReportResponse.ScheduledReportInfo> userReports = userScheduledReports.getOrDefault(username, new ArrayList<>());
+            List<ReportResponse.ScheduledReportInfo> userReports = scheduledReportRepository.findByUserIdOrderByIdAsc(user.getId())
+                    .stream()
+                    .map(this::convertToScheduledReportInfo)
+                    .collect(Collectors.toList());
             
             logger.info("Found {} scheduled reports for user: {}", userReports.size(), username);
             return userReports;
@@ -2369,190 +2322,233 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public ReportResponse.ScheduledReportInfo updateScheduledReport(Long scheduleId, ReportRequest.ScheduledReportRequest request, String username) {
-        try {
-            logger.info("Updating scheduled report: {} for user: {}", scheduleId, username);
-            
-            // Get user to validate existence
-            User user = userRepository.findByUsernameOrEmail(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-            
-            // Get user's scheduled reports
-            List<ReportResponse.ScheduledReportInfo> userReports = userScheduledReports.getOrDefault(username, new ArrayList<>());
-            
-            // Find the scheduled report to update
-            ReportResponse.ScheduledReportInfo existingReport = userReports.stream()
-                    .filter(report -> scheduleId.equals(report.getScheduleId()))
-                    .findFirst()
-                    .orElseThrow(() -> new ResourceNotFoundException("Scheduled report not found: " + scheduleId));
-            
-            // Validate that the user owns this scheduled report
-            if (!username.equals(getScheduledReportOwner(scheduleId))) {
-                throw new ForbiddenException("Access denied to scheduled report: " + scheduleId);
-            }
-            
-            // Update the scheduled report
-            existingReport.setReportName(request.getReportName());
-            existingReport.setFrequency(request.getFrequency());
-            existingReport.setEmailRecipients(request.getEmailRecipients());
-            existingReport.setIsActive(request.getIsActive());
-            existingReport.setDescription(request.getDescription());
-            
-            // Calculate next scheduled time based on new frequency
-            LocalDateTime nextScheduled = calculateNextScheduledTime(request.getFrequency());
-            existingReport.setNextScheduled(nextScheduled);
-            
-            // Update status and execution count
-            existingReport.setStatus(Boolean.TRUE.equals(request.getIsActive()) ? "ACTIVE" : "INACTIVE");
-            
-            // Save the updated report back to storage
-            userScheduledReports.put(username, userReports);
-            
-            logger.info("Successfully updated scheduled report: {} for user: {}", scheduleId, username);
-            return existingReport;
-            
-        } catch (ResourceNotFoundException | ForbiddenException e) {
-            logger.error("Error updating scheduled report: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error updating scheduled report: {} for user: {}", scheduleId, username, e);
-            throw new RuntimeException("Failed to update scheduled report: " + e.getMessage(), e);
-        }
+        logger.info("Updating scheduled report: {} for user: {}", scheduleId, username);
+        
+        ScheduledReport schedule = getOwnedSchedule(scheduleId, username);
+        applyScheduleRequest(schedule, request);
+        schedule = scheduledReportRepository.save(schedule);
+        
+        logger.info("Successfully updated scheduled report: {} for user: {}", scheduleId, username);
+        return convertToScheduledReportInfo(schedule);
     }
-    
-    
 
     @Override
     public void deleteScheduledReport(Long scheduleId, String username) {
-        try {
-            logger.info("Deleting scheduled report: {} by user: {}", scheduleId, username);
-            
-            // Get user to validate existence
-            User user = userRepository.findByUsernameOrEmail(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-            
-            // Get user's scheduled reports
-            List<ReportResponse.ScheduledReportInfo> userReports = userScheduledReports.getOrDefault(username, new ArrayList<>());
-            
-            // Find the scheduled report to delete
-            ReportResponse.ScheduledReportInfo reportToDelete = userReports.stream()
-                    .filter(report -> scheduleId.equals(report.getScheduleId()))
-                    .findFirst()
-                    .orElseThrow(() -> new ResourceNotFoundException("Scheduled report not found: " + scheduleId));
-            
-            // Validate that the user owns this scheduled report
-            if (!username.equals(getScheduledReportOwner(scheduleId))) {
-                throw new ForbiddenException("Access denied to scheduled report: " + scheduleId);
-            }
-            
-            // Remove the scheduled report from user's list
-            userReports.removeIf(report -> scheduleId.equals(report.getScheduleId()));
-            
-            // Update the storage
-            if (userReports.isEmpty()) {
-                userScheduledReports.remove(username);
-            } else {
-                userScheduledReports.put(username, userReports);
-            }
-            
-            logger.info("Successfully deleted scheduled report: {} by user: {}", scheduleId, username);
-            
-        } catch (ResourceNotFoundException | ForbiddenException e) {
-            logger.error("Error deleting scheduled report: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error deleting scheduled report: {} by user: {}", scheduleId, username, e);
-            throw new RuntimeException("Failed to delete scheduled report: " + e.getMessage(), e);
-        }
+        logger.info("Deleting scheduled report: {} by user: {}", scheduleId, username);
+        
+        ScheduledReport schedule = getOwnedSchedule(scheduleId, username);
+        scheduledReportRepository.delete(schedule);
+        
+        logger.info("Successfully deleted scheduled report: {} by user: {}", scheduleId, username);
     }
 
+    /**
+     * Queue every due scheduled report as a report job. Runs outside the class-level
+     * transaction: each schedule is claimed and queued in its own short transaction, so a
+     * claim is visible to other nodes as soon as it is made and one bad schedule can't
+     * roll back the rest. The report job dispatcher bounds how many runs execute at once.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executeScheduledReports() {
         try {
-            logger.info("Executing scheduled reports");
-            
             LocalDateTime now = LocalDateTime.now();
-            int executedCount = 0;
+            List<ScheduledReport> dueSchedules = scheduledReportRepository.findDue(now, PageRequest.of(0, scheduleBatchSize));
             
-            // Iterate through all users' scheduled reports
-            for (Map.Entry<String, List<ReportResponse.ScheduledReportInfo>> entry : userScheduledReports.entrySet()) {
-                String username = entry.getKey();
-                List<ReportResponse.ScheduledReportInfo> userReports = entry.getValue();
-                
-                for (ReportResponse.ScheduledReportInfo scheduledReport : userReports) {
-                    // Check if report is active and due for execution
-                    if (Boolean.TRUE.equals(scheduledReport.getIsActive()) && 
-                        scheduledReport.getNextScheduled() != null &&
-                        scheduledReport.getNextScheduled().isBefore(now)) {
-                        
-                        try {
-                            // Execute the scheduled report
-                            executeIndividualScheduledReport(scheduledReport, username);
-                            
-                            // Update next scheduled time
-                            LocalDateTime nextScheduled = calculateNextScheduledTime(scheduledReport.getFrequency());
-                            scheduledReport.setNextScheduled(nextScheduled);
-                            scheduledReport.setLastGenerated(now);
-                            scheduledReport.setExecutionCount(
-                                (scheduledReport.getExecutionCount() != null ? scheduledReport.getExecutionCount() : 0) + 1
-                            );
-                            
-                            executedCount++;
-                            logger.info("Successfully executed scheduled report: {} for user: {}", 
-                                    scheduledReport.getReportName(), username);
-                            
-                        } catch (Exception e) {
-                            logger.error("Error executing scheduled report: {} for user: {}", 
-                                    scheduledReport.getReportName(), username, e);
-                            scheduledReport.setStatus("ERROR");
-                        }
+            int queuedCount = 0;
+            for (ScheduledReport schedule : dueSchedules) {
+                try {
+                    Boolean queued = transactionTemplate.execute(status -> queueScheduledRun(schedule, now));
+                    if (Boolean.TRUE.equals(queued)) {
+                        queuedCount++;
                     }
+                } catch (Exception e) {
+                    logger.error("Error queueing scheduled report: {} for user: {}", 
+                            schedule.getId(), schedule.getCreatedBy(), e);
                 }
             }
             
-            logger.info("Completed executing scheduled reports. Total executed: {}", executedCount);
+            if (!dueSchedules.isEmpty()) {
+                logger.info("Queued {} of {} due scheduled reports", queuedCount, dueSchedules.size());
+            }
             
         } catch (Exception e) {
             logger.error("Error during scheduled reports execution", e);
         }
     }
 
-    // Helper method to execute an individual scheduled report
-    private void executeIndividualScheduledReport(ReportResponse.ScheduledReportInfo scheduledReport, String username) {
-        try {
-            logger.info("Executing individual scheduled report: {} for user: {}", 
-                    scheduledReport.getReportName(), username);
-            
-            // For now, create a simple expense report as default
-            // In a real implementation, you would use the stored report configuration
-            LocalDate endDate = LocalDate.now();
-            LocalDate startDate = endDate.minusMonths(1); // Default to last month
-            
-            ReportRequest.ExpenseReportRequest request = new ReportRequest.ExpenseReportRequest(
-                    startDate, endDate, "PDF");
-            
-            // Generate the report
-            ReportResponse report = generateExpenseReport(request, username);
-            
-            // Email the report to recipients if email service is available
-            if (emailService != null && scheduledReport.getEmailRecipients() != null && 
-                !scheduledReport.getEmailRecipients().isEmpty()) {
-                
-                byte[] reportData = downloadReport(report.getReportId(), username);
+    @Override
+    public void recordScheduledReportRun(Long scheduleId, String reportId, ReportJobStatus status, String errorMessage) {
+        ScheduledReport schedule = scheduledReportRepository.findById(scheduleId).orElse(null);
+        if (schedule == null) {
+            // Deleted while the run was queued
+            return;
+        }
+        
+        if (status == ReportJobStatus.COMPLETED && (findReport(reportId).isEmpty() || !reportOutputStore.exists(reportId))) {
+            // Nothing to mail; count it against the schedule rather than skipping the run silently
+            logger.warn("Output of scheduled report {} run {} is missing", scheduleId, reportId);
+            status = ReportJobStatus.FAILED;
+            errorMessage = "Report output missing";
+        }
+        
+        if (status == ReportJobStatus.COMPLETED) {
+            schedule.setLastRunAt(LocalDateTime.now());
+            schedule.setExecutionCount(schedule.getExecutionCount() + 1);
+            schedule.setFailureCount(0);
+            schedule.setLastError(null);
+            schedule.setStatus(Boolean.TRUE.equals(schedule.getIsActive()) ? "ACTIVE" : "INACTIVE");
+            scheduledReportRepository.save(schedule);
+            
+            sendScheduledReportEmails(schedule, reportId);
+            logger.info("Successfully executed scheduled report: {} (execution #{})", 
+                    schedule.getReportName(), schedule.getExecutionCount());
+            
+        } else if (status == ReportJobStatus.FAILED) {
+            schedule.setFailureCount(schedule.getFailureCount() + 1);
+            schedule.setLastError(errorMessage);
+            schedule.setStatus("FAILED");
+            
+            // Disable if too many consecutive failures
+            if (schedule.getFailureCount() >= maxScheduleFailures) {
+                schedule.setIsActive(false);
+                schedule.setStatus("DISABLED_DUE_TO_FAILURES");
+                schedule.setNextRunAt(null);
+                logger.warn("Disabled scheduled report {} due to {} consecutive failures", 
+                        schedule.getReportName(), schedule.getFailureCount());
                 
-                for (String recipient : scheduledReport.getEmailRecipients()) {
+                if (emailService != null) {
                     try {
-                        emailService.sendReportEmail(recipient, report, reportData);
-                        logger.info("Emailed scheduled report to: {}", recipient);
+                        emailService.sendScheduledReportFailureNotification(schedule, new RuntimeException(errorMessage));
                     } catch (Exception e) {
-                        logger.error("Error emailing scheduled report to: {}", recipient, e);
+                        logger.error("Failed to send failure notification for scheduled report: {}", 
+                                schedule.getReportName(), e);
                     }
                 }
             }
-            
+            scheduledReportRepository.save(schedule);
+        }
+    }
+
+    // Claim the current run of a schedule and queue it as a report job
+    private boolean queueScheduledRun(ScheduledReport schedule, LocalDateTime now) {
+        ReportRequest request;
+        try {
+            request = buildScheduledRunRequest(schedule, now.toLocalDate());
         } catch (Exception e) {
-            logger.error("Error executing individual scheduled report", e);
-            throw e;
+            // The stored configuration can never run; stop polling it
+            logger.error("Scheduled report {} has an invalid report configuration", schedule.getId(), e);
+            schedule.setIsActive(false);
+            schedule.setStatus("INVALID_CONFIG");
+            schedule.setNextRunAt(null);
+            schedule.setLastError("Invalid report configuration");
+            scheduledReportRepository.save(schedule);
+            return false;
+        }
+        
+        LocalDateTime nextRunAt = calculateNextScheduledTime(schedule.getFrequency(), now);
+        if (scheduledReportRepository.claimRun(schedule.getId(), schedule.getNextRunAt(), nextRunAt) == 0) {
+            // Claimed by another node, or changed by its owner since it was read
+            return false;
         }
+        
+        reportJobService.submitScheduledRun(schedule, request);
+        return true;
+    }
+
+    // The stored report configuration, with the date range set to the period just ended
+    private ReportRequest buildScheduledRunRequest(ScheduledReport schedule, LocalDate today) throws JsonProcessingException {
+        ReportRequest request = objectMapper.readValue(schedule.getReportConfig(), ReportRequest.class);
+        if (request.getReportType() == null) {
+            throw new IllegalArgumentException("Report type is required");
+        }
+        
+        switch (schedule.getFrequency().toUpperCase()) {
+            case "WEEKLY":
+                request.setStartDate(today.minusWeeks(1).with(DayOfWeek.MONDAY));
+                request.setEndDate(today.minusWeeks(1).with(DayOfWeek.SUNDAY));
+                break;
+            case "MONTHLY":
+                request.setStartDate(today.minusMonths(1).withDayOfMonth(1));
+                request.setEndDate(today.minusMonths(1).with(TemporalAdjusters.lastDayOfMonth()));
+                break;
+            case "QUARTERLY":
+                LocalDate quarterStart = today.withMonth(((today.getMonthValue() - 1) / 3) * 3 + 1)
+                        .withDayOfMonth(1).minusMonths(3);
+                request.setStartDate(quarterStart);
+                request.setEndDate(quarterStart.plusMonths(2).with(TemporalAdjusters.lastDayOfMonth()));
+                break;
+            case "DAILY":
+            default:
+                request.setStartDate(today.minusDays(1));
+                request.setEndDate(today.minusDays(1));
+        }
+        
+        request.setReportName(schedule.getReportName() + " - " + 
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+        return request;
+    }
+
+    private void sendScheduledReportEmails(ScheduledReport schedule, String reportId) {
+        List<String> recipients = schedule.getRecipientList();
+        // Read from the output store: the job may have run on another node
+        ReportResponse report = findReport(reportId).orElse(null);
+        byte[] reportFile = reportOutputStore.readFile(reportId).orElse(null);
+        
+        if (emailService == null || recipients.isEmpty() || report == null || reportFile == null) {
+            return;
+        }
+        
+        for (String recipient : recipients) {
+            try {
+                emailService.sendScheduledReportEmail(recipient, schedule, report, reportFile);
+                logger.debug("Sent scheduled report email to: {}", recipient);
+            } catch (Exception e) {
+                logger.error("Failed to send scheduled report email to: {}", recipient, e);
+            }
+        }
+    }
+
+    private void applyScheduleRequest(ScheduledReport schedule, ReportRequest.ScheduledReportRequest request) {
+        try {
+            schedule.setReportConfig(objectMapper.writeValueAsString(request.getReportConfig()));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid report configuration: " + e.getOriginalMessage());
+        }
+        
+        boolean active = !Boolean.FALSE.equals(request.getIsActive());
+        schedule.setReportName(request.getReportName());
+        schedule.setDescription(request.getDescription());
+        schedule.setFrequency(request.getFrequency().toUpperCase());
+        schedule.setRecipientList(request.getEmailRecipients());
+        schedule.setIsActive(active);
+        schedule.setStatus(active ? "ACTIVE" : "INACTIVE");
+        schedule.setNextRunAt(active ? calculateNextScheduledTime(schedule.getFrequency(), LocalDateTime.now()) : null);
+    }
+
+    private ScheduledReport getOwnedSchedule(Long scheduleId, String username) {
+        User user = userRepository.findByUsernameOrEmail(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+        
+        ScheduledReport schedule = scheduledReportRepository.findById(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Scheduled report not found: " + scheduleId));
+        
+        if (!user.getId().equals(schedule.getUserId())) {
+            throw new ForbiddenException("Access denied to scheduled report: " + scheduleId);
+        }
+        return schedule;
+    }
+
+    private ReportResponse.ScheduledReportInfo convertToScheduledReportInfo(ScheduledReport schedule) {
+        ReportResponse.ScheduledReportInfo info = new ReportResponse.ScheduledReportInfo(
+                schedule.getId(), schedule.getReportName(), schedule.getFrequency(),
+                schedule.getIsActive(), schedule.getNextRunAt());
+        info.setEmailRecipients(schedule.getRecipientList());
+        info.setLastGenerated(schedule.getLastRunAt());
+        info.setStatus(schedule.getStatus());
+        info.setExecutionCount(schedule.getExecutionCount());
+        info.setDescription(schedule.getDescription());
+        return info;
     }
 
     @Override
@@ -2593,10 +2589,13 @@ public class ReportServiceImpl implements ReportService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
         if ("EXPENSE".equals(request.getReportType())) {
-            ReportRequest.ExpenseReportRequest expenseReq = new ReportRequest.ExpenseReportRequest(
-                    request.getStartDate(), request.getEndDate(), "JSON");
-            List<Expense> expenses = getExpensesForReport(user.getId(), expenseReq);
-            return calculateExpenseSummary(expenses);
+            return reportResultCache.getOrCompute(user.getId(), "summary",
+                    Arrays.asList("EXPENSE", request.getStartDate(), request.getEndDate()), () -> {
+                ReportRequest.ExpenseReportRequest expenseReq = new ReportRequest.ExpenseReportRequest(
+                        request.getStartDate(), request.getEndDate(), "JSON");
+                List<Expense> expenses = getExpensesForReport(user.getId(), expenseReq);
+                return calculateExpenseSummary(expenses, exchangeRateService.converterForUser(user.getId()));
+            });
         }
 
         throw new UnsupportedOperationException("Report summary not supported for type: " + request.getReportType());
@@ -2609,10 +2608,15 @@ public class ReportServiceImpl implements ReportService {
         		.orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
         if ("EXPENSE".equals(request.getReportType())) {
-            ReportRequest.ExpenseReportRequest expenseReq = new ReportRequest.ExpenseReportRequest(
-                    request.getStartDate(), request.getEndDate(), "JSON");
-            List<Expense> expenses = getExpensesForReport(user.getId(), expenseReq);
-            return generateExpenseCharts(expenses, request.getGroupBy());
+            // Only the fields the charts depend on make up the key, so unrelated filter tweaks still hit
+            return reportResultCache.getOrCompute(user.getId(), "charts",
+                    Arrays.asList("EXPENSE", request.getStartDate(), request.getEndDate(), request.getGroupBy()), () -> {
+                ReportRequest.ExpenseReportRequest expenseReq = new ReportRequest.ExpenseReportRequest(
+                        request.getStartDate(), request.getEndDate(), "JSON");
+                List<Expense> expenses = getExpensesForReport(user.getId(), expenseReq);
+                return generateExpenseCharts(expenses, request.getGroupBy(),
+                        exchangeRateService.converterForUser(user.getId()));
+            });
         }
 
         return new ArrayList<>();
@@ -2772,10 +2776,7 @@ public class ReportServiceImpl implements ReportService {
             
             if (sharedUsers.contains(username)) {
                 try {
-                    ReportResponse report = reportStorage.get(reportId);
-                    if (report != null) {
-                        sharedReportsList.add(report);
-                    }
+                    findReport(reportId).ifPresent(sharedReportsList::add);
                 } catch (Exception e) {
                     logger.error("Error getting shared report: {}", reportId, e);
                 }
@@ -2791,14 +2792,16 @@ public class ReportServiceImpl implements ReportService {
         User user = userRepository.findByUsernameOrEmail(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
-        ReportRequest.ExpenseReportRequest request = new ReportRequest.ExpenseReportRequest(startDate, endDate, "JSON");
-        List<Expense> expenses = getExpensesForReport(user.getId(), request);
+        return reportResultCache.getOrCompute(user.getId(), "expenseData", Arrays.asList(startDate, endDate), () -> {
+            ReportRequest.ExpenseReportRequest request = new ReportRequest.ExpenseReportRequest(startDate, endDate, "JSON");
+            List<Expense> expenses = getExpensesForReport(user.getId(), request);
 
-        ReportResponse.ReportData data = new ReportResponse.ReportData();
-        data.setExpenses(convertToExpenseItems(expenses));
-        data.setCategorySummaries(calculateCategorySummaries(expenses));
-        
-        return data;
+            ReportResponse.ReportData data = new ReportResponse.ReportData();
+            data.setExpenses(convertToExpenseItems(expenses));
+            data.setCategorySummaries(calculateCategorySummaries(expenses, exchangeRateService.converterForUser(user.getId())));
+            
+            return data;
+        });
     }
 
     @Override
@@ -2807,13 +2810,15 @@ public class ReportServiceImpl implements ReportService {
         User user = userRepository.findByUsernameOrEmail(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
-        ReportRequest.BudgetReportRequest request = new ReportRequest.BudgetReportRequest(startDate, endDate, "JSON");
-        List<Budget> budgets = getBudgetsForReport(user.getId(), request);
+        return reportResultCache.getOrCompute(user.getId(), "budgetData", Arrays.asList(startDate, endDate), () -> {
+            ReportRequest.BudgetReportRequest request = new ReportRequest.BudgetReportRequest(startDate, endDate, "JSON");
+            List<Budget> budgets = getBudgetsForReport(user.getId(), request);
 
-        ReportResponse.ReportData data = new ReportResponse.ReportData();
-        data.setBudgets(convertToBudgetItems(budgets));
-        
-        return data;
+            ReportResponse.ReportData data = new ReportResponse.ReportData();
+            data.setBudgets(convertToBudgetItems(budgets));
+            
+            return data;
+        });
     }
 
     @Override
@@ -2822,18 +2827,20 @@ public class ReportServiceImpl implements ReportService {
         User user = userRepository.findByUsernameOrEmail(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
-        ReportRequest.ApprovalReportRequest request = new ReportRequest.ApprovalReportRequest(startDate, endDate, "JSON");
-        List<ApprovalWorkflow> workflows = getApprovalWorkflowsForReport(user.getId(), request);
+        return reportResultCache.getOrCompute(user.getId(), "approvalData", Arrays.asList(startDate, endDate), () -> {
+            ReportRequest.ApprovalReportRequest request = new ReportRequest.ApprovalReportRequest(startDate, endDate, "JSON");
+            List<ApprovalWorkflow> workflows = getApprovalWorkflowsForReport(user.getId(), request);
 
-        ReportResponse.ReportData data = new ReportResponse.ReportData();
-        data.setApprovals(convertToApprovalItems(workflows));
-        
-        return data;
+            ReportResponse.ReportData data = new ReportResponse.ReportData();
+            data.setApprovals(convertToApprovalItems(workflows));
+            
+            return data;
+        });
     }
 
     @Override
     public boolean validateReportAccess(String reportId, String username) {
-        ReportResponse report = reportStorage.get(reportId);
+        ReportResponse report = findReport(reportId).orElse(null);
         if (report == null) {
             return false;
         }
@@ -2861,35 +2868,19 @@ public class ReportServiceImpl implements ReportService {
 
             for (String reportId : expiredReportIds) {
                 reportStorage.remove(reportId);
-                reportFiles.remove(reportId);
+                reportOutputStore.delete(reportId);
             }
+            
+            // Outputs written by other nodes or before a restart aren't in the map; their jobs
+            // show as expired once the file is gone
+            int expiredOutputs = reportOutputStore.deleteOlderThan(Duration.ofDays(outputRetentionDays));
 
             // Clean up inactive scheduled reports older than 90 days
             LocalDateTime cutoffDate = now.minusDays(90);
-            int removedScheduledReports = 0;
-            
-            for (Map.Entry<String, List<ReportResponse.ScheduledReportInfo>> entry : userScheduledReports.entrySet()) {
-                String username = entry.getKey();
-                List<ReportResponse.ScheduledReportInfo> userReports = entry.getValue();
-                
-                List<ReportResponse.ScheduledReportInfo> activeReports = userReports.stream()
-                        .filter(report -> Boolean.TRUE.equals(report.getIsActive()) || 
-                                (report.getLastGenerated() != null && report.getLastGenerated().isAfter(cutoffDate)))
-                        .collect(Collectors.toList());
-                
-                if (activeReports.size() != userReports.size()) {
-                    removedScheduledReports += (userReports.size() - activeReports.size());
-                    
-                    if (activeReports.isEmpty()) {
-                        userScheduledReports.remove(username);
-                    } else {
-                        userScheduledReports.put(username, activeReports);
-                    }
-                }
-            }
+            int removedScheduledReports = scheduledReportRepository.deleteInactiveBefore(cutoffDate);
 
-            logger.info("Cleaned up {} expired reports and {} old scheduled reports", 
-                    expiredReportIds.size(), removedScheduledReports);
+            logger.info("Cleaned up {} expired reports, {} stored report outputs and {} old scheduled reports", 
+                    expiredReportIds.size(), expiredOutputs, removedScheduledReports);
             
         } catch (Exception e) {
             logger.error("Error during cleanup", e);
@@ -2903,29 +2894,51 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public Long getReportFileSize(String reportId) {
-        byte[] reportFile = reportFiles.get(reportId);
-        return reportFile != null ? (long) reportFile.length : 0L;
+        return reportOutputStore.fileSize(reportId);
     }
 
     // Utility methods
+    
+    /**
+     * Keep a generated report: on disk, where any node can serve it, and in this node's map
+     */
+    private void storeReport(ReportResponse report, byte[] reportFile) {
+        try {
+            reportOutputStore.save(report, reportFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store report " + report.getReportId() + ": " + e.getMessage(), e);
+        }
+        reportStorage.put(report.getReportId(), report);
+    }
+    
+    private Optional<ReportResponse> findReport(String reportId) {
+        ReportResponse report = reportStorage.get(reportId);
+        return report != null ? Optional.of(report) : reportOutputStore.findReport(reportId);
+    }
+    
     private String generateReportId() {
+        String reserved = reservedReportId.get();
+        if (reserved != null) {
+            reservedReportId.remove();
+            return reserved;
+        }
         return "RPT-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
     }
 
-    private LocalDateTime calculateNextScheduledTime(String frequency) {
-        LocalDateTime now = LocalDateTime.now();
+    // Runs are aligned to 8 AM at the start of the next day, week, month or quarter
+    private LocalDateTime calculateNextScheduledTime(String frequency, LocalDateTime now) {
+        LocalDateTime today = now.truncatedTo(ChronoUnit.DAYS).withHour(8);
         
         switch (frequency.toUpperCase()) {
-            case "DAILY":
-                return now.plusDays(1);
             case "WEEKLY":
-                return now.plusWeeks(1);
+                return today.plusWeeks(1).with(DayOfWeek.MONDAY);
             case "MONTHLY":
-                return now.plusMonths(1);
+                return today.plusMonths(1).withDayOfMonth(1);
             case "QUARTERLY":
-                return now.plusMonths(3);
+                return today.plusMonths(3).withDayOfMonth(1);
+            case "DAILY":
             default:
-                return now.plusDays(1);
+                return today.plusDays(1);
         }
     }
     
@@ -2934,52 +2947,44 @@ public class ReportServiceImpl implements ReportService {
     /**
      * Get scheduled report by ID for a specific user
      */
+    @Transactional(readOnly = true)
     public ReportResponse.ScheduledReportInfo getScheduledReportById(Long scheduleId, String username) {
-        List<ReportResponse.ScheduledReportInfo> userReports = userScheduledReports.getOrDefault(username, new ArrayList<>());
-        
-        return userReports.stream()
-                .filter(report -> scheduleId.equals(report.getScheduleId()))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Scheduled report not found: " + scheduleId));
+        return convertToScheduledReportInfo(getOwnedSchedule(scheduleId, username));
     }
 
     /**
      * Toggle scheduled report active status
      */
     public ReportResponse.ScheduledReportInfo toggleScheduledReportStatus(Long scheduleId, String username) {
-        try {
-            logger.info("Toggling status for scheduled report: {} by user: {}", scheduleId, username);
-            
-            ReportResponse.ScheduledReportInfo scheduledReport = getScheduledReportById(scheduleId, username);
-            
-            // Toggle the active status
-            boolean newStatus = !Boolean.TRUE.equals(scheduledReport.getIsActive());
-            scheduledReport.setIsActive(newStatus);
-            scheduledReport.setStatus(newStatus ? "ACTIVE" : "INACTIVE");
-            
-            if (newStatus) {
-                // If activating, calculate next scheduled time
-                LocalDateTime nextScheduled = calculateNextScheduledTime(scheduledReport.getFrequency());
-                scheduledReport.setNextScheduled(nextScheduled);
-            }
-            
-            logger.info("Scheduled report: {} status changed to: {} for user: {}", 
-                    scheduleId, newStatus ? "ACTIVE" : "INACTIVE", username);
-            
-            return scheduledReport;
-            
-        } catch (Exception e) {
-            logger.error("Error toggling scheduled report status", e);
-            throw new RuntimeException("Failed to toggle scheduled report status: " + e.getMessage(), e);
+        logger.info("Toggling status for scheduled report: {} by user: {}", scheduleId, username);
+        
+        ScheduledReport schedule = getOwnedSchedule(scheduleId, username);
+        
+        // Toggle the active status
+        boolean newStatus = !Boolean.TRUE.equals(schedule.getIsActive());
+        schedule.setIsActive(newStatus);
+        schedule.setStatus(newStatus ? "ACTIVE" : "INACTIVE");
+        
+        // Inactive schedules drop out of the due index; activating picks the next slot
+        schedule.setNextRunAt(newStatus ? calculateNextScheduledTime(schedule.getFrequency(), LocalDateTime.now()) : null);
+        if (newStatus) {
+            schedule.setFailureCount(0);
         }
+        schedule = scheduledReportRepository.save(schedule);
+        
+        logger.info("Scheduled report: {} status changed to: {} for user: {}", 
+                scheduleId, newStatus ? "ACTIVE" : "INACTIVE", username);
+        
+        return convertToScheduledReportInfo(schedule);
     }
 
     /**
      * Get scheduled reports count for a user
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getScheduledReportsStats(String username) {
         try {
-            List<ReportResponse.ScheduledReportInfo> userReports = userScheduledReports.getOrDefault(username, new ArrayList<>());
+            List<ReportResponse.ScheduledReportInfo> userReports = getScheduledReports(username);
             
             long activeCount = userReports.stream()
                     .filter(report -> Boolean.TRUE.equals(report.getIsActive()))
@@ -3005,4 +3010,4 @@ public class ReportServiceImpl implements ReportService {
             return new HashMap<>();
         }
     }
- }
\ No newline at end of file
+ }
@@ -0,0 +1,319 @@
+package com.trackify.service.impl;
+
+import com.trackify.currency.CurrencyConverter;
+import com.trackify.entity.Expense;
+import com.trackify.enums.ExpenseStatus;
+import com.trackify.repository.UserRepository;
+import com.trackify.repository.UserSpendRollupRepository;
+import com.trackify.service.ExchangeRateService;
+import com.trackify.service.SpendRollupService;
+import com.trackify.service.TeamSpendService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class SpendRollupServiceImpl implements SpendRollupService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SpendRollupServiceImpl.class);
+    
+    private static final String DEFAULT_CURRENCY = "USD";
+    
+    // BETWEEN with from after to matches nothing, used for empty range segments
+    private static final LocalDate EMPTY_FROM = LocalDate.of(1970, 1, 2);
+    private static final LocalDate EMPTY_TO = LocalDate.of(1970, 1, 1);
+    
+    private static final int REBUILD_PAGE_SIZE = 500;
+    
+    @Autowired
+    private UserSpendRollupRepository rollupRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TeamSpendService teamSpendService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+    
+    private record BucketKey(Long userId, LocalDate periodStart, Long categoryId, ExpenseStatus status, String currencyCode) {}
+    
+    private static final class Delta {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private int count;
+    }
+    
+    @Override
+    public void recordAdded(Expense expense) {
+        applyDeltas(List.of(Snapshot.of(expense)), 1);
+        teamSpendService.recordAdded(expense);
+    }
+    
+    @Override
+    public void recordAdded(Collection<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        // Bulk imports usually hit the same few buckets, so fold them before writing
+        applyDeltas(expenses.stream().map(Snapshot::of).toList(), 1);
+        expenses.forEach(teamSpendService::recordAdded);
+    }
+    
+    @Override
+    public void recordRemoved(Expense expense) {
+        applyDeltas(List.of(Snapshot.of(expense)), -1);
+        teamSpendService.recordRemoved(expense);
+    }
+    
+    @Override
+    public void recordRemoved(Collection<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        applyDeltas(expenses.stream().map(Snapshot::of).toList(), -1);
+        expenses.forEach(teamSpendService::recordRemoved);
+    }
+    
+    @Override
+    public void recordChanged(Snapshot before, Snapshot after) {
+        if (before.isUnchanged(after)) {
+            return;
+        }
+        applyDeltas(List.of(before), -1);
+        applyDeltas(List.of(after), 1);
+        teamSpendService.recordChanged(before.toTeamSnapshot(), after.toTeamSnapshot());
+    }
+    
+    @Override
+    public void recordStatusChange(Expense expense, ExpenseStatus newStatus) {
+        Snapshot before = Snapshot.of(expense);
+        recordChanged(before, before.withStatus(newStatus));
+    }
+    
+    @Override
+    public void recordStatusChange(Collection<Expense> expenses, ExpenseStatus newStatus) {
+        List<Snapshot> before = expenses.stream()
+                .map(Snapshot::of)
+                .filter(snapshot -> snapshot.status() != newStatus)
+                .toList();
+        if (before.isEmpty()) {
+            return;
+        }
+        applyDeltas(before, -1);
+        applyDeltas(before.stream().map(snapshot -> snapshot.withStatus(newStatus)).toList(), 1);
+        expenses.forEach(expense -> teamSpendService.recordStatusChange(expense, newStatus));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<SpendBucket> getUserSpend(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<SpendBucket> buckets = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return buckets;
+        }
+        
+        LocalDate[] headDays = {EMPTY_FROM, EMPTY_TO};
+        LocalDate[] tailDays = {EMPTY_FROM, EMPTY_TO};
+        LocalDate[] headMonths = {EMPTY_FROM, EMPTY_TO};
+        LocalDate[] tailMonths = {EMPTY_FROM, EMPTY_TO};
+        LocalDate[] years = {EMPTY_FROM, EMPTY_TO};
+        
+        LocalDate from = startDate;
+        LocalDate to = endDate;
+        
+        // Edge days up to the first and after the last month boundary
+        if (from.getDayOfMonth() != 1) {
+            LocalDate monthEnd = from.withDayOfMonth(from.lengthOfMonth());
+            LocalDate headEnd = monthEnd.isBefore(to) ? monthEnd : to;
+            headDays = new LocalDate[] {from, headEnd};
+            from = headEnd.plusDays(1);
+        }
+        if (!from.isAfter(to) && to.getDayOfMonth() != to.lengthOfMonth()) {
+            LocalDate monthStart = to.withDayOfMonth(1);
+            tailDays = new LocalDate[] {monthStart.isAfter(from) ? monthStart : from, to};
+            to = monthStart.minusDays(1);
+        }
+        
+        // What is left is whole months: edge months up to the first and after the last year boundary
+        if (!from.isAfter(to) && from.getMonthValue() != 1) {
+            LocalDate yearEnd = LocalDate.of(from.getYear(), 12, 31);
+            LocalDate headEnd = yearEnd.isBefore(to) ? yearEnd : to;
+            headMonths = new LocalDate[] {from, headEnd.withDayOfMonth(1)};
+            from = headEnd.plusDays(1);
+        }
+        if (!from.isAfter(to) && to.getMonthValue() != 12) {
+            LocalDate yearStart = LocalDate.of(to.getYear(), 1, 1);
+            tailMonths = new LocalDate[] {yearStart.isAfter(from) ? yearStart : from, to.withDayOfMonth(1)};
+            to = yearStart.minusDays(1);
+        }
+        
+        // And whole years in between
+        if (!from.isAfter(to)) {
+            years = new LocalDate[] {from, to.withDayOfYear(1)};
+        }
+        
+        List<Object[]> rows = rollupRepository.sumByCategoryStatusAndCurrency(userId,
+                headDays[0], headDays[1], tailDays[0], tailDays[1],
+                headMonths[0], headMonths[1], tailMonths[0], tailMonths[1],
+                years[0], years[1]);
+        
+        // Segments are summed in SQL, so every row converts at the rate in effect on the end date
+        CurrencyConverter converter = exchangeRateService.converterForUser(userId);
+        Map<BucketKey, long[]> converted = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            BucketKey key = new BucketKey(userId, null, ((Number) row[0]).longValue(),
+                    ExpenseStatus.valueOf((String) row[1]), converter.getTargetCurrency());
+            long[] totals = converted.computeIfAbsent(key, k -> new long[2]);
+            totals[0] += converter.toTargetMinor(toBigDecimal(row[3]), (String) row[2], endDate);
+            totals[1] += ((Number) row[4]).longValue();
+        }
+        converted.forEach((key, totals) -> buckets.add(new SpendBucket(null, key.categoryId(), key.status(),
+                key.currencyCode(), converter.toAmount(totals[0]), totals[1])));
+        return buckets;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<SpendBucket> getUserDailySpend(Long userId, LocalDate startDate, LocalDate endDate) {
+        CurrencyConverter converter = exchangeRateService.converterForUser(userId);
+        Map<BucketKey, long[]> converted = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.sumDailyByStatus(userId, startDate, endDate)) {
+            accumulateConverted(converted, converter, userId, (LocalDate) row[0], (ExpenseStatus) row[1],
+                    (String) row[2], toBigDecimal(row[3]), ((Number) row[4]).longValue());
+        }
+        return toSeries(converted, converter);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<SpendBucket> getUserMonthlySpend(Long userId, LocalDate fromMonth, LocalDate toMonth) {
+        CurrencyConverter converter = exchangeRateService.converterForUser(userId);
+        Map<BucketKey, long[]> converted = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.sumMonthlyByStatus(userId, fromMonth.withDayOfMonth(1), toMonth.withDayOfMonth(1))) {
+            accumulateConverted(converted, converter, userId, toLocalDate(row[0]), ExpenseStatus.valueOf((String) row[1]),
+                    (String) row[2], toBigDecimal(row[3]), ((Number) row[4]).longValue());
+        }
+        return toSeries(converted, converter);
+    }
+    
+    @Override
+    public void rebuildUser(Long userId) {
+        rollupRepository.deleteDailySpendByUserId(userId);
+        rollupRepository.deleteMonthlySpendByUserId(userId);
+        rollupRepository.deleteYearlySpendByUserId(userId);
+        
+        // Monthly and yearly buckets are derived from the freshly written daily ones
+        rollupRepository.rebuildDailySpend(userId);
+        rollupRepository.rebuildMonthlySpend(userId);
+        rollupRepository.rebuildYearlySpend(userId);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        logger.info("Rebuilding spend rollups for all users");
+        
+        int rebuilt = 0;
+        Long lastUserId = 0L;
+        
+        while (true) {
+            List<Long> userIds = userRepository.findIdsAfter(lastUserId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            
+            for (Long userId : userIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> rebuildUser(userId));
+                    rebuilt++;
+                } catch (Exception e) {
+                    logger.error("Failed to rebuild spend rollups for user: {}", userId, e);
+                }
+            }
+            lastUserId = userIds.get(userIds.size() - 1);
+        }
+        
+        logger.info("Rebuilt spend rollups for {} users", rebuilt);
+        return rebuilt;
+    }
+    
+    private void applyDeltas(List<Snapshot> snapshots, int sign) {
+        Map<BucketKey, Delta> days = new LinkedHashMap<>();
+        Map<BucketKey, Delta> months = new LinkedHashMap<>();
+        Map<BucketKey, Delta> years = new LinkedHashMap<>();
+        
+        for (Snapshot snapshot : snapshots) {
+            if (snapshot.userId() == null || snapshot.expenseDate() == null || snapshot.categoryId() == null
+                    || snapshot.status() == null || snapshot.amount() == null) {
+                continue;
+            }
+            String currency = snapshot.currencyCode() != null ? snapshot.currencyCode() : DEFAULT_CURRENCY;
+            LocalDate day = snapshot.expenseDate();
+            
+            accumulate(days, new BucketKey(snapshot.userId(), day, snapshot.categoryId(), snapshot.status(), currency), snapshot.amount(), sign);
+            accumulate(months, new BucketKey(snapshot.userId(), day.withDayOfMonth(1), snapshot.categoryId(), snapshot.status(), currency), snapshot.amount(), sign);
+            accumulate(years, new BucketKey(snapshot.userId(), day.withDayOfYear(1), snapshot.categoryId(), snapshot.status(), currency), snapshot.amount(), sign);
+        }
+        
+        days.forEach((key, delta) -> rollupRepository.addDailySpend(key.userId(), key.periodStart(), key.categoryId(),
+                key.status().name(), key.currencyCode(), delta.amount, delta.count));
+        months.forEach((key, delta) -> rollupRepository.addMonthlySpend(key.userId(), key.periodStart(), key.categoryId(),
+                key.status().name(), key.currencyCode(), delta.amount, delta.count));
+        years.forEach((key, delta) -> rollupRepository.addYearlySpend(key.userId(), key.periodStart(), key.categoryId(),
+                key.status().name(), key.currencyCode(), delta.amount, delta.count));
+    }
+    
+    private void accumulate(Map<BucketKey, Delta> deltas, BucketKey key, BigDecimal amount, int sign) {
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.amount = sign < 0 ? delta.amount.subtract(amount) : delta.amount.add(amount);
+        delta.count += sign;
+    }
+    
+    // Rows of a day or month series convert at the rate in effect on the period's first day
+    private void accumulateConverted(Map<BucketKey, long[]> converted, CurrencyConverter converter, Long userId,
+                                     LocalDate periodStart, ExpenseStatus status, String currencyCode,
+                                     BigDecimal amount, long count) {
+        BucketKey key = new BucketKey(userId, periodStart, null, status, converter.getTargetCurrency());
+        long[] totals = converted.computeIfAbsent(key, k -> new long[2]);
+        totals[0] += converter.toTargetMinor(amount, currencyCode, periodStart);
+        totals[1] += count;
+    }
+    
+    private List<SpendBucket> toSeries(Map<BucketKey, long[]> converted, CurrencyConverter converter) {
+        List<SpendBucket> buckets = new ArrayList<>(converted.size());
+        converted.forEach((key, totals) -> buckets.add(new SpendBucket(key.periodStart(), null, key.status(),
+                key.currencyCode(), converter.toAmount(totals[0]), totals[1])));
+        return buckets;
+    }
+    
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+    
+    private LocalDate toLocalDate(Object value) {
+        return value instanceof Date ? ((Date) value).toLocalDate() : (LocalDate) value;
+    }
+}
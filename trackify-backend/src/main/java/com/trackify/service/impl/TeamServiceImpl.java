@@ -14,12 +14,14 @@ import com.trackify.repository.TeamMemberRepository;
 import com.trackify.repository.TeamRepository;
 import com.trackify.repository.UserRepository;
 import com.trackify.service.TeamService;
+import com.trackify.service.TeamSpendService;
 import com.trackify.service.WebSocketService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -76,6 +78,7 @@ import java.util.stream.Collectors;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -98,6 +101,9 @@ public class TeamServiceImpl implements TeamService {
     @Autowired
     private WebSocketService webSocketService;
 
+    @Autowired
+    private TeamSpendService teamSpendService;
+
     @Override
     public TeamResponse createTeam(TeamRequest teamRequest, String username) {
         try {
@@ -128,6 +134,7 @@ public class TeamServiceImpl implements TeamService {
             // Add owner as team member
             TeamMember ownerMember = new TeamMember(team, owner, TeamRole.OWNER);
             teamMemberRepository.save(ownerMember);
+            refreshMemberCounts(team);
 
             logger.info("Successfully created team: {} with ID: {}", team.getName(), team.getId());
 
@@ -196,9 +203,7 @@ public class TeamServiceImpl implements TeamService {
 
             List<Team> teams = teamRepository.findTeamsByUserId(user.getId());
             
-            return teams.stream()
-                    .map(team -> convertToTeamResponse(team, username))
-                    .collect(Collectors.toList());
+            return convertToTeamResponses(teams, username);
 
         } catch (Exception e) {
             logger.error("Error getting teams for user: {}", username, e);
@@ -215,7 +220,7 @@ public class TeamServiceImpl implements TeamService {
 
             Page<Team> teams = teamRepository.findTeamsByUserId(user.getId(), pageable);
             
-            return teams.map(team -> convertToTeamResponse(team, username));
+            return new PageImpl<>(convertToTeamResponses(teams.getContent(), username), pageable, teams.getTotalElements());
 
         } catch (Exception e) {
             logger.error("Error getting teams page for user: {}", username, e);
@@ -333,7 +338,7 @@ public class TeamServiceImpl implements TeamService {
                     .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + request.getEmail()));
 
             // Check if user is already a member
-            if (team.isMember(invitedUser)) {
+            if (teamMemberRepository.findByTeamIdAndUserId(teamId, invitedUser.getId()).isPresent()) {
                 throw new BadRequestException("User is already a member of this team");
             }
 
@@ -341,6 +346,7 @@ public class TeamServiceImpl implements TeamService {
             TeamMember invitation = new TeamMember(team, invitedUser, request.getRole(), inviter.getId());
             invitation.setNotes(request.getNotes());
             invitation = teamMemberRepository.save(invitation);
+            refreshMemberCounts(team);
 
             // Send notification to invited user
             webSocketService.sendNotificationToUser(invitedUser.getUsername(),
@@ -401,7 +407,7 @@ public class TeamServiceImpl implements TeamService {
                     .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
             // Check if user is already a member
-            if (team.isMember(user)) {
+            if (teamMemberRepository.findByTeamIdAndUserId(team.getId(), user.getId()).isPresent()) {
                 throw new BadRequestException("You are already a member of this team");
             }
 
@@ -420,6 +426,7 @@ public class TeamServiceImpl implements TeamService {
             }
 
             teamMemberRepository.save(member);
+            refreshMemberCounts(team);
 
             // Notify team members
             String notificationMessage = team.getAutoApproveMembers() ? 
@@ -469,6 +476,7 @@ public class TeamServiceImpl implements TeamService {
             // Accept invitation
             invitation.acceptInvitation();
             teamMemberRepository.save(invitation);
+            refreshMemberCounts(team);
 
             // Notify team members
             webSocketService.sendTeamNotification(team.getId(),
@@ -509,6 +517,7 @@ public class TeamServiceImpl implements TeamService {
                     .orElseThrow(() -> new ResourceNotFoundException("User is not a member of this team"));
 
             teamMemberRepository.delete(memberToRemove);
+            refreshMemberCounts(team);
 
             // Notify removed user
             webSocketService.sendNotificationToUser(userToRemove.getUsername(),
@@ -556,6 +565,7 @@ public class TeamServiceImpl implements TeamService {
                     .orElseThrow(() -> new ResourceNotFoundException("You are not a member of this team"));
 
             teamMemberRepository.delete(membership);
+            refreshMemberCounts(team);
 
             // Notify team members
             webSocketService.sendTeamNotification(teamId,
@@ -613,6 +623,9 @@ public class TeamServiceImpl implements TeamService {
                 }
             }
             member = teamMemberRepository.save(member);
+            if (request.getIsActive() != null) {
+                refreshMemberCounts(team);
+            }
 
             // Notify updated user
             webSocketService.sendNotificationToUser(userToUpdate.getUsername(),
@@ -729,9 +742,7 @@ public class TeamServiceImpl implements TeamService {
         try {
             List<Team> teams = teamRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(searchTerm);
             
-            return teams.stream()
-                    .map(team -> convertToTeamResponse(team, username))
-                    .collect(Collectors.toList());
+            return convertToTeamResponses(teams, username);
 
         } catch (Exception e) {
             logger.error("Error searching teams with term: {} by user: {}", searchTerm, username, e);
@@ -745,7 +756,7 @@ public class TeamServiceImpl implements TeamService {
         try {
             Page<Team> teams = teamRepository.findTeamsByCriteria(searchTerm, null, true, null, pageable);
             
-            return teams.map(team -> convertToTeamResponse(team, username));
+            return new PageImpl<>(convertToTeamResponses(teams.getContent(), username), pageable, teams.getTotalElements());
 
         } catch (Exception e) {
             logger.error("Error searching teams page with term: {} by user: {}", searchTerm, username, e);
@@ -762,9 +773,7 @@ public class TeamServiceImpl implements TeamService {
 
             List<Team> teams = teamRepository.findByOwnerIdAndIsActiveTrue(owner.getId());
             
-            return teams.stream()
-                    .map(team -> convertToTeamResponse(team, requestingUsername))
-                    .collect(Collectors.toList());
+            return convertToTeamResponses(teams, requestingUsername);
 
         } catch (Exception e) {
             logger.error("Error getting teams by owner: {} requested by user: {}", ownerUsername, requestingUsername, e);
@@ -990,6 +999,7 @@ public class TeamServiceImpl implements TeamService {
             }
 
             teamMemberRepository.delete(invitation);
+            refreshMemberCounts(invitation.getTeam());
 
             // Notify invited user
             webSocketService.sendNotificationToUser(invitation.getUser().getUsername(),
@@ -1255,18 +1265,14 @@ public class TeamServiceImpl implements TeamService {
             Team team = getTeamEntityById(teamId);
             
             int totalMembers = team.getMemberCount();
-            int activeMembers = team.getActiveMembers().size();
-            int pendingInvitations = teamMemberRepository
-                    .findByTeamIdAndIsActiveFalseAndInvitationExpiresAtAfter(teamId, LocalDateTime.now()).size();
+            int activeMembers = team.getActiveMemberCount();
+            int pendingInvitations = countPendingInvitations(List.of(teamId)).getOrDefault(teamId, 0);
 
-            // You would implement expense and budget statistics here
-            // For now, using placeholder values
-            
             return new TeamResponse.TeamStatistics(
                     totalMembers,
                     activeMembers,
                     pendingInvitations,
-                    java.math.BigDecimal.ZERO // Placeholder for total expenses
+                    teamSpendService.getTeamSpend(teamId).amount()
             );
 
         } catch (Exception e) {
@@ -1282,22 +1288,7 @@ public class TeamServiceImpl implements TeamService {
             User user = userRepository.findByUsernameOrEmail(username)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
 
-            List<TeamMember> memberships = teamMemberRepository.findActiveMembershipsByUserId(user.getId());
-            
-            return memberships.stream()
-                    .map(membership -> {
-                        Team team = membership.getTeam();
-                        return new TeamResponse.TeamSummary(
-                                team.getId(),
-                                team.getName(),
-                                team.getDescription(),
-                                team.getMemberCount(),
-                                membership.getRole(),
-                                team.getIsActive(),
-                                membership.getJoinedAt()
-                        );
-                    })
-                    .collect(Collectors.toList());
+            return teamMemberRepository.findTeamSummariesByUserId(user.getId());
 
         } catch (Exception e) {
             logger.error("Error getting team summaries for user: {}", username, e);
@@ -1362,6 +1353,7 @@ public class TeamServiceImpl implements TeamService {
             logger.info("Cleaning up expired invitations");
 
             teamMemberRepository.deleteByIsActiveFalseAndInvitationExpiresAtBefore(LocalDateTime.now());
+            teamRepository.refreshAllMemberCounts();
 
             logger.info("Successfully cleaned up expired invitations");
 
@@ -2124,50 +2116,98 @@ public class TeamServiceImpl implements TeamService {
 
     // Helper methods for conversion
     private TeamResponse convertToTeamResponse(Team team, String username) {
-        TeamResponse response = new TeamResponse();
-        response.setId(team.getId());
-        response.setName(team.getName());
-        response.setDescription(team.getDescription());
-        response.setIsActive(team.getIsActive());
-        response.setMaxMembers(team.getMaxMembers());
-        response.setCurrentMemberCount(team.getMemberCount());
-        response.setInviteCode(team.getInviteCode());
-        response.setAutoApproveMembers(team.getAutoApproveMembers());
-        response.setCurrency(team.getCurrency());
-        response.setCreatedAt(team.getCreatedAt());
-        response.setUpdatedAt(team.getUpdatedAt());
-
-        // Set owner info
-        User owner = team.getOwner();
-        response.setOwner(new TeamResponse.OwnerInfo(
-                owner.getId(),
-                owner.getUsername(),
-                owner.getFirstName(),
-                owner.getLastName(),
-                owner.getEmail(),
-                owner.getFirstName() + " " + owner.getLastName()
-        ));
-
-        // Set current user role and permissions
-        TeamMember currentUserMembership = getTeamMemberEntity(team.getId(), username);
-        if (currentUserMembership != null) {
-            response.setCurrentUserRole(new TeamResponse.UserRole(currentUserMembership.getRole()));
-            response.setCurrentUserPermissions(new TeamResponse.UserPermissions(
-                    currentUserMembership.getRole(),
-                    team.isOwner(currentUserMembership.getUser())
-            ));
+        return convertToTeamResponses(List.of(team), username).get(0);
+    }
+
+    /**
+     * Converts a page of teams with a fixed number of queries: owners, the caller's
+     * memberships, active rosters (users fetched in the same join), role breakdowns
+     * and pending invitation counts are each loaded once for all teams.
+     */
+    private List<TeamResponse> convertToTeamResponses(List<Team> teams, String username) {
+        if (teams.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        // Set members
-        List<TeamMember> activeMembers = teamMemberRepository.findByTeamIdAndIsActiveTrue(team.getId());
-        response.setMembers(activeMembers.stream()
-                .map(this::convertToTeamMemberInfo)
-                .collect(Collectors.toList()));
+        User currentUser = userRepository.findByUsernameOrEmail(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+
+        List<Long> teamIds = teams.stream().map(Team::getId).collect(Collectors.toList());
+
+        // Owners are lazy proxies; loading them together lets each proxy resolve from the session
+        userRepository.findAllById(teams.stream()
+                .map(team -> team.getOwner().getId())
+                .collect(Collectors.toSet()));
+
+        Map<Long, TeamMember> currentUserMemberships = teamMemberRepository
+                .findByUserIdAndTeamIdIn(currentUser.getId(), teamIds).stream()
+                .collect(Collectors.toMap(membership -> membership.getTeam().getId(), membership -> membership));
+
+        Map<Long, List<TeamResponse.TeamMemberInfo>> rosters = teamMemberRepository
+                .findActiveRostersByTeamIds(teamIds).stream()
+                .collect(Collectors.groupingBy(member -> member.getTeam().getId(),
+                        Collectors.mapping(this::convertToTeamMemberInfo, Collectors.toList())));
+
+        Map<Long, TeamResponse.RoleBreakdown> roleBreakdowns = new HashMap<>();
+        for (Object[] stat : teamMemberRepository.getTeamMemberRoleStatisticsByTeamIds(teamIds)) {
+            TeamResponse.RoleBreakdown roleBreakdown = roleBreakdowns.computeIfAbsent((Long) stat[0],
+                    id -> new TeamResponse.RoleBreakdown(0, 0, 0, 0, 0));
+            applyRoleCount(roleBreakdown, (TeamRole) stat[1], ((Long) stat[2]).intValue());
+        }
+
+        Map<Long, Integer> pendingInvitations = countPendingInvitations(teamIds);
+
+        Map<Long, TeamSpendService.SpendTotal> teamSpend = teamSpendService.getTeamSpend(teamIds);
+
+        List<TeamResponse> responses = new ArrayList<>(teams.size());
+        for (Team team : teams) {
+            TeamResponse response = new TeamResponse();
+            response.setId(team.getId());
+            response.setName(team.getName());
+            response.setDescription(team.getDescription());
+            response.setIsActive(team.getIsActive());
+            response.setMaxMembers(team.getMaxMembers());
+            response.setCurrentMemberCount(team.getMemberCount());
+            response.setInviteCode(team.getInviteCode());
+            response.setAutoApproveMembers(team.getAutoApproveMembers());
+            response.setCurrency(team.getCurrency());
+            response.setCreatedAt(team.getCreatedAt());
+            response.setUpdatedAt(team.getUpdatedAt());
+
+            // Set owner info
+            User owner = team.getOwner();
+            response.setOwner(new TeamResponse.OwnerInfo(
+                    owner.getId(),
+                    owner.getUsername(),
+                    owner.getFirstName(),
+                    owner.getLastName(),
+                    owner.getEmail(),
+                    owner.getFirstName() + " " + owner.getLastName()
+            ));
+
+            // Set current user role and permissions
+            TeamMember currentUserMembership = currentUserMemberships.get(team.getId());
+            if (currentUserMembership != null) {
+                response.setCurrentUserRole(new TeamResponse.UserRole(currentUserMembership.getRole()));
+                response.setCurrentUserPermissions(new TeamResponse.UserPermissions(
+                        currentUserMembership.getRole(),
+                        team.isOwner(currentUser)
+                ));
+            }
+
+            // Set members
+            response.setMembers(rosters.getOrDefault(team.getId(), new ArrayList<>()));
+
+            // Set statistics
+            response.setStatistics(createTeamStatistics(team,
+                    pendingInvitations.getOrDefault(team.getId(), 0),
+                    roleBreakdowns.getOrDefault(team.getId(), new TeamResponse.RoleBreakdown(0, 0, 0, 0, 0)),
+                    teamSpend.getOrDefault(team.getId(), TeamSpendService.SpendTotal.EMPTY)));
 
-        // Set statistics
-        response.setStatistics(createTeamStatistics(team));
+            responses.add(response);
+        }
 
-        return response;
+        return responses;
     }
 
     private TeamResponse convertToBasicTeamResponse(Team team) {
@@ -2225,40 +2265,51 @@ public class TeamServiceImpl implements TeamService {
         );
     }
 
-    private TeamResponse.TeamStatistics createTeamStatistics(Team team) {
-        int totalMembers = team.getMemberCount();
-        int activeMembers = team.getActiveMembers().size();
-        int pendingInvitations = teamMemberRepository
-                .findByTeamIdAndIsActiveFalseAndInvitationExpiresAtAfter(team.getId(), LocalDateTime.now()).size();
-
-        // Create role breakdown
-        List<Object[]> roleStats = teamMemberRepository.getTeamMemberRoleStatistics(team.getId());
-        TeamResponse.RoleBreakdown roleBreakdown = new TeamResponse.RoleBreakdown(0, 0, 0, 0, 0);
-        
-        for (Object[] stat : roleStats) {
-            TeamRole role = (TeamRole) stat[0];
-            Long count = (Long) stat[1];
-            
-            switch (role) {
-                case OWNER -> roleBreakdown.setOwners(count.intValue());
-                case ADMIN -> roleBreakdown.setAdmins(count.intValue());
-                case MANAGER -> roleBreakdown.setManagers(count.intValue());
-                case MEMBER -> roleBreakdown.setMembers(count.intValue());
-                case VIEWER -> roleBreakdown.setViewers(count.intValue());
-            }
-        }
-
+    private TeamResponse.TeamStatistics createTeamStatistics(Team team, int pendingInvitations,
+                                                             TeamResponse.RoleBreakdown roleBreakdown,
+                                                             TeamSpendService.SpendTotal spend) {
         TeamResponse.TeamStatistics statistics = new TeamResponse.TeamStatistics(
-                totalMembers,
-                activeMembers,
+                team.getMemberCount(),
+                team.getActiveMemberCount(),
                 pendingInvitations,
-                java.math.BigDecimal.ZERO // Placeholder for expenses
+                spend.amount()
         );
         statistics.setRoleBreakdown(roleBreakdown);
         
         return statistics;
     }
 
+    private void applyRoleCount(TeamResponse.RoleBreakdown roleBreakdown, TeamRole role, int count) {
+        switch (role) {
+            case OWNER -> roleBreakdown.setOwners(count);
+            case ADMIN -> roleBreakdown.setAdmins(count);
+            case MANAGER -> roleBreakdown.setManagers(count);
+            case MEMBER -> roleBreakdown.setMembers(count);
+            case VIEWER -> roleBreakdown.setViewers(count);
+        }
+    }
+
+    private Map<Long, Integer> countPendingInvitations(List<Long> teamIds) {
+        Map<Long, Integer> pendingInvitations = new HashMap<>();
+        for (Object[] row : teamMemberRepository.countPendingInvitationsByTeamIds(teamIds, LocalDateTime.now())) {
+            pendingInvitations.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return pendingInvitations;
+    }
+
+    /**
+     * Recomputes the denormalized roster counters after a membership change. The counts are
+     * taken in a single UPDATE on the team row, after pending inserts and deletes are flushed,
+     * and then copied onto the entity for the response.
+     */
+    private void refreshMemberCounts(Team team) {
+        teamRepository.refreshMemberCounts(team.getId());
+        for (Object[] counts : teamRepository.findMemberCounts(team.getId())) {
+            team.setMemberCount(((Number) counts[0]).intValue());
+            team.setActiveMemberCount(((Number) counts[1]).intValue());
+        }
+    }
+
     private String generateInviteCode() {
         return "TEAM-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
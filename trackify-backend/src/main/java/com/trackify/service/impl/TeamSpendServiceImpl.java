@@ -0,0 +1,196 @@
+package com.trackify.service.impl;
+
+import com.trackify.entity.Expense;
+import com.trackify.enums.ExpenseStatus;
+import com.trackify.repository.ExpenseRepository;
+import com.trackify.repository.TeamSpendMonthlyRepository;
+import com.trackify.service.TeamSpendService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class TeamSpendServiceImpl implements TeamSpendService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TeamSpendServiceImpl.class);
+    
+    @Autowired
+    private TeamSpendMonthlyRepository teamSpendMonthlyRepository;
+    
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    
+    @Override
+    public void recordAdded(Expense expense) {
+        apply(Snapshot.of(expense), 1);
+    }
+    
+    @Override
+    public void recordRemoved(Expense expense) {
+        apply(Snapshot.of(expense), -1);
+    }
+    
+    @Override
+    public void recordChanged(Snapshot before, Snapshot after) {
+        if (before.isSameBucketAndAmount(after)) {
+            return;
+        }
+        apply(before, -1);
+        apply(after, 1);
+    }
+    
+    @Override
+    public void recordStatusChange(Expense expense, ExpenseStatus newStatus) {
+        Snapshot before = Snapshot.of(expense);
+        recordChanged(before, before.withStatus(newStatus));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public SpendTotal getTeamSpend(Long teamId) {
+        return toSpendTotal(teamSpendMonthlyRepository.sumByTeamId(teamId, SPEND_STATUSES));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, SpendTotal> getTeamSpend(Collection<Long> teamIds) {
+        Map<Long, SpendTotal> totals = new HashMap<>();
+        if (teamIds.isEmpty()) {
+            return totals;
+        }
+        addByTeam(totals, teamSpendMonthlyRepository.sumByTeamIdsGroupByTeam(teamIds, SPEND_STATUSES));
+        return totals;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public SpendTotal getTeamSpend(Long teamId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return SpendTotal.EMPTY;
+        }
+        
+        LocalDate firstFullMonth = firstFullMonth(startDate);
+        LocalDate lastFullMonth = lastFullMonth(endDate);
+        
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            // Range sits inside a single month, the expense index is cheaper than the buckets
+            return sumExpenses(teamId, startDate, endDate);
+        }
+        
+        SpendTotal total = toSpendTotal(teamSpendMonthlyRepository.sumByTeamIdAndPeriod(
+                teamId, firstFullMonth, lastFullMonth, SPEND_STATUSES));
+        
+        if (startDate.isBefore(firstFullMonth)) {
+            total = total.plus(sumExpenses(teamId, startDate, firstFullMonth.minusDays(1)));
+        }
+        LocalDate afterLastFullMonth = lastFullMonth.plusMonths(1);
+        if (!endDate.isBefore(afterLastFullMonth)) {
+            total = total.plus(sumExpenses(teamId, afterLastFullMonth, endDate));
+        }
+        
+        return total;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, SpendTotal> getTeamSpend(Collection<Long> teamIds, LocalDate startDate, LocalDate endDate) {
+        Map<Long, SpendTotal> totals = new HashMap<>();
+        if (teamIds.isEmpty() || startDate.isAfter(endDate)) {
+            return totals;
+        }
+        
+        LocalDate firstFullMonth = firstFullMonth(startDate);
+        LocalDate lastFullMonth = lastFullMonth(endDate);
+        
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            addByTeam(totals, expenseRepository.sumByTeamIdsAndDateRangeGroupByTeam(
+                    teamIds, startDate, endDate, SPEND_STATUSES));
+            return totals;
+        }
+        
+        addByTeam(totals, teamSpendMonthlyRepository.sumByTeamIdsAndPeriodGroupByTeam(
+                teamIds, firstFullMonth, lastFullMonth, SPEND_STATUSES));
+        
+        if (startDate.isBefore(firstFullMonth)) {
+            addByTeam(totals, expenseRepository.sumByTeamIdsAndDateRangeGroupByTeam(
+                    teamIds, startDate, firstFullMonth.minusDays(1), SPEND_STATUSES));
+        }
+        LocalDate afterLastFullMonth = lastFullMonth.plusMonths(1);
+        if (!endDate.isBefore(afterLastFullMonth)) {
+            addByTeam(totals, expenseRepository.sumByTeamIdsAndDateRangeGroupByTeam(
+                    teamIds, afterLastFullMonth, endDate, SPEND_STATUSES));
+        }
+        
+        return totals;
+    }
+    
+    @Override
+    public void rebuildAggregates() {
+        logger.info("Rebuilding team spend aggregates");
+        
+        teamSpendMonthlyRepository.deleteAllBuckets();
+        int buckets = teamSpendMonthlyRepository.rebuildBuckets();
+        
+        logger.info("Rebuilt {} team spend buckets", buckets);
+    }
+    
+    private void apply(Snapshot snapshot, int sign) {
+        if (snapshot.teamId() == null || snapshot.expenseDate() == null || snapshot.categoryId() == null
+                || snapshot.status() == null || snapshot.amount() == null) {
+            return;
+        }
+        
+        BigDecimal amount = sign < 0 ? snapshot.amount().negate() : snapshot.amount();
+        teamSpendMonthlyRepository.addSpend(
+                snapshot.teamId(),
+                snapshot.expenseDate().withDayOfMonth(1),
+                snapshot.categoryId(),
+                snapshot.status().name(),
+                amount,
+                sign);
+    }
+    
+    // First whole month covered by a range starting on startDate
+    private static LocalDate firstFullMonth(LocalDate startDate) {
+        return startDate.getDayOfMonth() == 1 ? startDate : startDate.withDayOfMonth(1).plusMonths(1);
+    }
+    
+    // Last whole month covered by a range ending on endDate
+    private static LocalDate lastFullMonth(LocalDate endDate) {
+        return endDate.equals(endDate.withDayOfMonth(endDate.lengthOfMonth()))
+                ? endDate.withDayOfMonth(1) : endDate.withDayOfMonth(1).minusMonths(1);
+    }
+    
+    // Merge [teamId, SUM(amount), COUNT] rows into the per-team totals
+    private void addByTeam(Map<Long, SpendTotal> totals, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            SpendTotal total = new SpendTotal((BigDecimal) row[1], ((Number) row[2]).longValue());
+            totals.merge((Long) row[0], total, SpendTotal::plus);
+        }
+    }
+    
+    private SpendTotal sumExpenses(Long teamId, LocalDate startDate, LocalDate endDate) {
+        return toSpendTotal(expenseRepository.sumByTeamIdAndDateRange(teamId, startDate, endDate, SPEND_STATUSES));
+    }
+    
+    private SpendTotal toSpendTotal(List<Object[]> rows) {
+        if (rows.isEmpty() || rows.get(0)[0] == null) {
+            return SpendTotal.EMPTY;
+        }
+        Object[] row = rows.get(0);
+        BigDecimal amount = row[0] instanceof BigDecimal ? (BigDecimal) row[0] : new BigDecimal(row[0].toString());
+        long count = ((Number) row[1]).longValue();
+        return new SpendTotal(amount, count);
+    }
+}
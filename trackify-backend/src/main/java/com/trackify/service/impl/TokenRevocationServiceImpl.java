@@ -0,0 +1,163 @@
+package com.trackify.service.impl;
+
+import com.trackify.entity.RevokedToken;
+import com.trackify.repository.RevokedTokenRepository;
+import com.trackify.service.TokenRevocationService;
+import com.trackify.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Revoked JWT ids are persisted in revoked_tokens and mirrored into an in-memory Bloom
+ * filter. A token that was never revoked is answered by the filter alone, without any
+ * lookup; filter positives are confirmed against the table and the answer is cached.
+ * Revocations made on other nodes are picked up by polling, and the filter is rebuilt
+ * after expired rows are pruned, since entries cannot be removed from a Bloom filter.
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    // Re-read this much before the last seen revocation, transactions can commit out of order
+    private static final long SYNC_OVERLAP_SECONDS = 2;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.security.revocation.expected-entries:1000000}")
+    private long expectedEntries;
+
+    @Value("${app.security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.security.revocation.confirmed-cache-size:10000}")
+    private int confirmedCacheSize;
+
+    // Null until the first load; every check goes to the database until then
+    private volatile BloomFilter filter;
+
+    // Filter being rebuilt, so revocations made during the rebuild are not lost
+    private volatile BloomFilter rebuilding;
+
+    private volatile LocalDateTime syncedUntil = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final Map<String, Boolean> confirmed = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > confirmedCacheSize;
+                }
+            });
+
+    @Override
+    @Transactional
+    public void revoke(String jti, Long userId, LocalDateTime expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.revoke(jti, userId, expiresAt);
+        addToFilters(jti);
+        confirmed.put(jti, true);
+        logger.debug("Revoked token {} of user {} until {}", jti, userId, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            // Tokens issued before ids were added cannot be revoked individually
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(jti)) {
+            return false;
+        }
+
+        Boolean cached = confirmed.get(jti);
+        if (cached != null) {
+            return cached;
+        }
+        boolean revoked = revokedTokenRepository.isRevoked(jti, LocalDateTime.now());
+        confirmed.put(jti, revoked);
+        return revoked;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void loadFromDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        long active = revokedTokenRepository.countActive(now);
+        LocalDateTime latest = revokedTokenRepository.findLatestRevokedAt().orElse(syncedUntil);
+
+        // Leave headroom so the filter stays near its target rate until the next rebuild
+        BloomFilter next = new BloomFilter(Math.max(expectedEntries, active * 2), falsePositiveRate);
+        rebuilding = next;
+        try (Stream<String> ids = revokedTokenRepository.streamActiveIds(now)) {
+            ids.forEach(next::add);
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        if (latest.isAfter(syncedUntil)) {
+            syncedUntil = latest;
+        }
+
+        logger.info("Loaded {} revoked tokens into a {} KB filter", active, next.getSizeInBytes() / 1024);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void syncFromDatabase() {
+        if (filter == null) {
+            // Startup load failed or has not run yet
+            loadFromDatabase();
+            return;
+        }
+        List<RevokedToken> added = revokedTokenRepository.findRevokedSince(syncedUntil.minusSeconds(SYNC_OVERLAP_SECONDS));
+        if (added.isEmpty()) {
+            return;
+        }
+        for (RevokedToken token : added) {
+            addToFilters(token.getJti());
+            // A cached "not revoked" answer may predate this revocation
+            confirmed.remove(token.getJti());
+        }
+        LocalDateTime latest = added.get(added.size() - 1).getRevokedAt();
+        if (latest.isAfter(syncedUntil)) {
+            syncedUntil = latest;
+        }
+        logger.debug("Synced {} revoked tokens", added.size());
+    }
+
+    @Override
+    @Transactional
+    public int pruneExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Pruned {} expired revoked tokens", deleted);
+        }
+        return deleted;
+    }
+
+    private void addToFilters(String jti) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(jti);
+        }
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(jti);
+        }
+    }
+}
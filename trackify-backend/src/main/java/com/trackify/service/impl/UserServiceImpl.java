@@ -6,8 +6,11 @@ import com.trackify.entity.User;
 import com.trackify.enums.UserRole;
 import com.trackify.exception.BadRequestException;
 import com.trackify.exception.ResourceNotFoundException;
+import com.trackify.repository.NotificationRepository;
 import com.trackify.repository.UserRepository;
+import com.trackify.service.DataVersionService;
 import com.trackify.service.EmailService;
+import com.trackify.service.ExchangeRateService;
 import com.trackify.service.UserService;
 import com.trackify.validator.UserValidator;
 
@@ -26,6 +29,7 @@ import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -54,6 +58,15 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private EmailService emailService;
     
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+    
+    @Autowired
+    private DataVersionService dataVersionService;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
     @Override
     public UserResponse createUser(RegisterRequest registerRequest) {
     	logger.info("Creating new user with email: {}", registerRequest.getEmail());
@@ -138,6 +151,9 @@ public class UserServiceImpl implements UserService {
             throw new ResourceNotFoundException("User not found with id: " + id);
         }
         
+        // notifications lost its foreign keys to users when it was partitioned (V25)
+        notificationRepository.deleteByUserId(id);
+        notificationRepository.clearSender(id);
         userRepository.deleteById(id);
         logger.info("User deleted successfully with id: {}", id);
     }
@@ -349,6 +365,25 @@ public class UserServiceImpl implements UserService {
         return convertToResponse(updatedUser);
     }
     
+    @Override
+    public UserResponse updateBaseCurrency(Long userId, String currencyCode) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        
+        String code = currencyCode != null ? currencyCode.trim().toUpperCase(Locale.ROOT) : "";
+        if (!exchangeRateService.getTable().supports(code)) {
+            throw new BadRequestException("No exchange rates are available for currency: " + currencyCode);
+        }
+        
+        user.setBaseCurrency(code);
+        User updatedUser = userRepository.save(user);
+        // Cached dashboards and reports were converted into the previous currency
+        dataVersionService.bump(userId);
+        
+        logger.info("Base currency of user {} set to {}", userId, code);
+        return convertToResponse(updatedUser);
+    }
+    
     @Override
     public void updateLastLoginTime(Long userId) {
         userRepository.updateLastLoginTime(userId, LocalDateTime.now());
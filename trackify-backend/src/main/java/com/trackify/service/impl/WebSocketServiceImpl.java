@@ -3,7 +3,6 @@ import com.trackify.dto.websocket.ExpenseWebSocketMessage;
 import com.trackify.dto.websocket.NotificationMessage;
 import com.trackify.dto.websocket.WebSocketResponse;
 import com.trackify.entity.Team;
-import com.trackify.entity.TeamMember;
 import com.trackify.repository.TeamRepository;
 import com.trackify.repository.TeamMemberRepository;
 import com.trackify.service.WebSocketService;
@@ -67,10 +66,7 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void sendExpenseUpdateToTeam(Long teamId, ExpenseWebSocketMessage message) {
         try {
-            List<TeamMember> teamMembers = teamMemberRepository.findByTeamId(teamId);
-            
-            for (TeamMember member : teamMembers) {
-                String username = member.getUser().getUsername();
+            for (String username : teamMemberRepository.findUsernamesByTeamId(teamId)) {
                 sendExpenseUpdateToUser(username, message);
             }
             
@@ -264,10 +260,7 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void sendTeamNotification(Long teamId, NotificationMessage notification) {
         try {
-            List<TeamMember> teamMembers = teamMemberRepository.findByTeamId(teamId);
-            
-            for (TeamMember member : teamMembers) {
-                String username = member.getUser().getUsername();
+            for (String username : teamMemberRepository.findUsernamesByTeamId(teamId)) {
                 sendNotificationToUser(username, notification);
             }
             
@@ -280,10 +273,7 @@ public class WebSocketServiceImpl implements WebSocketService {
     @Override
     public void sendTeamMessage(Long teamId, String destination, Object message) {
         try {
-            List<TeamMember> teamMembers = teamMemberRepository.findByTeamId(teamId);
-            
-            for (TeamMember member : teamMembers) {
-                String username = member.getUser().getUsername();
+            for (String username : teamMemberRepository.findUsernamesByTeamId(teamId)) {
                 sendMessageToUser(username, destination, message);
             }
             
@@ -19,8 +19,12 @@ import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Component
@@ -46,7 +50,7 @@ public class ExpenseValidator {
     private static final BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
 
     public void validateExpenseCreation(ExpenseRequest request, Long userId) {
-        validateBasicExpenseData(request);
+        validateBasicExpenseData(request, defaultEarliestExpenseDate());
         validateUserExists(userId);
         validateCategoryAccess(request.getCategoryId(), userId);
         
@@ -62,7 +66,7 @@ public class ExpenseValidator {
         validateExpenseOwnership(existingExpense, userId);
         validateExpenseCanBeEdited(existingExpense);
         
-        validateBasicExpenseData(request);
+        validateBasicExpenseData(request, defaultEarliestExpenseDate());
         
         // If category is being changed, validate new category access
         if (!existingExpense.getCategoryId().equals(request.getCategoryId())) {
@@ -189,9 +193,94 @@ public class ExpenseValidator {
         }
     }
 
+    /**
+     * Prepares validation for a bulk import. Accessible categories are loaded once and
+     * team membership is cached per team, so each row is checked in memory.
+     */
+    public ImportRowValidator forImport(Long userId, LocalDate earliestExpenseDate) {
+        validateUserExists(userId);
+        return new ImportRowValidator(userId, earliestExpenseDate, categoryRepository.findUserAccessibleCategories(userId));
+    }
+
+    public final class ImportRowValidator {
+
+        private final Long userId;
+        private final LocalDate earliestExpenseDate;
+        private final Set<Long> categoryIds = new HashSet<>();
+        private final Map<String, Long> categoryIdsByName = new HashMap<>();
+        private final Map<Long, String> teamAccessErrors = new HashMap<>();
+
+        private ImportRowValidator(Long userId, LocalDate earliestExpenseDate, List<Category> categories) {
+            this.userId = userId;
+            this.earliestExpenseDate = earliestExpenseDate;
+            for (Category category : categories) {
+                if (!userId.equals(category.getCreatedBy()) && !Boolean.TRUE.equals(category.getIsSystem())) {
+                    continue;
+                }
+                categoryIds.add(category.getId());
+                // Personal categories win over system ones with the same name
+                String key = category.getName().trim().toLowerCase();
+                if (userId.equals(category.getCreatedBy()) || !categoryIdsByName.containsKey(key)) {
+                    categoryIdsByName.put(key, category.getId());
+                }
+            }
+        }
+
+        /**
+         * Resolves a category column holding either an id or a category name
+         */
+        public Long resolveCategoryId(String value) {
+            if (!StringUtils.hasText(value)) {
+                return null;
+            }
+            String trimmed = value.trim();
+            if (trimmed.chars().allMatch(Character::isDigit)) {
+                return Long.valueOf(trimmed);
+            }
+            Long categoryId = categoryIdsByName.get(trimmed.toLowerCase());
+            if (categoryId == null) {
+                throw new BadRequestException("Unknown category: " + trimmed);
+            }
+            return categoryId;
+        }
+
+        /**
+         * Returns the reason the row is invalid, or null when it can be imported
+         */
+        public String validate(ExpenseRequest request) {
+            try {
+                validateBasicExpenseData(request, earliestExpenseDate);
+                validateBusinessRules(request);
+            } catch (BadRequestException e) {
+                return e.getMessage();
+            }
+
+            if (!categoryIds.contains(request.getCategoryId())) {
+                return "You don't have access to category " + request.getCategoryId();
+            }
+            if (request.getTeamId() != null) {
+                return teamAccessErrors.computeIfAbsent(request.getTeamId(), this::checkTeamAccess);
+            }
+            return null;
+        }
+
+        private String checkTeamAccess(Long teamId) {
+            try {
+                validateTeamAccess(teamId, userId);
+                return null;
+            } catch (BadRequestException | ForbiddenException | ResourceNotFoundException e) {
+                return e.getMessage();
+            }
+        }
+    }
+
     // Private validation methods
 
-    private void validateBasicExpenseData(ExpenseRequest request) {
+    private LocalDate defaultEarliestExpenseDate() {
+        return LocalDate.now().minusYears(2);
+    }
+
+    private void validateBasicExpenseData(ExpenseRequest request, LocalDate earliestExpenseDate) {
         // Title validation
         if (!StringUtils.hasText(request.getTitle())) {
             throw new BadRequestException("Expense title is required");
@@ -222,8 +311,9 @@ public class ExpenseValidator {
             throw new BadRequestException("Expense date cannot be in the future");
         }
         
-        if (request.getExpenseDate().isBefore(LocalDate.now().minusYears(2))) {
-            throw new BadRequestException("Expense date cannot be more than 2 years in the past");
+        if (request.getExpenseDate().isBefore(earliestExpenseDate)) {
+            throw new BadRequestException("Expense date cannot be more than "
+                    + ChronoUnit.YEARS.between(earliestExpenseDate, LocalDate.now()) + " years in the past");
         }
 
         // Category validation
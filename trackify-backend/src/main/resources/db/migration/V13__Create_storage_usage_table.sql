@@ -0,0 +1,24 @@
+-- V13__Create_storage_usage_table.sql
+-- Running storage counters maintained on receipt upload/delete, so usage lookups
+-- are a primary key read instead of a SUM over receipts.
+-- user_id 0 holds the global total across all users.
+
+CREATE TABLE storage_usage (
+    user_id BIGINT PRIMARY KEY,
+    bytes_used BIGINT NOT NULL DEFAULT 0,
+    file_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Seed counters from existing receipts
+INSERT INTO storage_usage (user_id, bytes_used, file_count)
+SELECT uploaded_by, COALESCE(SUM(file_size), 0), COUNT(*)
+FROM receipts
+GROUP BY uploaded_by;
+
+INSERT INTO storage_usage (user_id, bytes_used, file_count)
+SELECT 0, COALESCE(SUM(file_size), 0), COUNT(*)
+FROM receipts;
+
+-- Size-ordered index so large file queries are an index range scan
+CREATE INDEX idx_receipt_file_size ON receipts(file_size);
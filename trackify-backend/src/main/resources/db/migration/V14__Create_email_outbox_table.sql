@@ -0,0 +1,32 @@
+-- V14__Create_email_outbox_table.sql
+-- Persistent outbox for outgoing email. Messages are written here by EmailService
+-- and delivered in batches by the outbox dispatcher with retry and backoff.
+
+CREATE TABLE email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    recipient_domain VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body MEDIUMTEXT NOT NULL,
+    is_html BOOLEAN DEFAULT FALSE,
+    attachment_name VARCHAR(255),
+    attachment_content_type VARCHAR(100),
+    attachment LONGBLOB,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claim_token VARCHAR(36),
+    locked_until TIMESTAMP NULL,
+    last_error VARCHAR(1000),
+    sent_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    CONSTRAINT chk_email_outbox_status 
+        CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED'))
+);
+
+-- Dispatcher polls due messages in id order
+CREATE INDEX idx_email_outbox_due ON email_outbox(status, next_attempt_at, id);
+CREATE INDEX idx_email_outbox_claim ON email_outbox(claim_token);
+CREATE INDEX idx_email_outbox_sent_at ON email_outbox(sent_at);
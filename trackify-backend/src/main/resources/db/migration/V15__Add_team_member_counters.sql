@@ -0,0 +1,12 @@
+-- V15__Add_team_member_counters.sql
+-- Denormalized roster counters so team listings do not load the members collection.
+-- member_count includes pending invitations, matching the capacity check;
+-- active_member_count only counts accepted members.
+
+ALTER TABLE teams
+    ADD COLUMN member_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN active_member_count INT NOT NULL DEFAULT 0;
+
+UPDATE teams t
+SET t.member_count = (SELECT COUNT(*) FROM team_members tm WHERE tm.team_id = t.id),
+    t.active_member_count = (SELECT COUNT(*) FROM team_members tm WHERE tm.team_id = t.id AND tm.is_active = TRUE);
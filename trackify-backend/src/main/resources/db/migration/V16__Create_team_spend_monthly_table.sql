@@ -0,0 +1,28 @@
+-- V16__Create_team_spend_monthly_table.sql
+-- Per-team spend aggregates by month, category and status, maintained incrementally
+-- as team expenses are created, updated, re-statused or deleted. Team statistics and
+-- team reports read these rows instead of scanning the team's expense history.
+
+CREATE TABLE team_spend_monthly (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    period_month DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    expense_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_team_spend_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_team_spend_bucket (team_id, period_month, category_id, status)
+);
+
+-- Seed from existing team expenses
+INSERT INTO team_spend_monthly (team_id, period_month, category_id, status, total_amount, expense_count)
+SELECT e.team_id, DATE_FORMAT(e.expense_date, '%Y-%m-01'), e.category_id, e.status, SUM(e.amount), COUNT(*)
+FROM expenses e
+WHERE e.team_id IS NOT NULL
+GROUP BY e.team_id, DATE_FORMAT(e.expense_date, '%Y-%m-01'), e.category_id, e.status;
+
+-- Edge-of-range lookups for partial months
+CREATE INDEX idx_expense_team_date ON expenses(team_id, expense_date);
@@ -0,0 +1,70 @@
+-- V17__Create_user_spend_rollups.sql
+-- Per-user spend rollups keyed by (user, period, category, status, currency), maintained
+-- in the same transaction as expense writes. Day, month and year buckets are kept in
+-- separate tables so any date range can be answered from a handful of buckets:
+-- whole years from user_yearly_spend, whole months from user_monthly_spend and the
+-- remaining edge days from user_daily_spend.
+-- period_start is the day itself, the first of the month, or January 1st.
+
+CREATE TABLE user_daily_spend (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    currency_code VARCHAR(3) NOT NULL,
+    total_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    expense_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_user_daily_spend_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_user_daily_spend_bucket (user_id, period_start, category_id, status, currency_code)
+);
+
+CREATE TABLE user_monthly_spend (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    currency_code VARCHAR(3) NOT NULL,
+    total_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    expense_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_user_monthly_spend_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_user_monthly_spend_bucket (user_id, period_start, category_id, status, currency_code)
+);
+
+CREATE TABLE user_yearly_spend (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    currency_code VARCHAR(3) NOT NULL,
+    total_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    expense_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_user_yearly_spend_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_user_yearly_spend_bucket (user_id, period_start, category_id, status, currency_code)
+);
+
+-- Seed from existing expenses
+INSERT INTO user_daily_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count)
+SELECT e.user_id, e.expense_date, e.category_id, e.status, COALESCE(e.currency_code, 'USD'), SUM(e.amount), COUNT(*)
+FROM expenses e
+GROUP BY e.user_id, e.expense_date, e.category_id, e.status, COALESCE(e.currency_code, 'USD');
+
+INSERT INTO user_monthly_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count)
+SELECT d.user_id, DATE_FORMAT(d.period_start, '%Y-%m-01'), d.category_id, d.status, d.currency_code,
+       SUM(d.total_amount), SUM(d.expense_count)
+FROM user_daily_spend d
+GROUP BY d.user_id, DATE_FORMAT(d.period_start, '%Y-%m-01'), d.category_id, d.status, d.currency_code;
+
+INSERT INTO user_yearly_spend (user_id, period_start, category_id, status, currency_code, total_amount, expense_count)
+SELECT m.user_id, DATE_FORMAT(m.period_start, '%Y-01-01'), m.category_id, m.status, m.currency_code,
+       SUM(m.total_amount), SUM(m.expense_count)
+FROM user_monthly_spend m
+GROUP BY m.user_id, DATE_FORMAT(m.period_start, '%Y-01-01'), m.category_id, m.status, m.currency_code;
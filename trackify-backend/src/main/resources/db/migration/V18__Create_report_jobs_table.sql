@@ -0,0 +1,35 @@
+-- V18__Create_report_jobs_table.sql
+-- Queue of report generation jobs. Report endpoints enqueue a job and return its
+-- report id straight away; the report job dispatcher runs jobs on the report job
+-- executor and records progress here so queued and interrupted jobs survive a restart.
+
+CREATE TABLE report_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    report_id VARCHAR(64) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    report_type VARCHAR(20) NOT NULL,
+    request_payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    progress INT NOT NULL DEFAULT 0,
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    attempts INT NOT NULL DEFAULT 0,
+    claim_token VARCHAR(36),
+    locked_until TIMESTAMP NULL,
+    error_message VARCHAR(1000),
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_report_jobs_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_report_jobs_status 
+        CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+    CONSTRAINT chk_report_jobs_type 
+        CHECK (report_type IN ('EXPENSE', 'BUDGET', 'APPROVAL', 'TEAM', 'CUSTOM'))
+);
+
+-- Dispatcher polls queued jobs in id order and counts running jobs per user
+CREATE INDEX idx_report_jobs_dispatch ON report_jobs(status, id);
+CREATE INDEX idx_report_jobs_user_status ON report_jobs(user_id, status);
+CREATE INDEX idx_report_jobs_finished_at ON report_jobs(finished_at);
@@ -0,0 +1,37 @@
+-- V19__Create_scheduled_reports_table.sql
+-- Scheduled report definitions. Due schedules are found through the next_run_at index
+-- and claimed with a conditional update, so any number of nodes can poll the table
+-- while each run is queued exactly once as a report job.
+
+CREATE TABLE scheduled_reports (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    created_by VARCHAR(255) NOT NULL,
+    report_name VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    report_config TEXT NOT NULL,
+    frequency VARCHAR(20) NOT NULL,
+    email_recipients TEXT,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    status VARCHAR(40) NOT NULL DEFAULT 'ACTIVE',
+    next_run_at TIMESTAMP NULL,
+    last_run_at TIMESTAMP NULL,
+    execution_count INT NOT NULL DEFAULT 0,
+    failure_count INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_scheduled_reports_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_scheduled_reports_frequency 
+        CHECK (frequency IN ('DAILY', 'WEEKLY', 'MONTHLY', 'QUARTERLY'))
+);
+
+-- Inactive schedules keep next_run_at NULL, so the due scan only touches schedules that can run
+CREATE INDEX idx_scheduled_reports_next_run ON scheduled_reports(next_run_at);
+CREATE INDEX idx_scheduled_reports_user ON scheduled_reports(user_id);
+
+-- Report jobs queued by a schedule report back to it when they finish
+ALTER TABLE report_jobs ADD COLUMN schedule_id BIGINT NULL AFTER request_payload;
+ALTER TABLE report_jobs ADD CONSTRAINT fk_report_jobs_schedule 
+    FOREIGN KEY (schedule_id) REFERENCES scheduled_reports(id) ON DELETE SET NULL;
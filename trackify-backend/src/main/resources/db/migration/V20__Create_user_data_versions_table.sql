@@ -0,0 +1,12 @@
+-- V20__Create_user_data_versions_table.sql
+-- Per-user counter bumped in the same transaction as any write to the user's expenses,
+-- budgets or approval workflows. Cached report results record the version they were
+-- computed at and are only served while it is still current.
+
+CREATE TABLE user_data_versions (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    CONSTRAINT fk_user_data_versions_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,7 @@
+-- V21__Add_expense_search_index.sql
+-- Full-text index over the searchable expense text. InnoDB keeps it in step with
+-- every insert, update and delete in the same transaction; OPTIMIZE TABLE expenses
+-- (with innodb_optimize_fulltext_only=ON) rebuilds it from the table rows.
+
+ALTER TABLE expenses
+    ADD FULLTEXT INDEX ft_expense_search (title, description, merchant_name, notes);
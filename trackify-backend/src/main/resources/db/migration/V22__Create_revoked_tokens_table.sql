@@ -0,0 +1,14 @@
+-- V22__Create_revoked_tokens_table.sql
+-- JWT ids revoked before their expiry (logout). Nodes load the unexpired rows into an
+-- in-memory Bloom filter at startup and poll revoked_at for rows added elsewhere; rows
+-- are deleted once the token would have expired anyway.
+
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    
+    INDEX idx_revoked_tokens_expires (expires_at),
+    INDEX idx_revoked_tokens_revoked (revoked_at)
+);
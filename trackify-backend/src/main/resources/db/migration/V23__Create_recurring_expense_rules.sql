@@ -0,0 +1,46 @@
+-- V23__Create_recurring_expense_rules.sql
+-- Recurring expenses are rules that a scheduler materializes into ordinary expenses.
+-- Due rules are found through idx_recurring_rules_due, scanned in (next_occurrence_date, id)
+-- order. Each generated expense carries its rule and occurrence date, and the unique key
+-- on the pair keeps a re-run from creating the same occurrence twice.
+
+CREATE TABLE recurring_expense_rules (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    team_id BIGINT,
+    title VARCHAR(200) NOT NULL,
+    description TEXT,
+    amount DECIMAL(12,2) NOT NULL,
+    currency_code VARCHAR(3) DEFAULT 'USD',
+    payment_method VARCHAR(20),
+    merchant_name VARCHAR(200),
+    notes TEXT,
+    tags VARCHAR(500),
+    is_business_expense BOOLEAN DEFAULT FALSE,
+    is_reimbursable BOOLEAN DEFAULT FALSE,
+    frequency VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE,
+    max_occurrences INT,
+    next_occurrence_date DATE NOT NULL,
+    occurrences_generated INT NOT NULL DEFAULT 0,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    last_generated_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    INDEX idx_recurring_rules_due (is_active, next_occurrence_date, id),
+    INDEX idx_recurring_rules_user (user_id),
+    
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE RESTRICT
+);
+
+ALTER TABLE expenses
+    ADD COLUMN recurring_rule_id BIGINT NULL,
+    ADD COLUMN recurring_occurrence_date DATE NULL,
+    ADD UNIQUE KEY uk_expense_recurring_occurrence (recurring_rule_id, recurring_occurrence_date),
+    ADD INDEX idx_expense_user_recurring (user_id, is_recurring, expense_date),
+    ADD CONSTRAINT fk_expense_recurring_rule FOREIGN KEY (recurring_rule_id)
+        REFERENCES recurring_expense_rules(id) ON DELETE SET NULL;
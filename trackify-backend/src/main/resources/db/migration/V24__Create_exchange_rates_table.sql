@@ -0,0 +1,20 @@
+-- V24__Create_exchange_rates_table.sql
+-- Time-versioned exchange rates, all quoted against USD: a row states how many units of
+-- currency_code one USD buys from effective_date until the currency's next row. Nodes keep
+-- the whole table in memory and reload it when MAX(updated_at) moves. Aggregates are
+-- converted into the user's base currency.
+
+CREATE TABLE exchange_rates (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    currency_code VARCHAR(3) NOT NULL,
+    effective_date DATE NOT NULL,
+    units_per_usd DECIMAL(20,10) NOT NULL,
+    source VARCHAR(20) NOT NULL DEFAULT 'ADMIN',
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    
+    UNIQUE KEY uk_exchange_rates_currency_date (currency_code, effective_date),
+    INDEX idx_exchange_rates_updated (updated_at)
+);
+
+ALTER TABLE users
+    ADD COLUMN base_currency VARCHAR(3) NOT NULL DEFAULT 'USD';
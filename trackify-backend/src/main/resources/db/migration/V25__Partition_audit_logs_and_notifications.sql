@@ -0,0 +1,75 @@
+-- V25__Partition_audit_logs_and_notifications.sql
+-- Range-partitions audit_logs and notifications by calendar month so retention drops
+-- whole partitions instead of deleting rows through their many secondary indexes, and
+-- time-bounded queries only touch the months they cover.
+--
+-- Partition names are p<yyyyMM> for the month a partition holds; p_history holds every
+-- row from before the month this migration ran in and p_future is an always-empty
+-- MAXVALUE catch-all that PartitionMaintenanceService splits to pre-create months.
+-- TIMESTAMP columns can only be partitioned through UNIX_TIMESTAMP().
+--
+-- InnoDB does not support foreign keys on partitioned tables and every unique key must
+-- contain the partitioning column, hence the dropped constraints and widened primary
+-- keys. Deleting a user now removes their notifications in UserServiceImpl; audit rows
+-- keep the id of a deleted user, which is what an audit trail wants anyway.
+
+-- ===========================================
+-- AUDIT_LOGS
+-- ===========================================
+
+ALTER TABLE audit_logs
+    DROP FOREIGN KEY fk_audit_logs_user,
+    DROP FOREIGN KEY fk_audit_logs_team;
+
+ALTER TABLE audit_logs
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, timestamp);
+
+SET @month_start = DATE_SUB(CURRENT_DATE, INTERVAL DAYOFMONTH(CURRENT_DATE) - 1 DAY);
+
+SET @partition_sql = CONCAT(
+    'ALTER TABLE audit_logs PARTITION BY RANGE (UNIX_TIMESTAMP(timestamp)) (',
+    'PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP(''', @month_start, ''')), ',
+    'PARTITION p', DATE_FORMAT(@month_start, '%Y%m'),
+    ' VALUES LESS THAN (UNIX_TIMESTAMP(''', DATE_ADD(@month_start, INTERVAL 1 MONTH), ''')), ',
+    'PARTITION p', DATE_FORMAT(DATE_ADD(@month_start, INTERVAL 1 MONTH), '%Y%m'),
+    ' VALUES LESS THAN (UNIX_TIMESTAMP(''', DATE_ADD(@month_start, INTERVAL 2 MONTH), ''')), ',
+    'PARTITION p', DATE_FORMAT(DATE_ADD(@month_start, INTERVAL 2 MONTH), '%Y%m'),
+    ' VALUES LESS THAN (UNIX_TIMESTAMP(''', DATE_ADD(@month_start, INTERVAL 3 MONTH), ''')), ',
+    'PARTITION p_future VALUES LESS THAN MAXVALUE)');
+PREPARE partition_stmt FROM @partition_sql;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
+
+-- Retention is now a partition drop, see PartitionMaintenanceService
+DROP PROCEDURE IF EXISTS sp_cleanup_old_audit_logs;
+
+-- ===========================================
+-- NOTIFICATIONS
+-- ===========================================
+
+ALTER TABLE notifications
+    DROP FOREIGN KEY fk_notifications_user,
+    DROP FOREIGN KEY fk_notifications_sender;
+
+-- Partitioning columns must be NOT NULL to be part of the primary key
+UPDATE notifications SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+ALTER TABLE notifications
+    MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+SET @partition_sql = CONCAT(
+    'ALTER TABLE notifications PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (',
+    'PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP(''', @month_start, ''')), ',
+    'PARTITION p', DATE_FORMAT(@month_start, '%Y%m'),
+    ' VALUES LESS THAN (UNIX_TIMESTAMP(''', DATE_ADD(@month_start, INTERVAL 1 MONTH), ''')), ',
+    'PARTITION p', DATE_FORMAT(DATE_ADD(@month_start, INTERVAL 1 MONTH), '%Y%m'),
+    ' VALUES LESS THAN (UNIX_TIMESTAMP(''', DATE_ADD(@month_start, INTERVAL 2 MONTH), ''')), ',
+    'PARTITION p', DATE_FORMAT(DATE_ADD(@month_start, INTERVAL 2 MONTH), '%Y%m'),
+    ' VALUES LESS THAN (UNIX_TIMESTAMP(''', DATE_ADD(@month_start, INTERVAL 3 MONTH), ''')), ',
+    'PARTITION p_future VALUES LESS THAN MAXVALUE)');
+PREPARE partition_stmt FROM @partition_sql;
+EXECUTE partition_stmt;
+DEALLOCATE PREPARE partition_stmt;
@@ -0,0 +1,10 @@
+-- V26__Add_report_job_output_path.sql
+-- Finished reports are written to app.reports.output-dir instead of being held in the
+-- memory of the node that generated them. The job records where its output went, and a
+-- completed job whose output has since disappeared is marked EXPIRED.
+
+ALTER TABLE report_jobs ADD COLUMN output_path VARCHAR(512) NULL AFTER finished_at;
+
+ALTER TABLE report_jobs DROP CHECK chk_report_jobs_status;
+ALTER TABLE report_jobs ADD CONSTRAINT chk_report_jobs_status
+    CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED', 'EXPIRED'));
@@ -0,0 +1,5 @@
+-- V27__Drop_global_storage_usage_row.sql
+-- The global storage total is now the SUM of the per-user counters. Keeping it in its own
+-- row made every upload and delete across all users take the same InnoDB row lock.
+
+DELETE FROM storage_usage WHERE user_id = 0;
@@ -0,0 +1,131 @@
+package com.trackify.scheduler;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.trackify.entity.EmailOutbox;
+import com.trackify.enums.EmailStatus;
+import com.trackify.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the dispatcher against a real SMTP server (GreenMail) with the outbox table stubbed,
+ * so every poll hands the test's message back as due regardless of its backoff.
+ */
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private EmailOutboxDispatcher dispatcher;
+    private EmailOutbox email;
+
+    @BeforeEach
+    void setUp() {
+        email = new EmailOutbox();
+        email.setId(1L);
+        email.setRecipient("jane@example.com");
+        email.setRecipientDomain("example.com");
+        email.setSubject("Your monthly report");
+        email.setBody("Report attached");
+        email.setNextAttemptAt(LocalDateTime.now());
+
+        EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+        when(repository.findDueIds(any(), any())).thenReturn(List.of(email.getId()));
+        when(repository.claim(anyList(), anyString(), any(), any())).thenReturn(1);
+        when(repository.findByClaimTokenOrderByIdAsc(anyString())).thenAnswer(invocation -> {
+            email.setClaimToken(invocation.getArgument(0));
+            email.setStatus(EmailStatus.SENDING);
+            return List.of(email);
+        });
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        dispatcher = new EmailOutboxDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "emailOutboxRepository", repository);
+        ReflectionTestUtils.setField(dispatcher, "mailSender", mailSender);
+        ReflectionTestUtils.setField(dispatcher, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(dispatcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "fromAddress", "noreply@trackify.com");
+        ReflectionTestUtils.setField(dispatcher, "fromName", "Trackify Support");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "perDomainPerMinute", 120);
+    }
+
+    @Test
+    void sendsDueMessageAndMarksItSent() throws Exception {
+        dispatcher.dispatchPendingEmails();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertThat(received.getSubject()).isEqualTo("Your monthly report");
+        assertThat(received.getAllRecipients()[0].toString()).isEqualTo("jane@example.com");
+
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(email.getSentAt()).isNotNull();
+        assertThat(email.getAttempts()).isZero();
+        assertThat(email.getClaimToken()).isNull();
+        assertThat(email.getLockedUntil()).isNull();
+    }
+
+    @Test
+    void retriesAfterServerFailureAndSendsOnceItIsBack() {
+        greenMail.stop();
+        dispatcher.dispatchPendingEmails();
+
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(email.getStatus().isFinal()).isFalse();
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).isNotBlank();
+        assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        greenMail.start();
+        dispatcher.dispatchPendingEmails();
+
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(email.getLastError()).isNull();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        greenMail.stop();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            dispatcher.dispatchPendingEmails();
+        }
+
+        assertThat(email.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(email.getStatus().isFinal()).isTrue();
+        assertThat(email.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(email.getClaimToken()).isNull();
+
+        greenMail.start();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+}
@@ -0,0 +1,125 @@
+package com.trackify.service.impl;
+
+import com.trackify.config.JwtConfig;
+import com.trackify.dto.response.AuthResponse;
+import com.trackify.entity.User;
+import com.trackify.exception.UnauthorizedException;
+import com.trackify.repository.RevokedTokenRepository;
+import com.trackify.security.JwtTokenProvider;
+import com.trackify.security.UserPrincipal;
+import com.trackify.service.AuditService;
+import com.trackify.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Logout against real tokens and the real revocation service, with revoked_tokens kept in
+ * a set behind the repository stub.
+ */
+class AuthServiceImplTest {
+
+    private AuthServiceImpl authService;
+    private JwtTokenProvider jwtTokenProvider;
+    private RevokedTokenRepository revokedTokenRepository;
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("test-secret-test-secret-test-secret-test-secret-test-secret-test-secret");
+        jwtTokenProvider = new JwtTokenProvider(jwtConfig);
+
+        Set<String> revoked = new HashSet<>();
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.revoke(anyString(), any(), any())).thenAnswer(invocation ->
+                revoked.add(invocation.getArgument(0)) ? 1 : 0);
+        when(revokedTokenRepository.isRevoked(anyString(), any())).thenAnswer(invocation ->
+                revoked.contains(invocation.<String>getArgument(0)));
+
+        TokenRevocationServiceImpl tokenRevocationService = new TokenRevocationServiceImpl();
+        ReflectionTestUtils.setField(tokenRevocationService, "revokedTokenRepository", revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "confirmedCacheSize", 100);
+
+        authService = new AuthServiceImpl();
+        ReflectionTestUtils.setField(authService, "jwtTokenProvider", jwtTokenProvider);
+        ReflectionTestUtils.setField(authService, "tokenRevocationService", tokenRevocationService);
+        ReflectionTestUtils.setField(authService, "userService", mock(UserService.class));
+        ReflectionTestUtils.setField(authService, "auditService", mock(AuditService.class));
+
+        User user = new User("jane", "jane@example.com", "x", "Jane", "Doe");
+        user.setId(1L);
+        UserPrincipal principal = UserPrincipal.create(user);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    void refreshFailsAfterLogout() {
+        String sessionId = jwtTokenProvider.newSessionId();
+        String accessToken = jwtTokenProvider.generateToken(authentication, sessionId);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
+
+        assertThat(authService.refreshToken(refreshToken).getAccessToken()).isNotBlank();
+
+        authService.logout(accessToken);
+
+        assertThatThrownBy(() -> authService.refreshToken(refreshToken))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void logoutWithRefreshedAccessTokenRevokesTheSession() {
+        String sessionId = jwtTokenProvider.newSessionId();
+        String refreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
+        AuthResponse refreshed = authService.refreshToken(refreshToken);
+
+        authService.logout(refreshed.getAccessToken());
+
+        assertThatThrownBy(() -> authService.refreshToken(refreshToken))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    @Test
+    void logoutLeavesOtherSessionsValid() {
+        String sessionId = jwtTokenProvider.newSessionId();
+        String accessToken = jwtTokenProvider.generateToken(authentication, sessionId);
+        String otherSession = jwtTokenProvider.newSessionId();
+        String otherRefreshToken = jwtTokenProvider.generateRefreshToken(authentication, otherSession);
+
+        authService.logout(accessToken);
+
+        assertThat(authService.refreshToken(otherRefreshToken).getAccessToken()).isNotBlank();
+    }
+
+    @Test
+    void logoutWithInvalidTokenIsIgnored() {
+        assertThatCode(() -> authService.logout("not-a-token")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void logoutFailsWhenRevocationFails() {
+        String sessionId = jwtTokenProvider.newSessionId();
+        String accessToken = jwtTokenProvider.generateToken(authentication, sessionId);
+        String refreshToken = jwtTokenProvider.generateRefreshToken(authentication, sessionId);
+        when(revokedTokenRepository.revoke(anyString(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("revoked_tokens unavailable"));
+
+        assertThatThrownBy(() -> authService.logout(accessToken))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(authService.refreshToken(refreshToken).getAccessToken()).isNotBlank();
+    }
+}
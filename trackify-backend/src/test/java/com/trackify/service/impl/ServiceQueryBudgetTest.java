@@ -0,0 +1,255 @@
+package com.trackify.service.impl;
+
+import com.trackify.app.TrackifyBackendApplication;
+import com.trackify.config.ModelMapperConfig;
+import com.trackify.currency.MoneyFormatter;
+import com.trackify.dto.response.DashboardResponse;
+import com.trackify.dto.response.ExpenseResponse;
+import com.trackify.dto.response.TeamResponse;
+import com.trackify.dto.websocket.ExpenseWebSocketMessage;
+import com.trackify.entity.Budget;
+import com.trackify.entity.Category;
+import com.trackify.entity.Expense;
+import com.trackify.entity.Receipt;
+import com.trackify.entity.Team;
+import com.trackify.entity.TeamMember;
+import com.trackify.entity.User;
+import com.trackify.enums.FileType;
+import com.trackify.enums.TeamRole;
+import com.trackify.repository.BudgetRepository;
+import com.trackify.repository.CategoryRepository;
+import com.trackify.repository.ExpenseRepository;
+import com.trackify.repository.ReceiptRepository;
+import com.trackify.repository.TeamMemberRepository;
+import com.trackify.repository.TeamRepository;
+import com.trackify.repository.UserRepository;
+import com.trackify.service.SpendRollupService;
+import com.trackify.service.TeamSpendService;
+import com.trackify.support.QueryBudget;
+import com.trackify.websocket.WebSocketSessionManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Query budgets for the listings and fan-outs that used to issue statements per row. Each
+ * runs over ROWS rows against MySQL in a Testcontainers container (skipped without Docker),
+ * with real repositories and the collaborators that don't touch the database mocked, so a
+ * query per row overshoots the budget. Fixtures are flushed and cleared before each test,
+ * so nothing is served from the persistence context.
+ */
+@DataJpaTest(properties = "spring.jpa.properties." + AvailableSettings.STATEMENT_INSPECTOR
+        + "=com.trackify.metrics.SqlStatementCounter")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = TrackifyBackendApplication.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ServiceQueryBudgetTest {
+
+    private static final int ROWS = 10;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReceiptRepository receiptRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private User user;
+    private Team crowdedTeam;
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("jane", "jane@example.com", "x", "Jane", "Doe"));
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < ROWS; i++) {
+            // Every expense and budget gets its own category, so per-row lookups can't share one
+            Category category = new Category();
+            category.setName("Category " + i);
+            category.setIsActive(true);
+            category.setIsSystem(false);
+            category.setCreatedBy(user.getId());
+            entityManager.persist(category);
+
+            Expense expense = new Expense();
+            expense.setTitle("Expense " + i);
+            expense.setAmount(new BigDecimal("12.50"));
+            expense.setExpenseDate(today);
+            expense.setUserId(user.getId());
+            expense.setCategoryId(category.getId());
+            entityManager.persist(expense);
+            for (int r = 0; r < 2; r++) {
+                Receipt receipt = new Receipt();
+                receipt.setOriginalFilename("receipt-" + i + "-" + r + ".jpg");
+                receipt.setStoredFilename("stored-" + i + "-" + r + ".jpg");
+                receipt.setFilePath("/receipts/stored-" + i + "-" + r + ".jpg");
+                receipt.setFileType(FileType.IMAGE);
+                receipt.setExpenseId(expense.getId());
+                receipt.setUploadedBy(user.getId());
+                entityManager.persist(receipt);
+            }
+
+            entityManager.persist(new Budget("Budget " + i, new BigDecimal("500.00"),
+                    today.withDayOfMonth(1), today.withDayOfMonth(today.lengthOfMonth()),
+                    user.getId(), category.getId()));
+
+            Team team = entityManager.persist(new Team("Team " + i, user));
+            entityManager.persist(new TeamMember(team, user, TeamRole.OWNER));
+        }
+
+        crowdedTeam = entityManager.persist(new Team("Crowded", user));
+        for (int i = 0; i < ROWS; i++) {
+            User member = entityManager.persist(new User("member" + i, "member" + i + "@example.com", "x",
+                    "Member", String.valueOf(i)));
+            entityManager.persist(new TeamMember(crowdedTeam, member, TeamRole.MEMBER));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // List query, categories, receipts, and ModelMapper's batched read of Expense.receipts
+    @Test
+    @QueryBudget(5)
+    void expenseList() {
+        List<ExpenseResponse> expenses = expenseService().getUserExpenses(user.getId());
+
+        assertThat(expenses).hasSize(ROWS);
+        assertThat(expenses).allSatisfy(expense -> {
+            assertThat(expense.getCategoryName()).isNotNull();
+            assertThat(expense.getReceipts()).hasSize(2);
+        });
+    }
+
+    @Test
+    @QueryBudget(6)
+    void expensePage() {
+        Page<ExpenseResponse> expenses = expenseService().getUserExpensesPaginated(user.getId(), PageRequest.of(0, 20));
+
+        assertThat(expenses.getContent()).hasSize(ROWS);
+    }
+
+    // Teams, and the caller, owners, memberships, rosters, roles and invitations once each
+    @Test
+    @QueryBudget(10)
+    void teamList() {
+        List<TeamResponse> teams = teamService().getUserTeams(user.getUsername());
+
+        assertThat(teams).hasSize(ROWS);
+        assertThat(teams).allSatisfy(team -> assertThat(team.getMembers()).hasSize(1));
+    }
+
+    // User, budgets and their category names
+    @Test
+    @QueryBudget(4)
+    void budgetStatusList() {
+        List<DashboardResponse.BudgetStatus> statuses = dashboardService().getBudgetStatusList(user.getUsername());
+
+        assertThat(statuses).hasSize(ROWS);
+        assertThat(statuses).allSatisfy(status -> assertThat(status.getCategoryName()).isNotNull());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void expenseUpdateToTeam() {
+        webSocketService().sendExpenseUpdateToTeam(crowdedTeam.getId(), new ExpenseWebSocketMessage());
+
+        verify(messagingTemplate, times(ROWS)).convertAndSendToUser(anyString(), eq("/queue/expenses"), any());
+    }
+
+    private ExpenseServiceImpl expenseService() {
+        ExpenseServiceImpl expenseService = new ExpenseServiceImpl();
+        ReflectionTestUtils.setField(expenseService, "expenseRepository", expenseRepository);
+        ReflectionTestUtils.setField(expenseService, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(expenseService, "receiptRepository", receiptRepository);
+        ReflectionTestUtils.setField(expenseService, "modelMapper", new ModelMapperConfig().modelMapper());
+        ReflectionTestUtils.setField(expenseService, "moneyFormatter", mock(MoneyFormatter.class));
+        return expenseService;
+    }
+
+    private TeamServiceImpl teamService() {
+        TeamServiceImpl teamService = new TeamServiceImpl();
+        ReflectionTestUtils.setField(teamService, "teamRepository", teamRepository);
+        ReflectionTestUtils.setField(teamService, "teamMemberRepository", teamMemberRepository);
+        ReflectionTestUtils.setField(teamService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(teamService, "teamSpendService", mock(TeamSpendService.class));
+        return teamService;
+    }
+
+    private DashboardServiceImpl dashboardService() {
+        DashboardServiceImpl dashboardService = new DashboardServiceImpl();
+        ReflectionTestUtils.setField(dashboardService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(dashboardService, "budgetRepository", budgetRepository);
+        ReflectionTestUtils.setField(dashboardService, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(dashboardService, "spendRollupService", mock(SpendRollupService.class));
+        return dashboardService;
+    }
+
+    private WebSocketServiceImpl webSocketService() {
+        WebSocketSessionManager sessionManager = mock(WebSocketSessionManager.class);
+        when(sessionManager.isUserOnline(anyString())).thenReturn(true);
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+
+        WebSocketServiceImpl webSocketService = new WebSocketServiceImpl();
+        ReflectionTestUtils.setField(webSocketService, "teamMemberRepository", teamMemberRepository);
+        ReflectionTestUtils.setField(webSocketService, "sessionManager", sessionManager);
+        ReflectionTestUtils.setField(webSocketService, "messagingTemplate", messagingTemplate);
+        return webSocketService;
+    }
+}
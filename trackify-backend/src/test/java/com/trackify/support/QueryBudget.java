@@ -0,0 +1,28 @@
+package com.trackify.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails a test that issues more SQL statements than its budget. On a class, applies to
+ * every test method that doesn't declare its own budget.
+ *
+ * Statements are counted on the test thread while the test method runs, which covers
+ * direct service calls and MockMvc requests but not @BeforeEach fixtures. Tests against a
+ * real server port should check the X-SQL-Statement-Count header with
+ * SqlStatementAssertions instead.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * Maximum number of SQL statements the test may issue
+     */
+    int value();
+}
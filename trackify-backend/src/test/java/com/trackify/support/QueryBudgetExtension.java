@@ -0,0 +1,49 @@
+package com.trackify.support;
+
+import com.trackify.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Enforces @QueryBudget by reading the statement counter right before and after each test
+ * method, so fixtures set up in @BeforeEach methods don't count against the budget
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+    private static final String START_KEY = "statementsAtStart";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START_KEY, SqlStatementCounter.current());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START_KEY, Long.class);
+        Optional<QueryBudget> budget = findBudget(context);
+        if (start == null || budget.isEmpty()) {
+            return;
+        }
+
+        long statements = SqlStatementCounter.current() - start;
+        if (statements > budget.get().value()) {
+            fail(String.format("%s issued %d SQL statements, over its budget of %d",
+                    context.getDisplayName(), statements, budget.get().value()));
+        }
+    }
+
+    private Optional<QueryBudget> findBudget(ExtensionContext context) {
+        Optional<QueryBudget> methodBudget = AnnotationSupport.findAnnotation(context.getTestMethod(), QueryBudget.class);
+        if (methodBudget.isPresent()) {
+            return methodBudget;
+        }
+        return AnnotationSupport.findAnnotation(context.getTestClass(), QueryBudget.class);
+    }
+}
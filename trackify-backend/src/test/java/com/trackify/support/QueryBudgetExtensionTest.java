@@ -0,0 +1,100 @@
+package com.trackify.support;
+
+import com.trackify.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the extension's callbacks directly around statements "issued" through the counter,
+ * with the JUnit store kept in a map behind a mock context.
+ */
+class QueryBudgetExtensionTest {
+
+    private final QueryBudgetExtension extension = new QueryBudgetExtension();
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+    private ExtensionContext context;
+
+    @QueryBudget(1)
+    static class Budgeted {
+
+        @QueryBudget(2)
+        void twoStatements() {
+        }
+
+        void classBudget() {
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, Object> values = new HashMap<>();
+        ExtensionContext.Store store = mock(ExtensionContext.Store.class);
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(store).put(any(), any());
+        when(store.remove(any(), eq(Long.class))).thenAnswer(invocation -> values.remove(invocation.getArgument(0)));
+
+        context = mock(ExtensionContext.class);
+        when(context.getStore(any())).thenReturn(store);
+        when(context.getTestClass()).thenReturn(Optional.of(Budgeted.class));
+        when(context.getDisplayName()).thenReturn("budgeted()");
+    }
+
+    @Test
+    void failsOverMethodBudget() throws NoSuchMethodException {
+        runTest("twoStatements", 3);
+
+        assertThatThrownBy(() -> extension.afterTestExecution(context))
+                .isInstanceOf(AssertionFailedError.class)
+                .hasMessageContaining("issued 3 SQL statements, over its budget of 2");
+    }
+
+    @Test
+    void passesWithinMethodBudget() throws NoSuchMethodException {
+        runTest("twoStatements", 2);
+
+        assertThatCode(() -> extension.afterTestExecution(context)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void failsOverClassBudget() throws NoSuchMethodException {
+        runTest("classBudget", 2);
+
+        assertThatThrownBy(() -> extension.afterTestExecution(context))
+                .isInstanceOf(AssertionFailedError.class)
+                .hasMessageContaining("over its budget of 1");
+    }
+
+    @Test
+    void ignoresStatementsBeforeTheTest() throws NoSuchMethodException {
+        issue(5);
+        runTest("classBudget", 1);
+
+        assertThatCode(() -> extension.afterTestExecution(context)).doesNotThrowAnyException();
+    }
+
+    private void runTest(String method, int statements) throws NoSuchMethodException {
+        when(context.getTestMethod()).thenReturn(Optional.of(Budgeted.class.getDeclaredMethod(method)));
+        extension.beforeTestExecution(context);
+        issue(statements);
+    }
+
+    private void issue(int statements) {
+        for (int i = 0; i < statements; i++) {
+            counter.inspect("select 1");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.trackify.support;
+
+import com.trackify.metrics.RequestMetricsFilter;
+import com.trackify.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query budget assertions for a single block of code or a single response, for tests
+ * where a budget on the whole test method is too coarse
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Runs the block and fails if it issued more than maxStatements SQL statements
+     */
+    public static void assertMaxStatements(long maxStatements, Executable block) throws Throwable {
+        long before = SqlStatementCounter.current();
+        block.execute();
+        check(maxStatements, SqlStatementCounter.current() - before);
+    }
+
+    /**
+     * Runs the block and fails if it issued more than maxStatements SQL statements,
+     * returning its result otherwise
+     */
+    public static <T> T assertMaxStatements(long maxStatements, ThrowingSupplier<T> block) throws Throwable {
+        long before = SqlStatementCounter.current();
+        T result = block.get();
+        check(maxStatements, SqlStatementCounter.current() - before);
+        return result;
+    }
+
+    /**
+     * Checks the statement count the server reported for a request. Needs
+     * app.metrics.expose-statement-count=true in the test properties.
+     */
+    public static void assertMaxStatements(long maxStatements, HttpHeaders responseHeaders) {
+        String header = responseHeaders.getFirst(RequestMetricsFilter.STATEMENT_COUNT_HEADER);
+        assertNotNull(header, RequestMetricsFilter.STATEMENT_COUNT_HEADER + " header missing, is app.metrics.expose-statement-count on?");
+        check(maxStatements, Long.parseLong(header));
+    }
+
+    private static void check(long maxStatements, long statements) {
+        if (statements > maxStatements) {
+            fail(String.format("Issued %d SQL statements, over the budget of %d", statements, maxStatements));
+        }
+    }
+}